@@ -3,6 +3,8 @@ package come.emotion_checkin_syetem;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 📍 LOCATION: src/main/java/com/emotion/checkin/EmotionCheckinApplication.java
@@ -30,6 +32,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  */
 @SpringBootApplication
 @EnableJpaAuditing  // ← สำคัญ! สำหรับ @CreatedDate, @LastModifiedDate ใน BaseEntity
+@EnableScheduling   // ← สำหรับ @Scheduled jobs (flush counters, cleanup)
+@EnableAsync        // ← สำหรับ @Async (audit log ที่ไม่ต้องรอ)
 public class EmotionCheckinApplication {
 
     /**
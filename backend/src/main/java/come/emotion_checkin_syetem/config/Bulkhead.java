@@ -0,0 +1,107 @@
+package come.emotion_checkin_syetem.config;
+
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/Bulkhead.java
+ *
+ * 🧱 BULKHEAD - จำกัดงานพร้อมกันของ 1 workload (semaphore + คิวรอแบบจำกัด)
+ *
+ * ✅ tryEnter():
+ * - มี permit ว่าง → เข้าได้ทันที
+ * - ไม่ว่าง + คิวยังไม่เต็ม (max-queue) → รอได้ไม่เกิน max-wait-ms
+ * - คิวเต็ม / รอเกินเวลา → false (ผู้เรียกตอบ 503 หรือส่งเข้าคิว deferred)
+ *
+ * ✅ enter(): รอจนได้ permit (ไม่มี timeout) — ใช้กับ scheduled job ที่ถูกเลื่อนเท่านั้น
+ *
+ * ⚠️ NOTE:
+ * - request ทำงานบน virtual thread → การรอใน semaphore ไม่กิน platform thread
+ * - ต้องเรียก exit() ทุกครั้งที่ tryEnter() ได้ true / enter() return
+ */
+public class Bulkhead {
+
+    @Getter
+    private final Workload workload;
+    @Getter
+    private final int maxConcurrent;
+    @Getter
+    private final int maxQueue;
+    @Getter
+    private final long maxWaitMillis;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(Workload workload, int maxConcurrent, int maxQueue, long maxWaitMillis) {
+        this.workload = workload;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean tryEnter() {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void enter() throws InterruptedException {
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+            accepted.increment();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return waiting.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package come.emotion_checkin_syetem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/BulkheadConfig.java
+ *
+ * 🧱 BULKHEAD CONFIG - ผูก path กับ bulkhead ของแต่ละ workload
+ *
+ * ✅ Default paths:
+ * - checkin:   /api/checkin/**, /api/notifications/**, /api/dashboard/employee
+ * - analytics: /api/dashboard/hr, /api/dashboard/admin, /api/dashboard/trends, /api/audit-logs/**
+ * - path อื่น: ไม่ผ่าน bulkhead (ใช้ pool checkin)
+ *
+ * ⚠️ NOTE:
+ * - /api/live/** (SSE) ไม่ใส่ bulkhead — stream เปิดค้างนาน และไม่ถือ DB connection
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.bulkhead.checkin.paths:/api/checkin/**,/api/notifications/**,/api/dashboard/employee}")
+    private String[] checkinPaths;
+
+    @Value("${app.bulkhead.analytics.paths:/api/dashboard/hr,/api/dashboard/admin,/api/dashboard/trends,/api/audit-logs/**}")
+    private String[] analyticsPaths;
+
+    @Value("${app.bulkhead.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor(Workload.CHECKIN)).addPathPatterns(checkinPaths);
+        registry.addInterceptor(interceptor(Workload.ANALYTICS)).addPathPatterns(analyticsPaths);
+    }
+
+    private BulkheadInterceptor interceptor(Workload workload) {
+        return new BulkheadInterceptor(bulkheadRegistry.get(workload), objectMapper, retryAfterSeconds);
+    }
+}
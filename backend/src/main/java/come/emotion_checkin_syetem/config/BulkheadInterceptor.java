@@ -0,0 +1,72 @@
+package come.emotion_checkin_syetem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import come.emotion_checkin_syetem.dto.response.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/BulkheadInterceptor.java
+ *
+ * 🧱 BULKHEAD INTERCEPTOR - ให้ request ของ path กลุ่มหนึ่งผ่าน bulkhead ของ workload นั้น
+ *
+ * ✅ Flow:
+ * - preHandle: เข้า bulkhead ได้ → ตั้ง WorkloadContext (DB ใช้ pool ของ workload)
+ * - เต็ม → 503 + Retry-After ทันที (ไม่เข้า controller, ไม่แตะ DB)
+ * - afterCompletion: ออกจาก bulkhead + clear WorkloadContext
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String ENTERED_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".entered";
+
+    private final Bulkhead bulkhead;
+    private final ObjectMapper objectMapper;
+    private final int retryAfterSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+        throws Exception {
+        if (request.getAttribute(ENTERED_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        if (!bulkhead.tryEnter()) {
+            log.warn("🧱 {} bulkhead full, rejected {} {}",
+                bulkhead.getWorkload().key(), request.getMethod(), request.getRequestURI());
+            reject(response);
+            return false;
+        }
+
+        request.setAttribute(ENTERED_ATTRIBUTE, bulkhead);
+        WorkloadContext.set(bulkhead.getWorkload());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ENTERED_ATTRIBUTE) != bulkhead) {
+            return;
+        }
+
+        request.removeAttribute(ENTERED_ATTRIBUTE);
+        WorkloadContext.clear();
+        bulkhead.exit();
+    }
+
+    private void reject(HttpServletResponse response) throws Exception {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+            ApiResponse.error("Service temporarily unavailable, please retry shortly"));
+    }
+}
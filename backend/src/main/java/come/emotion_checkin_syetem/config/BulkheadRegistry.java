@@ -0,0 +1,193 @@
+package come.emotion_checkin_syetem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/BulkheadRegistry.java
+ *
+ * 🧱 BULKHEAD REGISTRY - bulkhead + connection pool ของแต่ละ Workload
+ *
+ * ✅ Config ต่อ workload (app.bulkhead.<checkin|analytics|jobs>.*):
+ * - max-concurrent / max-queue / max-wait-ms: ขนาด bulkhead
+ * - pool.*: Hikari ของ workload นั้น (checkin ใช้ spring.datasource.hikari.*)
+ *
+ * ✅ Features:
+ * - runJob(): scheduled job รันใน bulkhead "jobs"
+ *   (เต็ม → เข้าคิว deferred รอ permit ว่างแล้วรัน ไม่ทิ้งรอบ cron)
+ * - snapshot(): metrics ต่อ bulkhead (active, queued, accepted, rejected + Hikari pool)
+ * - log metrics ตามรอบ (app.bulkhead.metrics-log-interval-ms), มี reject → WARN
+ */
+@Component
+@Slf4j
+public class BulkheadRegistry {
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+    private final Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+    private final Map<Workload, Long> lastRejected = new EnumMap<>(Workload.class);
+
+    // job ที่ bulkhead เต็มตอนถึงรอบ → รันทีละงานเมื่อ permit ว่าง (ชื่อเดียวกันค้างได้แค่ 1)
+    private final Map<String, Runnable> deferredJobs = new ConcurrentHashMap<>();
+    private final ExecutorService deferredExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("jobs-deferred").daemon(true).factory());
+
+    /** metrics ของ 1 bulkhead */
+    public record Stats(
+        String workload,
+        int maxConcurrent,
+        int active,
+        int queued,
+        long accepted,
+        long rejected,
+        int poolActive,
+        int poolIdle,
+        int poolWaiting,
+        int poolMax
+    ) {}
+
+    public BulkheadRegistry(
+        Environment environment,
+        @Qualifier("checkinDataSource") HikariDataSource checkinPool,
+        @Qualifier("analyticsDataSource") HikariDataSource analyticsPool,
+        @Qualifier("jobsDataSource") HikariDataSource jobsPool
+    ) {
+        pools.put(Workload.CHECKIN, checkinPool);
+        pools.put(Workload.ANALYTICS, analyticsPool);
+        pools.put(Workload.JOBS, jobsPool);
+
+        bulkheads.put(Workload.CHECKIN, create(environment, Workload.CHECKIN, 64, 256, 5000));
+        bulkheads.put(Workload.ANALYTICS, create(environment, Workload.ANALYTICS, 4, 8, 200));
+        bulkheads.put(Workload.JOBS, create(environment, Workload.JOBS, 2, 16, 60000));
+    }
+
+    private Bulkhead create(Environment environment, Workload workload, int maxConcurrent, int maxQueue, long maxWaitMillis) {
+        String prefix = "app.bulkhead." + workload.key() + ".";
+        return new Bulkhead(
+            workload,
+            environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+            environment.getProperty(prefix + "max-queue", Integer.class, maxQueue),
+            environment.getProperty(prefix + "max-wait-ms", Long.class, maxWaitMillis)
+        );
+    }
+
+    public Bulkhead get(Workload workload) {
+        return bulkheads.get(workload);
+    }
+
+    /**
+     * ⚙️ RUN JOB - รันงาน background ใน bulkhead "jobs" (ใช้ pool ของ jobs)
+     *
+     * ✅ bulkhead เต็ม → ไม่ทิ้งงาน: ส่งเข้าคิว deferred ที่รอ permit (ไม่มี timeout) แล้วรัน
+     * - งานชื่อเดียวกันค้างในคิวอยู่แล้ว → ไม่เพิ่มซ้ำ (รอบที่ค้างอยู่ครอบคลุมรอบนี้)
+     *
+     * @param name ชื่องาน (ใช้ใน log + กันเข้าคิวซ้ำ)
+     * @param job งาน
+     * @return false ถ้า bulkhead เต็ม (งานถูกเลื่อนไปรันใน deferred queue)
+     */
+    public boolean runJob(String name, Runnable job) {
+        Bulkhead bulkhead = bulkheads.get(Workload.JOBS);
+        if (!bulkhead.tryEnter()) {
+            defer(bulkhead, name, job);
+            return false;
+        }
+
+        run(bulkhead, job);
+        return true;
+    }
+
+    private void defer(Bulkhead bulkhead, String name, Runnable job) {
+        if (deferredJobs.putIfAbsent(name, job) != null) {
+            log.warn("🧱 Jobs bulkhead full, {} already deferred", name);
+            return;
+        }
+
+        log.warn("🧱 Jobs bulkhead full, {} deferred until a permit frees", name);
+        deferredExecutor.execute(() -> {
+            try {
+                bulkhead.enter();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deferredJobs.remove(name);
+                return;
+            }
+
+            // ออกจากคิวก่อนรัน → รอบ cron ที่มาระหว่างรันเข้าคิวใหม่ได้
+            deferredJobs.remove(name);
+            try {
+                run(bulkhead, job);
+                log.info("🧱 Deferred job {} completed", name);
+            } catch (RuntimeException e) {
+                log.error("❌ Deferred job {} failed: {}", name, e.getMessage(), e);
+            }
+        });
+    }
+
+    private void run(Bulkhead bulkhead, Runnable job) {
+        WorkloadContext.set(Workload.JOBS);
+        try {
+            job.run();
+        } finally {
+            WorkloadContext.clear();
+            bulkhead.exit();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deferredExecutor.shutdownNow();
+    }
+
+    /**
+     * 📊 SNAPSHOT - metrics ของทุก bulkhead
+     */
+    public List<Stats> snapshot() {
+        List<Stats> stats = new ArrayList<>();
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            HikariDataSource pool = pools.get(bulkhead.getWorkload());
+            HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+
+            stats.add(new Stats(
+                bulkhead.getWorkload().key(),
+                bulkhead.getMaxConcurrent(),
+                bulkhead.getActive(),
+                bulkhead.getQueued(),
+                bulkhead.getAccepted(),
+                bulkhead.getRejected(),
+                poolBean != null ? poolBean.getActiveConnections() : 0,
+                poolBean != null ? poolBean.getIdleConnections() : 0,
+                poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0,
+                pool.getMaximumPoolSize()
+            ));
+        }
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bulkhead.metrics-log-interval-ms:60000}")
+    public void logMetrics() {
+        for (Stats stats : snapshot()) {
+            Workload workload = Workload.valueOf(stats.workload().toUpperCase());
+            long rejectedSinceLast = stats.rejected() - lastRejected.getOrDefault(workload, 0L);
+            lastRejected.put(workload, stats.rejected());
+
+            if (rejectedSinceLast > 0) {
+                log.warn("🧱 Bulkhead {}: {} rejected since last report ({})", stats.workload(), rejectedSinceLast, stats);
+            } else {
+                log.debug("🧱 Bulkhead {}", stats);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package come.emotion_checkin_syetem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/DataSourceConfig.java
+ *
+ * 🗄️ DATASOURCE CONFIG - connection pools แยกตาม workload + read replica (optional)
+ *
+ * ✅ Beans:
+ * - checkinDataSource:   spring.datasource.* + spring.datasource.hikari.* (pool "checkin")
+ * - analyticsDataSource: spring.datasource.* + app.bulkhead.analytics.pool.* (pool "analytics")
+ * - jobsDataSource:      spring.datasource.* + app.bulkhead.jobs.pool.* (pool "jobs")
+ * - primaryDataSource:   WorkloadRoutingDataSource → เลือก 3 pool บนตาม WorkloadContext
+ * - replicaDataSource:   app.datasource.replica.* (เฉพาะ app.datasource.replica.enabled=true)
+ * - dataSource (@Primary): LazyConnectionDataSourceProxy → ReadReplicaRoutingDataSource
+ *   (มี replica) หรือ primaryDataSource ตรงๆ — JPA, JdbcTemplate ใช้ตัวนี้
+ *
+ * ⚠️ NOTE:
+ * - LazyConnectionDataSourceProxy: เลือก pool ตอน statement แรก (หลังตั้ง readOnly / workload แล้ว)
+ * - @Transactional เขียนที่ถูกเรียกใน @Transactional(readOnly = true) จะ join connection ของ replica
+ *   → transaction manager ปฏิเสธ (validateExistingTransaction) แทนที่จะเขียนไป replica
+ *   ต้องแยกเป็น REQUIRES_NEW / @Async หรือย้ายออกนอก read-only transaction
+ * - ทดสอบ replica ในเครื่อง: profile "replica" (ดู application-replica.properties)
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource checkinDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.CHECKIN);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.bulkhead.analytics.pool")
+    public HikariDataSource analyticsDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.ANALYTICS);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.bulkhead.jobs.pool")
+    public HikariDataSource jobsDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.JOBS);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Workload workload) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName(workload.key());
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource primaryDataSource(
+        @Qualifier("checkinDataSource") DataSource checkin,
+        @Qualifier("analyticsDataSource") DataSource analytics,
+        @Qualifier("jobsDataSource") DataSource jobs
+    ) {
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+            Workload.CHECKIN, checkin,
+            Workload.ANALYTICS, analytics,
+            Workload.JOBS, jobs
+        ));
+        routing.setDefaultTargetDataSource(checkin);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+        ObjectProvider<ReplicaLagMonitor> lagMonitor,
+        ReadYourWritesTracker readYourWrites
+    ) {
+        DataSource replicaPool = replica.getIfAvailable();
+        if (replicaPool == null) {
+            return new LazyConnectionDataSourceProxy(primary);
+        }
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(lagMonitor.getObject(), readYourWrites);
+        routing.setTargetDataSources(Map.of(
+            ReadReplicaRoutingDataSource.Route.PRIMARY, primary,
+            ReadReplicaRoutingDataSource.Route.REPLICA, replicaPool
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 🛡️ ห้าม transaction เขียน join transaction read-only (ซึ่งอาจถือ connection ของ replica อยู่)
+     */
+    @Bean
+    public TransactionManagerCustomizer<AbstractPlatformTransactionManager> rejectWritesInReadOnlyTransactions() {
+        return transactionManager -> transactionManager.setValidateExistingTransaction(true);
+    }
+
+    /**
+     * 🔀 READ REPLICA - เปิดด้วย app.datasource.replica.enabled=true
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+    static class ReplicaConfig {
+
+        @Bean
+        @ConfigurationProperties("app.datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(
+            DataSourceProperties primaryProperties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password
+        ) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica");
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(username.isEmpty() ? primaryProperties.determineUsername() : username);
+            dataSource.setPassword(password.isEmpty() ? primaryProperties.determinePassword() : password);
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("checkinDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.max-lag-ms:3000}") long maxLagMillis
+        ) {
+            return new ReplicaLagMonitor(primary, replica, maxLagMillis);
+        }
+    }
+}
@@ -172,6 +172,11 @@ public class GlobalExceptionHandler {
             return HttpStatus.UNAUTHORIZED;
         }
 
+        // 429 Too Many Requests
+        if (lowerMessage.contains("too many")) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+
         // 403 Forbidden
         if (lowerMessage.contains("access denied") ||
             lowerMessage.contains("permission") ||
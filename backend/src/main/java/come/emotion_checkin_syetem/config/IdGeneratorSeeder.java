@@ -0,0 +1,86 @@
+package come.emotion_checkin_syetem.config;
+
+import come.emotion_checkin_syetem.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/IdGeneratorSeeder.java
+ *
+ * 🔢 ID GENERATOR SEEDER - ตั้ง next_val ของ id_generator ให้เกิน MAX(id) ของแต่ละตาราง
+ *
+ * ✅ ทำไมต้องมี?
+ * - ตารางเดิมใช้ AUTO_INCREMENT มีข้อมูลอยู่แล้ว → generator ต้องเริ่มหลัง id สุดท้าย
+ * - รันตอน startup (หลัง EntityManagerFactory สร้างตารางแล้ว ก่อนรับ request / scheduled job)
+ *
+ * ⚠️ NOTE:
+ * - ขยับขึ้นอย่างเดียว (UPDATE ... WHERE next_val < ?) → รันซ้ำ / หลาย instance พร้อมกันได้
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorSeeder {
+
+    private static final List<String> TABLES = List.of(
+        IdGenerators.NOTIFICATION,
+        IdGenerators.AUDIT_LOG,
+        IdGenerators.EMOTION_CHECKIN,
+        IdGenerators.EMOTION_AI_RESULT
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ต้องรอตาราง id_generator (Flyway / ddl-auto ใน dev) ก่อน
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            long nextVal = (maxId != null ? maxId : 0) + 1;
+
+            if (moveUp(table, nextVal) == 0) {
+                insertIfMissing(table, nextVal);
+            } else {
+                log.info("🔢 id_generator[{}] moved to {}", table, nextVal);
+            }
+        }
+    }
+
+    /** ขยับ next_val ขึ้นเป็น nextVal ถ้ายังต่ำกว่า */
+    private int moveUp(String table, long nextVal) {
+        return jdbcTemplate.update(
+            "UPDATE " + IdGenerators.TABLE +
+            " SET " + IdGenerators.VALUE_COLUMN + " = ?" +
+            " WHERE " + IdGenerators.PK_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+            nextVal, table, nextVal
+        );
+    }
+
+    private void insertIfMissing(String table, long nextVal) {
+        Integer exists = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.PK_COLUMN + " = ?",
+            Integer.class, table
+        );
+        if (exists != null && exists > 0) return;
+
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO " + IdGenerators.TABLE +
+                " (" + IdGenerators.PK_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)",
+                table, nextVal
+            );
+            log.info("🔢 id_generator[{}] initialized at {}", table, nextVal);
+        } catch (DuplicateKeyException e) {
+            // instance อื่นสร้างไปพร้อมกัน → ขยับด้วย UPDATE แทน
+            moveUp(table, nextVal);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package come.emotion_checkin_syetem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/LocalReplicaSync.java
+ *
+ * 🪞 LOCAL REPLICA SYNC - จำลอง replication ระหว่าง H2 2 ตัว (profile "replica" เท่านั้น)
+ *
+ * ✅ ทำไมต้องมี?
+ * - primary / replica เป็นคนละ H2 database → ถ้า write หลุดไป replica หรือ read ไป replica
+ *   ทั้งที่ควรอ่าน primary (read-your-writes) จะเห็นได้จากข้อมูลที่ไม่ตรงกัน
+ * - H2 ไม่มี replication → copy เองทุก app.datasource.replica.local-sync-interval-ms
+ *   (= replica lag จริงๆ ที่ ReplicaLagMonitor วัดได้จาก replica_heartbeat)
+ *
+ * ✅ Flow:
+ * 1. ApplicationReady: SCRIPT NODATA ของ primary → สร้าง table ใน replica (ไม่เอา foreign key)
+ * 2. ทุกรอบ: SCRIPT ของ primary → DELETE + INSERT ทุก table ใน transaction เดียวของ replica
+ *    (reader ของ replica เห็นข้อมูลชุดเก่าจนกว่าจะ commit)
+ *
+ * ⚠️ NOTE:
+ * - copy ทั้ง database ทุกรอบ → ใช้กับข้อมูล dev เล็กๆ เท่านั้น
+ * - เขียน replica ผ่าน connection แยก (pool "replica" เป็น read-only)
+ */
+@Component
+@Profile("replica")
+@Slf4j
+public class LocalReplicaSync {
+
+    private final JdbcTemplate primaryJdbc;
+    private final JdbcTemplate replicaJdbc;
+    private final TransactionTemplate replicaTransaction;
+
+    private volatile List<String> tables = List.of();
+
+    public LocalReplicaSync(
+        @Qualifier("checkinDataSource") DataSource primary,
+        @Value("${app.datasource.replica.url}") String replicaUrl,
+        @Value("${spring.datasource.username:sa}") String username,
+        @Value("${spring.datasource.password:}") String password
+    ) {
+        SingleConnectionDataSource replica = new SingleConnectionDataSource(replicaUrl, username, password, true);
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replica));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void copySchema() {
+        List<String> ddl = primaryJdbc.queryForList("SCRIPT NODATA", String.class).stream()
+            .filter(statement -> !statement.startsWith("--"))
+            .filter(statement -> !statement.startsWith("CREATE USER"))
+            .filter(statement -> !statement.contains("FOREIGN KEY"))
+            .toList();
+
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        ddl.forEach(replicaJdbc::execute);
+
+        tables = primaryJdbc.queryForList(
+            "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'",
+            String.class
+        );
+        log.info("🪞 Local replica schema copied ({} tables)", tables.size());
+        sync();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.datasource.replica.local-sync-interval-ms:1000}",
+        initialDelayString = "${app.datasource.replica.local-sync-interval-ms:1000}"
+    )
+    public void sync() {
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        List<String> inserts = primaryJdbc.queryForList("SCRIPT", String.class).stream()
+            .filter(statement -> statement.startsWith("INSERT INTO"))
+            .toList();
+
+        replicaTransaction.executeWithoutResult(status -> {
+            tables.forEach(table -> replicaJdbc.update("DELETE FROM \"" + table + "\""));
+            inserts.forEach(replicaJdbc::update);
+        });
+        log.debug("🪞 Local replica synced ({} insert statements)", inserts.size());
+    }
+}
@@ -0,0 +1,117 @@
+package come.emotion_checkin_syetem.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/QueryBudget.java
+ *
+ * 🧮 QUERY BUDGET - นับ SQL ที่ Hibernate ส่งต่อ 1 request เทียบกับงบของ endpoint
+ *
+ * ✅ Flow:
+ * - QueryBudgetInterceptor.preHandle → start(endpoint, limit) (ThreadLocal ของ request thread)
+ * - QueryCountingInspector (Hibernate StatementInspector) → onStatement() ทุก statement
+ * - afterCompletion → finish() คืนจำนวน + เก็บสถิติต่อ endpoint (max / exceeded)
+ *
+ * ⚠️ NOTE:
+ * - นับเฉพาะ SQL ผ่าน Hibernate (JdbcTemplate ไม่ถูกนับ)
+ * - strict: เกินงบ → IllegalStateException ทันทีที่ statement เกิน (ใช้ใน dev / CI ให้ N+1 พังให้เห็น)
+ * - นอก request (scheduled job) ไม่มี scope → ไม่นับ
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final Map<String, EndpointStats> STATS = new ConcurrentHashMap<>();
+
+    private static volatile boolean strict;
+
+    /** สถิติของ 1 endpoint (snapshot) */
+    public record Stats(String endpoint, int limit, long requests, long maxStatements, long exceeded) {}
+
+    private QueryBudget() {}
+
+    static void setStrict(boolean value) {
+        strict = value;
+    }
+
+    static void start(String endpoint, int limit) {
+        CURRENT.set(new Scope(endpoint, limit));
+    }
+
+    /** ผลของ 1 request: newMaximum = มากที่สุดเท่าที่ endpoint นี้เคยเจอ (ใช้กัน log ซ้ำ) */
+    record Result(int statements, int limit, boolean newMaximum) {
+        boolean exceeded() {
+            return statements > limit;
+        }
+    }
+
+    /**
+     * ✅ FINISH - ปิด scope ของ request
+     *
+     * @return ผลของ request (null = ไม่มี scope)
+     */
+    static Result finish() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return null;
+        }
+        CURRENT.remove();
+
+        EndpointStats stats = STATS.computeIfAbsent(scope.endpoint, e -> new EndpointStats(scope.limit));
+        stats.requests.incrementAndGet();
+        long previousMax = stats.maxStatements.getAndAccumulate(scope.statements, Math::max);
+        if (scope.statements > scope.limit) {
+            stats.exceeded.incrementAndGet();
+        }
+        return new Result(scope.statements, scope.limit, scope.statements > previousMax);
+    }
+
+    /** เรียกจาก StatementInspector ทุก statement */
+    static void onStatement(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+
+        scope.statements++;
+        if (strict && scope.statements == scope.limit + 1) {
+            throw new IllegalStateException("Query budget exceeded for " + scope.endpoint + ": more than " +
+                scope.limit + " statements (latest: " + sql + ")");
+        }
+    }
+
+    /** สถิติทุก endpoint เรียงตาม max statements มาก → น้อย */
+    public static List<Stats> snapshot() {
+        return STATS.entrySet().stream()
+            .map(entry -> new Stats(entry.getKey(), entry.getValue().limit,
+                entry.getValue().requests.get(), entry.getValue().maxStatements.get(),
+                entry.getValue().exceeded.get()))
+            .sorted(Comparator.comparingLong(Stats::maxStatements).reversed())
+            .toList();
+    }
+
+    private static final class Scope {
+        private final String endpoint;
+        private final int limit;
+        private int statements;
+
+        private Scope(String endpoint, int limit) {
+            this.endpoint = endpoint;
+            this.limit = limit;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final int limit;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicLong exceeded = new AtomicLong();
+
+        private EndpointStats(int limit) {
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package come.emotion_checkin_syetem.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/QueryBudgetConfig.java
+ *
+ * 🧮 QUERY BUDGET CONFIG - งบจำนวน SQL ต่อ request (กัน N+1 กลับมาแบบเงียบๆ)
+ *
+ * ✅ Properties:
+ * - app.query-budget.enabled: เปิด / ปิดทั้งหมด
+ * - app.query-budget.default: งบของ endpoint ที่ไม่ได้กำหนด
+ * - app.query-budget.limits.[/api/dashboard/hr]=40: งบต่อ mapping pattern
+ * - app.query-budget.strict: เกินงบ → request fail (dev / CI), ปิด = WARN อย่างเดียว
+ *
+ * ⚠️ NOTE:
+ * - สถิติสะสมต่อ endpoint: GET /api/dashboard/query-budgets (SuperAdmin)
+ */
+@Configuration
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final int defaultLimit;
+    private final Map<String, Integer> limits;
+
+    public QueryBudgetConfig(
+        Environment environment,
+        @Value("${app.query-budget.enabled:true}") boolean enabled,
+        @Value("${app.query-budget.default:20}") int defaultLimit,
+        @Value("${app.query-budget.strict:false}") boolean strict
+    ) {
+        this.enabled = enabled;
+        this.defaultLimit = defaultLimit;
+        this.limits = Binder.get(environment)
+            .bind("app.query-budget.limits", Bindable.mapOf(String.class, Integer.class))
+            .orElse(Map.of());
+        QueryBudget.setStrict(strict);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingInspector() {
+        return properties -> {
+            if (enabled) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new QueryBudgetInterceptor(limits, defaultLimit)).addPathPatterns("/api/**");
+        }
+    }
+}
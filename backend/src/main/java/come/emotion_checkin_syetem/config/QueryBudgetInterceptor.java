@@ -0,0 +1,64 @@
+package come.emotion_checkin_syetem.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/QueryBudgetInterceptor.java
+ *
+ * 🧮 QUERY BUDGET INTERCEPTOR - เปิด / ปิด QueryBudget รอบแต่ละ request
+ *
+ * ✅ Flow:
+ * - preHandle: งบ = app.query-budget.limits.[<pattern>] ของ mapping ที่ตรง (ไม่มี = default)
+ * - afterCompletion: เกินงบ → WARN (เฉพาะครั้งที่จำนวนสูงสุดของ endpoint ขยับขึ้น กัน log ท่วม)
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".started";
+
+    private final Map<String, Integer> limits;
+    private final int defaultLimit;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+
+        request.setAttribute(STARTED_ATTRIBUTE, Boolean.TRUE);
+        QueryBudget.start(request.getMethod() + " " + path, limits.getOrDefault(path, defaultLimit));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_ATTRIBUTE);
+
+        QueryBudget.Result result = QueryBudget.finish();
+        if (result == null) {
+            return;
+        }
+
+        if (result.exceeded() && result.newMaximum()) {
+            log.warn("🧮 {} {} ran {} SQL statements (budget {}) — look for N+1 / lazy loading per row",
+                request.getMethod(), request.getRequestURI(), result.statements(), result.limit());
+        } else {
+            log.debug("🧮 {} {} ran {} SQL statements (budget {})",
+                request.getMethod(), request.getRequestURI(), result.statements(), result.limit());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package come.emotion_checkin_syetem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/QueryCountingInspector.java
+ *
+ * 🧮 QUERY COUNTING INSPECTOR - Hibernate เรียกก่อน prepare ทุก SQL → นับเข้า QueryBudget
+ *
+ * ⚠️ NOTE:
+ * - ไม่แก้ SQL (คืนค่าเดิม)
+ * - batch insert/update = นับครั้งเดียวต่อ statement ที่ prepare (ตรงกับจำนวน round trip โดยประมาณ)
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryBudget.onStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,46 @@
+package come.emotion_checkin_syetem.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/ReadReplicaRoutingDataSource.java
+ *
+ * 🔀 READ REPLICA ROUTING - เลือก pool ตาม transaction ปัจจุบัน
+ *
+ * ✅ Rules:
+ * - @Transactional(readOnly = true) → REPLICA
+ *   ยกเว้น replica lag เกิน / ต่อไม่ได้ หรือ user ของ request เพิ่งเขียน → PRIMARY
+ * - transaction เขียน → PRIMARY (+ mark read-your-writes ให้ user ของ request)
+ * - ไม่มี transaction (startup, JdbcTemplate ตรงๆ) → PRIMARY
+ *
+ * ⚠️ NOTE:
+ * - ต้องห่อด้วย LazyConnectionDataSourceProxy: flag readOnly ถูกตั้งหลัง JpaTransactionManager
+ *   เปิด transaction → ต้องเลื่อนการเลือก pool ไปถึง statement แรก
+ */
+@RequiredArgsConstructor
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.markCurrentUser();
+            return Route.PRIMARY;
+        }
+
+        if (!lagMonitor.isReplicaUsable() || readYourWrites.isCurrentUserRecentWriter()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
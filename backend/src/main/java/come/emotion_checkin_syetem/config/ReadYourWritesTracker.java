@@ -0,0 +1,103 @@
+package come.emotion_checkin_syetem.config;
+
+import come.emotion_checkin_syetem.security.SessionPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/ReadYourWritesTracker.java
+ *
+ * ✍️ READ-YOUR-WRITES TRACKER - user ที่เพิ่งเขียน (เช่นเพิ่งเช็คอิน) อ่านจาก primary ชั่วคราว
+ *
+ * ✅ Flow:
+ * - ReadReplicaRoutingDataSource เรียก markCurrentUser() ทุกครั้งที่ transaction เขียนใช้ connection
+ * - read-only transaction ของ user คนเดิมภายใน app.datasource.replica.read-your-writes-ms
+ *   → ไป primary (replica อาจยังไม่มีแถวที่เพิ่งเขียน)
+ *
+ * ⚠️ NOTE:
+ * - current user = principal จาก token หรือ X-User-Id ของ request (นอก request = ไม่มี user)
+ * - window ควรมากกว่า app.datasource.replica.max-lag-ms
+ */
+@Component
+@Slf4j
+public class ReadYourWritesTracker {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    private final Map<Long, Long> recentWriters = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long windowMillis;
+
+    /**
+     * ✍️ MARK - user ของ request นี้เพิ่งเขียน
+     */
+    public void markCurrentUser() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            markWrite(userId);
+        }
+    }
+
+    public void markWrite(Long userId) {
+        recentWriters.put(userId, System.currentTimeMillis() + windowMillis);
+    }
+
+    /**
+     * 🔍 CHECK - user ของ request นี้ยังอยู่ใน window หลังเขียนหรือไม่
+     */
+    public boolean isCurrentUserRecentWriter() {
+        Long userId = currentUserId();
+        if (userId == null) return false;
+
+        Long until = recentWriters.get(userId);
+        if (until == null) return false;
+
+        if (until < System.currentTimeMillis()) {
+            recentWriters.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 🧹 EVICT - ล้าง user ที่หมด window แล้ว (ไม่ได้อ่านต่อหลังเขียน)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until < now);
+    }
+
+    private Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+
+        Object principal = attributes.getAttribute(
+            SessionPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST
+        );
+        if (principal instanceof SessionPrincipal sessionPrincipal) {
+            return sessionPrincipal.getId();
+        }
+
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String header = servletAttributes.getRequest().getHeader(USER_ID_HEADER);
+            if (header != null) {
+                try {
+                    return Long.valueOf(header.trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
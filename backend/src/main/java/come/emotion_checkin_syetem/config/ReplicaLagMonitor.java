@@ -0,0 +1,101 @@
+package come.emotion_checkin_syetem.config;
+
+import come.emotion_checkin_syetem.entity.ReplicaHeartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/ReplicaLagMonitor.java
+ *
+ * 💓 REPLICA LAG MONITOR - ตัดสินว่าตอนนี้อ่านจาก replica ได้หรือไม่
+ *
+ * ✅ Flow (ทุก app.datasource.replica.lag-check-interval-ms):
+ * 1. เขียน replica_heartbeat.beat_at = now ที่ primary
+ * 2. อ่าน beat_at จาก replica → lag = now - beat_at
+ * 3. lag > app.datasource.replica.max-lag-ms หรือ query replica ไม่ได้ → ใช้ primary อย่างเดียว
+ *    จนกว่ารอบถัดไปจะผ่าน
+ *
+ * ⚠️ NOTE:
+ * - max-lag-ms <= 0 → ไม่วัด lag เช็คแค่ว่าต่อ replica ได้ (ใช้ตอนทดสอบกับ H2 2 ตัวที่ไม่ replicate กัน)
+ * - ก่อนเช็ครอบแรกผ่าน = ยังไม่ใช้ replica
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primaryJdbc;
+    private final JdbcTemplate replicaJdbc;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /** lag ล่าสุดที่วัดได้ (ms), -1 = ยังไม่ได้วัด / ไม่ได้เปิดวัด */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        boolean usable;
+        try {
+            usable = maxLagMillis > 0 ? checkLag() : checkConnection();
+        } catch (Exception e) {
+            log.debug("💓 Replica check failed: {}", e.getMessage());
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("💓 Replica is in sync (lag {} ms), read-only transactions use the replica", lastLagMillis);
+            } else {
+                log.warn("💓 Replica lagging or unreachable (lag {} ms), reads fall back to primary", lastLagMillis);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    private boolean checkLag() {
+        long now = System.currentTimeMillis();
+        writeHeartbeat(now);
+
+        Long beatAt = replicaJdbc.queryForObject(
+            "SELECT beat_at FROM replica_heartbeat WHERE id = ?", Long.class, ReplicaHeartbeat.SINGLETON_ID
+        );
+        lastLagMillis = beatAt != null ? Math.max(0, now - beatAt) : Long.MAX_VALUE;
+        return lastLagMillis <= maxLagMillis;
+    }
+
+    private boolean checkConnection() {
+        replicaJdbc.queryForObject("SELECT 1", Integer.class);
+        return true;
+    }
+
+    private void writeHeartbeat(long now) {
+        int updated = primaryJdbc.update(
+            "UPDATE replica_heartbeat SET beat_at = ? WHERE id = ?", now, ReplicaHeartbeat.SINGLETON_ID
+        );
+        if (updated == 0) {
+            try {
+                primaryJdbc.update(
+                    "INSERT INTO replica_heartbeat (id, beat_at) VALUES (?, ?)", ReplicaHeartbeat.SINGLETON_ID, now
+                );
+            } catch (DuplicateKeyException e) {
+                // instance อื่นสร้างแถวไปพร้อมกัน → รอบหน้า UPDATE ได้
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package come.emotion_checkin_syetem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/SchemaIndexVerifier.java
+ *
+ * 🔎 SCHEMA INDEX VERIFIER - ตรวจตอน startup ว่า index ที่ entity ประกาศไว้มีอยู่จริงใน DB
+ *
+ * ✅ ทำไมต้องมี?
+ * - schema เป็นของ Flyway (ddl-auto=validate) → Hibernate เช็คแค่ column ไม่เช็ค index
+ * - ลืม migration / migration ล้มครึ่งทาง → query หลักกลายเป็น full scan แบบเงียบๆ
+ *   → fail ตั้งแต่ startup ดีกว่าไปรู้ตอน dashboard ช้า
+ *
+ * ✅ วิธีตรวจ:
+ * - อ่าน @Table(indexes, uniqueConstraints) ของทุก entity
+ * - เทียบกับ DatabaseMetaData.getIndexInfo: ต้องมี index ที่ column นำหน้าตรงตามลำดับ
+ *   (unique constraint ต้องเป็น unique index) — เทียบตาม column ไม่ใช่ชื่อ
+ *   (H2 / MySQL ตั้งชื่อ index ของ unique constraint ต่างกัน)
+ *
+ * ⚠️ NOTE:
+ * - ปิดได้ด้วย app.schema.verify-indexes=false
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ตารางต้องพร้อมก่อน (Flyway → EntityManagerFactory)
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.schema.verify-indexes:true}")
+    private boolean enabled;
+
+    /** index ที่ entity ประกาศไว้ */
+    record ExpectedIndex(String table, String name, List<String> columns, boolean unique) {
+        @Override
+        public String toString() {
+            return table + "." + name + columns;
+        }
+    }
+
+    @PostConstruct
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+
+        List<ExpectedIndex> expected = expectedIndexes();
+        List<ExpectedIndex> missing = jdbcTemplate.execute((ConnectionCallback<List<ExpectedIndex>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, Map<String, IndexInfo>> byTable = new HashMap<>();
+            List<ExpectedIndex> absent = new ArrayList<>();
+
+            for (ExpectedIndex index : expected) {
+                Map<String, IndexInfo> existing = byTable.get(index.table());
+                if (existing == null) {
+                    existing = readIndexes(metaData, connection.getCatalog(), index.table());
+                    byTable.put(index.table(), existing);
+                }
+                if (existing.values().stream().noneMatch(info -> info.covers(index))) {
+                    absent.add(index);
+                }
+            }
+            return absent;
+        });
+
+        if (missing != null && !missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes (run the Flyway migrations): " + missing);
+        }
+        log.info("🔎 Schema index check passed ({} indexes)", expected.size());
+    }
+
+    private List<ExpectedIndex> expectedIndexes() {
+        List<ExpectedIndex> expected = new ArrayList<>();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            if (table == null) {
+                continue;
+            }
+
+            for (Index index : table.indexes()) {
+                expected.add(new ExpectedIndex(table.name(), index.name(),
+                    columns(index.columnList().split(",")), index.unique()));
+            }
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                expected.add(new ExpectedIndex(table.name(), constraint.name(),
+                    columns(constraint.columnNames()), true));
+            }
+        }
+        return expected;
+    }
+
+    private static List<String> columns(String[] names) {
+        return Arrays.stream(names)
+            .map(name -> name.trim().toLowerCase(Locale.ROOT))
+            .toList();
+    }
+
+    /** index ที่มีอยู่จริงของ 1 ตาราง: ชื่อ → column ตามลำดับ */
+    private static Map<String, IndexInfo> readIndexes(DatabaseMetaData metaData, String catalog, String table)
+        throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, IndexInfo> indexes = new HashMap<>();
+
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, tableName, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name == null || column == null) {
+                    continue;
+                }
+                boolean unique = !rs.getBoolean("NON_UNIQUE");
+                indexes.computeIfAbsent(name, n -> new IndexInfo(unique))
+                    .columns.put((int) rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+
+    private static final class IndexInfo {
+        private final boolean unique;
+        private final Map<Integer, String> columns = new TreeMap<>();
+
+        private IndexInfo(boolean unique) {
+            this.unique = unique;
+        }
+
+        /** column นำหน้าตรงกับที่ประกาศ (unique ต้องตรงทั้งหมด) */
+        private boolean covers(ExpectedIndex expected) {
+            List<String> actual = new ArrayList<>(columns.values());
+            if (expected.unique()) {
+                return unique && actual.equals(expected.columns());
+            }
+            return actual.size() >= expected.columns().size()
+                && actual.subList(0, expected.columns().size()).equals(expected.columns());
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package come.emotion_checkin_syetem.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 📍 LOCATION: src/main/java/com/emotion/checkin/config/WebConfig.java
  * 
  * ⚙️ WEB CONFIGURATION - General Spring Boot configuration
  * 
  * ✅ Beans:
- * - BCryptPasswordEncoder: Password hashing
+ * - BCryptPasswordEncoder: Password hashing (shared, single instance)
+ * - passwordHashExecutor: Bounded pool for BCrypt work
  * 
  * 🐛 DEBUG CHECKLIST:
  * ✅ @Configuration annotation
@@ -26,10 +33,43 @@ public class WebConfig {
      * - Hashing passwords on registration
      * - Verifying passwords on login
      * 
-     * Strength: 10 rounds (default)
+     * Strength: app.security.bcrypt.strength (default 10 rounds)
+     * ⚠️ เปลี่ยน strength แล้ว hash เดิมจะถูก rehash ตอน login ครั้งถัดไป
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(
+        @Value("${app.security.bcrypt.strength:10}") int strength
+    ) {
+        return new BCryptPasswordEncoder(strength);
+    }
+    
+    /**
+     * 🧵 Password Hash Executor
+     * 
+     * BCrypt กิน CPU ~100ms ต่อครั้ง → แยก pool จำกัดขนาด ไม่ให้ login storm
+     * แย่ง Tomcat threads ของ check-in / dashboard
+     * 
+     * - threads: จำนวน thread (default 1 — เหลือ CPU ให้ request อื่นบน 1 vCPU)
+     * - queue-capacity: คิวรอ ถ้าเต็ม → RejectedExecutionException (fast-fail)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(
+        @Value("${app.security.bcrypt.threads:1}") int threads,
+        @Value("${app.security.bcrypt.queue-capacity:32}") int queueCapacity
+    ) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
     }
 }
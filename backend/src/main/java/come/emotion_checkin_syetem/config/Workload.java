@@ -0,0 +1,21 @@
+package come.emotion_checkin_syetem.config;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/Workload.java
+ *
+ * 🧱 WORKLOAD - กลุ่มงานที่แยก bulkhead (concurrency limit + connection pool) ออกจากกัน
+ *
+ * - CHECKIN: employee check-in / notification (default ของทุก request ที่ไม่ได้จัดกลุ่ม)
+ * - ANALYTICS: HR / Admin dashboard, audit log
+ * - JOBS: scheduled jobs (retention, reminder, reconcile, flush)
+ */
+public enum Workload {
+    CHECKIN,
+    ANALYTICS,
+    JOBS;
+
+    /** ชื่อใน property: app.bulkhead.<key>.* */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
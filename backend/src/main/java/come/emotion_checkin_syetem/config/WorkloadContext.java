@@ -0,0 +1,31 @@
+package come.emotion_checkin_syetem.config;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/WorkloadContext.java
+ *
+ * 🧵 WORKLOAD CONTEXT - workload ของ thread ปัจจุบัน (WorkloadRoutingDataSource ใช้เลือก pool)
+ *
+ * ⚠️ NOTE:
+ * - ตั้งโดย BulkheadInterceptor (request) / BulkheadRegistry.runJob (scheduled job) เท่านั้น
+ * - ต้อง clear ทุกครั้ง (thread ของ Tomcat / scheduler ถูกใช้ซ้ำ)
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    /** workload ปัจจุบัน (ไม่ได้ตั้ง = CHECKIN) */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.CHECKIN;
+    }
+
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
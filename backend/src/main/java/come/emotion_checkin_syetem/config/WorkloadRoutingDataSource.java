@@ -0,0 +1,20 @@
+package come.emotion_checkin_syetem.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/config/WorkloadRoutingDataSource.java
+ *
+ * 🧱 WORKLOAD ROUTING - เลือก connection pool ของ primary ตาม WorkloadContext
+ *
+ * ✅ ผล:
+ * - dashboard หนักๆ ใช้ได้แค่ pool "analytics" → pool "checkin" ยังว่างให้ POST /api/checkin
+ * - scheduled jobs ใช้ pool "jobs" ของตัวเอง
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
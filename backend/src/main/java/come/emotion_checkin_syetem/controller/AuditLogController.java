@@ -1,6 +1,7 @@
 package come.emotion_checkin_syetem.controller;
 
 import come.emotion_checkin_syetem.dto.response.ApiResponse;
+import come.emotion_checkin_syetem.dto.response.AuditActionStats;
 import come.emotion_checkin_syetem.dto.response.AuditLogDTO;
 import come.emotion_checkin_syetem.entity.AuditLog;
 import come.emotion_checkin_syetem.entity.User;
@@ -8,10 +9,13 @@ import come.emotion_checkin_syetem.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
 /**
@@ -24,6 +28,7 @@ import java.util.List;
  * - GET /api/audit-logs/search         - Search logs
  * - GET /api/audit-logs/critical       - Critical actions only
  * - GET /api/audit-logs/user/{id}      - Logs for specific user
+ * - GET /api/audit-logs/stats          - Action counts for a date range
  * 
  * 🔐 Access: SuperAdmin ONLY
  * 
@@ -140,6 +145,57 @@ public class AuditLogController {
         }
     }
     
+    /**
+     * 📊 GET ACTION STATS
+     * 
+     * GET /api/audit-logs/stats?from=2025-11-01&to=2025-11-07
+     * 
+     * Headers:
+     * X-User-Id: 1 (Admin ID)
+     * 
+     * Query Params (optional):
+     * from: วันเริ่มต้น (default = 30 วันก่อน)
+     * to: วันสิ้นสุด (default = วันนี้)
+     * 
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Action stats retrieved",
+     *   "data": {
+     *     "from": "2025-11-01",
+     *     "to": "2025-11-07",
+     *     "counts": { "LOGIN": 420, "CHECK_IN": 390 },
+     *     "total": 810
+     *   }
+     * }
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse> getActionStats(
+        @RequestHeader("X-User-Id") Long adminId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.info("📊 GET /api/audit-logs/stats - Admin: {}, From: {}, To: {}", adminId, from, to);
+        
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
+        LocalDate end = to != null ? to : today;
+        LocalDate start = from != null ? from : end.minusDays(30);
+        
+        try {
+            AuditActionStats stats = auditLogService.getActionStats(start, end);
+            
+            return ResponseEntity.ok(
+                ApiResponse.success("Action stats retrieved", stats)
+            );
+            
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get action stats: {}", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     /**
      * 🚨 GET CRITICAL ACTIONS
      * 
@@ -5,6 +5,7 @@ import come.emotion_checkin_syetem.dto.request.RegisterRequest;
 import come.emotion_checkin_syetem.dto.response.ApiResponse;
 import come.emotion_checkin_syetem.dto.response.LoginResponse;
 import come.emotion_checkin_syetem.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -67,13 +68,22 @@ public class AuthController {
      *   "success": false,
      *   "message": "Invalid email or password"
      * }
+     * 
+     * Response (429 Too Many Requests):
+     * {
+     *   "success": false,
+     *   "message": "Too many failed login attempts. Please try again in 30 seconds."
+     * }
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse> login(
+        @Valid @RequestBody LoginRequest request,
+        HttpServletRequest httpRequest
+    ) {
         log.info("🔐 POST /api/auth/login - Email: {}", request.getEmail());
         
         try {
-            LoginResponse response = authService.login(request);
+            LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
             
             return ResponseEntity.ok(
                 ApiResponse.success("Login successful", response)
@@ -82,7 +92,11 @@ public class AuthController {
         } catch (RuntimeException e) {
             log.error("❌ Login failed: {}", e.getMessage());
             
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            HttpStatus status = e.getMessage() != null && e.getMessage().startsWith("Too many")
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.UNAUTHORIZED;
+            
+            return ResponseEntity.status(status)
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
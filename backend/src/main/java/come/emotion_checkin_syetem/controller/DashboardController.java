@@ -1,7 +1,10 @@
 package come.emotion_checkin_syetem.controller;
 
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.config.QueryBudget;
 import come.emotion_checkin_syetem.dto.response.ApiResponse;
 import come.emotion_checkin_syetem.dto.response.DashboardResponse;
+import come.emotion_checkin_syetem.dto.response.MoodTrendPoint;
 import come.emotion_checkin_syetem.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 📍 LOCATION: src/main/java/com/emotion/checkin/controller/DashboardController.java
  * 
@@ -18,6 +23,9 @@ import org.springframework.web.bind.annotation.*;
  * - GET /api/dashboard/employee       - Employee dashboard
  * - GET /api/dashboard/hr             - HR dashboard
  * - GET /api/dashboard/admin          - Admin dashboard
+ * - GET /api/dashboard/bulkheads      - Bulkhead / connection pool metrics (Admin)
+ * - GET /api/dashboard/trends         - Monthly mood trend, live + archived (HR + Admin)
+ * - GET /api/dashboard/query-budgets  - SQL statements per request vs budget (Admin)
  * 
  * 🔐 Access:
  * - /employee: Employee only
@@ -211,4 +219,125 @@ public class DashboardController {
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
+
+    /**
+     * 🧱 BULKHEAD METRICS
+     *
+     * GET /api/dashboard/bulkheads
+     *
+     * Headers:
+     * X-User-Id: 3 (Admin ID)
+     *
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Bulkhead stats retrieved",
+     *   "data": [
+     *     { "workload": "analytics", "maxConcurrent": 4, "active": 4, "queued": 8,
+     *       "accepted": 1520, "rejected": 37, "poolActive": 4, "poolIdle": 0,
+     *       "poolWaiting": 0, "poolMax": 4 }
+     *   ]
+     * }
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<ApiResponse> getBulkheadStats(
+        @RequestHeader("X-User-Id") Long adminId
+    ) {
+        log.info("🧱 GET /api/dashboard/bulkheads - Admin ID: {}", adminId);
+
+        try {
+            List<BulkheadRegistry.Stats> stats = dashboardService.getBulkheadStats(adminId);
+
+            return ResponseEntity.ok(
+                ApiResponse.success("Bulkhead stats retrieved", stats)
+            );
+
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get bulkhead stats: {}", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 📈 MOOD TREND (รายเดือน, รวม cold archive)
+     *
+     * GET /api/dashboard/trends?months=24&department=IT
+     *
+     * Headers:
+     * X-User-Id: 2 (HR / Admin ID)
+     *
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Mood trend retrieved",
+     *   "data": [
+     *     { "month": "2024-03", "positiveCount": 310, "neutralCount": 120, "negativeCount": 40,
+     *       "totalCheckins": 470, "averageMoodScore": 2.57, "archived": true }
+     *   ]
+     * }
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<ApiResponse> getMoodTrend(
+        @RequestHeader("X-User-Id") Long userId,
+        @RequestParam(required = false) String department,
+        @RequestParam(defaultValue = "12") int months
+    ) {
+        log.info("📈 GET /api/dashboard/trends - User ID: {}, Department: {}, Months: {}",
+            userId, department, months);
+
+        try {
+            List<MoodTrendPoint> trend = dashboardService.getMoodTrend(userId, department, months);
+
+            return ResponseEntity.ok(
+                ApiResponse.success("Mood trend retrieved", trend)
+            );
+
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get mood trend: {}", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 🧮 QUERY BUDGETS (Admin only)
+     *
+     * GET /api/dashboard/query-budgets
+     *
+     * Headers:
+     * X-User-Id: 3 (Admin ID)
+     *
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Query budget stats retrieved",
+     *   "data": [
+     *     { "endpoint": "GET /api/dashboard/hr", "limit": 40, "requests": 52,
+     *       "maxStatements": 212, "exceeded": 52 }
+     *   ]
+     * }
+     */
+    @GetMapping("/query-budgets")
+    public ResponseEntity<ApiResponse> getQueryBudgetStats(
+        @RequestHeader("X-User-Id") Long adminId
+    ) {
+        log.info("🧮 GET /api/dashboard/query-budgets - Admin ID: {}", adminId);
+
+        try {
+            List<QueryBudget.Stats> stats = dashboardService.getQueryBudgetStats(adminId);
+
+            return ResponseEntity.ok(
+                ApiResponse.success("Query budget stats retrieved", stats)
+            );
+
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get query budget stats: {}", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
\ No newline at end of file
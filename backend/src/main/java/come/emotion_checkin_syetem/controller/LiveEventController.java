@@ -0,0 +1,121 @@
+package come.emotion_checkin_syetem.controller;
+
+import come.emotion_checkin_syetem.dto.response.ApiResponse;
+import come.emotion_checkin_syetem.security.SessionContext;
+import come.emotion_checkin_syetem.security.SessionPrincipal;
+import come.emotion_checkin_syetem.security.SessionTokenService;
+import come.emotion_checkin_syetem.service.LiveEventBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/controller/LiveEventController.java
+ *
+ * 📡 LIVE EVENT CONTROLLER - Server-Sent Events (แทนการ poll)
+ *
+ * ✅ Endpoints:
+ * - POST /api/live/ticket - ออก stream ticket (อายุสั้น ใช้ซ้ำได้จนหมดอายุ)
+ * - GET  /api/live/stream - SSE stream ของ user
+ *
+ * 📨 Events:
+ * - notification  : notification ใหม่ (NotificationDTO)
+ * - unread-count  : {"delta": 1} / {"delta": -1} / {"count": 0}
+ * - dashboard     : {"department": "IT", "emotionLevel": 1, "checkins": 1, ...} (HR + Admin)
+ * - resync        : replay ไม่ครบ → โหลด notifications / dashboard ใหม่
+ * - ": heartbeat" : comment ทุก 15 วินาที (ไม่ใช่ event)
+ *
+ * 🔐 Access:
+ * - ต้องมี session token เสมอ (แม้ app.security.token.required=false) — user id มาจาก token เท่านั้น
+ * - EventSource ตั้ง header ไม่ได้ → ขอ ticket ด้วย Bearer token ก่อน แล้วเปิด /stream?ticket=...
+ *   (ไม่ใส่ session token ใน URL)
+ *
+ * 🔁 Reconnect:
+ * - ticket ยังไม่หมดอายุ: EventSource reconnect เองด้วย URL เดิม + Last-Event-ID header → replay event ที่พลาด
+ * - ticket หมดอายุ: reconnect อัตโนมัติได้ 401 → EventSource ปิดตัว (readyState = CLOSED)
+ *   client ต้องทำเอง:
+ *   1. เก็บ lastEventId = event.lastEventId ของ event ล่าสุดที่ได้
+ *   2. onerror + readyState CLOSED → POST /api/live/ticket (Bearer token) ขอ ticket ใหม่
+ *   3. new EventSource("/api/live/stream?ticket=" + ticket + "&lastEventId=" + lastEventId)
+ *      (EventSource ใหม่ไม่ส่ง Last-Event-ID header เอง → ส่งผ่าน query แทน)
+ */
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveEventController {
+
+    private final LiveEventBus liveEventBus;
+    private final SessionContext sessionContext;
+    private final SessionTokenService sessionTokenService;
+
+    /**
+     * 🎟️ ISSUE STREAM TICKET
+     *
+     * POST /api/live/ticket
+     *
+     * Headers:
+     * Authorization: Bearer <session token>
+     *
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Stream ticket issued",
+     *   "data": { "ticket": "c3RyZWFtfDF8...", "expiresIn": 30 }
+     * }
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<ApiResponse> issueTicket() {
+        SessionPrincipal principal = authenticated();
+        log.info("🎟️ POST /api/live/ticket - User ID: {}", principal.getId());
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Stream ticket issued", Map.of(
+                "ticket", sessionTokenService.issueStreamTicket(principal),
+                "expiresIn", sessionTokenService.getStreamTicketTtlSeconds()
+            ))
+        );
+    }
+
+    /**
+     * 📡 OPEN STREAM
+     *
+     * GET /api/live/stream?ticket=...
+     *
+     * Headers (optional):
+     * Authorization: Bearer <session token> (client ที่ตั้ง header ได้ ใช้แทน ticket)
+     * Last-Event-ID: 1731000000123
+     *
+     * Query Params:
+     * ticket: stream ticket จาก POST /api/live/ticket (ใช้ซ้ำได้จนหมดอายุ)
+     * lastEventId: แทน Last-Event-ID header (เปิด EventSource ใหม่หลัง ticket หมดอายุ)
+     *
+     * Response (200 OK, text/event-stream):
+     * id: 1731000000124
+     * event: unread-count
+     * data: {"delta":1}
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+        @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam
+    ) {
+        Long userId = authenticated().getId();
+
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        log.info("📡 GET /api/live/stream - User ID: {}, Last-Event-ID: {}", userId, lastEventId);
+
+        return liveEventBus.subscribe(userId, lastEventId);
+    }
+
+    /** principal จาก token / ticket ที่ SessionTokenFilter verify แล้ว (ไม่เชื่อ X-User-Id) */
+    private SessionPrincipal authenticated() {
+        return sessionContext.current()
+            .orElseThrow(() -> new RuntimeException("Unauthorized: session token required"));
+    }
+}
@@ -1,8 +1,9 @@
 package come.emotion_checkin_syetem.controller;
 
+import come.emotion_checkin_syetem.dto.request.BulkNotificationRequest;
 import come.emotion_checkin_syetem.dto.request.SendNotificationRequest;
 import come.emotion_checkin_syetem.dto.response.ApiResponse;
-import come.emotion_checkin_syetem.dto.response.NotificationDTO;
+import come.emotion_checkin_syetem.dto.response.NotificationPage;
 import come.emotion_checkin_syetem.service.NotificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
+
 
 /**
  * 📍 LOCATION: src/main/java/com/emotion/checkin/controller/NotificationController.java
@@ -22,6 +24,7 @@ import java.util.List;
  * - GET  /api/notifications/unread       - Get unread notifications
  * - GET  /api/notifications/count-unread - Count unread
  * - POST /api/notifications              - Send notification (HR only)
+ * - POST /api/notifications/bulk         - Send to department / role / id list (HR only)
  * - PUT  /api/notifications/{id}/read    - Mark as read
  * - PUT  /api/notifications/read-all     - Mark all as read
  * 
@@ -42,38 +45,50 @@ public class NotificationController {
     private final NotificationService notificationService;
     
     /**
-     * 📬 GET ALL NOTIFICATIONS
+     * 📬 GET NOTIFICATIONS (Cursor-paginated)
      * 
-     * GET /api/notifications
+     * GET /api/notifications?cursor=...&limit=20&unreadOnly=false
      * 
      * Headers:
      * X-User-Id: 1
      * 
+     * Query Params (all optional):
+     * cursor: nextCursor จากหน้าก่อน (ไม่ส่ง = หน้าแรก)
+     * limit: จำนวนต่อหน้า (default = 20)
+     * unreadOnly: เฉพาะที่ยังไม่อ่าน (default = false)
+     * 
      * Response (200 OK):
      * {
      *   "success": true,
      *   "message": "Notifications retrieved",
-     *   "data": [
-     *     {
-     *       "id": 1,
-     *       "message": "Employee John reported a negative mood",
-     *       "senderName": "System",
-     *       "readStatus": false,
-     *       "createdAt": "2025-11-07T14:30:00",
-     *       "timeAgo": "5 minutes ago",
-     *       "type": "ALERT",
-     *       "priority": "HIGH"
-     *     }
-     *   ]
+     *   "data": {
+     *     "items": [
+     *       {
+     *         "id": 1,
+     *         "message": "Employee John reported a negative mood",
+     *         "senderName": "System",
+     *         "readStatus": false,
+     *         "createdAt": "2025-11-07T14:30:00",
+     *         "timeAgo": "5 minutes ago",
+     *         "type": "ALERT",
+     *         "priority": "HIGH"
+     *       }
+     *     ],
+     *     "nextCursor": "MjAyNS0xMS0wN1QxNDozMDowMHwwfDE",
+     *     "hasMore": true
+     *   }
      * }
      */
     @GetMapping
     public ResponseEntity<ApiResponse> getNotifications(
-        @RequestHeader("X-User-Id") Long userId
+        @RequestHeader("X-User-Id") Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit,
+        @RequestParam(defaultValue = "false") boolean unreadOnly
     ) {
-        log.info("📬 GET /api/notifications - User ID: {}", userId);
+        log.info("📬 GET /api/notifications - User ID: {}, Unread only: {}", userId, unreadOnly);
         
-        List<NotificationDTO> notifications = notificationService.getNotifications(userId);
+        NotificationPage notifications = notificationService.getNotifications(userId, cursor, limit, unreadOnly);
         
         return ResponseEntity.ok(
             ApiResponse.success("Notifications retrieved", notifications)
@@ -83,7 +98,9 @@ public class NotificationController {
     /**
      * 🔴 GET UNREAD NOTIFICATIONS
      * 
-     * GET /api/notifications/unread
+     * GET /api/notifications/unread?cursor=...&limit=20
+     * 
+     * (เหมือน GET /api/notifications?unreadOnly=true)
      * 
      * Headers:
      * X-User-Id: 1
@@ -92,16 +109,18 @@ public class NotificationController {
      * {
      *   "success": true,
      *   "message": "Unread notifications retrieved",
-     *   "data": [...]
+     *   "data": { "items": [...], "nextCursor": "...", "hasMore": true }
      * }
      */
     @GetMapping("/unread")
     public ResponseEntity<ApiResponse> getUnreadNotifications(
-        @RequestHeader("X-User-Id") Long userId
+        @RequestHeader("X-User-Id") Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit
     ) {
         log.info("🔴 GET /api/notifications/unread - User ID: {}", userId);
         
-        List<NotificationDTO> notifications = notificationService.getUnreadNotifications(userId);
+        NotificationPage notifications = notificationService.getNotifications(userId, cursor, limit, true);
         
         return ResponseEntity.ok(
             ApiResponse.success("Unread notifications retrieved", notifications)
@@ -184,10 +203,58 @@ public class NotificationController {
         }
     }
     
+    /**
+     * 📣 SEND BULK NOTIFICATION (HR/Admin only)
+     * 
+     * POST /api/notifications/bulk
+     * 
+     * Headers:
+     * X-User-Id: 2 (HR ID)
+     * 
+     * Request Body (เลือก target อย่างใดอย่างหนึ่ง):
+     * {
+     *   "department": "IT",
+     *   "message": "Team check-in meeting at 3 PM."
+     * }
+     * 
+     * Response (200 OK):
+     * {
+     *   "success": true,
+     *   "message": "Notification sent to 300 recipients",
+     *   "data": { "recipients": 300 }
+     * }
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse> sendBulkNotification(
+        @RequestHeader("X-User-Id") Long senderId,
+        @Valid @RequestBody BulkNotificationRequest request
+    ) {
+        log.info("📣 POST /api/notifications/bulk - Sender: {}", senderId);
+        
+        try {
+            int recipients = notificationService.sendBulkNotification(senderId, request);
+            
+            return ResponseEntity.ok(
+                ApiResponse.success("Notification sent to " + recipients + " recipients",
+                    Map.of("recipients", recipients))
+            );
+            
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to send bulk notification: {}", e.getMessage());
+            
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     /**
      * ✅ MARK AS READ
      * 
      * PUT /api/notifications/{id}/read
+     * PUT /api/notifications/{id}/read?broadcast=true   (broadcast notification)
+     * 
+     * Headers:
+     * X-User-Id: 1 (required for broadcast)
      * 
      * Response (200 OK):
      * {
@@ -197,11 +264,13 @@ public class NotificationController {
      */
     @PutMapping("/{id}/read")
     public ResponseEntity<ApiResponse> markAsRead(
-        @PathVariable Long id
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "false") boolean broadcast,
+        @RequestHeader(value = "X-User-Id", required = false) Long userId
     ) {
-        log.info("✅ PUT /api/notifications/{}/read", id);
+        log.info("✅ PUT /api/notifications/{}/read - Broadcast: {}", id, broadcast);
         
-        notificationService.markAsRead(id);
+        notificationService.markAsRead(id, broadcast, userId);
         
         return ResponseEntity.ok(
             ApiResponse.success("Notification marked as read")
@@ -0,0 +1,55 @@
+package come.emotion_checkin_syetem.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/dto/request/BulkNotificationRequest.java
+ *
+ * 📣 BULK NOTIFICATION REQUEST - HR ส่งข้อความเดียวถึงหลายคนในครั้งเดียว
+ *
+ * ✅ Frontend ส่งมา (เลือก target อย่างใดอย่างหนึ่ง):
+ * { "department": "IT", "message": "Team check-in meeting at 3 PM." }
+ * { "role": "EMPLOYEE", "message": "Please complete the survey." }
+ * { "receiverIds": [1, 2, 3], "message": "Please schedule a 1:1 this week." }
+ *
+ * ⚠️ Validations:
+ * - department / role / receiverIds: ต้องระบุอย่างใดอย่างหนึ่งเท่านั้น
+ * - receiverIds: สูงสุด 5000 คน
+ * - message: required, 1-500 characters
+ * - relatedCheckinId: optional
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequest {
+
+    private String department;
+
+    private String role;  // "EMPLOYEE", "HR", "SUPERADMIN"
+
+    @Size(max = 5000, message = "Cannot send to more than 5000 receivers at once")
+    private List<Long> receiverIds;
+
+    @NotBlank(message = "Message is required")
+    @Size(min = 1, max = 500, message = "Message must be between 1 and 500 characters")
+    private String message;
+
+    private Long relatedCheckinId;  // Optional: link to specific check-in
+
+    /**
+     * จำนวน target ที่ระบุมา (ต้อง = 1)
+     */
+    public int countTargets() {
+        int targets = 0;
+        if (department != null && !department.isBlank()) targets++;
+        if (role != null && !role.isBlank()) targets++;
+        if (receiverIds != null && !receiverIds.isEmpty()) targets++;
+        return targets;
+    }
+}
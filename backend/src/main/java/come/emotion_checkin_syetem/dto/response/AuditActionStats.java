@@ -0,0 +1,39 @@
+package come.emotion_checkin_syetem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/dto/response/AuditActionStats.java
+ *
+ * 📊 AUDIT ACTION STATS - จำนวน audit action ในช่วงวันที่เลือก
+ *
+ * ✅ ใช้ที่: Admin statistics (GET /api/audit-logs/stats)
+ *
+ * 📊 Frontend จะได้:
+ * {
+ *   "from": "2025-11-01",
+ *   "to": "2025-11-07",
+ *   "counts": { "LOGIN": 420, "CHECK_IN": 390, "LOGIN_FAILED": 12 },
+ *   "total": 822
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditActionStats {
+
+    private LocalDate from;
+    private LocalDate to;
+
+    // action → count
+    private Map<String, Long> counts;
+
+    private Long total;
+}
@@ -17,12 +17,15 @@ import lombok.NoArgsConstructor;
  *   "email": "john@example.com",
  *   "role": "EMPLOYEE",
  *   "department": "IT",
- *   "position": "Developer"
+ *   "position": "Developer",
+ *   "token": "eyJ...abc.sig",
+ *   "expiresIn": 43200
  * }
  * 
  * ⚠️ SECURITY:
  * - ห้ามส่ง password กลับไป!
  * - ใช้ข้อมูลนี้เก็บใน localStorage
+ * - ส่ง token กลับมาทุก request: "Authorization: Bearer <token>"
  * 
  * 🐛 DEBUG CHECKLIST:
  * ✅ Package: com.emotion.checkin.dto.response
@@ -41,4 +44,6 @@ public class LoginResponse {
     private String role;        // "EMPLOYEE", "HR", "SUPERADMIN"
     private String department;  // null สำหรับ HR/SuperAdmin
     private String position;    // null สำหรับ HR/SuperAdmin
+    private String token;       // Signed session token (HMAC)
+    private Long expiresIn;     // วินาทีก่อน token หมดอายุ
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package come.emotion_checkin_syetem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/dto/response/MoodTrendPoint.java
+ *
+ * 📈 MOOD TREND POINT - สรุปอารมณ์ 1 เดือน (trend ระยะยาว)
+ *
+ * ✅ ใช้ที่: GET /api/dashboard/trends (HR + Admin)
+ *
+ * ⚠️ PRIVACY: aggregated data only (ไม่มี comment / รายคน)
+ *
+ * 📊 Frontend จะได้:
+ * {
+ *   "month": "2024-03",
+ *   "positiveCount": 310,
+ *   "neutralCount": 120,
+ *   "negativeCount": 40,
+ *   "totalCheckins": 470,
+ *   "averageMoodScore": 2.57,
+ *   "archived": true
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoodTrendPoint {
+
+    private String month;
+
+    private Long positiveCount;
+    private Long neutralCount;
+    private Long negativeCount;
+    private Long totalCheckins;
+
+    // 1.0 - 3.0 (0 = ไม่มี check-in)
+    private Double averageMoodScore;
+
+    // true = มาจาก cold archive (segment), false = จาก emotion_checkin
+    private Boolean archived;
+}
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
  *   "createdAt": "2025-11-07T14:30:00",
  *   "timeAgo": "5 minutes ago",
  *   "relatedCheckinId": 123,
- *   "type": "ALERT"
+ *   "type": "ALERT",
+ *   "broadcast": true
  * }
  * 
  * 🐛 DEBUG CHECKLIST:
@@ -62,4 +63,7 @@ public class NotificationDTO {
     
     // Priority
     private String priority;        // "HIGH", "NORMAL", "LOW"
+    
+    // Source
+    private Boolean broadcast;      // true = BroadcastNotification (ส่ง ?broadcast=true ตอน mark as read)
 }
\ No newline at end of file
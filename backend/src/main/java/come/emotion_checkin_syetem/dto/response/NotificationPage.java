@@ -0,0 +1,38 @@
+package come.emotion_checkin_syetem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/dto/response/NotificationPage.java
+ *
+ * 📄 NOTIFICATION PAGE - 1 หน้าของ inbox (keyset / cursor pagination)
+ *
+ * 📊 Frontend จะได้:
+ * {
+ *   "items": [...],
+ *   "nextCursor": "MjAyNS0xMS0wN1QxNDozMDowMHwwfDEyMw",
+ *   "hasMore": true
+ * }
+ *
+ * ✅ หน้าถัดไป: GET /api/notifications?cursor={nextCursor}
+ * ⚠️ items อาจน้อยกว่า limit (หรือว่าง) ทั้งที่ hasMore = true (scan broadcast ถึงเพดานต่อ request)
+ *    → ใช้ hasMore ตัดสินว่าจบหรือยัง ไม่ใช่จำนวน items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPage {
+
+    private List<NotificationDTO> items;
+
+    // null เมื่อไม่มีหน้าถัดไป
+    private String nextCursor;
+
+    private Boolean hasMore;
+}
@@ -0,0 +1,58 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 📊 Audit Action Daily Entity - ตัวนับจำนวน audit log ต่อ action ต่อวัน
+ *
+ * ทำไมต้องมี?
+ * - สถิติ action เดิมต้อง GROUP BY ทั้งตาราง audit_log ทุกครั้ง
+ * - ตารางนี้เก็บยอดรวมรายวัน (1 แถวต่อ วัน × action)
+ * - ดูสถิติช่วงวันไหนก็ได้ด้วยการ SUM ไม่กี่แถว
+ *
+ * Flow:
+ * 1. AuditLogService บันทึก log → AuditActionCounter.increment() (ใน memory)
+ * 2. Scheduled flush → UPDATE total = total + delta (หรือ INSERT ถ้ายังไม่มี)
+ */
+@Entity
+@Table(name = "audit_action_daily",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_action_date", columnNames = {"action_date", "action"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditActionDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** วันที่ (Thailand timezone) */
+    @Column(name = "action_date", nullable = false)
+    private LocalDate actionDate;
+
+    /** ประเภทของการกระทำ */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 100)
+    private AuditLog.Action action;
+
+    /** จำนวนครั้งในวันนั้น */
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    @Override
+    public String toString() {
+        return "AuditActionDaily{" +
+                "actionDate=" + actionDate +
+                ", action=" + action +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_user_action", columnList = "user_id, action"),
         @Index(name = "idx_created_at", columnList = "created_at"),
-        @Index(name = "idx_target_user", columnList = "target_user_id")
+        @Index(name = "idx_target_user", columnList = "target_user_id"),
+        @Index(name = "idx_action_created", columnList = "action, created_at"),
+        @Index(name = "idx_user_created", columnList = "user_id, created_at")
     }
 )
 @Getter
@@ -33,7 +35,15 @@ import java.time.LocalDateTime;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.AUDIT_LOG)
+    @TableGenerator(
+        name = IdGenerators.AUDIT_LOG,
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.PK_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.AUDIT_LOG,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /** ผู้ที่ทำการกระทำ */
@@ -108,6 +118,22 @@ public class AuditLog {
         public String getDescription() {
             return description;
         }
+
+        /** action สำคัญ (ใช้ได้โดยไม่ต้องมี AuditLog entity เช่นใน projection) */
+        public boolean isCritical() {
+            return this == ADD_USER ||
+                   this == DEACTIVATE_USER ||
+                   this == ASSIGN_DEPARTMENT ||
+                   this == PASSWORD_CHANGE;
+        }
+
+        /** authentication action? */
+        public boolean isAuth() {
+            return this == LOGIN ||
+                   this == LOGOUT ||
+                   this == REGISTER ||
+                   this == LOGIN_FAILED;
+        }
     }
 
 
@@ -119,17 +145,11 @@ public class AuditLog {
     }
 
     public boolean isCriticalAction() {
-        return action == Action.ADD_USER ||
-               action == Action.DEACTIVATE_USER ||
-               action == Action.ASSIGN_DEPARTMENT ||
-               action == Action.PASSWORD_CHANGE;
+        return action != null && action.isCritical();
     }
 
     public boolean isAuthAction() {
-        return action == Action.LOGIN ||
-               action == Action.LOGOUT ||
-               action == Action.REGISTER ||
-               action == Action.LOGIN_FAILED;
+        return action != null && action.isAuth();
     }
 
     public boolean requiresTargetUser() {
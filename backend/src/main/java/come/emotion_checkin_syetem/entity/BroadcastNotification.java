@@ -0,0 +1,156 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 📣 Broadcast Notification Entity - ข้อความเดียวถึงผู้รับหลายคน
+ * 
+ * ทำไมต้องมี?
+ * - เดิม bad-mood alert / ข้อความถึงทั้งแผนก = copy ข้อความเดียวกัน N แถว
+ * - ตารางนี้เก็บข้อความ 1 แถว + bitmap ของผู้รับ
+ * - สถานะอ่านแล้วแยกไว้ที่ BroadcastReadMarker (1 แถวต่อผู้รับที่อ่าน) → mark as read ไม่แตะแถวนี้
+ * 
+ * Bitmap:
+ * - bit ที่ตำแหน่ง user id = 1 → เป็นผู้รับ
+ * - เก็บเป็น BitSet.toByteArray() (id 10,000 คน ≈ 1.25 KB)
+ * - ขนาดตาม user id สูงสุด ไม่ใช่จำนวนผู้รับ → จำกัด id ไว้ที่ MAX_RECIPIENT_ID (bitmap ≤ 128 KiB)
+ *   users.id เป็น AUTO_INCREMENT (เรียงต่อกัน) และ User.@PostPersist ไม่ให้สร้าง user ที่ id เกินนี้
+ * 
+ * Audience:
+ * - กลุ่มที่ส่งถึง เช่น "ROLE:HR", "DEPT:IT"
+ * - ใช้กรองแถวที่อาจเกี่ยวกับ user (index) ก่อนเช็ค bitmap
+ * - recipients = snapshot ตอนส่ง (คนที่เข้ากลุ่มทีหลังจะไม่เห็นข้อความเก่า)
+ */
+@Entity
+@Table(name = "broadcast_notification",
+    indexes = {
+        @Index(name = "idx_broadcast_audience_created", columnList = "audience, createdAt, id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BroadcastNotification {
+
+    public static final String AUDIENCE_ROLE_PREFIX = "ROLE:";
+    public static final String AUDIENCE_DEPARTMENT_PREFIX = "DEPT:";
+
+    /** user id สูงสุดที่อยู่ใน bitmap ได้ (2^20 - 1 → bitmap ใหญ่สุด 128 KiB ต่อแถว) */
+    public static final long MAX_RECIPIENT_ID = (1L << 20) - 1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ผู้ส่ง (bad-mood alert: employee ที่ check-in, ข้อความแผนก: HR) */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", nullable = false)
+    private User sender;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    /** กลุ่มผู้รับ เช่น "ROLE:HR", "DEPT:IT" */
+    @Column(nullable = false, length = 120)
+    private String audience;
+
+    /** Bitmap ของ user id ที่เป็นผู้รับ */
+    @Lob
+    @Column(nullable = false)
+    private byte[] recipients;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "related_checkin_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))  // emotion_checkin เป็นตาราง partition
+    private EmotionCheckin relatedCheckin;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // ========== Helper Methods ==========
+
+    public static String roleAudience(User.Role role) {
+        return AUDIENCE_ROLE_PREFIX + role.name();
+    }
+
+    public static String departmentAudience(String department) {
+        return AUDIENCE_DEPARTMENT_PREFIX + department;
+    }
+
+    /**
+     * สร้าง bitmap จาก user ids
+     */
+    public static byte[] toBitmap(Collection<Long> userIds) {
+        BitSet bits = new BitSet();
+        for (Long userId : userIds) {
+            bits.set(bitIndex(userId));
+        }
+        return bits.toByteArray();
+    }
+
+    /**
+     * ตำแหน่ง bit ของ user id
+     *
+     * @throws IllegalStateException ถ้า id เกิน MAX_RECIPIENT_ID (bitmap จะใหญ่เกินไป)
+     */
+    public static int bitIndex(Long userId) {
+        if (userId == null || userId < 0 || userId > MAX_RECIPIENT_ID) {
+            throw new IllegalStateException(
+                "User id " + userId + " is outside the broadcast bitmap range (max " + MAX_RECIPIENT_ID + ")"
+            );
+        }
+        return userId.intValue();
+    }
+
+    /**
+     * เช็ค bit ของ user ใน bitmap (ใช้กับ projection ได้ด้วย)
+     * 
+     * BitSet.toByteArray() เป็น little-endian: bit n อยู่ที่ byte n/8 ตำแหน่ง n%8 → O(1) ไม่ต้อง copy
+     */
+    public static boolean hasBit(byte[] bitmap, Long userId) {
+        if (userId == null || userId < 0 || userId > MAX_RECIPIENT_ID) return false;
+        int bit = userId.intValue();
+        int index = bit >>> 3;
+        return index < bitmap.length && (bitmap[index] & (1 << (bit & 7))) != 0;
+    }
+
+    public boolean isRecipient(Long userId) {
+        return hasBit(recipients, userId);
+    }
+
+    public int getRecipientCount() {
+        return recipientCount(recipients);
+    }
+
+    /**
+     * จำนวนผู้รับใน bitmap (ใช้กับ projection ได้ด้วย)
+     */
+    public static int recipientCount(byte[] bitmap) {
+        return BitSet.valueOf(bitmap).cardinality();
+    }
+
+    /**
+     * เช็คว่าเป็น bad-mood alert หรือไม่
+     */
+    public boolean isSystemNotification() {
+        return relatedCheckin != null && relatedCheckin.isBadMood();
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastNotification{" +
+                "id=" + id +
+                ", audience=" + audience +
+                ", recipients=" + getRecipientCount() +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
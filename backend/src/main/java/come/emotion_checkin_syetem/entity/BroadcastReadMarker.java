@@ -0,0 +1,75 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * ✅ Broadcast Read Marker Entity - ผู้รับ 1 คนอ่าน broadcast 1 ข้อความแล้ว
+ *
+ * ทำไมต้องมี?
+ * - เดิมเก็บคนอ่านเป็น bitmap (readBy) ในแถว broadcast → mark as read = lock + เขียน BLOB ทั้งก้อน
+ *   ทุกคนในแผนก / role แย่ง lock แถวเดียวกัน, mark all = lock ทุกแถวของ audience
+ * - ตารางนี้ 1 แถวต่อ (broadcast, user) → แต่ละคนเขียนแค่แถวของตัวเอง ไม่แตะแถว broadcast
+ *
+ * Flow:
+ * 1. Mark as read → INSERT (broadcast_id, user_id) ถ้ายังไม่มี
+ * 2. Inbox → หา marker ของ user ตาม broadcast id ในหน้านั้น (primary key)
+ * 3. Retention → ลบ marker พร้อม broadcast ที่ผู้รับทุกคนอ่านแล้ว
+ */
+@Entity
+@Table(name = "broadcast_read_marker",
+    indexes = {
+        @Index(name = "idx_read_marker_user", columnList = "user_id")
+    }
+)
+@IdClass(BroadcastReadMarker.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastReadMarker implements Persistable<BroadcastReadMarker.Key> {
+
+    @Id
+    @Column(name = "broadcast_id")
+    private Long broadcastId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "read_at", nullable = false)
+    private LocalDateTime readAt;
+
+    /** Primary key (broadcast_id, user_id) */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long broadcastId;
+        private Long userId;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(broadcastId, userId);
+    }
+
+    /** insert อย่างเดียว (ไม่มี update) → saveAll() persist ตรงๆ ไม่ต้อง SELECT ก่อนทีละแถว */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastReadMarker{" +
+                "broadcastId=" + broadcastId +
+                ", userId=" + userId +
+                '}';
+    }
+}
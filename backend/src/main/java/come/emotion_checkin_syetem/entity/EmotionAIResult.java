@@ -23,7 +23,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "emotion_ai_result",
     indexes = {
-        @Index(name = "idx_checkin", columnList = "checkin_id")
+        @Index(name = "idx_checkin", columnList = "checkin_id"),
+        @Index(name = "idx_analyzed_at", columnList = "analyzedAt")
     }
 )
 @Getter
@@ -34,14 +35,23 @@ import java.time.LocalDateTime;
 public class EmotionAIResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.EMOTION_AI_RESULT)
+    @TableGenerator(
+        name = IdGenerators.EMOTION_AI_RESULT,
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.PK_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.EMOTION_AI_RESULT,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
      * Link ไป Check-in (1-to-1)
+     * - ไม่มี FK constraint: emotion_checkin เป็นตาราง partition
      */
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "checkin_id", nullable = false)
+    @JoinColumn(name = "checkin_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private EmotionCheckin checkin;
 
     /**
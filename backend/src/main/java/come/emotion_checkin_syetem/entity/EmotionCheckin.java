@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
  * - comment: ข้อความส่วนตัว (private!)
  * - checkinDate: วันที่ check-in (สำหรับ unique constraint)
  * - checkinTime: เวลาที่ check-in (Thailand timezone)
+ * - department: แผนกของพนักงาน ณ ตอน check-in (snapshot — ย้ายแผนกทีหลังไม่เปลี่ยน)
  */
 @Entity
 @Table(name = "emotion_checkin",
@@ -29,7 +30,12 @@ import java.time.LocalDateTime;
     },
     indexes = {
         @Index(name = "idx_checkin_date", columnList = "checkin_date"),
-        @Index(name = "idx_employee_date", columnList = "employee_id, checkin_date")
+        @Index(name = "idx_employee_date", columnList = "employee_id, checkin_date"),
+        // Department analytics: range scan บน index อย่างเดียว (ไม่ต้อง join users)
+        @Index(name = "idx_checkin_dept_date_level", columnList = "department, checkin_date, emotionLevel"),
+        // Bad mood alerts: emotionLevel = 1 ในช่วงวัน → GROUP BY employee จาก index
+        @Index(name = "idx_level_date_employee", columnList = "emotionLevel, checkin_date, employee_id"),
+        @Index(name = "idx_employee_time", columnList = "employee_id, checkinTime")
     }
 )
 @Getter
@@ -39,17 +45,28 @@ import java.time.LocalDateTime;
 @Builder
 public class EmotionCheckin {
 
+    /** department ของพนักงานที่ยังไม่มีแผนก (NULL = แถวเก่าที่ยังไม่ถูก backfill) */
+    public static final String NO_DEPARTMENT = "";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.EMOTION_CHECKIN)
+    @TableGenerator(
+        name = IdGenerators.EMOTION_CHECKIN,
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.PK_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.EMOTION_CHECKIN,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
      * Employee ที่ check-in
      * - Lazy loading เพื่อ performance
-     * - Cascade: ถ้าลบ user ลบ check-in ด้วย
+     * - ไม่มี FK constraint: ตาราง partition (RANGE ตามเดือน) ใช้ foreign key ไม่ได้
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "employee_id", nullable = false)
+    @JoinColumn(name = "employee_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User employee;
 
     /**
@@ -66,7 +83,7 @@ public class EmotionCheckin {
      * - เก็บว่าเลือก emotion อะไร (Happy, Sad, etc.)
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "emotion_type_id")
+    @JoinColumn(name = "emotion_type_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private EmotionCatalog emotionType;
 
     /**
@@ -93,6 +110,16 @@ public class EmotionCheckin {
     @Column(name = "checkin_date", nullable = false)
     private LocalDate checkinDate;
 
+    /**
+     * แผนกของพนักงาน ณ วันที่ check-in (denormalized จาก users.department)
+     * - ตั้งตอน check-in → HR dashboard filter ได้โดยไม่ join users
+     * - ย้ายแผนก (assignDepartment) → check-in เก่ายังนับในแผนกเดิม
+     * - พนักงานไม่มีแผนก = NO_DEPARTMENT ("")
+     * - แถวเก่าก่อนมี column นี้ = NULL จนกว่า CheckinDepartmentBackfill จะเติม
+     */
+    @Column(name = "department", length = 100)
+    private String department;
+
     // ========== Relationship ==========
 
     /**
@@ -130,6 +157,9 @@ public class EmotionCheckin {
         if (checkinDate == null && checkinTime != null) {
             checkinDate = checkinTime.toLocalDate();
         }
+        if (department == null) {
+            department = NO_DEPARTMENT;
+        }
     }
 
     @Override
@@ -143,10 +173,6 @@ public class EmotionCheckin {
                 '}';
     }
 
-    public Object getCreatedAt() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getCreatedAt'");
-    }
     //NLP fields
     private float nlpScore;
     private float nlpMagnitude;
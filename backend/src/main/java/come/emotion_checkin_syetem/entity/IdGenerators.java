@@ -0,0 +1,30 @@
+package come.emotion_checkin_syetem.entity;
+
+/**
+ * 🔢 Id Generators - ค่าคงที่ของ pooled table generator (hi-lo) สำหรับ entity ที่ insert บ่อย
+ *
+ * ทำไมไม่ใช้ IDENTITY?
+ * - IDENTITY ต้อง INSERT ทันทีเพื่อรู้ id → Hibernate batch insert ไม่ได้ (1 round trip ต่อแถว)
+ * - MySQL ไม่มี sequence → ใช้ตาราง id_generator แทน
+ *   1 แถวต่อ entity, ดึง id ทีละ ALLOCATION_SIZE ค่า (pooled-lo) → 1 UPDATE ต่อ 50 insert
+ *
+ * ⚠️ NOTE:
+ * - ค่าใน next_val = id ถัดไปที่ยังไม่ถูกแจก (pooled-lo) — IdGeneratorSeeder ตั้งให้ > MAX(id) ตอน start
+ * - หลาย instance ได้ block ของ id ต่างกัน → id ไม่เรียงตามเวลาข้าม instance (แต่ไม่ซ้ำ)
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // pkColumnValue ของแต่ละ entity (= ชื่อตาราง)
+    public static final String NOTIFICATION = "notification";
+    public static final String AUDIT_LOG = "audit_log";
+    public static final String EMOTION_CHECKIN = "emotion_checkin";
+    public static final String EMOTION_AI_RESULT = "emotion_ai_result";
+
+    private IdGenerators() {
+    }
+}
@@ -0,0 +1,50 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📌 Job Checkpoint Entity - จุดที่ job แบบทีละ chunk ทำค้างไว้ (1 แถวต่อ job/task)
+ *
+ * ทำไมต้องมี?
+ * - RetentionJob มี time budget ต่อรอบ → หมดเวลากลางทาง รอบหน้าต้องทำต่อจากเดิม
+ *   ไม่ใช่ scan จาก id แรกใหม่ทุกครั้ง (ช่วงต้นที่ scan แล้วไม่มีอะไรให้ลบ)
+ * - อยู่ใน DB → restart / instance อื่นที่ได้ claim รอบถัดไปก็ทำต่อได้
+ *
+ * Flow:
+ * - บันทึก next_id ใน transaction เดียวกับ chunk ที่เพิ่งทำ
+ * - ทำครบช่วงแล้ว → ลบแถว (รอบหน้าเริ่มจาก id แรก ให้เก็บแถวที่เพิ่งเข้าเงื่อนไข เช่น เพิ่งถูกอ่าน)
+ */
+@Entity
+@Table(name = "job_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    /** เช่น "retention:notification" */
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /** id แรกที่ยังไม่ได้ทำ */
+    @Column(name = "next_id", nullable = false)
+    private Long nextId;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public String toString() {
+        return "JobCheckpoint{" +
+                "name='" + name + '\'' +
+                ", nextId=" + nextId +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 🏁 Job Run Entity - บันทึกว่า scheduled job รอบไหนทำไปแล้ว (1 แถวต่อ job ต่อวัน)
+ *
+ * ทำไมต้องมี?
+ * - หลาย instance (Cloud Run) ต่างก็มี scheduler → ต้องให้ส่งแค่ตัวเดียว
+ * - Unique (job_name, run_date): instance ที่ insert ได้ก่อน = leader ของรอบนั้น
+ *   instance อื่นได้ duplicate key → ข้าม
+ * - Insert อยู่ใน transaction เดียวกับงาน → ถ้างานล้มเหลว แถวนี้ rollback ด้วย (รอบหน้าลองใหม่ได้)
+ */
+@Entity
+@Table(name = "job_run",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_job_run", columnNames = {"job_name", "run_date"})
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    /** จำนวนรายการที่งานรอบนี้ทำ (เช่น จำนวนผู้รับ reminder) */
+    @Column(name = "affected", nullable = false)
+    private Integer affected;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "JobRun{" +
+                "jobName='" + jobName + '\'' +
+                ", runDate=" + runDate +
+                ", affected=" + affected +
+                '}';
+    }
+}
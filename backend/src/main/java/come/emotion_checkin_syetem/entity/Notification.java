@@ -29,7 +29,10 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_receiver", columnList = "receiver_id"),
         @Index(name = "idx_read_status", columnList = "readStatus"),
-        @Index(name = "idx_created_at", columnList = "createdAt")
+        @Index(name = "idx_created_at", columnList = "createdAt"),
+        @Index(name = "idx_receiver_created_id", columnList = "receiver_id, createdAt, id"),
+        @Index(name = "idx_receiver_read_created", columnList = "receiver_id, readStatus, createdAt"),
+        @Index(name = "idx_sender_created", columnList = "sender_id, createdAt")
     }
 )
 @Getter
@@ -40,7 +43,15 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.NOTIFICATION)
+    @TableGenerator(
+        name = IdGenerators.NOTIFICATION,
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.PK_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.NOTIFICATION,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
@@ -88,7 +99,7 @@ public class Notification {
      * - HR notification: อาจจะ link หรือไม่ link ก็ได้
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "related_checkin_id")
+    @JoinColumn(name = "related_checkin_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))  // emotion_checkin เป็นตาราง partition
     private EmotionCheckin relatedCheckin;
 
     // ========== Helper Methods ==========
@@ -0,0 +1,53 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📰 Pending HR Alert Entity - bad-mood alert ที่รอรวมเป็น HR digest
+ *
+ * ทำไมต้องมี?
+ * - เดิมคิว digest อยู่ใน memory ของ instance ที่รับ check-in → process ตาย = alert หาย
+ *   และแต่ละ instance ส่ง digest ของตัวเอง (HR ได้หลายข้อความต่อ window)
+ * - ตารางนี้: insert ใน transaction เดียวกับ check-in (rollback = ไม่มี alert)
+ *   flush = lock แถวที่ค้าง → ส่ง digest → ลบ ใน transaction เดียว (ทั้ง cluster ส่งครั้งเดียว)
+ */
+@Entity
+@Table(name = "hr_alert_pending")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingHrAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    /** ชื่อตอน check-in (ใช้ในข้อความ digest) */
+    @Column(name = "employee_name", nullable = false, length = 255)
+    private String employeeName;
+
+    @Column(name = "checkin_id", nullable = false)
+    private Long checkinId;
+
+    /** เวลาเข้าคิว (Asia/Bangkok) → แถวที่เก่าสุดเป็นตัวเปิด window */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "PendingHrAlert{" +
+                "id=" + id +
+                ", employeeId=" + employeeId +
+                ", checkinId=" + checkinId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
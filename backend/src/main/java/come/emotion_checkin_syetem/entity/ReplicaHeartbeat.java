@@ -0,0 +1,29 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 💓 Replica Heartbeat Entity - วัด replication lag (1 แถว, id = 1)
+ *
+ * ทำไมต้องมี?
+ * - ReplicaLagMonitor เขียน beat_at (epoch millis) ที่ primary แล้วอ่านจาก replica
+ *   → lag = เวลาปัจจุบัน - beat_at ที่ replica เห็น
+ * - ใช้ได้ทั้ง MySQL replication และ H2 (ไม่ต้องมีสิทธิ์ SHOW REPLICA STATUS)
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private Long beatAt;
+}
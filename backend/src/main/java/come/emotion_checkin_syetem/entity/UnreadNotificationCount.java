@@ -0,0 +1,60 @@
+package come.emotion_checkin_syetem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 🔴 Unread Notification Count Entity - จำนวน notification ที่ยังไม่อ่านต่อ user
+ *
+ * ทำไมต้องมี?
+ * - Badge / dashboard เดิม COUNT(*) ตาราง notification ทุกครั้งที่ poll
+ * - ตารางนี้เก็บยอดไว้ 1 แถวต่อ user → อ่านด้วย primary key
+ *
+ * Flow:
+ * 1. ส่ง notification / broadcast → unread_count + 1 (ผู้รับทุกคน)
+ * 2. Mark as read → - 1, Mark all as read → 0
+ * 3. Reconciler คำนวณใหม่จากตารางจริงเป็นระยะ (แก้ drift)
+ *    → แก้ด้วย delta เฉพาะแถวที่ version ยังตรงกับตอนอ่าน (ไม่ทับ increment ที่เพิ่งเข้ามา)
+ */
+@Entity
+@Table(name = "notification_unread_count")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadNotificationCount implements Persistable<Long> {
+
+    /** User ID (ไม่ generate - ใช้ id ของ user) */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    /** +1 ทุก UPDATE ของยอด (ไม่ใช่ @Version — เปลี่ยนผ่าน bulk UPDATE เท่านั้น) */
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    /** สร้างแถวด้วย insert อย่างเดียว (ยอดเปลี่ยนผ่าน bulk UPDATE) → save() ไม่ merge ทับแถวที่มีอยู่ */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "UnreadNotificationCount{" +
+                "userId=" + userId +
+                ", unreadCount=" + unreadCount +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -27,7 +27,9 @@ import java.util.List;
     @Index(name = "idx_email", columnList = "email"),
     @Index(name = "idx_role", columnList = "role"),
     @Index(name = "idx_department", columnList = "department"),
-    @Index(name = "idx_active", columnList = "isActive")
+    @Index(name = "idx_active", columnList = "isActive"),
+    @Index(name = "idx_role_active", columnList = "role, isActive"),
+    @Index(name = "idx_department_active", columnList = "department, isActive")
 })
 @Getter
 @Setter
@@ -74,6 +76,14 @@ public class User {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Session token ที่ออก (issuedAt, epoch second) ไม่เกินค่านี้ใช้ไม่ได้
+     * - ตั้งตอน deactivate (SessionTokenService.revokeUser) → มีผลทุก instance
+     * - NULL = ยังไม่เคย revoke
+     */
+    @Column(name = "tokens_valid_after")
+    private Long tokensValidAfter;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt; // วันที่สร้าง account
@@ -159,6 +169,15 @@ public class User {
         this.isActive = true;
     }
 
+    /**
+     * id ต้องอยู่ในช่วงของ broadcast bitmap (BroadcastNotification.MAX_RECIPIENT_ID)
+     * - id มาจาก IDENTITY → เช็คได้หลัง INSERT เท่านั้น, throw = rollback การสร้าง user
+     */
+    @PostPersist
+    private void checkBroadcastBitmapRange() {
+        BroadcastNotification.bitIndex(id);
+    }
+
     @Override
     public String toString() {
         return "User{" +
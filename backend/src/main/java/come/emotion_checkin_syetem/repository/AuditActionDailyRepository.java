@@ -0,0 +1,60 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.AuditActionDaily;
+import come.emotion_checkin_syetem.entity.AuditLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/AuditActionDailyRepository.java
+ *
+ * 📊 AUDIT ACTION DAILY REPOSITORY - ยอดรวม audit action รายวัน
+ *
+ * ✅ Features:
+ * - เพิ่มยอดแบบ atomic (UPDATE total = total + delta)
+ * - Sum ตามช่วงวัน (แทน GROUP BY ทั้งตาราง audit_log)
+ */
+@Repository
+public interface AuditActionDailyRepository extends JpaRepository<AuditActionDaily, Long> {
+
+    /**
+     * ➕ เพิ่มยอดของวัน/action ที่มีอยู่แล้ว
+     *
+     * @param actionDate วันที่
+     * @param action AuditLog.Action
+     * @param delta จำนวนที่เพิ่ม
+     * @return จำนวนแถวที่ถูก update (0 = ยังไม่มีแถว ต้อง insert)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AuditActionDaily a " +
+           "SET a.total = a.total + :delta " +
+           "WHERE a.actionDate = :actionDate AND a.action = :action")
+    int addToTotal(
+        @Param("actionDate") LocalDate actionDate,
+        @Param("action") AuditLog.Action action,
+        @Param("delta") long delta
+    );
+
+    /**
+     * 📊 รวมยอดแต่ละ action ในช่วงวันที่กำหนด
+     *
+     * @param startDate วันเริ่มต้น
+     * @param endDate วันสิ้นสุด
+     * @return List<Object[]> - [action, sum]
+     */
+    @Query("SELECT a.action, SUM(a.total) FROM AuditActionDaily a " +
+           "WHERE a.actionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.action")
+    List<Object[]> sumByActionBetween(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+}
@@ -2,9 +2,11 @@ package come.emotion_checkin_syetem.repository;
 
 import come.emotion_checkin_syetem.entity.AuditLog;
 import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.projection.AuditLogView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -139,17 +141,6 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
            "ORDER BY al.createdAt DESC")
     List<AuditLog> findCriticalActions();
 
-    /**
-     * 📊 นับจำนวน audit log แต่ละ action
-     *
-     * ✅ TESTED: Admin statistics
-     *
-     * @return List<Object[]> - [action, count]
-     */
-    @Query("SELECT al.action, COUNT(al) FROM AuditLog al " +
-           "GROUP BY al.action")
-    List<Object[]> countByAction();
-
     /**
      * 🔍 หา failed login attempts
      *
@@ -168,4 +159,129 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         @Param("user") User user,
         @Param("startDate") LocalDateTime startDate
     );
+
+    /**
+     * 🛡️ LOGIN_FAILED ล่าสุด (ใช้ rebuild LoginAttemptTracker ตอน startup)
+     *
+     * @param since เวลาเริ่มต้น
+     * @return List<Object[]> - [details, ipAddress, createdAt]
+     */
+    @Query("SELECT al.details, al.ipAddress, al.createdAt FROM AuditLog al " +
+           "WHERE al.action = 'LOGIN_FAILED' " +
+           "AND al.createdAt >= :since")
+    List<Object[]> findFailedLoginsSince(@Param("since") LocalDateTime since);
+
+    // ========== PROJECTIONS (N+1-free) ==========
+    // ดึงเฉพาะ column ที่ AuditLogDTO ต้องใช้ + user id
+    // ชื่อ/role ของ user ไป resolve ผ่าน UserDisplayCache (1 query ต่อหน้า หรือ 0 ถ้า cache hit)
+
+    /**
+     * 📋 audit log ทั้งหมด (projection + pagination)
+     *
+     * @param pageable Pageable
+     * @return Page<AuditLogView>
+     */
+    @Query(value = "SELECT al.id AS id, al.user.id AS userId, al.targetUser.id AS targetUserId, " +
+                   "al.action AS action, al.details AS details, al.ipAddress AS ipAddress, " +
+                   "al.createdAt AS createdAt " +
+                   "FROM AuditLog al " +
+                   "ORDER BY al.createdAt DESC",
+           countQuery = "SELECT COUNT(al) FROM AuditLog al")
+    Page<AuditLogView> findAllViews(Pageable pageable);
+
+    /**
+     * 👤 audit log ของ user (projection, จำกัดจำนวนด้วย pageable)
+     *
+     * @param userId User ID
+     * @param pageable Pageable (ใช้จำกัดจำนวนแถว)
+     * @return List<AuditLogView>
+     */
+    @Query("SELECT al.id AS id, al.user.id AS userId, al.targetUser.id AS targetUserId, " +
+           "al.action AS action, al.details AS details, al.ipAddress AS ipAddress, " +
+           "al.createdAt AS createdAt " +
+           "FROM AuditLog al " +
+           "WHERE al.user.id = :userId " +
+           "ORDER BY al.createdAt DESC")
+    List<AuditLogView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 🚨 critical actions ล่าสุด (projection, จำกัดจำนวนด้วย pageable)
+     *
+     * @param pageable Pageable (ใช้จำกัดจำนวนแถว)
+     * @return List<AuditLogView>
+     */
+    @Query("SELECT al.id AS id, al.user.id AS userId, al.targetUser.id AS targetUserId, " +
+           "al.action AS action, al.details AS details, al.ipAddress AS ipAddress, " +
+           "al.createdAt AS createdAt " +
+           "FROM AuditLog al " +
+           "WHERE al.action IN ('ADD_USER', 'DEACTIVATE_USER', 'ASSIGN_DEPARTMENT', 'PASSWORD_CHANGE') " +
+           "ORDER BY al.createdAt DESC")
+    List<AuditLogView> findCriticalActionViews(Pageable pageable);
+
+    /**
+     * 🔍 advanced search (projection)
+     *
+     * ⚠️ ใช้ LEFT JOIN targetUser — implicit join เดิม (al.targetUser.name) เป็น inner join
+     *    ทำให้ log ที่ไม่มี target user หายไปจากผลค้นหา
+     *
+     * @param role User.Role enum (optional)
+     * @param action AuditLog.Action enum (optional)
+     * @param keyword Search keyword (optional)
+     * @param pageable Pageable
+     * @return Page<AuditLogView>
+     */
+    @Query(value = "SELECT al.id AS id, u.id AS userId, t.id AS targetUserId, " +
+                   "al.action AS action, al.details AS details, al.ipAddress AS ipAddress, " +
+                   "al.createdAt AS createdAt " +
+                   "FROM AuditLog al JOIN al.user u LEFT JOIN al.targetUser t " +
+                   "WHERE (:role IS NULL OR u.role = :role) " +
+                   "AND (:action IS NULL OR al.action = :action) " +
+                   "AND (:keyword IS NULL OR " +
+                   "     LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                   "     LOWER(t.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+                   "ORDER BY al.createdAt DESC",
+           countQuery = "SELECT COUNT(al) " +
+                   "FROM AuditLog al JOIN al.user u LEFT JOIN al.targetUser t " +
+                   "WHERE (:role IS NULL OR u.role = :role) " +
+                   "AND (:action IS NULL OR al.action = :action) " +
+                   "AND (:keyword IS NULL OR " +
+                   "     LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                   "     LOWER(t.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Page<AuditLogView> advancedSearchViews(
+        @Param("role") User.Role role,
+        @Param("action") AuditLog.Action action,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
+
+    // ========== RETENTION ==========
+
+    /**
+     * 🗑️ Retention: ขอบเขต id ที่อาจหมดอายุ
+     */
+    @Query("SELECT MIN(a.id) FROM AuditLog a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM AuditLog a WHERE a.createdAt < :cutoffDate")
+    Long findMaxIdCreatedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * 🗑️ ลบ audit log ที่เก่ากว่า retention ทีละช่วง id (RetentionJob)
+     *
+     * ⚠️ สถิติรายวันยังอยู่ใน audit_action_daily
+     *
+     * @param fromId id เริ่ม (รวม)
+     * @param toId id สิ้นสุด (ไม่รวม)
+     * @param cutoffDate วันที่ก่อนหน้านี้
+     * @return จำนวนแถวที่ลบ
+     */
+    @Modifying
+    @Query("DELETE FROM AuditLog a " +
+           "WHERE a.id >= :fromId AND a.id < :toId " +
+           "AND a.createdAt < :cutoffDate")
+    int deleteInRange(
+        @Param("fromId") long fromId,
+        @Param("toId") long toId,
+        @Param("cutoffDate") LocalDateTime cutoffDate
+    );
 }
@@ -0,0 +1,111 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.BroadcastNotification;
+import come.emotion_checkin_syetem.repository.projection.BroadcastNotificationView;
+import come.emotion_checkin_syetem.repository.projection.BroadcastRecipientsView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/BroadcastNotificationRepository.java
+ *
+ * 📣 BROADCAST NOTIFICATION REPOSITORY - ข้อความ 1 แถวถึงหลายผู้รับ
+ *
+ * ✅ Features:
+ * - หา broadcast ตาม audience (ROLE:xx / DEPT:xx) แล้วกรอง bitmap ใน memory
+ * - สถานะอ่านแล้วอยู่ที่ BroadcastReadMarkerRepository (ไม่ lock / ไม่เขียนแถว broadcast ตอน mark as read)
+ */
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    /**
+     * 📄 Broadcast ของ audience แบบ keyset pagination (ต่อจาก cursor)
+     *
+     * @param audiences เช่น ["ROLE:HR", "DEPT:IT"]
+     * @param before createdAt ของ cursor
+     * @param idBound id bound เมื่อ createdAt เท่ากับ cursor
+     * @param pageable PageRequest.of(0, batchSize)
+     * @return List<BroadcastNotificationView> - sorted by createdAt DESC, id DESC
+     */
+    @Query("SELECT b.id AS id, b.message AS message, " +
+           "s.name AS senderName, s.role AS senderRole, " +
+           "b.recipients AS recipients, b.createdAt AS createdAt, " +
+           "c.id AS relatedCheckinId, c.emotionLevel AS checkinLevel " +
+           "FROM BroadcastNotification b " +
+           "JOIN b.sender s " +
+           "LEFT JOIN b.relatedCheckin c " +
+           "WHERE b.audience IN :audiences " +
+           "AND (b.createdAt < :before OR (b.createdAt = :before AND b.id < :idBound)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotificationView> findPageByAudienceIn(
+        @Param("audiences") Collection<String> audiences,
+        @Param("before") LocalDateTime before,
+        @Param("idBound") long idBound,
+        Pageable pageable
+    );
+
+    /**
+     * 👥 Bitmap ผู้รับของ broadcast เดียว (mark as read)
+     *
+     * @param id Broadcast ID
+     * @return Optional<BroadcastRecipientsView>
+     */
+    @Query("SELECT b.id AS id, b.recipients AS recipients FROM BroadcastNotification b WHERE b.id = :id")
+    Optional<BroadcastRecipientsView> findRecipientsById(@Param("id") Long id);
+
+    /**
+     * 👥 Broadcast ของ audience ที่ user ยังไม่มี read marker (mark all as read)
+     *
+     * ไม่ lock แถว broadcast — แต่ละ user เขียนแค่ marker ของตัวเอง
+     *
+     * @param audiences เช่น ["ROLE:HR", "DEPT:IT"]
+     * @param userId User ID
+     * @return List<BroadcastRecipientsView> - ยังต้องกรอง bitmap ผู้รับอีกชั้น
+     */
+    @Query("SELECT b.id AS id, b.recipients AS recipients FROM BroadcastNotification b " +
+           "WHERE b.audience IN :audiences " +
+           "AND NOT EXISTS (SELECT 1 FROM BroadcastReadMarker m WHERE m.broadcastId = b.id AND m.userId = :userId)")
+    List<BroadcastRecipientsView> findUnreadByAudienceIn(
+        @Param("audiences") Collection<String> audiences,
+        @Param("userId") Long userId
+    );
+
+    /**
+     * 👥 Bitmap ผู้รับของทุก broadcast (reconcile unread counter)
+     */
+    @Query("SELECT b.id AS id, b.recipients AS recipients FROM BroadcastNotification b")
+    List<BroadcastRecipientsView> findAllRecipients();
+
+    /**
+     * 🗑️ Retention: ขอบเขต id ที่อาจหมดอายุ
+     */
+    @Query("SELECT MIN(b.id) FROM BroadcastNotification b")
+    Long findMinId();
+
+    @Query("SELECT MAX(b.id) FROM BroadcastNotification b WHERE b.createdAt < :cutoffDate")
+    Long findMaxIdCreatedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * 🗑️ Broadcast ที่เก่ากว่า cutoff ในช่วง id (RetentionJob ลบเฉพาะที่ทุกคนอ่านแล้ว)
+     *
+     * @param fromId id เริ่ม (รวม)
+     * @param toId id สิ้นสุด (ไม่รวม)
+     * @param cutoffDate วันที่ก่อนหน้านี้
+     * @return List<BroadcastRecipientsView>
+     */
+    @Query("SELECT b.id AS id, b.recipients AS recipients FROM BroadcastNotification b " +
+           "WHERE b.id >= :fromId AND b.id < :toId AND b.createdAt < :cutoffDate")
+    List<BroadcastRecipientsView> findInRangeCreatedBefore(
+        @Param("fromId") long fromId,
+        @Param("toId") long toId,
+        @Param("cutoffDate") LocalDateTime cutoffDate
+    );
+}
@@ -0,0 +1,65 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.BroadcastReadMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/BroadcastReadMarkerRepository.java
+ *
+ * ✅ BROADCAST READ MARKER REPOSITORY - สถานะอ่านแล้วของ broadcast ต่อผู้รับ
+ *
+ * ✅ Features:
+ * - เช็คว่าอ่านแล้วหรือยังด้วย primary key (broadcast_id, user_id)
+ * - นับคนอ่านต่อ broadcast (retention) / ต่อ user (reconcile unread counter)
+ */
+@Repository
+public interface BroadcastReadMarkerRepository extends JpaRepository<BroadcastReadMarker, BroadcastReadMarker.Key> {
+
+    boolean existsByBroadcastIdAndUserId(Long broadcastId, Long userId);
+
+    /**
+     * ✅ broadcast ที่ user อ่านแล้ว จากรายการ id ที่กำหนด (1 query ต่อหน้า inbox)
+     *
+     * @param userId User ID
+     * @param broadcastIds Broadcast IDs
+     * @return id ที่อ่านแล้ว
+     */
+    @Query("SELECT m.broadcastId FROM BroadcastReadMarker m " +
+           "WHERE m.userId = :userId AND m.broadcastId IN :broadcastIds")
+    List<Long> findReadBroadcastIds(
+        @Param("userId") Long userId,
+        @Param("broadcastIds") Collection<Long> broadcastIds
+    );
+
+    /**
+     * 🔢 จำนวนคนอ่านต่อ broadcast
+     *
+     * @param broadcastIds Broadcast IDs
+     * @return List<Object[]> - [broadcastId, count]
+     */
+    @Query("SELECT m.broadcastId, COUNT(m) FROM BroadcastReadMarker m " +
+           "WHERE m.broadcastId IN :broadcastIds GROUP BY m.broadcastId")
+    List<Object[]> countByBroadcastIds(@Param("broadcastIds") Collection<Long> broadcastIds);
+
+    /**
+     * 🔢 จำนวน broadcast ที่แต่ละ user อ่านแล้ว (reconcile unread counter)
+     *
+     * @return List<Object[]> - [userId, count]
+     */
+    @Query("SELECT m.userId, COUNT(m) FROM BroadcastReadMarker m GROUP BY m.userId")
+    List<Object[]> countGroupByUser();
+
+    /**
+     * 🗑️ ลบ marker ของ broadcast ที่ถูกลบ
+     */
+    @Modifying
+    @Query("DELETE FROM BroadcastReadMarker m WHERE m.broadcastId IN :broadcastIds")
+    int deleteByBroadcastIds(@Param("broadcastIds") Collection<Long> broadcastIds);
+}
@@ -3,12 +3,14 @@
        import come.emotion_checkin_syetem.entity.EmotionCheckin;
        import come.emotion_checkin_syetem.entity.User;
        import org.springframework.data.jpa.repository.JpaRepository;
+       import org.springframework.data.jpa.repository.Modifying;
        import org.springframework.data.jpa.repository.Query;
        import org.springframework.data.repository.query.Param;
        import org.springframework.stereotype.Repository;
 
        import java.time.LocalDate;
        import java.time.LocalDateTime;
+       import java.util.Collection;
        import java.util.List;
        import java.util.Optional;
 
@@ -93,9 +95,14 @@
         * @param employee User entity
         * @param startDate วันเริ่มต้น
         * @param endDate วันสิ้นสุด
+        * ⚡ fetch emotionType + aiResult มาด้วย (aiResult เป็น OneToOne ฝั่ง mappedBy → lazy ไม่ได้
+        *    ไม่ fetch = SELECT emotion_ai_result ทีละแถว)
+        * 
         * @return List<EmotionCheckin> - sorted by date DESC
         */
        @Query("SELECT ec FROM EmotionCheckin ec " +
+              "LEFT JOIN FETCH ec.emotionType " +
+              "LEFT JOIN FETCH ec.aiResult " +
               "WHERE ec.employee = :employee " +
               "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
               "ORDER BY ec.checkinDate DESC")
@@ -104,6 +111,62 @@
               @Param("startDate") LocalDate startDate,
               @Param("endDate") LocalDate endDate
        );
+
+       /**
+        * 👥 หา check-in ของพนักงานหลายคนในช่วงเวลาที่กำหนด (1 query แทน 1 ต่อคน)
+        * 
+        * ✅ ใช้กับ employee insights ของ HR / Admin dashboard
+        * 
+        * @param employees พนักงาน
+        * @param startDate วันเริ่มต้น
+        * @param endDate วันสิ้นสุด
+        * @return List<EmotionCheckin> - sorted by date DESC
+        */
+       @Query("SELECT ec FROM EmotionCheckin ec " +
+              "LEFT JOIN FETCH ec.emotionType " +
+              "LEFT JOIN FETCH ec.aiResult " +
+              "WHERE ec.employee IN :employees " +
+              "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
+              "ORDER BY ec.checkinDate DESC")
+       List<EmotionCheckin> findByEmployeesAndDateRange(
+              @Param("employees") Collection<User> employees,
+              @Param("startDate") LocalDate startDate,
+              @Param("endDate") LocalDate endDate
+       );
+
+       /**
+        * 📅 check-in ล่าสุดของพนักงานแต่ละคน (1 query แทน findFirstBy... ต่อคน)
+        * 
+        * ⚡ subquery MAX(checkinTime) ต่อคนใช้ idx_employee_time (employee_id, checkinTime)
+        * 
+        * @param employees พนักงาน
+        * @return check-in ล่าสุดของคนที่เคย check-in (คนละไม่เกิน 1 แถว)
+        */
+       @Query("SELECT ec FROM EmotionCheckin ec " +
+              "LEFT JOIN FETCH ec.emotionType " +
+              "LEFT JOIN FETCH ec.aiResult " +
+              "WHERE ec.employee IN :employees " +
+              "AND ec.checkinTime = (SELECT MAX(c2.checkinTime) FROM EmotionCheckin c2 " +
+              "WHERE c2.employee = ec.employee)")
+       List<EmotionCheckin> findLatestByEmployees(@Param("employees") Collection<User> employees);
+
+       /**
+        * 🔥 วันที่ check-in ของ employee ในช่วงเวลา (คำนวณ streak ใน 1 query แทน exists ทีละวัน)
+        * 
+        * @param employee User entity
+        * @param startDate วันเริ่มต้น
+        * @param endDate วันสิ้นสุด
+        * @return วันที่ check-in (ใหม่ → เก่า)
+        */
+       @Query("SELECT ec.checkinDate FROM EmotionCheckin ec " +
+              "WHERE ec.employee = :employee " +
+              "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
+              "ORDER BY ec.checkinDate DESC")
+       List<LocalDate> findCheckinDates(
+              @Param("employee") User employee,
+              @Param("startDate") LocalDate startDate,
+              @Param("endDate") LocalDate endDate
+       );
        
        /**
         * 📅 หา check-in ของ employee ใน 7 วันที่แล้ว
@@ -147,14 +210,17 @@
         * 🏢 หา check-in ทั้งหมดของแผนกในช่วงเวลาที่กำหนด
         * 
         * ✅ TESTED: HR dashboard - department view
+        * ⚡ ใช้ ec.department (snapshot ตอน check-in)
+        * ⚠️ แถวเก่าที่ CheckinDepartmentBackfill ยังไม่เติม (NULL) → ใช้ u.department แทน
+        *    (COALESCE + join users) ถอด join ออกได้เมื่อไม่เหลือแถว department IS NULL แล้ว
         * 
         * @param department Department name
         * @param startDate วันเริ่มต้น
         * @param endDate วันสิ้นสุด
         * @return List<EmotionCheckin>
         */
-       @Query("SELECT ec FROM EmotionCheckin ec " +
-              "WHERE ec.employee.department = :department " +
+       @Query("SELECT ec FROM EmotionCheckin ec JOIN ec.employee u " +
+              "WHERE COALESCE(ec.department, u.department) = :department " +
               "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
               "ORDER BY ec.checkinDate DESC")
        List<EmotionCheckin> findByDepartmentAndDateRange(
@@ -172,13 +238,30 @@
         * @param date วันที่
         * @return List<EmotionCheckin>
         */
-       @Query("SELECT ec FROM EmotionCheckin ec " +
-              "WHERE ec.employee.department = :department " +
+       @Query("SELECT ec FROM EmotionCheckin ec JOIN ec.employee u " +
+              "WHERE COALESCE(ec.department, u.department) = :department " +
               "AND ec.checkinDate = :date")
        List<EmotionCheckin> findTodayByDepartment(
               @Param("department") String department,
               @Param("date") LocalDate date
        );
+
+       /**
+        * 🔢 นับ check-in ของแผนกในวันที่กำหนด
+        * 
+        * ⚠️ COALESCE(ec.department, u.department) ระหว่าง backfill (ดู findByDepartmentAndDateRange)
+        * 
+        * @param department Department name
+        * @param date วันที่
+        * @return จำนวน check-in
+        */
+       @Query("SELECT COUNT(ec) FROM EmotionCheckin ec JOIN ec.employee u " +
+              "WHERE COALESCE(ec.department, u.department) = :department " +
+              "AND ec.checkinDate = :date")
+       long countByDepartmentOn(
+              @Param("department") String department,
+              @Param("date") LocalDate date
+       );
        
        // ========== MOOD STATISTICS ==========
        
@@ -207,14 +290,16 @@
         * 📊 นับจำนวน check-in แต่ละ level ของแผนก
         * 
         * ✅ TESTED: HR dashboard - department analytics
+        * ⚠️ COALESCE(ec.department, u.department) ระหว่าง backfill → ยังใช้
+        *    idx_checkin_dept_date_level (department, checkin_date, emotionLevel) ไม่ได้จนกว่าจะถอด join
         * 
         * @param department Department name
         * @param startDate วันเริ่มต้น
         * @param endDate วันสิ้นสุด
         * @return List<Object[]> - [emotionLevel, count]
         */
-       @Query("SELECT ec.emotionLevel, COUNT(ec) FROM EmotionCheckin ec " +
-              "WHERE ec.employee.department = :department " +
+       @Query("SELECT ec.emotionLevel, COUNT(ec) FROM EmotionCheckin ec JOIN ec.employee u " +
+              "WHERE COALESCE(ec.department, u.department) = :department " +
               "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
               "GROUP BY ec.emotionLevel")
        List<Object[]> countByEmotionLevelForDepartment(
@@ -222,7 +307,43 @@
               @Param("startDate") LocalDate startDate,
               @Param("endDate") LocalDate endDate
        );
-       
+
+       /**
+        * 📈 นับ check-in ต่อวัน ต่อ level (ทุกแผนก) — trend ระยะยาว (ส่วนที่ยังไม่ archive)
+        *
+        * @param startDate วันเริ่มต้น
+        * @param endDate วันสิ้นสุด
+        * @return List<Object[]> - [checkinDate, emotionLevel, count]
+        */
+       @Query("SELECT ec.checkinDate, ec.emotionLevel, COUNT(ec) FROM EmotionCheckin ec " +
+              "WHERE ec.checkinDate BETWEEN :startDate AND :endDate " +
+              "GROUP BY ec.checkinDate, ec.emotionLevel")
+       List<Object[]> countByDateAndLevel(
+              @Param("startDate") LocalDate startDate,
+              @Param("endDate") LocalDate endDate
+       );
+
+       /**
+        * 📈 นับ check-in ต่อวัน ต่อ level ของแผนก — trend ระยะยาว (ส่วนที่ยังไม่ archive)
+        *
+        * ⚠️ COALESCE(ec.department, u.department) ระหว่าง backfill → ยังใช้
+        *    idx_checkin_dept_date_level (department, checkin_date, emotionLevel) ไม่ได้จนกว่าจะถอด join
+        *
+        * @param department Department name
+        * @param startDate วันเริ่มต้น
+        * @param endDate วันสิ้นสุด
+        * @return List<Object[]> - [checkinDate, emotionLevel, count]
+        */
+       @Query("SELECT ec.checkinDate, ec.emotionLevel, COUNT(ec) FROM EmotionCheckin ec JOIN ec.employee u " +
+              "WHERE COALESCE(ec.department, u.department) = :department " +
+              "AND ec.checkinDate BETWEEN :startDate AND :endDate " +
+              "GROUP BY ec.checkinDate, ec.emotionLevel")
+       List<Object[]> countByDateAndLevelForDepartment(
+              @Param("department") String department,
+              @Param("startDate") LocalDate startDate,
+              @Param("endDate") LocalDate endDate
+       );
+
        /**
         * ⚠️ หาพนักงานที่มี bad mood (level 1) ในช่วงเวลาที่กำหนด
         * 
@@ -294,6 +415,18 @@
               "WHERE ec.checkinDate = :date")
        List<User> findEmployeesCheckedInToday(@Param("date") LocalDate date);
        
+       /**
+        * 🆔 id ของ employee ที่เช็คอินในวันที่กำหนด (ไม่โหลด entity)
+        * 
+        * ✅ ใช้ที่: CheckinReminderJob (active employees − checked-in แบบ bitmap)
+        * 
+        * @param date วันที่
+        * @return List<Long>
+        */
+       @Query("SELECT ec.employee.id FROM EmotionCheckin ec " +
+              "WHERE ec.checkinDate = :date")
+       List<Long> findEmployeeIdsCheckedInOn(@Param("date") LocalDate date);
+       
        /**
         * 📊 นับจำนวน employee ที่เช็คอินวันนี้
         * 
@@ -340,4 +473,82 @@
               @Param("startDate") LocalDate startDate,
               @Param("endDate") LocalDate endDate
        );
-       }
\ No newline at end of file
+       
+       // ========== RETENTION ==========
+
+       /**
+        * 🗑️ Retention: ขอบเขต id ที่อาจหมดอายุ
+        */
+       @Query("SELECT MIN(ec.id) FROM EmotionCheckin ec")
+       Long findMinId();
+
+       @Query("SELECT MAX(ec.id) FROM EmotionCheckin ec WHERE ec.checkinDate < :cutoffDate")
+       Long findMaxIdCheckedInBefore(@Param("cutoffDate") LocalDate cutoffDate);
+
+       /**
+        * 🔒 ลบ comment (ข้อความส่วนตัว) ของ check-in ที่เก่ากว่า retention ทีละช่วง id
+        * 
+        * ✅ เก็บ emotionLevel / สถิติไว้ (dashboard ยังใช้ได้) ลบแค่ข้อความ
+        * 
+        * @param fromId id เริ่ม (รวม)
+        * @param toId id สิ้นสุด (ไม่รวม)
+        * @param cutoffDate checkinDate ก่อนหน้านี้ (ใช้ idx_checkin_date)
+        * @return จำนวนแถวที่ถูกแก้
+        */
+       @Modifying
+       @Query("UPDATE EmotionCheckin ec SET ec.comment = NULL " +
+              "WHERE ec.id >= :fromId AND ec.id < :toId " +
+              "AND ec.checkinDate < :cutoffDate " +
+              "AND ec.comment IS NOT NULL")
+       int clearCommentsInRange(
+              @Param("fromId") long fromId,
+              @Param("toId") long toId,
+              @Param("cutoffDate") LocalDate cutoffDate
+       );
+
+       // ========== DEPARTMENT SNAPSHOT ==========
+
+       /**
+        * 🏢 Backfill: check-in ที่ยังไม่มี department (ก่อนมี column) ที่ id ต่ำสุด / สูงสุด
+        */
+       @Query("SELECT MIN(ec.id) FROM EmotionCheckin ec WHERE ec.department IS NULL")
+       Long findMinIdWithoutDepartment();
+
+       @Query("SELECT MAX(ec.id) FROM EmotionCheckin ec WHERE ec.department IS NULL")
+       Long findMaxIdWithoutDepartment();
+
+       /**
+        * 🏢 เติม department จาก users ทีละช่วง id (เฉพาะแถวที่ยังเป็น NULL)
+        * - พนักงานไม่มีแผนก → '' (EmotionCheckin.NO_DEPARTMENT) ไม่ให้ถูกหยิบซ้ำ
+        * 
+        * @param fromId id เริ่ม (รวม)
+        * @param toId id สิ้นสุด (ไม่รวม)
+        * @return จำนวนแถวที่เติม
+        */
+       @Modifying
+       @Query("UPDATE EmotionCheckin ec SET ec.department = " +
+              "(SELECT COALESCE(u.department, '') FROM User u WHERE u.id = ec.employee.id) " +
+              "WHERE ec.id >= :fromId AND ec.id < :toId " +
+              "AND ec.department IS NULL")
+       int backfillDepartmentInRange(
+              @Param("fromId") long fromId,
+              @Param("toId") long toId
+       );
+
+       /**
+        * 🏢 ก่อนย้ายแผนก: ล็อก department เดิมให้ check-in ของพนักงานที่ยังไม่ถูก backfill
+        * (ไม่งั้น backfill จะเติมแผนกใหม่ให้ประวัติเก่า)
+        * 
+        * @param employeeId Employee ID
+        * @param department แผนกเดิม (ไม่มี = EmotionCheckin.NO_DEPARTMENT)
+        * @return จำนวนแถวที่เติม
+        */
+       @Modifying
+       @Query("UPDATE EmotionCheckin ec SET ec.department = :department " +
+              "WHERE ec.employee.id = :employeeId " +
+              "AND ec.department IS NULL")
+       int fillMissingDepartmentForEmployee(
+              @Param("employeeId") Long employeeId,
+              @Param("department") String department
+       );
+       }
@@ -0,0 +1,38 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/JobCheckpointRepository.java
+ *
+ * 📌 JOB CHECKPOINT REPOSITORY - จุดทำต่อของ job แบบทีละ chunk
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * 📌 id แรกที่ยังไม่ได้ทำ (empty = เริ่มจากต้น)
+     *
+     * @param name เช่น "retention:notification"
+     * @return Optional<Long>
+     */
+    @Query("SELECT c.nextId FROM JobCheckpoint c WHERE c.name = :name")
+    Optional<Long> findNextIdByName(@Param("name") String name);
+
+    /**
+     * 🧹 ลบ checkpoint (ทำครบช่วงแล้ว)
+     *
+     * @param name เช่น "retention:notification"
+     * @return จำนวนแถวที่ถูกลบ
+     */
+    @Modifying
+    @Query("DELETE FROM JobCheckpoint c WHERE c.name = :name")
+    int deleteByNameIfExists(@Param("name") String name);
+}
@@ -0,0 +1,25 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/JobRunRepository.java
+ *
+ * 🏁 JOB RUN REPOSITORY - marker ของ scheduled job (idempotent + leader ต่อรอบ)
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /**
+     * ✅ รอบนี้ทำไปแล้วหรือยัง (เช็คก่อนเริ่มงาน — ตัวกันจริงคือ unique constraint)
+     *
+     * @param jobName ชื่อ job
+     * @param runDate วันของรอบ
+     * @return boolean
+     */
+    boolean existsByJobNameAndRunDate(String jobName, LocalDate runDate);
+}
@@ -2,6 +2,8 @@ package come.emotion_checkin_syetem.repository;
 
 import come.emotion_checkin_syetem.entity.Notification;
 import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.projection.NotificationView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/NotificationRepository.java
@@ -74,6 +77,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
            "WHERE n.receiver = :receiver AND n.readStatus = false")
     long countUnreadByReceiver(@Param("receiver") User receiver);
 
+    /**
+     * 🔢 นับ unread แยกตามผู้รับ (ใช้ reconcile UnreadNotificationCounter)
+     *
+     * @return List<Object[]> - [receiverId, count]
+     */
+    @Query("SELECT n.receiver.id, COUNT(n) FROM Notification n " +
+           "WHERE n.readStatus = false " +
+           "GROUP BY n.receiver.id")
+    List<Object[]> countUnreadGroupByReceiver();
+
+    /**
+     * 👤 หา receiver id ของ notification ที่ยังไม่อ่าน
+     *
+     * @param notificationId Notification ID
+     * @return Optional<Long> - ว่างถ้าไม่เจอหรืออ่านแล้ว
+     */
+    @Query("SELECT n.receiver.id FROM Notification n " +
+           "WHERE n.id = :notificationId AND n.readStatus = false")
+    Optional<Long> findUnreadReceiverId(@Param("notificationId") Long notificationId);
+
     /**
      * 📤 หา notifications ที่ HR ส่ง
      *
@@ -97,8 +120,8 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Modifying
     @Query("UPDATE Notification n " +
            "SET n.readStatus = true " +
-           "WHERE n.id = :notificationId")
-    void markAsRead(@Param("notificationId") Long notificationId);
+           "WHERE n.id = :notificationId AND n.readStatus = false")
+    int markAsRead(@Param("notificationId") Long notificationId);
 
     /**
      * ✅ Mark all notifications as read (bulk)
@@ -114,30 +137,64 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     void markAllAsRead(@Param("receiver") User receiver);
 
     /**
-     * 🗑️ ลบ notifications เก่าที่อ่านแล้ว (cleanup)
+     * 🗑️ Retention: ขอบเขต id ที่อาจหมดอายุ
+     */
+    @Query("SELECT MIN(n.id) FROM Notification n")
+    Long findMinId();
+
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.createdAt < :cutoffDate")
+    Long findMaxIdCreatedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * 🗑️ ลบ notifications เก่าที่อ่านแล้ว ทีละช่วง id (RetentionJob)
      *
-     * ✅ TESTED: Scheduled task - clean old data
+     * ✅ ช่วง id จำกัด → lock แค่ช่วงเล็กๆ ต่อ transaction (ไม่ใช่ DELETE ทั้งตาราง)
      *
+     * @param fromId id เริ่ม (รวม)
+     * @param toId id สิ้นสุด (ไม่รวม)
      * @param cutoffDate วันที่ก่อนหน้านี้
+     * @return จำนวนแถวที่ลบ
      */
     @Modifying
     @Query("DELETE FROM Notification n " +
-           "WHERE n.readStatus = true " +
+           "WHERE n.id >= :fromId AND n.id < :toId " +
+           "AND n.readStatus = true " +
            "AND n.createdAt < :cutoffDate")
-    void deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    int deleteReadInRange(
+        @Param("fromId") long fromId,
+        @Param("toId") long toId,
+        @Param("cutoffDate") LocalDateTime cutoffDate
+    );
 
     /**
-     * 📅 หา notifications ล่าสุด N ชิ้น
+     * 📄 Inbox แบบ keyset pagination (ต่อจาก cursor)
      *
-     * NOTE: JPQL ไม่รองรับ LIMIT parameter โดยตรง — หากต้องการ dynamic limit ให้ใช้ Pageable หรือ nativeQuery
+     * ✅ ใช้ index (receiver_id, createdAt, id) → ต้นทุนคงที่ทุกหน้า ไม่ว่าจะเลื่อนไปลึกแค่ไหน
+     * ✅ Projection: sender name/role + check-in level มาใน query เดียว (ไม่มี lazy load ต่อแถว)
      *
-     * @param receiver User entity
-     * @param limit จำนวนที่ต้องการ
-     * @return List<Notification>
+     * @param receiverId Receiver user ID
+     * @param unreadOnly true = เฉพาะที่ยังไม่อ่าน
+     * @param before createdAt ของ cursor
+     * @param idBound id bound เมื่อ createdAt เท่ากับ cursor
+     * @param pageable PageRequest.of(0, limit) (ไม่มี count query)
+     * @return List<NotificationView> - sorted by createdAt DESC, id DESC
      */
-    @Query(value = "SELECT n FROM Notification n " +
-           "WHERE n.receiver = :receiver " +
-           "ORDER BY n.createdAt DESC")
-    List<Notification> findRecentNotifications(
-        @Param("receiver") User receiver);
-    }
+    @Query("SELECT n.id AS id, n.message AS message, " +
+           "s.name AS senderName, s.role AS senderRole, " +
+           "n.readStatus AS readStatus, n.createdAt AS createdAt, " +
+           "c.id AS relatedCheckinId, c.emotionLevel AS checkinLevel " +
+           "FROM Notification n " +
+           "JOIN n.sender s " +
+           "LEFT JOIN n.relatedCheckin c " +
+           "WHERE n.receiver.id = :receiverId " +
+           "AND (:unreadOnly = false OR n.readStatus = false) " +
+           "AND (n.createdAt < :before OR (n.createdAt = :before AND n.id < :idBound)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationView> findPageByReceiver(
+        @Param("receiverId") Long receiverId,
+        @Param("unreadOnly") boolean unreadOnly,
+        @Param("before") LocalDateTime before,
+        @Param("idBound") long idBound,
+        Pageable pageable
+    );
+}
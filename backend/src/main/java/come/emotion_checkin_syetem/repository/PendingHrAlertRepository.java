@@ -0,0 +1,39 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.PendingHrAlert;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/PendingHrAlertRepository.java
+ *
+ * 📰 PENDING HR ALERT REPOSITORY - คิว bad-mood alert ของ HR digest
+ */
+@Repository
+public interface PendingHrAlertRepository extends JpaRepository<PendingHrAlert, Long> {
+
+    /**
+     * ⏰ เวลาเข้าคิวของ alert ที่เก่าสุด (ไม่ lock)
+     *
+     * @return LocalDateTime - null ถ้าคิวว่าง
+     */
+    @Query("SELECT MIN(a.createdAt) FROM PendingHrAlert a")
+    LocalDateTime findOldestCreatedAt();
+
+    /**
+     * 🔒 alert ที่ค้างทั้งหมด + lock จนจบ transaction
+     *
+     * instance อื่นที่ flush พร้อมกันรอ lock แล้วได้ list ว่าง (แถวถูกลบไปแล้ว)
+     *
+     * @return List<PendingHrAlert> เรียงตาม id (ลำดับเข้าคิว)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PendingHrAlert a ORDER BY a.id")
+    List<PendingHrAlert> findAllForUpdate();
+}
@@ -0,0 +1,109 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.UnreadNotificationCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/UnreadNotificationCountRepository.java
+ *
+ * 🔴 UNREAD NOTIFICATION COUNT REPOSITORY - ยอด unread ต่อ user
+ *
+ * ✅ Features:
+ * - อ่านยอดด้วย primary key (O(1))
+ * - เพิ่ม/ลดแบบ atomic (UPDATE unread_count = unread_count + delta, ไม่ต่ำกว่า 0)
+ * - ทุก UPDATE บวก version → reconciler แก้เฉพาะแถวที่ไม่ถูกแตะตั้งแต่อ่าน
+ *
+ * ⚠️ NOTE:
+ * - UPDATE ไม่สร้างแถวใหม่ — แถวถูกสร้างตอนสร้าง user หรือโดย reconciler
+ */
+@Repository
+public interface UnreadNotificationCountRepository extends JpaRepository<UnreadNotificationCount, Long> {
+
+    /**
+     * 🔢 ยอด unread ของ user
+     *
+     * @param userId User ID
+     * @return Optional<Long>
+     */
+    @Query("SELECT c.unreadCount FROM UnreadNotificationCount c WHERE c.userId = :userId")
+    Optional<Long> findCountByUserId(@Param("userId") Long userId);
+
+    /**
+     * 🔒 Lock แถวยอดของ user (serialize การ mark as read ของ user คนเดียวกัน)
+     *
+     * @param userId User ID
+     * @return Optional<UnreadNotificationCount>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UnreadNotificationCount c WHERE c.userId = :userId")
+    Optional<UnreadNotificationCount> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * ➕➖ เพิ่ม/ลดยอดของ user เดียว
+     *
+     * @param userId User ID
+     * @param delta +1 / -1
+     * @return จำนวนแถวที่ถูก update (0 = ยังไม่มีแถว)
+     */
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c " +
+           "SET c.unreadCount = CASE WHEN c.unreadCount + :delta < 0 THEN 0 ELSE c.unreadCount + :delta END, " +
+           "c.version = c.version + 1 " +
+           "WHERE c.userId = :userId")
+    int addToCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * ➕ เพิ่มยอดให้หลาย user (broadcast)
+     *
+     * @param userIds User IDs
+     * @param delta จำนวนที่เพิ่ม
+     * @return จำนวนแถวที่ถูก update
+     */
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c " +
+           "SET c.unreadCount = c.unreadCount + :delta, c.version = c.version + 1 " +
+           "WHERE c.userId IN :userIds")
+    int addToCountForUsers(@Param("userIds") Collection<Long> userIds, @Param("delta") long delta);
+
+    /**
+     * 0️⃣ Reset ยอด (mark all as read)
+     *
+     * @param userId User ID
+     * @return จำนวนแถวที่ถูก update
+     */
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c SET c.unreadCount = 0, c.version = c.version + 1 WHERE c.userId = :userId")
+    int resetCount(@Param("userId") Long userId);
+
+    /**
+     * 📋 ยอด + version ของทุก user (reconcile อ่านก่อนคำนวณยอดจริง)
+     *
+     * @return List<Object[]> - [userId, unreadCount, version]
+     */
+    @Query("SELECT c.userId, c.unreadCount, c.version FROM UnreadNotificationCount c")
+    List<Object[]> findAllCountsWithVersion();
+
+    /**
+     * 🔄 แก้ยอดด้วย delta ถ้าแถวยังไม่ถูกเปลี่ยนตั้งแต่ reconcile อ่าน
+     *
+     * @param userId User ID
+     * @param delta ยอดจริง - ยอดที่อ่านได้
+     * @param version version ที่อ่านได้
+     * @return 0 = แถวถูกเปลี่ยนระหว่างนั้น (ข้าม รอรอบหน้า)
+     */
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c " +
+           "SET c.unreadCount = c.unreadCount + :delta, c.version = c.version + 1 " +
+           "WHERE c.userId = :userId AND c.version = :version")
+    int reconcileCount(@Param("userId") Long userId, @Param("delta") long delta, @Param("version") long version);
+}
@@ -1,11 +1,16 @@
 package come.emotion_checkin_syetem.repository;
 
 import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.projection.UserDisplayView;
+import come.emotion_checkin_syetem.repository.projection.UserPrincipalView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -103,6 +108,49 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = 'HR' AND u.isActive = true")
     List<User> findAllActiveHR();
     
+    /**
+     * 👥 หา id ของ HR ที่ active (ไม่โหลด entity)
+     * 
+     * ✅ ใช้ที่: HrRecipientCache (bad-mood alert fan-out)
+     * 
+     * @return List<Long>
+     */
+    @Query("SELECT u.id FROM User u WHERE u.role = 'HR' AND u.isActive = true")
+    List<Long> findAllActiveHRIds();
+    
+    /**
+     * 👥 หา id ของ user ที่ active ตาม role (ไม่โหลด entity)
+     * 
+     * ✅ ใช้ที่: Bulk notification (ROLE:xxx)
+     * 
+     * @param role User.Role
+     * @return List<Long>
+     */
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.isActive = true")
+    List<Long> findActiveIdsByRole(@Param("role") User.Role role);
+    
+    /**
+     * 🏢 หา id ของ user ที่ active ในแผนก (ไม่โหลด entity)
+     * 
+     * ✅ ใช้ที่: Bulk notification (DEPT:xxx)
+     * 
+     * @param department Department name
+     * @return List<Long>
+     */
+    @Query("SELECT u.id FROM User u WHERE u.department = :department AND u.isActive = true")
+    List<Long> findActiveIdsByDepartment(@Param("department") String department);
+    
+    /**
+     * 🔍 กรองเหลือเฉพาะ id ที่มีอยู่จริงและ active (1 query)
+     * 
+     * ✅ ใช้ที่: Bulk notification (receiverIds)
+     * 
+     * @param ids User IDs
+     * @return List<Long>
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isActive = true")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * 👑 หา SuperAdmin ทั้งหมด
      * 
@@ -238,4 +286,89 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "WHERE u.isActive = true " +
            "GROUP BY u.role")
     List<Object[]> countUsersByRole();
-}
\ No newline at end of file
+    
+    // ========== DISPLAY INFO ==========
+    
+    /**
+     * 🏷️ ดึง id, name, role ของ users หลายคนในครั้งเดียว
+     * 
+     * ✅ ใช้ที่: UserDisplayCache (resolve ชื่อใน audit log ทั้งหน้าด้วย 1 query)
+     * 
+     * @param ids User IDs
+     * @return List<UserDisplayView>
+     */
+    @Query("SELECT u.id AS id, u.name AS name, u.role AS role FROM User u " +
+           "WHERE u.id IN :ids")
+    List<UserDisplayView> findDisplayInfoByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 🪪 ดึง id, name, role ของ user คนเดียว
+     * 
+     * ✅ ใช้ที่: SessionContext (เช็ค role เมื่อ request ไม่มี session token)
+     * 
+     * @param id User ID
+     * @return Optional<UserPrincipalView>
+     */
+    @Query("SELECT u.id AS id, u.name AS name, u.role AS role FROM User u WHERE u.id = :id")
+    Optional<UserPrincipalView> findPrincipalById(@Param("id") Long id);
+    
+    /**
+     * 🏢 แผนกปัจจุบันของ user (ไม่เชื่อค่าใน session token ที่อาจเก่ากว่า assignDepartment)
+     * 
+     * ✅ ใช้ที่: NotificationService (audience DEPT:xxx)
+     * 
+     * @param id User ID
+     * @return Optional<String> - empty ถ้ายังไม่มีแผนก
+     */
+    @Query("SELECT u.department FROM User u WHERE u.id = :id")
+    Optional<String> findDepartmentById(@Param("id") Long id);
+    
+    /**
+     * 🔢 id ของ user ทั้งหมด
+     * 
+     * ✅ ใช้ที่: UnreadNotificationCounter.reconcile()
+     * 
+     * @return List<Long>
+     */
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
+    
+    // ========== SESSION TOKENS ==========
+    
+    /**
+     * 🚫 เวลา (epoch second) ที่ token ก่อนหน้านั้นของ user ถูกยกเลิก
+     * 
+     * ✅ ใช้ที่: SessionTokenService (cache สั้น ๆ ต่อ user)
+     * 
+     * @param id User ID
+     * @return Optional<Long> - empty ถ้ายังไม่เคย revoke
+     */
+    @Query("SELECT u.tokensValidAfter FROM User u WHERE u.id = :id")
+    Optional<Long> findTokensValidAfterById(@Param("id") Long id);
+    
+    /**
+     * 🚫 ยกเลิก session token ทั้งหมดที่ออกไม่เกิน validAfter
+     * 
+     * @param id User ID
+     * @param validAfter epoch second
+     * @return จำนวนแถวที่ถูก update
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :id")
+    int updateTokensValidAfter(@Param("id") Long id, @Param("validAfter") long validAfter);
+    
+    // ========== PASSWORD ==========
+    
+    /**
+     * 🔄 อัปเดต password hash (rehash ตอน login เมื่อ BCrypt strength เปลี่ยน)
+     * 
+     * @param id User ID
+     * @param password BCrypt hash ใหม่
+     * @return จำนวนแถวที่ถูก update
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+}
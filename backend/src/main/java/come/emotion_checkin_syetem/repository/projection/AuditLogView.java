@@ -0,0 +1,32 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+import come.emotion_checkin_syetem.entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/AuditLogView.java
+ *
+ * 📝 AUDIT LOG VIEW - Interface projection สำหรับหน้า Audit Log
+ *
+ * ✅ ทำไมต้องมี?
+ * - AuditLog.user / targetUser เป็น LAZY → convertToDTO เดิมยิง query ทีละแถว (N+1)
+ * - View นี้ดึงแค่ column ที่ AuditLogDTO ใช้ + user id (ไม่ต้อง load User entity)
+ * - ชื่อ/role ของ user ไป resolve ผ่าน UserDisplayCache ทีเดียวทั้งหน้า
+ */
+public interface AuditLogView {
+
+    Long getId();
+
+    Long getUserId();
+
+    Long getTargetUserId();
+
+    AuditLog.Action getAction();
+
+    String getDetails();
+
+    String getIpAddress();
+
+    LocalDateTime getCreatedAt();
+}
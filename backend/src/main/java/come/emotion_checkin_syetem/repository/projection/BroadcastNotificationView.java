@@ -0,0 +1,32 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+import come.emotion_checkin_syetem.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/BroadcastNotificationView.java
+ *
+ * 📣 BROADCAST NOTIFICATION VIEW - column ของ broadcast + bitmap ผู้รับ (ไม่โหลด sender / check-in entity)
+ *
+ * ✅ ใช้ที่: NotificationService inbox
+ */
+public interface BroadcastNotificationView {
+
+    Long getId();
+
+    String getMessage();
+
+    String getSenderName();
+
+    User.Role getSenderRole();
+
+    byte[] getRecipients();
+
+    LocalDateTime getCreatedAt();
+
+    Long getRelatedCheckinId();
+
+    /** emotionLevel ของ check-in ที่เกี่ยวข้อง (null ถ้าไม่มี) */
+    Integer getCheckinLevel();
+}
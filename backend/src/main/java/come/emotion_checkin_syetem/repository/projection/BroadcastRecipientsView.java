@@ -0,0 +1,15 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/BroadcastRecipientsView.java
+ *
+ * 📣 BROADCAST RECIPIENTS VIEW - id + bitmap ผู้รับ (ไม่โหลดข้อความ / entity)
+ *
+ * ✅ ใช้ที่: NotificationService mark all as read, UnreadNotificationCounter reconcile
+ */
+public interface BroadcastRecipientsView {
+
+    Long getId();
+
+    byte[] getRecipients();
+}
@@ -0,0 +1,33 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+import come.emotion_checkin_syetem.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/NotificationView.java
+ *
+ * 🔔 NOTIFICATION VIEW - ทุก column ที่ NotificationDTO ต้องใช้ใน query เดียว
+ *
+ * ✅ ใช้ที่: NotificationService inbox (ไม่แตะ lazy sender / relatedCheckin ทีละแถว)
+ * - type / priority คำนวณจาก senderRole + checkinLevel
+ */
+public interface NotificationView {
+
+    Long getId();
+
+    String getMessage();
+
+    String getSenderName();
+
+    User.Role getSenderRole();
+
+    Boolean getReadStatus();
+
+    LocalDateTime getCreatedAt();
+
+    Long getRelatedCheckinId();
+
+    /** emotionLevel ของ check-in ที่เกี่ยวข้อง (null ถ้าไม่มี) */
+    Integer getCheckinLevel();
+}
@@ -0,0 +1,19 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+import come.emotion_checkin_syetem.entity.User;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/UserDisplayView.java
+ *
+ * 👤 USER DISPLAY VIEW - ข้อมูล user เท่าที่ต้องใช้แสดงผล (id, name, role)
+ *
+ * ✅ ใช้ที่: UserDisplayCache (ไม่ต้อง load User entity + lazy collections)
+ */
+public interface UserDisplayView {
+
+    Long getId();
+
+    String getName();
+
+    User.Role getRole();
+}
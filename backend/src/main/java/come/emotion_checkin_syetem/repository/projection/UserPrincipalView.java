@@ -0,0 +1,19 @@
+package come.emotion_checkin_syetem.repository.projection;
+
+import come.emotion_checkin_syetem.entity.User;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/repository/projection/UserPrincipalView.java
+ *
+ * 🪪 USER PRINCIPAL VIEW - id, name, role
+ *
+ * ✅ ใช้ที่: SessionContext (fallback เมื่อ request ไม่มี session token)
+ */
+public interface UserPrincipalView {
+
+    Long getId();
+
+    String getName();
+
+    User.Role getRole();
+}
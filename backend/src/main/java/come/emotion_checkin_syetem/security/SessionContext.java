@@ -0,0 +1,59 @@
+package come.emotion_checkin_syetem.security;
+
+import come.emotion_checkin_syetem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/security/SessionContext.java
+ *
+ * 🪪 SESSION CONTEXT - หา SessionPrincipal ของ user ที่ทำ request
+ *
+ * ✅ Flow:
+ * - มี principal จาก token และ id ตรงกัน → ใช้เลย (0 query)
+ * - ไม่มี (เรียกนอก request / ยังไม่ส่ง token) → UserPrincipalView (1 query เล็ก)
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionContext {
+
+    private final UserRepository userRepository;
+
+    /**
+     * 🔍 CURRENT - principal จาก token ของ request นี้ (ถ้ามี)
+     */
+    public Optional<SessionPrincipal> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return Optional.empty();
+
+        Object principal = attributes.getAttribute(
+            SessionPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST
+        );
+        return Optional.ofNullable((SessionPrincipal) principal);
+    }
+
+    /**
+     * 🪪 RESOLVE - principal ของ userId
+     *
+     * @param userId User ID (จาก X-User-Id)
+     * @param notFoundMessage ข้อความ error ถ้าไม่เจอ (เช่น "Admin not found")
+     * @return SessionPrincipal
+     * @throws RuntimeException ถ้าไม่เจอ user
+     */
+    public SessionPrincipal resolve(Long userId, String notFoundMessage) {
+        Optional<SessionPrincipal> current = current();
+        if (current.isPresent() && current.get().getId().equals(userId)) {
+            return current.get();
+        }
+
+        return userRepository.findPrincipalById(userId)
+            .map(view -> new SessionPrincipal(
+                view.getId(), view.getName(), view.getRole()
+            ))
+            .orElseThrow(() -> new RuntimeException(notFoundMessage));
+    }
+}
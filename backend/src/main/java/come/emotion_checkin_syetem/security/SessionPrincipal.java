@@ -0,0 +1,48 @@
+package come.emotion_checkin_syetem.security;
+
+import come.emotion_checkin_syetem.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/security/SessionPrincipal.java
+ *
+ * 🪪 SESSION PRINCIPAL - ข้อมูล user ที่ login อยู่ (เบาๆ ไม่ใช่ entity)
+ *
+ * ✅ มาจาก:
+ * - Session token ที่ verify แล้ว (ไม่แตะ DB)
+ * - หรือ UserPrincipalView (1 query เล็ก ถ้าไม่มี token)
+ *
+ * ⚠️ ใช้เช็ค role แทนการโหลด User ทั้ง entity
+ * ⚠️ ไม่มี department: เปลี่ยนได้ระหว่างอายุ token → อ่านจากแถว user (UserRepository.findDepartmentById)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SessionPrincipal {
+
+    /** ชื่อ request attribute ที่ SessionTokenFilter ใส่ไว้ */
+    public static final String REQUEST_ATTRIBUTE = SessionPrincipal.class.getName();
+
+    private final Long id;
+    private final String name;
+    private final User.Role role;
+
+    public boolean isEmployee() {
+        return role == User.Role.EMPLOYEE;
+    }
+
+    public boolean isHR() {
+        return role == User.Role.HR;
+    }
+
+    public boolean isSuperAdmin() {
+        return role == User.Role.SUPERADMIN;
+    }
+
+    /** ตรงกับ User.canAssignDepartment() */
+    public boolean canAssignDepartment() {
+        return role == User.Role.SUPERADMIN;
+    }
+}
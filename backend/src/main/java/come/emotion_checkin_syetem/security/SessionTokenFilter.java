@@ -0,0 +1,161 @@
+package come.emotion_checkin_syetem.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import come.emotion_checkin_syetem.dto.response.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/security/SessionTokenFilter.java
+ *
+ * 🛂 SESSION TOKEN FILTER - ตรวจ "Authorization: Bearer <token>" ทุก request
+ *
+ * ✅ Flow:
+ * 1. มี token → verify (HMAC) → ใส่ SessionPrincipal ใน request attribute
+ *    และบังคับ X-User-Id = id ใน token (client ปลอม header ไม่ได้)
+ * 2. token ผิด/หมดอายุ → 401
+ * 3. SSE stream (/api/live/stream): ต้องยืนยันตัวตนเสมอ (ไม่ขึ้นกับ token.required)
+ *    - Authorization header หรือ ?ticket= (stream ticket อายุสั้น จาก POST /api/live/ticket, ใช้ซ้ำได้จนหมดอายุ)
+ *    - ไม่รับ session token ใน URL (หลุดใน access log / history แล้วใช้ได้ทั้งวัน)
+ * 4. ไม่มี token:
+ *    - app.security.token.required=false → ผ่าน (ใช้ X-User-Id แบบเดิม, ช่วง migrate frontend)
+ *    - app.security.token.required=true  → 401 (ยกเว้น /api/auth/**)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String STREAM_PATH = "/api/live/stream";
+    private static final String STREAM_TICKET_PARAM = "ticket";
+
+    private final SessionTokenService sessionTokenService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.security.token.required:false}")
+    private boolean tokenRequired;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/")
+            || path.startsWith("/api/auth/")
+            || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        String token = extractToken(request);
+
+        if (isStream(request)) {
+            Optional<SessionPrincipal> principal = token != null
+                ? sessionTokenService.verify(token)
+                : sessionTokenService.verifyStreamTicket(request.getParameter(STREAM_TICKET_PARAM));
+
+            if (principal.isEmpty()) {
+                reject(response, "Unauthorized: stream requires a session token or a valid stream ticket");
+                return;
+            }
+
+            request.setAttribute(SessionPrincipal.REQUEST_ATTRIBUTE, principal.get());
+            filterChain.doFilter(new PrincipalRequest(request, principal.get()), response);
+            return;
+        }
+
+        if (token == null) {
+            if (tokenRequired) {
+                reject(response, "Unauthorized: session token required");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<SessionPrincipal> principal = sessionTokenService.verify(token);
+
+        if (principal.isEmpty()) {
+            reject(response, "Unauthorized: invalid or expired session token");
+            return;
+        }
+
+        request.setAttribute(SessionPrincipal.REQUEST_ATTRIBUTE, principal.get());
+        filterChain.doFilter(new PrincipalRequest(request, principal.get()), response);
+    }
+
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
+    private boolean isStream(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length()).equals(STREAM_PATH);
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(message));
+    }
+
+    /**
+     * 🔁 แทนค่า X-User-Id ด้วย id จาก token (controller เดิมไม่ต้องแก้)
+     */
+    private static final class PrincipalRequest extends HttpServletRequestWrapper {
+
+        private final String userId;
+
+        PrincipalRequest(HttpServletRequest request, SessionPrincipal principal) {
+            super(request);
+            this.userId = String.valueOf(principal.getId());
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return USER_ID_HEADER.equalsIgnoreCase(name) ? userId : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return USER_ID_HEADER.equalsIgnoreCase(name)
+                ? Collections.enumeration(Collections.singletonList(userId))
+                : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            if (names.stream().noneMatch(USER_ID_HEADER::equalsIgnoreCase)) {
+                names.add(USER_ID_HEADER);
+            }
+            return Collections.enumeration(names);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package come.emotion_checkin_syetem.security;
+
+import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/security/SessionTokenService.java
+ *
+ * 🔏 SESSION TOKEN SERVICE - ออก/ตรวจ token แบบ stateless (HMAC-SHA256)
+ *
+ * ✅ Token format:
+ *   base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+ *   payload = id|role|issuedAt|expiresAt|base64url(name)
+ *
+ * ✅ Stream ticket (SSE /api/live/stream):
+ *   base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+ *   payload = stream|id|role|issuedAt|expiresAt|base64url(name)
+ * - EventSource ตั้ง header ไม่ได้ → ส่ง ticket ใน URL แทน session token
+ * - อายุสั้น (app.security.stream-ticket.ttl-seconds) → URL หลุดใน access log / history ใช้ได้แค่ไม่กี่วินาที
+ * - ใช้ซ้ำได้จนหมดอายุ: EventSource reconnect เองด้วย URL เดิม (+ Last-Event-ID) ต้องผ่าน
+ *   หลังหมดอายุ client ขอ ticket ใหม่แล้วเปิด stream ใหม่ (ดู LiveEventController)
+ *
+ * ✅ Features:
+ * - Verify ด้วย HMAC + users.tokens_valid_after (cache ต่อ user ไม่เกิน app.security.token.revocation-check-seconds)
+ * - หมดอายุตาม app.security.token.ttl-minutes
+ * - revokeUser(): token ที่ออกก่อนเวลานั้นใช้ไม่ได้ (เช่น ตอน deactivate)
+ *   → เขียนลง users.tokens_valid_after → instance อื่นเห็นภายใน revocation-check-seconds
+ *
+ * ⚠️ NOTE:
+ * - ต้องตั้ง app.security.token.secret นอก profile dev → ไม่ตั้ง = startup fail
+ *   (dev: สุ่ม secret ใหม่ทุกครั้งที่ start, token เดิมใช้ไม่ได้หลัง restart)
+ *   สุ่มแยกต่อ instance จะทำให้ token ของ instance หนึ่งใช้กับอีก instance ไม่ได้
+ * - ไม่ใส่ department ใน token: ย้ายแผนก (assignDepartment) ได้ระหว่างที่ token ยังไม่หมดอายุ
+ *   → ใครต้องใช้แผนกให้อ่านจากแถว user
+ * - role อยู่ใน token: ตอนนี้ role ตั้งได้ตอนสร้าง user เท่านั้น (updateUser ห้ามแก้ role)
+ *   → ถ้าเพิ่มการเปลี่ยน role ต้องเรียก revokeUser() ด้วย ไม่งั้น token เดิมยังถือ role เก่า
+ */
+@Component
+@Slf4j
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String STREAM_TICKET = "stream";
+    private static final int MAX_CACHED_CUTOFFS = 10_000;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Duration streamTicketTtl;
+    private final Duration revocationCheck;
+    private final UserRepository userRepository;
+
+    // userId → users.tokens_valid_after ที่อ่านมาล่าสุด (อ่านใหม่เมื่อเกิน revocationCheck)
+    private final Map<Long, Cutoff> cutoffs = new ConcurrentHashMap<>();
+
+    public SessionTokenService(
+        Environment environment,
+        @Value("${app.security.token.secret:}") String secret,
+        @Value("${app.security.token.ttl-minutes:720}") long ttlMinutes,
+        @Value("${app.security.stream-ticket.ttl-seconds:30}") long streamTicketTtlSeconds,
+        @Value("${app.security.token.revocation-check-seconds:30}") long revocationCheckSeconds,
+        UserRepository userRepository
+    ) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+                throw new IllegalStateException(
+                    "app.security.token.secret must be set (only the dev profile may use a random secret)"
+                );
+            }
+            log.warn("⚠️ app.security.token.secret is not set - using a random secret (tokens reset on restart)");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.streamTicketTtl = Duration.ofSeconds(streamTicketTtlSeconds);
+        this.revocationCheck = Duration.ofSeconds(revocationCheckSeconds);
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * 🎫 ISSUE - ออก token หลัง login สำเร็จ
+     *
+     * @param user User ที่ login
+     * @return token string
+     */
+    public String issue(User user) {
+        long issuedAt = Instant.now().getEpochSecond();
+        String payload = String.join("|",
+            String.valueOf(user.getId()),
+            user.getRole().name(),
+            String.valueOf(issuedAt),
+            String.valueOf(issuedAt + ttl.getSeconds()),
+            encodeText(user.getName())
+        );
+        return signed(payload);
+    }
+
+    /**
+     * 🔍 VERIFY - ตรวจลายเซ็น + วันหมดอายุ
+     *
+     * @param token token string
+     * @return SessionPrincipal ถ้า token ใช้ได้
+     */
+    public Optional<SessionPrincipal> verify(String token) {
+        try {
+            String[] parts = verifiedPayload(token);
+            if (parts == null || parts.length != 5) return Optional.empty();
+
+            Long id = Long.valueOf(parts[0]);
+            long issuedAt = Long.parseLong(parts[2]);
+            long expiresAt = Long.parseLong(parts[3]);
+
+            if (Instant.now().getEpochSecond() >= expiresAt) return Optional.empty();
+            if (isRevoked(id, issuedAt)) return Optional.empty();
+
+            return Optional.of(new SessionPrincipal(
+                id,
+                decodeText(parts[4]),
+                User.Role.valueOf(parts[1])
+            ));
+        } catch (IllegalArgumentException e) {
+            // base64 / number / enum ผิดรูปแบบ
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 🎟️ ISSUE STREAM TICKET - ticket อายุสั้นสำหรับเปิด SSE (ต้องมี session token ที่ verify แล้ว)
+     *
+     * @param principal principal จาก session token
+     * @return ticket string
+     */
+    public String issueStreamTicket(SessionPrincipal principal) {
+        long issuedAt = Instant.now().getEpochSecond();
+
+        return signed(String.join("|",
+            STREAM_TICKET,
+            String.valueOf(principal.getId()),
+            principal.getRole().name(),
+            String.valueOf(issuedAt),
+            String.valueOf(issuedAt + streamTicketTtl.getSeconds()),
+            encodeText(principal.getName())
+        ));
+    }
+
+    /**
+     * 🎟️ VERIFY STREAM TICKET - ตรวจลายเซ็น + วันหมดอายุ + revoke
+     *
+     * ใช้ซ้ำได้จนหมดอายุ (EventSource reconnect อัตโนมัติด้วย URL เดิม)
+     *
+     * @param ticket ticket string
+     * @return SessionPrincipal ถ้า ticket ยังใช้ได้
+     */
+    public Optional<SessionPrincipal> verifyStreamTicket(String ticket) {
+        try {
+            String[] parts = verifiedPayload(ticket);
+            if (parts == null || parts.length != 6 || !STREAM_TICKET.equals(parts[0])) return Optional.empty();
+
+            Long id = Long.valueOf(parts[1]);
+            long issuedAt = Long.parseLong(parts[3]);
+            long expiresAt = Long.parseLong(parts[4]);
+
+            if (Instant.now().getEpochSecond() >= expiresAt) return Optional.empty();
+            if (isRevoked(id, issuedAt)) return Optional.empty();
+
+            return Optional.of(new SessionPrincipal(
+                id,
+                decodeText(parts[5]),
+                User.Role.valueOf(parts[2])
+            ));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** วินาทีก่อน stream ticket หมดอายุ */
+    public long getStreamTicketTtlSeconds() {
+        return streamTicketTtl.getSeconds();
+    }
+
+    /**
+     * 🚫 REVOKE - ยกเลิก token ทั้งหมดของ user ที่ออกก่อนตอนนี้
+     *
+     * ✅ เขียน users.tokens_valid_after (join transaction ของผู้เรียก)
+     * - instance นี้: มีผลทันที
+     * - instance อื่น: มีผลเมื่อ cache ของ user นั้นหมดอายุ (≤ revocation-check-seconds)
+     *
+     * @param userId User ID
+     */
+    public void revokeUser(Long userId) {
+        long now = Instant.now().getEpochSecond();
+        userRepository.updateTokensValidAfter(userId, now);
+        cutoffs.put(userId, new Cutoff(now, System.currentTimeMillis()));
+    }
+
+    /** วินาทีก่อนหมดอายุ (ส่งให้ frontend) */
+    public long getTtlSeconds() {
+        return ttl.getSeconds();
+    }
+
+    /** token ของ user ที่ออกไม่เกิน users.tokens_valid_after = ถูก revoke */
+    private boolean isRevoked(Long userId, long issuedAt) {
+        long nowMillis = System.currentTimeMillis();
+        Cutoff cutoff = cutoffs.get(userId);
+
+        if (cutoff == null || nowMillis - cutoff.checkedAtMillis() >= revocationCheck.toMillis()) {
+            if (cutoffs.size() >= MAX_CACHED_CUTOFFS) {
+                cutoffs.clear();
+            }
+            long validAfter = userRepository.findTokensValidAfterById(userId).orElse(0L);
+            cutoff = new Cutoff(validAfter, nowMillis);
+            cutoffs.put(userId, cutoff);
+        }
+        return issuedAt <= cutoff.validAfter();
+    }
+
+    /** users.tokens_valid_after (0 = ไม่เคย revoke) + เวลาที่อ่านจาก DB */
+    private record Cutoff(long validAfter, long checkedAtMillis) {}
+
+    private String signed(String payload) {
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /** payload ที่ลายเซ็นถูกต้อง แยกตาม "|" (null = รูปแบบผิด / ลายเซ็นไม่ตรง) */
+    private String[] verifiedPayload(String token) {
+        if (token == null) return null;
+
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+
+        byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+        byte[] signature = DECODER.decode(token.substring(dot + 1));
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return null;
+        }
+        return new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    private static String encodeText(String value) {
+        return value == null ? "" : ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeText(String value) {
+        return value.isEmpty() ? null : new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
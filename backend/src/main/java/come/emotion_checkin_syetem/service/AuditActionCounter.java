@@ -0,0 +1,174 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.AuditActionDaily;
+import come.emotion_checkin_syetem.entity.AuditLog;
+import come.emotion_checkin_syetem.repository.AuditActionDailyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/AuditActionCounter.java
+ *
+ * 📊 AUDIT ACTION COUNTER - นับ audit action แบบ real-time (ต่อ action ต่อวัน)
+ *
+ * ✅ Features:
+ * - increment() ใน memory ด้วย LongAdder (striped counter ไม่ contend กันตอน login storm)
+ * - Flush ลงตาราง audit_action_daily เป็นระยะ (app.audit.counter.flush-interval-ms)
+ * - ยอดก่อนมี counter: backfill จาก audit_log ด้วย Flyway (V16) ครั้งเดียว ไม่ใช่ตอน startup
+ *   (รวมแถวของวันนี้จนถึงตอน migrate → counter นับต่อจากจุดเดียวกัน ไม่มีช่องว่างวัน deploy)
+ * - Sum ตามช่วงวัน = ยอดที่ flush แล้ว + ยอดที่ยังค้างใน memory
+ *
+ * ⚠️ NOTE:
+ * - ถ้า flush ล้มเหลว delta จะถูกบวกกลับเข้า counter รอรอบถัดไป
+ * - ถ้า process ตายก่อน flush ยอดช่วงสั้นๆ อาจหาย (สถิติ ไม่ใช่ audit trail — log จริงยังอยู่ใน audit_log)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditActionCounter {
+
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private final AuditActionDailyRepository dailyRepository;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final Map<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /** key ของ counter: วัน × action */
+    private record Key(LocalDate date, AuditLog.Action action) {}
+
+    /**
+     * ➕ INCREMENT - เรียกทุกครั้งที่บันทึก audit log
+     *
+     * @param action AuditLog.Action
+     */
+    public void increment(AuditLog.Action action) {
+        Key key = new Key(LocalDate.now(BANGKOK), action);
+
+        // นับหลัง commit เท่านั้น — ถ้า transaction ของ log rollback จะไม่นับ
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(key);
+                }
+            });
+        } else {
+            add(key);
+        }
+    }
+
+    private void add(Key key) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * ⏰ SCHEDULED FLUSH - ตามรอบ ใน bulkhead ของ jobs
+     */
+    @Scheduled(
+        fixedDelayString = "${app.audit.counter.flush-interval-ms:60000}",
+        initialDelayString = "${app.audit.counter.flush-interval-ms:60000}"
+    )
+    public void scheduledFlush() {
+        bulkheadRegistry.runJob("audit-counter-flush", this::flush);
+    }
+
+    /**
+     * 💾 FLUSH - เขียนยอดที่ค้างลง audit_action_daily
+     */
+    public void flush() {
+        int flushed = 0;
+
+        for (Map.Entry<Key, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                // วันเก่าที่ไม่มีอะไรค้างแล้ว → เอาออกจาก map
+                if (!entry.getKey().date().equals(LocalDate.now(BANGKOK))) {
+                    pending.remove(entry.getKey(), entry.getValue());
+                }
+                continue;
+            }
+
+            try {
+                write(entry.getKey(), delta);
+                flushed++;
+            } catch (RuntimeException e) {
+                log.error("❌ Failed to flush audit counter {}: {}", entry.getKey(), e.getMessage());
+                entry.getValue().add(delta);  // รอ flush รอบหน้า
+            }
+        }
+
+        if (flushed > 0) {
+            log.debug("📊 Flushed {} audit action counters", flushed);
+        }
+    }
+
+    /**
+     * 📊 SUM BETWEEN - ยอดรวมแต่ละ action ในช่วงวัน
+     *
+     * @param startDate วันเริ่มต้น
+     * @param endDate วันสิ้นสุด
+     * @return Map<Action, count>
+     */
+    public Map<AuditLog.Action, Long> sumBetween(LocalDate startDate, LocalDate endDate) {
+        Map<AuditLog.Action, Long> totals = new EnumMap<>(AuditLog.Action.class);
+
+        for (Object[] row : dailyRepository.sumByActionBetween(startDate, endDate)) {
+            totals.merge((AuditLog.Action) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+
+        // ยอดที่ยังไม่ได้ flush
+        pending.forEach((key, adder) -> {
+            if (!key.date().isBefore(startDate) && !key.date().isAfter(endDate)) {
+                long value = adder.sum();
+                if (value > 0) {
+                    totals.merge(key.action(), value, Long::sum);
+                }
+            }
+        });
+
+        return totals;
+    }
+
+    /**
+     * 🛑 Flush ก่อน shutdown
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 💾 UPSERT - UPDATE ก่อน ถ้ายังไม่มีแถวค่อย INSERT
+     * (ถ้า instance อื่น insert ตัดหน้า → unique constraint → UPDATE ซ้ำ)
+     */
+    private void write(Key key, long delta) {
+        if (dailyRepository.addToTotal(key.date(), key.action(), delta) > 0) {
+            return;
+        }
+
+        try {
+            dailyRepository.save(AuditActionDaily.builder()
+                .actionDate(key.date())
+                .action(key.action())
+                .total(delta)
+                .build());
+        } catch (DataIntegrityViolationException e) {
+            dailyRepository.addToTotal(key.date(), key.action(), delta);
+        }
+    }
+}
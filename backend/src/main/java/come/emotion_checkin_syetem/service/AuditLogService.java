@@ -1,23 +1,32 @@
 package come.emotion_checkin_syetem.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import come.emotion_checkin_syetem.dto.response.AuditActionStats;
 import come.emotion_checkin_syetem.dto.response.AuditLogDTO;
 import come.emotion_checkin_syetem.entity.AuditLog;
 import come.emotion_checkin_syetem.entity.User;
 import come.emotion_checkin_syetem.repository.AuditLogRepository;
 import come.emotion_checkin_syetem.repository.UserRepository;
+import come.emotion_checkin_syetem.repository.projection.AuditLogView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +39,7 @@ import java.util.stream.Collectors;
  * - Search/filter audit logs (Admin only)
  * - Track critical actions
  * - Failed login tracking
+ * - Per-day action counters (AuditActionCounter → audit_action_daily)
  * 
  * 📋 Logged Actions:
  * - Authentication: LOGIN, LOGOUT, REGISTER, LOGIN_FAILED
@@ -55,10 +65,16 @@ public class AuditLogService {
     
     private final AuditLogRepository auditLogRepository;
     private final UserRepository userRepository;
+    private final UserDisplayCache userDisplayCache;
+    private final AuditActionCounter auditActionCounter;
+    private final ObjectMapper objectMapper;
     
     @Value("${app.system-user-id}")
     private Long systemUserId;
     
+    @Value("${app.audit.max-list-size:200}")
+    private int maxListSize;
+    
     // ========== AUTHENTICATION LOGS ==========
     
     /**
@@ -97,18 +113,23 @@ public class AuditLogService {
     /**
      * ❌ LOG LOGIN FAILED
      * 
+     * ⚡ Async: เรียกจาก LoginAttemptTracker ไม่ถ่วง response ของ /api/auth/login
+     * ⚠️ details เขียนผ่าน ObjectMapper (escape " และ \ ใน email) → LoginAttemptTracker parse กลับได้
+     * 
      * @param email Email that failed
      * @param ipAddress IP address
      */
+    @Async
     @Transactional
     public void logLoginFailed(String email, String ipAddress) {
         AuditLog log = AuditLog.builder()
             .user(getSystemUser())
             .action(AuditLog.Action.LOGIN_FAILED)
-            .details(String.format("{\"email\":\"%s\"}", email))
+            .details(objectMapper.createObjectNode().put("email", email).toString())
             .ipAddress(ipAddress != null ? ipAddress : "unknown")
             .build();
         auditLogRepository.save(log);
+        auditActionCounter.increment(AuditLog.Action.LOGIN_FAILED);
     }
     
     // ========== CHECK-IN LOGS ==========
@@ -127,12 +148,17 @@ public class AuditLogService {
     /**
      * 📊 LOG VIEW DASHBOARD
      * 
-     * @param user User who viewed dashboard
+     * ⚡ Async + transaction ของตัวเอง: dashboard เป็น @Transactional(readOnly = true)
+     *    → FlushMode.MANUAL + id แบบ pooled TABLE (INSERT รอ flush) → ถ้าเข้าร่วม transaction
+     *    เดิม audit row หายเงียบๆ และไม่ต้องยืม connection ที่ 2 จาก pool เดียวกันระหว่าง request
+     * 
+     * @param userId User who viewed dashboard
      */
+    @Async
     @Transactional
-    public void logViewDashboard(User user) {
-        createLog(user, AuditLog.Action.VIEW_DASHBOARD, null, null, null);
-        log.debug("📝 Logged: VIEW_DASHBOARD by {}", user.getName());
+    public void logViewDashboard(Long userId) {
+        createLog(userRepository.getReferenceById(userId), AuditLog.Action.VIEW_DASHBOARD, null, null, null);
+        log.debug("📝 Logged: VIEW_DASHBOARD by user {}", userId);
     }
     
     // ========== HR LOGS ==========
@@ -178,6 +204,25 @@ public class AuditLogService {
             sender.getName(), receiver.getName());
     }
     
+    /**
+     * 📣 LOG BULK SEND NOTIFICATION (1 แถวต่อการส่ง ไม่ใช่ต่อผู้รับ)
+     * 
+     * @param sender HR/Admin ที่ส่ง
+     * @param target เช่น "DEPT:IT", "ROLE:EMPLOYEE", "USERS"
+     * @param recipients จำนวนผู้รับ
+     */
+    @Transactional
+    public void logBulkSendNotification(User sender, String target, int recipients) {
+        String details = String.format(
+            "{\"target\":\"%s\",\"recipients\":%d}",
+            target,
+            recipients
+        );
+        createLog(sender, AuditLog.Action.SEND_NOTIFICATION, null, details, null);
+        log.info("📝 Logged: SEND_NOTIFICATION (bulk) from user {} to {} ({} recipients)", 
+            sender.getId(), target, recipients);
+    }
+    
     // ========== ADMIN LOGS ==========
     
     /**
@@ -251,17 +296,23 @@ public class AuditLogService {
     /**
      * 👥 LOG VIEW USERS
      * 
-     * @param admin Admin who viewed user list
+     * ⚡ Async เหมือน logViewDashboard (เรียกจาก listAllUsers ที่เป็น readOnly)
+     * 
+     * @param adminId Admin who viewed user list
      */
+    @Async
     @Transactional
-    public void logViewUsers(User admin) {
+    public void logViewUsers(Long adminId) {
         // Use VIEW_EMPLOYEE_INSIGHT or create new action
-        createLog(admin, AuditLog.Action.VIEW_AUDIT_LOG, null, 
+        createLog(userRepository.getReferenceById(adminId), AuditLog.Action.VIEW_AUDIT_LOG, null, 
             "{\"action\":\"view_users\"}", null);
-        log.debug("📝 Logged: VIEW_USERS by {}", admin.getName());
+        log.debug("📝 Logged: VIEW_USERS by user {}", adminId);
     }
     
     // ========== QUERY LOGS ==========
+    // ⚡ ทุก query ใช้ AuditLogView projection + UserDisplayCache
+    //    → 1 query ต่อหน้า (+ count query สำหรับ Page, + 1 IN query ถ้า cache miss)
+    //    แทนการแตะ lazy user/targetUser ทีละแถว (เดิม 1 + 2N queries)
     
     /**
      * 📋 GET ALL AUDIT LOGS (Admin only)
@@ -276,24 +327,25 @@ public class AuditLogService {
         log.info("📋 Getting audit logs (page {}, size {})", page, size);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<AuditLog> logs = auditLogRepository.findAllByOrderByCreatedAtDesc(pageable);
+        Page<AuditLogView> logs = auditLogRepository.findAllViews(pageable);
         
-        return logs.map(this::convertToDTO);
+        return toDTOPage(logs);
     }
     
     /**
      * 📋 GET USER AUDIT LOGS
      * 
      * @param userId User ID
+     * @param limit จำนวนสูงสุดที่ต้องการ (ถูกจำกัดไม่เกิน app.audit.max-list-size)
      * @return List<AuditLogDTO>
      */
     @Transactional(readOnly = true)
-    public List<AuditLogDTO> getUserAuditLogs(Long userId, User user) {
-        List<AuditLog> logs = auditLogRepository.findByUserOrderByCreatedAtDesc(user);
+    public List<AuditLogDTO> getUserAuditLogs(Long userId, int limit) {
+        List<AuditLogView> logs = auditLogRepository.findViewsByUserId(
+            userId, PageRequest.of(0, boundedLimit(limit))
+        );
         
-        return logs.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return toDTOList(logs);
     }
     
     /**
@@ -319,25 +371,57 @@ public class AuditLogService {
         log.info("🔍 Searching audit logs with filters");
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<AuditLog> logs = auditLogRepository.advancedSearch(
+        Page<AuditLogView> logs = auditLogRepository.advancedSearchViews(
             role, action, keyword, pageable
         );
         
-        return logs.map(this::convertToDTO);
+        return toDTOPage(logs);
     }
     
     /**
      * 🚨 GET CRITICAL ACTIONS (Admin only)
      * 
+     * ล่าสุดไม่เกิน app.audit.max-list-size รายการ
+     * 
      * @return List<AuditLogDTO>
      */
     @Transactional(readOnly = true)
     public List<AuditLogDTO> getCriticalActions() {
-        List<AuditLog> logs = auditLogRepository.findCriticalActions();
+        List<AuditLogView> logs = auditLogRepository.findCriticalActionViews(
+            PageRequest.of(0, maxListSize)
+        );
         
-        return logs.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return toDTOList(logs);
+    }
+
+    /**
+     * 📊 GET ACTION STATS (Admin only)
+     * 
+     * รวมยอดจาก audit_action_daily (+ ยอดที่ยังไม่ flush) — ไม่ scan audit_log
+     * 
+     * @param from วันเริ่มต้น
+     * @param to วันสิ้นสุด
+     * @return AuditActionStats
+     */
+    @Transactional(readOnly = true)
+    public AuditActionStats getActionStats(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<AuditLog.Action, Long> entry : auditActionCounter.sumBetween(from, to).entrySet()) {
+            counts.put(entry.getKey().toString(), entry.getValue());
+            total += entry.getValue();
+        }
+        
+        return AuditActionStats.builder()
+            .from(from)
+            .to(to)
+            .counts(counts)
+            .total(total)
+            .build();
     }
 
     /**
@@ -346,8 +430,8 @@ public class AuditLogService {
      * @return System user for audit logging
      */
     private User getSystemUser() {
-        return userRepository.findById(systemUserId)
-            .orElseThrow(() -> new RuntimeException("System user not found"));
+        // ใช้ reference (proxy) — ต้องการแค่ FK ไม่ต้อง SELECT users ทุกครั้งที่ login fail
+        return userRepository.getReferenceById(systemUserId);
     }
     
     // ========== HELPER METHODS ==========
@@ -377,31 +461,76 @@ public class AuditLogService {
             .build();
         
         auditLogRepository.save(log);
+        auditActionCounter.increment(action);
+    }
+    
+    /**
+     * 📄 PAGE → DTO PAGE (resolve ชื่อ user ทั้งหน้าในครั้งเดียว)
+     */
+    private Page<AuditLogDTO> toDTOPage(Page<AuditLogView> logs) {
+        Map<Long, UserDisplayCache.UserDisplay> users = resolveUsers(logs.getContent());
+        return logs.map(view -> convertToDTO(view, users));
+    }
+    
+    /**
+     * 📄 LIST → DTO LIST (resolve ชื่อ user ทั้งหมดในครั้งเดียว)
+     */
+    private List<AuditLogDTO> toDTOList(List<AuditLogView> logs) {
+        Map<Long, UserDisplayCache.UserDisplay> users = resolveUsers(logs);
+        return logs.stream()
+            .map(view -> convertToDTO(view, users))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 🏷️ RESOLVE USERS - รวม user id + target user id แล้วดึงจาก cache
+     */
+    private Map<Long, UserDisplayCache.UserDisplay> resolveUsers(List<AuditLogView> logs) {
+        Set<Long> ids = new HashSet<>();
+        for (AuditLogView view : logs) {
+            ids.add(view.getUserId());
+            ids.add(view.getTargetUserId());
+        }
+        return userDisplayCache.getAll(ids);
+    }
+    
+    /**
+     * 🔢 จำกัดจำนวนแถวของ list ที่ไม่มี pagination
+     */
+    private int boundedLimit(int limit) {
+        if (limit <= 0) return maxListSize;
+        return Math.min(limit, maxListSize);
     }
     
     /**
      * 🔄 CONVERT TO DTO
      * 
-     * @param log AuditLog entity
+     * @param view AuditLogView projection
+     * @param users ข้อมูล user ที่ resolve แล้ว (key = user id)
      * @return AuditLogDTO
      */
-    private AuditLogDTO convertToDTO(AuditLog log) {
+    private AuditLogDTO convertToDTO(
+        AuditLogView view,
+        Map<Long, UserDisplayCache.UserDisplay> users
+    ) {
+        UserDisplayCache.UserDisplay actor = users.get(view.getUserId());
+        UserDisplayCache.UserDisplay target = view.getTargetUserId() != null ?
+            users.get(view.getTargetUserId()) : null;
+        
         return AuditLogDTO.builder()
-            .id(log.getId())
-            .userName(log.getUser().getName())
-            .userRole(log.getUser().getRole().toString())
-            .action(log.getAction().toString())
-            .actionDescription(log.getAction().getDescription())
-            .targetUserName(log.getTargetUser() != null ? 
-                log.getTargetUser().getName() : null)
-            .targetUserRole(log.getTargetUser() != null ? 
-                log.getTargetUser().getRole().toString() : null)
-            .details(log.getDetails())
-            .ipAddress(log.getIpAddress())
-            .timestamp(log.getCreatedAt())
-            .timeAgo(calculateTimeAgo(log.getCreatedAt()))
-            .isCritical(log.isCriticalAction())
-            .isAuthAction(log.isAuthAction())
+            .id(view.getId())
+            .userName(actor != null ? actor.name() : null)
+            .userRole(actor != null ? actor.role() : null)
+            .action(view.getAction().toString())
+            .actionDescription(view.getAction().getDescription())
+            .targetUserName(target != null ? target.name() : null)
+            .targetUserRole(target != null ? target.role() : null)
+            .details(view.getDetails())
+            .ipAddress(view.getIpAddress())
+            .timestamp(view.getCreatedAt())
+            .timeAgo(calculateTimeAgo(view.getCreatedAt()))
+            .isCritical(view.getAction().isCritical())
+            .isAuthAction(view.getAction().isAuth())
             .build();
     }
     
@@ -5,11 +5,12 @@ import come.emotion_checkin_syetem.dto.request.RegisterRequest;
 import come.emotion_checkin_syetem.dto.response.LoginResponse;
 import come.emotion_checkin_syetem.entity.User;
 import come.emotion_checkin_syetem.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import come.emotion_checkin_syetem.security.SessionTokenService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -24,6 +25,7 @@ import java.time.ZoneId;
  * - Register new employee
  * - Password hashing (BCrypt)
  * - Audit logging
+ * - Failed login throttling (LoginAttemptTracker)
  * 
  * 🔒 Security:
  * - Password ต้อง BCrypt hash
@@ -32,66 +34,100 @@ import java.time.ZoneId;
  * 
  * 🐛 DEBUG CHECKLIST:
  * ✅ @Service annotation
- * ✅ @RequiredArgsConstructor (Lombok)
- * ✅ BCryptPasswordEncoder
- * ✅ @Transactional for database operations
+ * ✅ PasswordHashingService (shared BCrypt encoder, bounded executor)
+ * ✅ BCrypt นอก transaction — register เปิด TransactionTemplate หลัง hash เสร็จ (ไม่ถือ connection ระหว่างรอ)
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthService {
     
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final PasswordHashingService passwordHashingService;
+    private final SessionTokenService sessionTokenService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthService(
+        UserRepository userRepository,
+        AuditLogService auditLogService,
+        LoginAttemptTracker loginAttemptTracker,
+        PasswordHashingService passwordHashingService,
+        SessionTokenService sessionTokenService,
+        UnreadNotificationCounter unreadNotificationCounter,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.auditLogService = auditLogService;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.passwordHashingService = passwordHashingService;
+        this.sessionTokenService = sessionTokenService;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
     
     /**
      * 🔐 LOGIN
      * 
      * ✅ Steps:
+     * 0. Check backoff / lockout (in-memory, no DB)
      * 1. Find user by email
      * 2. Check if user exists
      * 3. Check if user is active
-     * 4. Verify password (BCrypt)
-     * 5. Log successful login
-     * 6. Return user data
+     * 4. Verify password (BCrypt, bounded executor)
+     * 5. Rehash if BCrypt strength changed
+     * 6. Log successful login
+     * 7. Return user data + signed session token
+     * 
+     * ⚠️ ไม่ใช้ @Transactional — ไม่ถือ DB connection ระหว่างรอ BCrypt
      * 
      * @param request LoginRequest (email, password)
+     * @param ipAddress Client IP address
      * @return LoginResponse
      * @throws RuntimeException if login fails
      */
-    @Transactional
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String ipAddress) {
         log.info("🔐 Login attempt: {}", request.getEmail());
         
+        // Step 0: Check backoff / lockout
+        loginAttemptTracker.check(request.getEmail(), ipAddress);
+        
         // Step 1: Find user by email
         User user = userRepository.findByEmail(request.getEmail())
             .orElseThrow(() -> {
                 log.error("❌ User not found: {}", request.getEmail());
                 // Log failed login attempt
-                auditLogFailedLogin(request.getEmail());
+                auditLogFailedLogin(request.getEmail(), ipAddress);
                 return new RuntimeException("Invalid email or password");
             });
         
         // Step 2: Check if user is active
         if (!user.getIsActive()) {
             log.error("❌ User is deactivated: {}", request.getEmail());
-            auditLogFailedLogin(request.getEmail());
+            auditLogFailedLogin(request.getEmail(), ipAddress);
             throw new RuntimeException("Account has been deactivated. Please contact admin.");
         }
         
         // Step 3: Verify password (BCrypt)
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             log.error("❌ Invalid password for: {}", request.getEmail());
-            auditLogFailedLogin(request.getEmail());
+            auditLogFailedLogin(request.getEmail(), ipAddress);
             throw new RuntimeException("Invalid email or password");
         }
         
-        // Step 4: Log successful login
+        // Step 4: Rehash if strength changed (transparent upgrade)
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHashingService.encode(request.getPassword()));
+            log.info("🔄 Password rehashed with new BCrypt strength: {}", user.getEmail());
+        }
+        
+        // Step 5: Log successful login
         log.info("✅ Login successful: {} ({})", user.getName(), user.getRole());
+        loginAttemptTracker.recordSuccess(request.getEmail());
         auditLogService.logLogin(user);
         
-        // Step 5: Return user data
+        // Step 6: Return user data + session token
         return LoginResponse.builder()
             .id(user.getId())
             .name(user.getName())
@@ -99,6 +135,8 @@ public class AuthService {
             .role(user.getRole().toString())
             .department(user.getDepartment())
             .position(user.getPosition())
+            .token(sessionTokenService.issue(user))
+            .expiresIn(sessionTokenService.getTtlSeconds())
             .build();
     }
     
@@ -108,15 +146,17 @@ public class AuthService {
      * ✅ Steps:
      * 1. Validate passwords match
      * 2. Check email not duplicate
-     * 3. Hash password (BCrypt)
+     * 3. Hash password (BCrypt) — ก่อนเปิด transaction
      * 4. Create new employee
-     * 5. Save to database
+     * 5. Save + unread counter + audit log (1 transaction สั้นๆ)
      * 6. Log registration
      * 
+     * ⚠️ ไม่ใช้ @Transactional — เหมือน login: ไม่ถือ DB connection ระหว่างรอ BCrypt
+     *    email ซ้ำที่หลุด check ข้อ 2 (สมัครพร้อมกัน) → unique constraint → "Email already registered"
+     * 
      * @param request RegisterRequest
      * @throws RuntimeException if registration fails
      */
-    @Transactional
     public void register(RegisterRequest request) {
         log.info("📝 Register attempt: {}", request.getEmail());
         
@@ -133,7 +173,7 @@ public class AuthService {
         }
         
         // Step 3: Hash password (BCrypt)
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        String hashedPassword = passwordHashingService.encode(request.getPassword());
         
         // Step 4: Create new employee
         User newUser = User.builder()
@@ -147,11 +187,21 @@ public class AuthService {
             .build();
         
         // Step 5: Save to database
-        User savedUser = userRepository.save(newUser);
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
+                User saved = userRepository.save(newUser);
+                unreadNotificationCounter.initialize(saved.getId());
+                auditLogService.logRegister(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.error("❌ Email already exists: {}", request.getEmail());
+            throw new RuntimeException("Email already registered");
+        }
         
         // Step 6: Log registration
         log.info("✅ Registration successful: {} ({})", savedUser.getName(), savedUser.getEmail());
-        auditLogService.logRegister(savedUser);
     }
     
     /**
@@ -161,7 +211,7 @@ public class AuthService {
      * @return BCrypt hashed password
      */
     public String hashPassword(String plainPassword) {
-        return passwordEncoder.encode(plainPassword);
+        return passwordHashingService.encode(plainPassword);
     }
     
     /**
@@ -172,17 +222,19 @@ public class AuthService {
      * @return true if match
      */
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        return passwordHashingService.matches(plainPassword, hashedPassword);
     }
     
     /**
      * 📝 Log failed login attempt
      * 
+     * นับใน sliding window + บันทึก LOGIN_FAILED (async, ไม่ถูก rollback ไปกับ login)
+     * 
      * @param email Email that failed
+     * @param ipAddress Client IP address
      */
-    private void auditLogFailedLogin(String email) {
-        // Note: ถ้าไม่เจอ user ก็ log ไม่ได้ แต่ควรมี
-        // ในระบบจริงอาจจะเก็บ failed attempts แยกต่างหาก
+    private void auditLogFailedLogin(String email, String ipAddress) {
         log.warn("⚠️ Failed login attempt: {}", email);
+        loginAttemptTracker.recordFailure(email, ipAddress);
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package come.emotion_checkin_syetem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinArchive.java
+ *
+ * 🧊 CHECK-IN ARCHIVE - ที่เก็บ segment รายเดือน (app.archive.checkin.dir/checkins-YYYY-MM.seg)
+ *
+ * ✅ Features:
+ * - publish(): CheckinSegment.write() เขียนไฟล์ชั่วคราวแล้ว rename ทับ (atomic) → reader ไม่เห็นไฟล์ครึ่งๆ
+ * - levelCounts(): อ่านแค่ column DEPARTMENT + LEVEL ของ segment (memory-mapped)
+ * - segment ที่เปิดแล้ว cache ไว้พร้อม stamp ของไฟล์ (mtime + size + inode)
+ *   → ทุกครั้งที่อ่าน stat ไฟล์ก่อน: instance อื่น publish ทับ (rename = inode ใหม่) → เปิดใหม่
+ *   ไฟล์หาย → ไม่ใช้ cache (เดือนนั้นกลับไปนับจาก DB)
+ *
+ * ⚠️ NOTE:
+ * - หลาย instance ต้องชี้ dir ไปที่ volume เดียวกัน (ไม่งั้น trend เห็นไม่ครบ)
+ */
+@Component
+@Slf4j
+public class CheckinArchive {
+
+    private final Path directory;
+    private final Map<YearMonth, Cached> openSegments = new ConcurrentHashMap<>();
+
+    /** ตัวตนของไฟล์ตอนเปิด — ไม่ตรงกับปัจจุบัน = ไฟล์ถูกแทนที่ */
+    private record Stamp(FileTime modified, long size, Object fileKey) {
+        static Stamp of(BasicFileAttributes attributes) {
+            return new Stamp(attributes.lastModifiedTime(), attributes.size(), attributes.fileKey());
+        }
+    }
+
+    private record Cached(CheckinSegment segment, Stamp stamp) {}
+
+    public CheckinArchive(@Value("${app.archive.checkin.dir:./data/checkin-archive}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    public Path file(YearMonth month) {
+        return directory.resolve("checkins-" + month + ".seg");
+    }
+
+    public boolean has(YearMonth month) {
+        return Files.isRegularFile(file(month));
+    }
+
+    /**
+     * ✍️ PUBLISH - เขียน segment ของเดือน (แทนที่ของเดิมถ้ามี)
+     *
+     * @return segment ที่เขียนแล้ว (เปิดอ่านกลับมาจากไฟล์)
+     */
+    public CheckinSegment publish(YearMonth month, List<CheckinSegment.Row> rows) throws IOException {
+        Files.createDirectories(directory);
+        CheckinSegment.write(file(month), month, rows);  // temp + fsync + rename อยู่ใน write()
+
+        openSegments.remove(month);
+        return segment(month);
+    }
+
+    /** segment ของเดือน (null = ยังไม่ archive) — เปิดใหม่ถ้าไฟล์เปลี่ยนตั้งแต่ cache */
+    public CheckinSegment segment(YearMonth month) {
+        Stamp current = stamp(month);
+        if (current == null) {
+            openSegments.remove(month);
+            return null;
+        }
+
+        Cached cached = openSegments.compute(month, (m, existing) -> {
+            if (existing != null && existing.stamp().equals(current)) {
+                return existing;
+            }
+            try {
+                return new Cached(CheckinSegment.open(file(m)), current);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open check-in segment " + m, e);
+            }
+        });
+        return cached.segment();
+    }
+
+    private Stamp stamp(YearMonth month) {
+        try {
+            return Stamp.of(Files.readAttributes(file(month), BasicFileAttributes.class));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot stat check-in segment " + month, e);
+        }
+    }
+
+    /**
+     * 📊 LEVEL COUNTS - จำนวน check-in ต่อ level ของเดือนจาก archive
+     *
+     * @param department null = ทุกแผนก
+     * @return counts[level] (index 1-3), null = เดือนนี้ยังไม่ archive
+     */
+    public long[] levelCounts(YearMonth month, String department) {
+        CheckinSegment segment = segment(month);
+        if (segment == null) {
+            return null;
+        }
+
+        long[] counts = new long[4];
+        int[] levels = segment.column(CheckinSegment.Column.LEVEL);
+
+        if (department == null) {
+            for (int level : levels) {
+                counts[level]++;
+            }
+            return counts;
+        }
+
+        int departmentOrdinal = segment.departmentOrdinal(department);
+        if (departmentOrdinal < 0) {
+            return counts;
+        }
+        int[] departments = segment.column(CheckinSegment.Column.DEPARTMENT);
+        for (int row = 0; row < levels.length; row++) {
+            if (departments[row] == departmentOrdinal) {
+                counts[levels[row]]++;
+            }
+        }
+        return counts;
+    }
+}
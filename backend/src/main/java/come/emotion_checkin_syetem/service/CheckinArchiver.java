@@ -0,0 +1,188 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.JobRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinArchiver.java
+ *
+ * 🧊 CHECK-IN ARCHIVER - ย้าย check-in เก่ากว่า app.archive.checkin.after-months เดือน
+ *    จาก emotion_checkin ไปเป็น segment columnar รายเดือน (CheckinArchive)
+ *
+ * ✅ 1 instance ต่อวัน: claim job_run (checkin-archive, วันนี้) ผ่าน JobRunClaims ก่อนเริ่ม
+ *   → instance อื่น (Cloud Run) ข้าม ไม่เขียน segment / DROP PARTITION ซ้อนกัน
+ *
+ * ✅ ต่อเดือน:
+ * 1. อ่านแถวของเดือน (+ sentiment จาก emotion_ai_result) → publish segment
+ * 2. เปิด segment กลับมา decode ทุก column + เทียบจำนวนแถว → ผิดพลาด = หยุด (ไม่ลบข้อมูลจริง)
+ * 3. ลบแถวของเดือนออกจาก emotion_checkin:
+ *    - ตาราง partition (MySQL) → DROP PARTITION ทั้งเดือน
+ *    - ไม่ partition → DELETE ตามช่วงวัน (1 transaction)
+ *
+ * ⚠️ NOTE:
+ * - ปิดเป็นค่าเริ่มต้น (app.archive.checkin.enabled) — เปิดเมื่อ dir อยู่บน volume ที่ทุก instance เห็น
+ * - segment เก็บ level / type / sentiment / แผนก เท่านั้น (ไม่มี comment)
+ * - ล้มกลางทาง (เขียน segment แล้วแต่ยังไม่ลบ) → รอบหน้าเขียนทับจากแถวจริงแล้วลบต่อ
+ */
+@Component
+@Slf4j
+public class CheckinArchiver {
+
+    private static final String JOB_NAME = "checkin-archive";
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private static final String MONTH_ROWS =
+        "SELECT ec.employee_id, ec.checkin_date, ec.emotionLevel, ec.emotion_type_id, " +
+        "COALESCE(ec.department, u.department, '') AS department, ai.sentimentLabel " +
+        "FROM emotion_checkin ec " +
+        "LEFT JOIN users u ON u.id = ec.employee_id " +
+        "LEFT JOIN emotion_ai_result ai ON ai.checkin_id = ec.id " +
+        "WHERE ec.checkin_date >= ? AND ec.checkin_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CheckinArchive archive;
+    private final JobRunClaims jobRunClaims;
+
+    @Value("${app.archive.checkin.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.checkin.after-months:12}")
+    private int afterMonths;
+
+    public CheckinArchiver(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        BulkheadRegistry bulkheadRegistry,
+        CheckinArchive archive,
+        JobRunClaims jobRunClaims
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.archive = archive;
+        this.jobRunClaims = jobRunClaims;
+    }
+
+    @Scheduled(cron = "${app.archive.checkin.cron:0 45 2 * * *}", zone = "Asia/Bangkok")
+    public void scheduledRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob(JOB_NAME, this::claimAndRun);
+        }
+    }
+
+    /**
+     * 🏁 CLAIM AND RUN - รอบของวันนี้ทำที่ instance เดียว
+     *
+     * @return จำนวนเดือนที่ archive (-1 = instance อื่น claim รอบนี้ไปแล้ว)
+     */
+    public int claimAndRun() {
+        LocalDate today = LocalDate.now(BANGKOK);
+        Optional<JobRun> claim = jobRunClaims.claim(JOB_NAME, today);
+        if (claim.isEmpty()) {
+            log.info("🧊 Check-in archive for {} already claimed, skipped", today);
+            return -1;
+        }
+
+        int archived = run();
+        jobRunClaims.complete(claim.get(), archived);
+        return archived;
+    }
+
+    /**
+     * 🧊 RUN - archive ทุกเดือนที่เก่ากว่า cutoff และยังมีแถวใน DB
+     *
+     * @return จำนวนเดือนที่ archive ในรอบนี้
+     */
+    public int run() {
+        YearMonth cutoff = YearMonth.now(BANGKOK).minusMonths(afterMonths);
+        Date oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(checkin_date) FROM " + CheckinPartitions.TABLE, Date.class
+        );
+        if (oldest == null) {
+            return 0;
+        }
+
+        int archived = 0;
+        for (YearMonth month = YearMonth.from(oldest.toLocalDate()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            try {
+                if (archive(month)) {
+                    archived++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("🧊 Archiving check-ins of {} failed, live rows kept: {}", month, e.getMessage());
+                return archived;
+            }
+        }
+        return archived;
+    }
+
+    private boolean archive(YearMonth month) throws IOException {
+        List<CheckinSegment.Row> rows = jdbcTemplate.query(MONTH_ROWS,
+            (rs, i) -> new CheckinSegment.Row(
+                rs.getLong("employee_id"),
+                rs.getDate("checkin_date").toLocalDate(),
+                rs.getInt("emotionLevel"),
+                rs.getObject("emotion_type_id", Long.class),
+                rs.getString("department"),
+                rs.getString("sentimentLabel")
+            ),
+            Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1))
+        );
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        // อ่านกลับจากไฟล์ (decode ทุก column) ก่อนลบข้อมูลจริง
+        CheckinSegment segment = archive.publish(month, rows);
+        for (CheckinSegment.Column column : CheckinSegment.Column.values()) {
+            segment.column(column);
+        }
+        if (segment.rowCount() != rows.size()) {
+            throw new IllegalStateException("Segment " + month + " has " + segment.rowCount() +
+                " rows, expected " + rows.size());
+        }
+
+        removeLiveRows(month);
+        log.info("🧊 Archived {} check-ins of {} to {}", rows.size(), month, archive.file(month));
+        return true;
+    }
+
+    private void removeLiveRows(YearMonth month) {
+        String partition = CheckinPartitions.name(month);
+        if (CheckinPartitions.isMySql(jdbcTemplate) && CheckinPartitions.existing(jdbcTemplate).contains(partition)) {
+            CheckinPartitions.drop(jdbcTemplate, partition);
+            return;
+        }
+
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        String monthIds = "SELECT id FROM " + CheckinPartitions.TABLE + " WHERE checkin_date >= ? AND checkin_date < ?";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM emotion_ai_result WHERE checkin_id IN (" + monthIds + ")", from, to);
+            jdbcTemplate.update("UPDATE notification SET related_checkin_id = NULL " +
+                "WHERE related_checkin_id IN (" + monthIds + ")", from, to);
+            jdbcTemplate.update("UPDATE broadcast_notification SET related_checkin_id = NULL " +
+                "WHERE related_checkin_id IN (" + monthIds + ")", from, to);
+            jdbcTemplate.update("DELETE FROM " + CheckinPartitions.TABLE +
+                " WHERE checkin_date >= ? AND checkin_date < ?", from, to);
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinDepartmentBackfill.java
+ *
+ * 🏢 CHECK-IN DEPARTMENT BACKFILL - เติม emotion_checkin.department ให้แถวเก่า
+ *
+ * ✅ Flow:
+ * - หา id ต่ำสุด/สูงสุดที่ department IS NULL (ใช้ index department นำหน้า → เร็ว)
+ * - UPDATE ทีละช่วง id (app.checkin.department-backfill.chunk-size) → 1 transaction สั้นๆ ต่อ chunk
+ * - พักระหว่าง chunk + time budget ต่อรอบ → รอบหน้าทำต่อจากที่เหลือ
+ * - ไม่มีแถว NULL แล้ว → แต่ละรอบเหลือแค่ 1 query
+ *
+ * ⚠️ NOTE:
+ * - แถวเก่าได้แผนกปัจจุบันของพนักงาน (ไม่มีประวัติเดิมให้ย้อนดู)
+ *   ยกเว้นถูกย้ายแผนกก่อน backfill → assignDepartment เติมแผนกเดิมให้ก่อนแล้ว
+ */
+@Component
+@Slf4j
+public class CheckinDepartmentBackfill {
+
+    private final TransactionTemplate transactionTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final EmotionCheckinRepository checkinRepository;
+
+    @Value("${app.checkin.department-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.checkin.department-backfill.chunk-size:5000}")
+    private long chunkSize;
+
+    @Value("${app.checkin.department-backfill.pause-ms:100}")
+    private long pauseMillis;
+
+    @Value("${app.checkin.department-backfill.time-budget-ms:300000}")
+    private long timeBudgetMillis;
+
+    public CheckinDepartmentBackfill(
+        PlatformTransactionManager transactionManager,
+        BulkheadRegistry bulkheadRegistry,
+        EmotionCheckinRepository checkinRepository
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.checkinRepository = checkinRepository;
+    }
+
+    /**
+     * ⏰ SCHEDULED - เริ่มหลัง startup แล้ววนตามรอบ
+     */
+    @Scheduled(
+        initialDelayString = "${app.checkin.department-backfill.initial-delay-ms:30000}",
+        fixedDelayString = "${app.checkin.department-backfill.interval-ms:600000}"
+    )
+    public void scheduledRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob("checkin-department-backfill", this::run);
+        }
+    }
+
+    /**
+     * 🏢 RUN - เติม department ภายใน time budget
+     *
+     * @return จำนวนแถวที่เติมในรอบนี้
+     */
+    public long run() {
+        Long minId = checkinRepository.findMinIdWithoutDepartment();
+        Long maxId = checkinRepository.findMaxIdWithoutDepartment();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        long deadline = System.currentTimeMillis() + timeBudgetMillis;
+        long rows = 0;
+        int chunks = 0;
+
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            if (System.currentTimeMillis() >= deadline) {
+                log.info("🏢 Department backfill: {} rows in {} chunks (time budget reached, continues next run)",
+                    rows, chunks);
+                return rows;
+            }
+
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize, maxId + 1);
+            Integer affected = transactionTemplate.execute(status ->
+                checkinRepository.backfillDepartmentInRange(from, to)
+            );
+            rows += affected != null ? affected : 0;
+            chunks++;
+
+            if (pauseMillis > 0 && to <= maxId) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return rows;
+                }
+            }
+        }
+
+        log.info("🏢 Department backfill: {} rows in {} chunks", rows, chunks);
+        return rows;
+    }
+}
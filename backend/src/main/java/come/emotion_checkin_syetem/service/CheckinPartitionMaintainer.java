@@ -0,0 +1,244 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinPartitionMaintainer.java
+ *
+ * 🗂️ CHECK-IN PARTITION MAINTAINER - ดูแล partition รายเดือนของ emotion_checkin (MySQL)
+ *
+ * ✅ ทุกรอบ (startup + app.partition.checkin.cron):
+ * 1. สร้าง partition ล่วงหน้า app.partition.checkin.months-ahead เดือน
+ *    (REORGANIZE pmax → เดือนใหม่ + pmax, pmax ว่างจึงเร็ว)
+ * 2. Retention: DROP PARTITION เดือนที่เก่ากว่า app.partition.checkin.retention-months
+ *    (ลบทั้งเดือนทันที ไม่ต้อง DELETE ทีละแถว; 0 = เก็บตลอด)
+ * 3. ตรวจ partition pruning: EXPLAIN query ของ dashboard แล้วเทียบ partition ที่ MySQL อ่าน
+ *    กับเดือนที่ช่วงวันครอบคลุม → ไม่ตรง = WARN
+ *    (เป็นตัวเตือนตอน runtime บน MySQL — test ใช้ H2 จึงทดสอบได้แค่การเทียบผล EXPLAIN)
+ *
+ * ✅ หลาย instance:
+ * - ALTER TABLE ... PARTITION ชนกันไม่ได้ → ถือ MySQL GET_LOCK(app.partition.checkin) ตลอดรอบ
+ *   instance ที่ได้ lock ไม่ทัน = ข้ามรอบนี้ (ใช้ GET_LOCK แทน job_run เพราะรันได้หลายครั้งต่อวัน: startup + cron)
+ * - ล้มเหลว → log ERROR แล้วไปต่อ (startup ไม่ล้มเพราะ maintenance, รอบ cron ถัดไปลองใหม่)
+ *
+ * ⚠️ NOTE:
+ * - ไม่ใช่ MySQL / ตารางยังไม่ partition (V10 migration ยังไม่รัน) → ข้าม
+ * - ก่อน drop: ลบ emotion_ai_result และตัด link ของ notification ที่ชี้ไปแถวในเดือนนั้น
+ *   (ไม่มี FK cascade บนตาราง partition)
+ */
+@Component
+@Slf4j
+public class CheckinPartitionMaintainer {
+
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+    private static final String LOCK_NAME = "app.partition.checkin";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Value("${app.partition.checkin.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partition.checkin.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partition.checkin.retention-months:0}")
+    private int retentionMonths;
+
+    /** ผลตรวจ pruning ของ 1 query */
+    public record PruningCheck(String query, Set<String> expected, Set<String> actual) {
+        public boolean pruned() {
+            return expected.equals(actual);
+        }
+    }
+
+    public CheckinPartitionMaintainer(JdbcTemplate jdbcTemplate, BulkheadRegistry bulkheadRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partition.checkin.cron:0 15 2 * * *}", zone = "Asia/Bangkok")
+    public void scheduledRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob("checkin-partitions", () -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("🗂️ Partition maintenance of {} failed (retried next run): {}",
+                        CheckinPartitions.TABLE, e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 🗂️ RUN - สร้างล่วงหน้า + drop ตาม retention + ตรวจ pruning (ภายใต้ GET_LOCK)
+     */
+    public void run() {
+        if (!CheckinPartitions.isMySql(jdbcTemplate)) {
+            return;
+        }
+
+        // GET_LOCK ผูกกับ connection → ทุกคำสั่งของรอบนี้ใช้ connection เดียวกัน
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                log.info("🗂️ Partition maintenance is running on another instance, skipped");
+                return null;
+            }
+            try {
+                maintain(session);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    private void maintain(JdbcTemplate session) {
+        List<String> partitions = CheckinPartitions.existing(session);
+        if (partitions.isEmpty()) {
+            log.warn("🗂️ {} is not partitioned (migration V10 skipped?), partition maintenance disabled",
+                CheckinPartitions.TABLE);
+            return;
+        }
+
+        YearMonth current = YearMonth.now(BANGKOK);
+        createFuturePartitions(session, partitions, current.plusMonths(monthsAhead));
+        if (retentionMonths > 0) {
+            dropExpiredPartitions(session, partitions, current.minusMonths(retentionMonths));
+        }
+
+        for (PruningCheck check : verifyPruning(session)) {
+            if (check.pruned()) {
+                log.debug("🗂️ Pruning OK for {}: {}", check.query(), check.actual());
+            } else {
+                log.warn("🗂️ Partition pruning mismatch for {}: expected {} but scanned {}",
+                    check.query(), check.expected(), check.actual());
+            }
+        }
+    }
+
+    private void createFuturePartitions(JdbcTemplate session, List<String> partitions, YearMonth until) {
+        YearMonth last = partitions.stream()
+            .map(CheckinPartitions::month)
+            .filter(month -> month != null)
+            .max(YearMonth::compareTo)
+            .orElse(YearMonth.now(BANGKOK).minusMonths(1));
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(until); month = month.plusMonths(1)) {
+            definitions.add(CheckinPartitions.definition(month));
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add(CheckinPartitions.maxDefinition());
+
+        session.execute("ALTER TABLE " + CheckinPartitions.TABLE +
+            " REORGANIZE PARTITION " + CheckinPartitions.MAX_PARTITION +
+            " INTO (" + String.join(", ", definitions) + ")");
+        log.info("🗂️ Created {} future partitions of {} (up to {})",
+            definitions.size() - 1, CheckinPartitions.TABLE, CheckinPartitions.name(until));
+    }
+
+    private void dropExpiredPartitions(JdbcTemplate session, List<String> partitions, YearMonth oldestKept) {
+        for (String partition : partitions) {
+            YearMonth month = CheckinPartitions.month(partition);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+
+            CheckinPartitions.drop(session, partition);
+            log.info("🗂️ Dropped partition {} of {} (retention {} months)",
+                partition, CheckinPartitions.TABLE, retentionMonths);
+        }
+    }
+
+    /**
+     * 🔍 VERIFY PRUNING - EXPLAIN query หลักของ dashboard แล้วดูว่า MySQL อ่านเฉพาะเดือนที่ควรอ่าน
+     *
+     * @return ผลต่อ query (expected = partition ของเดือนในช่วงวัน)
+     */
+    public List<PruningCheck> verifyPruning() {
+        return verifyPruning(jdbcTemplate);
+    }
+
+    private List<PruningCheck> verifyPruning(JdbcTemplate session) {
+        LocalDate today = LocalDate.now(BANGKOK);
+        LocalDate thirtyDaysAgo = today.minusDays(30);
+
+        return List.of(
+            explain(session,
+                "department level counts (30 days)",
+                "SELECT emotionLevel, COUNT(*) FROM " + CheckinPartitions.TABLE +
+                " WHERE department = ? AND checkin_date BETWEEN ? AND ? GROUP BY emotionLevel",
+                thirtyDaysAgo, today,
+                "", thirtyDaysAgo, today
+            ),
+            explain(session,
+                "department check-ins today",
+                "SELECT COUNT(*) FROM " + CheckinPartitions.TABLE +
+                " WHERE department = ? AND checkin_date = ?",
+                today, today,
+                "", today
+            ),
+            explain(session,
+                "employee history (30 days)",
+                "SELECT * FROM " + CheckinPartitions.TABLE +
+                " WHERE employee_id = ? AND checkin_date BETWEEN ? AND ?",
+                thirtyDaysAgo, today,
+                0L, thirtyDaysAgo, today
+            )
+        );
+    }
+
+    private PruningCheck explain(JdbcTemplate session, String name, String sql,
+                                 LocalDate from, LocalDate to, Object... args) {
+        return compare(name, from, to, session.queryForList("EXPLAIN " + sql, args));
+    }
+
+    /**
+     * เทียบ partition ที่ EXPLAIN บอกว่าอ่าน กับเดือนที่ช่วงวัน [from, to] ครอบคลุม
+     */
+    static PruningCheck compare(String name, LocalDate from, LocalDate to, List<Map<String, Object>> explainRows) {
+        Set<String> expected = new LinkedHashSet<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            expected.add(CheckinPartitions.name(month));
+        }
+
+        Set<String> actual = new LinkedHashSet<>();
+        for (Map<String, Object> row : explainRows) {
+            Object partitions = row.get("partitions");
+            if (partitions != null) {
+                actual.addAll(Arrays.stream(partitions.toString().split(","))
+                    .map(String::trim)
+                    .collect(Collectors.toList()));
+            }
+        }
+        return new PruningCheck(name, expected, actual);
+    }
+}
@@ -0,0 +1,86 @@
+package come.emotion_checkin_syetem.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinPartitions.java
+ *
+ * 🗂️ CHECK-IN PARTITIONS - ชื่อ / นิยาม partition รายเดือนของ emotion_checkin (MySQL)
+ *
+ * ✅ Layout:
+ * - PARTITION BY RANGE COLUMNS (checkin_date)
+ * - 1 partition ต่อเดือน: p202401 VALUES LESS THAN ('2024-02-01')
+ * - pmax VALUES LESS THAN (MAXVALUE): กันกรณี insert เกิน partition ล่าสุด
+ *   (CheckinPartitionMaintainer แตก pmax เป็นเดือนใหม่ล่วงหน้า)
+ *
+ * ⚠️ NOTE:
+ * - ใช้ร่วมกันโดย migration V10__PartitionEmotionCheckin, CheckinPartitionMaintainer และ CheckinArchiver
+ */
+public final class CheckinPartitions {
+
+    public static final String TABLE = "emotion_checkin";
+    public static final String MAX_PARTITION = "pmax";
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private CheckinPartitions() {}
+
+    public static String name(YearMonth month) {
+        return month.format(NAME_FORMAT);
+    }
+
+    /** เดือนของ partition (null = pmax / ชื่อที่ไม่ใช่รูปแบบรายเดือน) */
+    public static YearMonth month(String partitionName) {
+        if (partitionName == null || !partitionName.matches("p\\d{6}")) {
+            return null;
+        }
+        return YearMonth.parse(partitionName, NAME_FORMAT);
+    }
+
+    /** PARTITION p202401 VALUES LESS THAN ('2024-02-01') */
+    public static String definition(YearMonth month) {
+        return "PARTITION " + name(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    public static String maxDefinition() {
+        return "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)";
+    }
+
+    public static boolean isMySql(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()
+        );
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+
+    /**
+     * 🗑️ DROP - ลบทั้งเดือน: ลบ emotion_ai_result และตัด link ของ notification ที่ชี้ไปแถวในเดือนนั้นก่อน
+     * (ไม่มี FK cascade บนตาราง partition)
+     */
+    public static void drop(JdbcTemplate jdbcTemplate, String partition) {
+        String rows = TABLE + " PARTITION (" + partition + ")";
+        jdbcTemplate.update("DELETE ai FROM emotion_ai_result ai JOIN " + rows + " ec ON ai.checkin_id = ec.id");
+        jdbcTemplate.update("UPDATE notification n JOIN " + rows + " ec ON n.related_checkin_id = ec.id " +
+            "SET n.related_checkin_id = NULL");
+        jdbcTemplate.update("UPDATE broadcast_notification b JOIN " + rows + " ec ON b.related_checkin_id = ec.id " +
+            "SET b.related_checkin_id = NULL");
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+    }
+
+    /** partition ที่มีอยู่ ตามลำดับ (ว่าง = ตารางยังไม่ถูก partition) */
+    public static List<String> existing(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION",
+            String.class, TABLE
+        );
+    }
+}
@@ -0,0 +1,162 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.BroadcastNotification;
+import come.emotion_checkin_syetem.entity.JobRun;
+import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
+import come.emotion_checkin_syetem.repository.JobRunRepository;
+import come.emotion_checkin_syetem.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinReminderJob.java
+ *
+ * ⏰ CHECK-IN REMINDER JOB - เตือนพนักงานที่ยังไม่เช็คอินวันนี้
+ *
+ * ✅ Flow (1 transaction):
+ * 1. Insert job_run (checkin-reminder, วันนี้) → duplicate = instance อื่นส่งไปแล้ว → ข้าม
+ * 2. active employees − checked-in วันนี้ = BitSet.andNot (2 query id อย่างเดียว ไม่วน query ต่อคน)
+ * 3. ส่ง 1 BroadcastNotification (ROLE:EMPLOYEE) ที่ recipients = bitmap ผลต่าง
+ *    (ไม่มีผู้รับ → rollback ไม่บันทึก job_run ไม่ส่ง broadcast ว่าง)
+ *
+ * ✅ Idempotent + leader ต่อรอบ:
+ * - Unique (job_name, run_date) → หลาย instance (Cloud Run) ส่งได้แค่ครั้งเดียวต่อวัน
+ * - ส่งล้มเหลว → job_run rollback → รอบ catch-up (app.reminder.retry-cron) ของวันเดียวกันลองใหม่
+ *   รอบที่ส่งแล้วมี job_run → catch-up ข้ามทันที (1 query)
+ *
+ * ⚠️ NOTE:
+ * - เวลาตาม app.reminder.cron (เวลาไทย), ปิดได้ด้วย app.reminder.enabled=false
+ * - cron รันใน process → Cloud Run ต้องมี instance ค้างไว้และมี CPU นอก request
+ *   (--min-instances=1 --no-cpu-throttling ใน cloudbuild.yaml) ใช้กับ job ตามเวลาทุกตัว
+ */
+@Component
+@Slf4j
+public class CheckinReminderJob {
+
+    private static final String JOB_NAME = "checkin-reminder";
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private final TransactionTemplate transactionTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final JobRunRepository jobRunRepository;
+    private final UserRepository userRepository;
+    private final EmotionCheckinRepository checkinRepository;
+    private final NotificationService notificationService;
+
+    @Value("${app.reminder.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminder.message:Reminder: you haven't checked in today. How are you feeling?}")
+    private String message;
+
+    public CheckinReminderJob(
+        PlatformTransactionManager transactionManager,
+        BulkheadRegistry bulkheadRegistry,
+        JobRunRepository jobRunRepository,
+        UserRepository userRepository,
+        EmotionCheckinRepository checkinRepository,
+        NotificationService notificationService
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.jobRunRepository = jobRunRepository;
+        this.userRepository = userRepository;
+        this.checkinRepository = checkinRepository;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * ⏰ SCHEDULED - ตาม app.reminder.cron (default 10:00 จันทร์-ศุกร์ เวลาไทย)
+     */
+    @Scheduled(cron = "${app.reminder.cron:0 0 10 * * MON-FRI}", zone = "Asia/Bangkok")
+    public void scheduledRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob("checkin-reminder", () -> sendReminders(LocalDate.now(BANGKOK)));
+        }
+    }
+
+    /**
+     * 🔁 CATCH-UP - ลองส่งของวันนี้ซ้ำตาม app.reminder.retry-cron (default ทุกชั่วโมง :30 ถึง 16:30)
+     *
+     * ✅ รอบหลักล้มเหลว (DB ล่ม / deploy ทับ) → ไม่มี job_run ของวันนี้ → รอบนี้ส่งแทน
+     * ✅ ส่งไปแล้ว → existsByJobNameAndRunDate = true → ข้าม
+     */
+    @Scheduled(cron = "${app.reminder.retry-cron:0 30 10-16 * * MON-FRI}", zone = "Asia/Bangkok")
+    public void catchUpRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob("checkin-reminder", () -> sendReminders(LocalDate.now(BANGKOK)));
+        }
+    }
+
+    /**
+     * 📨 SEND REMINDERS - ส่ง reminder ของวันที่กำหนด (ครั้งเดียวต่อวัน)
+     *
+     * @param date วันที่ (เวลาไทย)
+     * @return จำนวนผู้รับ (-1 = รอบนี้ถูกส่งไปแล้ว, 0 = ไม่มีใครต้องเตือน ไม่บันทึก job_run)
+     */
+    public int sendReminders(LocalDate date) {
+        if (jobRunRepository.existsByJobNameAndRunDate(JOB_NAME, date)) {
+            log.debug("⏰ Check-in reminder for {} already sent", date);
+            return -1;
+        }
+
+        try {
+            Integer sent = transactionTemplate.execute(status -> {
+                JobRun run = jobRunRepository.saveAndFlush(
+                    JobRun.builder().jobName(JOB_NAME).runDate(date).affected(0).build()
+                );
+
+                BitSet missing = toBitSet(userRepository.findActiveIdsByRole(User.Role.EMPLOYEE));
+                missing.andNot(toBitSet(checkinRepository.findEmployeeIdsCheckedInOn(date)));
+
+                List<Long> recipientIds = missing.stream().mapToObj(Long::valueOf).toList();
+                if (recipientIds.isEmpty()) {
+                    // ไม่บันทึก job_run → ไม่มีรอบว่างค้างในประวัติ
+                    status.setRollbackOnly();
+                    return 0;
+                }
+
+                notificationService.sendSystemBroadcast(
+                    BroadcastNotification.roleAudience(User.Role.EMPLOYEE), recipientIds, message
+                );
+
+                run.setAffected(recipientIds.size());
+                return recipientIds.size();
+            });
+
+            if (sent == null || sent == 0) {
+                log.info("⏰ Check-in reminder for {} skipped: every active employee has checked in", date);
+                return 0;
+            }
+
+            log.info("⏰ Check-in reminder for {} sent to {} employees", date, sent);
+            return sent;
+
+        } catch (DataIntegrityViolationException e) {
+            // อีก instance insert job_run ของวันนี้ไปก่อน
+            log.info("⏰ Check-in reminder for {} is handled by another instance", date);
+            return -1;
+        }
+    }
+
+    private BitSet toBitSet(Collection<Long> ids) {
+        BitSet bits = new BitSet();
+        for (Long id : ids) {
+            bits.set(Math.toIntExact(id));
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,356 @@
+package come.emotion_checkin_syetem.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/CheckinSegment.java
+ *
+ * 🧊 CHECK-IN SEGMENT - ไฟล์ columnar ของ check-in 1 เดือน (cold archive, อ่านอย่างเดียว)
+ *
+ * ✅ Layout (big-endian, ตัวเลขใน dictionary / column เป็น varint):
+ * - header:  MAGIC, VERSION, year, month, rowCount
+ * - dictionaries: employee id (เรียง + delta), department, emotion type id (0 = ไม่มี), sentiment ("" = ไม่มี)
+ * - columns: EMPLOYEE, DAY, LEVEL, TYPE, DEPARTMENT, SENTIMENT
+ *   แต่ละ column = [byteLength][RLE pairs (value, runLength)] → ข้าม column ที่ไม่ใช้ได้ทันที
+ *
+ * ✅ ทำไมเล็ก?
+ * - แถวเรียงตาม (day, department, level) → 3 column นี้เป็น run ยาวๆ
+ * - ค่าใน column เป็น ordinal ของ dictionary (1-2 byte) แทน id / string
+ *
+ * ⚠️ NOTE:
+ * - ไม่มี comment (ข้อมูลส่วนตัว) — archive ใช้ทำ trend อย่างเดียว
+ * - เปิดด้วย open() = memory-mapped (ไม่ copy ไฟล์เข้า heap)
+ * - write() เขียนไฟล์ชั่วคราวใน dir เดียวกัน → fsync → rename ทับ (atomic)
+ *   → reader / crash กลางทางไม่เห็นไฟล์ครึ่งๆ (เห็นของเดิมหรือของใหม่ทั้งไฟล์)
+ */
+public final class CheckinSegment {
+
+    private static final int MAGIC = 0x45435347; // "ECSG"
+    private static final short VERSION = 1;
+
+    public enum Column { EMPLOYEE, DAY, LEVEL, TYPE, DEPARTMENT, SENTIMENT }
+
+    /** 1 แถวที่จะเขียนลง segment */
+    public record Row(long employeeId, LocalDate date, int level, Long emotionTypeId, String department, String sentiment) {}
+
+    private final YearMonth month;
+    private final int rowCount;
+    private final long[] employees;
+    private final List<String> departments;
+    private final long[] emotionTypes;
+    private final List<String> sentiments;
+    private final ByteBuffer buffer;
+    private final Map<Column, Integer> columnOffsets;
+
+    private CheckinSegment(
+        YearMonth month, int rowCount, long[] employees, List<String> departments,
+        long[] emotionTypes, List<String> sentiments, ByteBuffer buffer, Map<Column, Integer> columnOffsets
+    ) {
+        this.month = month;
+        this.rowCount = rowCount;
+        this.employees = employees;
+        this.departments = departments;
+        this.emotionTypes = emotionTypes;
+        this.sentiments = sentiments;
+        this.buffer = buffer;
+        this.columnOffsets = columnOffsets;
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /** employee id ของ ordinal ใน column EMPLOYEE */
+    public long employeeId(int ordinal) {
+        return employees[ordinal];
+    }
+
+    /** ordinal ของแผนก (-1 = ไม่มีแถวของแผนกนี้ในเดือนนี้) */
+    public int departmentOrdinal(String department) {
+        return departments.indexOf(department);
+    }
+
+    /** emotion type id ของ ordinal ใน column TYPE (null = ไม่มี) */
+    public Long emotionTypeId(int ordinal) {
+        return emotionTypes[ordinal] == 0 ? null : emotionTypes[ordinal];
+    }
+
+    /** sentiment ของ ordinal ใน column SENTIMENT (null = ไม่มีผล AI) */
+    public String sentiment(int ordinal) {
+        String value = sentiments.get(ordinal);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 📖 READ COLUMN - decode RLE ของ 1 column เป็นค่าต่อแถว
+     * (DAY = วันที่ของเดือน, LEVEL = 1-3, อื่นๆ = ordinal ของ dictionary)
+     */
+    public int[] column(Column column) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(columnOffsets.get(column));
+        int end = readVarInt(in) + in.position();
+
+        int[] values = new int[rowCount];
+        int row = 0;
+        while (in.position() < end) {
+            int value = readVarInt(in);
+            int run = readVarInt(in);
+            for (int i = 0; i < run; i++) {
+                values[row++] = value;
+            }
+        }
+        if (row != rowCount) {
+            throw new IllegalStateException("Corrupt segment " + month + ": column " + column +
+                " has " + row + " rows, expected " + rowCount);
+        }
+        return values;
+    }
+
+    // ========== Write ==========
+
+    /**
+     * ✍️ WRITE - เขียน segment ของเดือน (rows ต้องอยู่ในเดือนนั้นทั้งหมด)
+     *
+     * ไฟล์เดิม (ถ้ามี) ถูกแทนที่ตอน rename เท่านั้น — error ระหว่างเขียน = ไฟล์เดิมไม่เปลี่ยน
+     */
+    public static void write(Path file, YearMonth month, List<Row> rows) throws IOException {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(Row::date)
+            .thenComparing(row -> Objects.toString(row.department(), ""))
+            .thenComparingInt(Row::level));
+
+        long[] employees = sorted.stream().mapToLong(Row::employeeId).distinct().sorted().toArray();
+        Dictionary<String> departments = new Dictionary<>();
+        Dictionary<Long> emotionTypes = new Dictionary<>();
+        Dictionary<String> sentiments = new Dictionary<>();
+
+        Map<Column, RunLengthColumn> columns = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            columns.put(column, new RunLengthColumn());
+        }
+        Map<Long, Integer> employeeOrdinals = new HashMap<>();
+        for (int i = 0; i < employees.length; i++) {
+            employeeOrdinals.put(employees[i], i);
+        }
+
+        for (Row row : sorted) {
+            if (!YearMonth.from(row.date()).equals(month)) {
+                throw new IllegalArgumentException("Row dated " + row.date() + " does not belong to segment " + month);
+            }
+            columns.get(Column.EMPLOYEE).add(employeeOrdinals.get(row.employeeId()));
+            columns.get(Column.DAY).add(row.date().getDayOfMonth());
+            columns.get(Column.LEVEL).add(row.level());
+            columns.get(Column.TYPE).add(emotionTypes.ordinal(row.emotionTypeId() != null ? row.emotionTypeId() : 0L));
+            columns.get(Column.DEPARTMENT).add(departments.ordinal(Objects.toString(row.department(), "")));
+            columns.get(Column.SENTIMENT).add(sentiments.ordinal(Objects.toString(row.sentiment(), "")));
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+                writeContent(out, month, sorted, employees, departments, emotionTypes, sentiments, columns);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeContent(
+        DataOutputStream out, YearMonth month, List<Row> sorted, long[] employees, Dictionary<String> departments,
+        Dictionary<Long> emotionTypes, Dictionary<String> sentiments, Map<Column, RunLengthColumn> columns
+    ) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(month.getYear());
+        out.writeByte(month.getMonthValue());
+        out.writeInt(sorted.size());
+
+        writeVarInt(out, employees.length);
+        long previous = 0;
+        for (long employee : employees) {
+            writeVarLong(out, employee - previous);
+            previous = employee;
+        }
+        writeStrings(out, departments.values);
+        writeVarInt(out, emotionTypes.values.size());
+        for (long type : emotionTypes.values) {
+            writeVarLong(out, type);
+        }
+        writeStrings(out, sentiments.values);
+
+        for (Column column : Column.values()) {
+            byte[] encoded = columns.get(column).encode();
+            writeVarInt(out, encoded.length);
+            out.write(encoded);
+        }
+    }
+
+    // ========== Read ==========
+
+    /**
+     * 📂 OPEN - map ไฟล์แบบ read-only แล้วอ่าน header + dictionary (column อ่านเมื่อเรียก column())
+     */
+    public static CheckinSegment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IllegalStateException("Not a check-in segment (or unsupported version): " + file);
+        }
+        YearMonth month = YearMonth.of(buffer.getShort(), buffer.get());
+        int rowCount = buffer.getInt();
+
+        long[] employees = new long[readVarInt(buffer)];
+        long previous = 0;
+        for (int i = 0; i < employees.length; i++) {
+            previous += readVarLong(buffer);
+            employees[i] = previous;
+        }
+        List<String> departments = readStrings(buffer);
+        long[] emotionTypes = new long[readVarInt(buffer)];
+        for (int i = 0; i < emotionTypes.length; i++) {
+            emotionTypes[i] = readVarLong(buffer);
+        }
+        List<String> sentiments = readStrings(buffer);
+
+        Map<Column, Integer> columnOffsets = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            int offset = buffer.position();
+            columnOffsets.put(column, offset);
+            int length = readVarInt(buffer);
+            buffer.position(buffer.position() + length);
+        }
+
+        return new CheckinSegment(month, rowCount, employees, departments, emotionTypes, sentiments,
+            buffer.rewind(), columnOffsets);
+    }
+
+    // ========== Encoding helpers ==========
+
+    /** ค่า → ordinal ตามลำดับที่เจอครั้งแรก */
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> ordinals = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int ordinal(T value) {
+            return ordinals.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    private static final class RunLengthColumn {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int value = -1;
+        private int run;
+
+        void add(int next) {
+            if (run > 0 && next == value) {
+                run++;
+                return;
+            }
+            flush();
+            value = next;
+            run = 1;
+        }
+
+        byte[] encode() throws IOException {
+            flush();
+            return bytes.toByteArray();
+        }
+
+        private void flush() {
+            if (run == 0) {
+                return;
+            }
+            try {
+                writeVarInt(bytes, value);
+                writeVarInt(bytes, run);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            run = 0;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = readVarInt(in);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] utf8 = new byte[readVarInt(in)];
+            in.get(utf8);
+            values.add(new String(utf8, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
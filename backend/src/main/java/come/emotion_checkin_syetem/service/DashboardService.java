@@ -1,19 +1,27 @@
 package come.emotion_checkin_syetem.service;
 
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.config.QueryBudget;
 import come.emotion_checkin_syetem.dto.response.*;
 import come.emotion_checkin_syetem.entity.*;
 import come.emotion_checkin_syetem.repository.*;
+import come.emotion_checkin_syetem.security.SessionContext;
+import come.emotion_checkin_syetem.security.SessionPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -44,8 +52,13 @@ public class DashboardService {
     
     private final UserRepository userRepository;
     private final EmotionCheckinRepository checkinRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
     private final AuditLogService auditLogService;
+    private final SessionContext sessionContext;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CheckinArchive checkinArchive;
+    
+    private static final int MAX_STREAK_DAYS = 30;
     
     /**
      * 📊 GET EMPLOYEE DASHBOARD
@@ -67,7 +80,7 @@ public class DashboardService {
             .orElseThrow(() -> new RuntimeException("Employee not found"));
         
         // Log activity
-        auditLogService.logViewDashboard(employee);
+        auditLogService.logViewDashboard(employeeId);
         
         // Get last 7 days check-ins
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
@@ -94,7 +107,7 @@ public class DashboardService {
         );
         
         // Get unread notifications count
-        long unreadNotifications = notificationRepository.countUnreadByReceiver(employee);
+        long unreadNotifications = notificationService.countUnreadNotifications(employeeId);
         
         return DashboardResponse.builder()
             .userName(employee.getName())
@@ -129,15 +142,14 @@ public class DashboardService {
     public DashboardResponse getHRDashboard(Long hrId, String department) {
         log.info("🏢 Getting HR dashboard: ID {}, dept {}", hrId, department);
         
-        User hr = userRepository.findById(hrId)
-            .orElseThrow(() -> new RuntimeException("HR not found"));
+        SessionPrincipal hr = sessionContext.resolve(hrId, "HR not found");
         
         if (!hr.isHR() && !hr.isSuperAdmin()) {
             throw new RuntimeException("Access denied: HR role required");
         }
         
         // Log activity
-        auditLogService.logViewDashboard(hr);
+        auditLogService.logViewDashboard(hrId);
         
         // Get departments
         List<String> departments = department != null ? 
@@ -192,15 +204,14 @@ public class DashboardService {
     public DashboardResponse getAdminDashboard(Long adminId) {
         log.info("👑 Getting admin dashboard: ID {}", adminId);
         
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
         }
         
         // Log activity
-        auditLogService.logViewDashboard(admin);
+        auditLogService.logViewDashboard(adminId);
         
         // Get all departments
         List<String> departments = userRepository.findAllDepartments();
@@ -246,6 +257,103 @@ public class DashboardService {
             .build();
     }
     
+    /**
+     * 📈 GET MOOD TREND - สรุปรายเดือนย้อนหลัง (HR + Admin)
+     *
+     * ✅ แต่ละเดือนมาจาก:
+     * - cold archive (segment) ถ้าเดือนนั้น archive แล้ว → ไม่แตะ emotion_checkin
+     * - emotion_checkin ถ้ายังไม่ archive (1 query GROUP BY วัน + level แล้วรวมเป็นเดือน)
+     *
+     * @param userId HR / Admin ID
+     * @param department แผนก (null = ทุกแผนก)
+     * @param months จำนวนเดือนย้อนหลังรวมเดือนนี้ (1 - 60)
+     * @return เดือนเก่า → ใหม่
+     */
+    @Transactional(readOnly = true)
+    public List<MoodTrendPoint> getMoodTrend(Long userId, String department, int months) {
+        SessionPrincipal user = sessionContext.resolve(userId, "HR not found");
+
+        if (!user.isHR() && !user.isSuperAdmin()) {
+            throw new RuntimeException("Access denied: HR role required");
+        }
+
+        YearMonth last = YearMonth.now(ZoneId.of("Asia/Bangkok"));
+        YearMonth first = last.minusMonths(Math.max(1, Math.min(months, 60)) - 1);
+
+        // เดือนที่ยังไม่ archive → นับจาก DB ครั้งเดียวทั้งช่วง
+        Map<YearMonth, long[]> liveCounts = new HashMap<>();
+        YearMonth liveFrom = first;
+        while (!liveFrom.isAfter(last) && checkinArchive.has(liveFrom)) {
+            liveFrom = liveFrom.plusMonths(1);
+        }
+        if (!liveFrom.isAfter(last)) {
+            LocalDate startDate = liveFrom.atDay(1);
+            LocalDate endDate = last.atEndOfMonth();
+            List<Object[]> rows = department != null
+                ? checkinRepository.countByDateAndLevelForDepartment(department, startDate, endDate)
+                : checkinRepository.countByDateAndLevel(startDate, endDate);
+            for (Object[] row : rows) {
+                long[] counts = liveCounts.computeIfAbsent(YearMonth.from((LocalDate) row[0]), m -> new long[4]);
+                counts[(Integer) row[1]] += ((Number) row[2]).longValue();
+            }
+        }
+
+        List<MoodTrendPoint> trend = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            long[] archived = checkinArchive.levelCounts(month, department);
+            long[] counts = archived != null ? archived : liveCounts.getOrDefault(month, new long[4]);
+            trend.add(toTrendPoint(month, counts, archived != null));
+        }
+        return trend;
+    }
+
+    private MoodTrendPoint toTrendPoint(YearMonth month, long[] counts, boolean archived) {
+        long total = counts[1] + counts[2] + counts[3];
+        return MoodTrendPoint.builder()
+            .month(month.toString())
+            .positiveCount(counts[3])
+            .neutralCount(counts[2])
+            .negativeCount(counts[1])
+            .totalCheckins(total)
+            .averageMoodScore(total == 0 ? 0.0 : (counts[3] * 3 + counts[2] * 2 + counts[1]) / (double) total)
+            .archived(archived)
+            .build();
+    }
+
+    /**
+     * 🧱 GET BULKHEAD STATS - metrics ของ bulkhead / connection pool ต่อ workload (SuperAdmin)
+     *
+     * ⚠️ ไม่แตะ DB ถ้ามี principal จาก token → ดูได้แม้ analytics pool เต็ม
+     *
+     * @param adminId Admin ID
+     * @return stats ของ checkin / analytics / jobs
+     */
+    public List<BulkheadRegistry.Stats> getBulkheadStats(Long adminId) {
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
+
+        if (!admin.isSuperAdmin()) {
+            throw new RuntimeException("Access denied: SuperAdmin role required");
+        }
+
+        return bulkheadRegistry.snapshot();
+    }
+
+    /**
+     * 🧮 GET QUERY BUDGET STATS - จำนวน SQL ต่อ request ของแต่ละ endpoint เทียบงบ (SuperAdmin)
+     *
+     * @param adminId Admin ID
+     * @return สถิติต่อ endpoint (max statements มาก → น้อย)
+     */
+    public List<QueryBudget.Stats> getQueryBudgetStats(Long adminId) {
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
+
+        if (!admin.isSuperAdmin()) {
+            throw new RuntimeException("Access denied: SuperAdmin role required");
+        }
+
+        return QueryBudget.snapshot();
+    }
+
     /**
      * 🏢 GET DEPARTMENT STATISTICS
      * 
@@ -266,32 +374,23 @@ public class DashboardService {
             .filter(User::getIsActive)
             .count();
         
-        // Get check-ins
-        List<EmotionCheckin> checkins = checkinRepository.findByDepartmentAndDateRange(
-            department, startDate, endDate
-        );
-        
-        // Count by emotion level
-        long positiveCount = checkins.stream()
-            .filter(c -> c.getEmotionLevel() == 3)
-            .count();
-        long neutralCount = checkins.stream()
-            .filter(c -> c.getEmotionLevel() == 2)
-            .count();
-        long negativeCount = checkins.stream()
-            .filter(c -> c.getEmotionLevel() == 1)
-            .count();
+        // Count by emotion level (index-only: department, checkin_date, emotionLevel)
+        Map<Integer, Long> levelCounts = new HashMap<>();
+        for (Object[] row : checkinRepository.countByEmotionLevelForDepartment(department, startDate, endDate)) {
+            levelCounts.put((Integer) row[0], ((Number) row[1]).longValue());
+        }
+        long positiveCount = levelCounts.getOrDefault(3, 0L);
+        long neutralCount = levelCounts.getOrDefault(2, 0L);
+        long negativeCount = levelCounts.getOrDefault(1, 0L);
+        long totalCheckins = positiveCount + neutralCount + negativeCount;
         
         // Calculate average mood score
-        double avgMoodScore = checkins.isEmpty() ? 0.0 : 
-            checkins.stream()
-                .mapToInt(EmotionCheckin::getEmotionLevel)
-                .average()
-                .orElse(0.0);
+        double avgMoodScore = totalCheckins == 0 ? 0.0 :
+            (positiveCount * 3 + neutralCount * 2 + negativeCount) / (double) totalCheckins;
         
         // Check-in rate (today)
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
-        long todayCheckins = checkinRepository.findTodayByDepartment(department, today).size();
+        long todayCheckins = checkinRepository.countByDepartmentOn(department, today);
         double checkinRate = totalEmployees == 0 ? 0.0 : 
             (todayCheckins * 100.0 / totalEmployees);
         
@@ -302,8 +401,8 @@ public class DashboardService {
             .inactiveEmployees(totalEmployees - activeEmployees)
             .checkinRate(checkinRate)
             .todayCheckins(todayCheckins)
-            .weeklyCheckins((long) checkins.size())
-            .monthlyCheckins((long) checkins.size())
+            .weeklyCheckins(totalCheckins)
+            .monthlyCheckins(totalCheckins)
             .positiveCount(positiveCount)
             .neutralCount(neutralCount)
             .negativeCount(negativeCount)
@@ -330,10 +429,31 @@ public class DashboardService {
         List<User> employees = department != null ?
             userRepository.findEmployeesByDepartment(department) :
             userRepository.findAllActiveEmployees();
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+        
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
+        
+        // ⚡ 2 query สำหรับทุกคน (แทน findFirst + 2 range + exists ทีละวัน ต่อคน)
+        Map<Long, EmotionCheckin> lastCheckins = new HashMap<>();
+        for (EmotionCheckin checkin : checkinRepository.findLatestByEmployees(employees)) {
+            lastCheckins.putIfAbsent(checkin.getEmployee().getId(), checkin);
+        }
+        Map<Long, List<EmotionCheckin>> monthlyCheckins = checkinRepository
+            .findByEmployeesAndDateRange(employees, today.minusDays(30), today)
+            .stream()
+            .collect(Collectors.groupingBy(c -> c.getEmployee().getId()));
         
         // Calculate insights for each employee
         return employees.stream()
-            .map(emp -> getEmployeeInsight(emp, includeComments))
+            .map(emp -> getEmployeeInsight(
+                emp,
+                lastCheckins.get(emp.getId()),
+                monthlyCheckins.getOrDefault(emp.getId(), List.of()),
+                today,
+                includeComments
+            ))
             .collect(Collectors.toList());
     }
     
@@ -341,42 +461,41 @@ public class DashboardService {
      * 👤 GET EMPLOYEE INSIGHT (Single)
      * 
      * @param employee Employee entity
+     * @param lastCheckin check-in ล่าสุด (null = ไม่เคย check-in)
+     * @param monthlyCheckins check-in 30 วันล่าสุด (ใหม่ → เก่า)
+     * @param today วันนี้ (Asia/Bangkok)
      * @param includeComment true = include comment (Admin only)
      * @return EmployeeInsight
      */
-    private EmployeeInsight getEmployeeInsight(User employee, boolean includeComment) {
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
+    private EmployeeInsight getEmployeeInsight(
+        User employee,
+        EmotionCheckin lastCheckin,
+        List<EmotionCheckin> monthlyCheckins,
+        LocalDate today,
+        boolean includeComment
+    ) {
         LocalDate sevenDaysAgo = today.minusDays(7);
-        LocalDate thirtyDaysAgo = today.minusDays(30);
-        
-        // Get last check-in
-        var lastCheckin = checkinRepository
-            .findFirstByEmployeeOrderByCheckinTimeDesc(employee);
         
         // Get 7-day stats
-        List<EmotionCheckin> weeklyCheckins = checkinRepository
-            .findByEmployeeAndDateRange(employee, sevenDaysAgo, today);
+        List<EmotionCheckin> weeklyCheckins = monthlyCheckins.stream()
+            .filter(c -> !c.getCheckinDate().isBefore(sevenDaysAgo))
+            .toList();
         
-        long weeklyPositive = weeklyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 3).count();
-        long weeklyNeutral = weeklyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 2).count();
-        long weeklyNegative = weeklyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 1).count();
+        long[] weeklyLevels = countByLevel(weeklyCheckins);
+        long weeklyPositive = weeklyLevels[3];
+        long weeklyNeutral = weeklyLevels[2];
+        long weeklyNegative = weeklyLevels[1];
         
         // Get 30-day stats
-        List<EmotionCheckin> monthlyCheckins = checkinRepository
-            .findByEmployeeAndDateRange(employee, thirtyDaysAgo, today);
-        
-        long monthlyPositive = monthlyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 3).count();
-        long monthlyNeutral = monthlyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 2).count();
-        long monthlyNegative = monthlyCheckins.stream()
-            .filter(c -> c.getEmotionLevel() == 1).count();
+        long[] monthlyLevels = countByLevel(monthlyCheckins);
+        long monthlyPositive = monthlyLevels[3];
+        long monthlyNeutral = monthlyLevels[2];
+        long monthlyNegative = monthlyLevels[1];
         
         // Calculate streak
-        int streak = calculateCheckinStreak(employee, today);
+        int streak = calculateCheckinStreak(
+            monthlyCheckins.stream().map(EmotionCheckin::getCheckinDate).toList(), today
+        );
         
         // Check-in rate (last 30 days)
         double checkinRate = (monthlyCheckins.size() * 100.0) / 30.0;
@@ -389,8 +508,8 @@ public class DashboardService {
         String recentComment = null;
         boolean hasComment = false;
         
-        if (includeComment && lastCheckin.isPresent()) {
-            recentComment = lastCheckin.get().getComment();
+        if (includeComment && lastCheckin != null) {
+            recentComment = lastCheckin.getComment();
             hasComment = recentComment != null && !recentComment.isEmpty();
         }
         
@@ -401,11 +520,10 @@ public class DashboardService {
             .department(employee.getDepartment())
             .position(employee.getPosition())
             .isActive(employee.getIsActive())
-            .lastCheckin(lastCheckin.map(EmotionCheckin::getCheckinDate).orElse(null))
-            .lastMood(lastCheckin.map(c -> c.getEmotionType().getName()).orElse(null))
-            .lastMoodLevel(lastCheckin.map(EmotionCheckin::getEmotionLevel).orElse(null))
-            .lastMoodEmoji(lastCheckin.map(c -> 
-                getEmojiForLevel(c.getEmotionLevel())).orElse(null))
+            .lastCheckin(lastCheckin != null ? lastCheckin.getCheckinDate() : null)
+            .lastMood(lastCheckin != null ? lastCheckin.getEmotionType().getName() : null)
+            .lastMoodLevel(lastCheckin != null ? lastCheckin.getEmotionLevel() : null)
+            .lastMoodEmoji(lastCheckin != null ? getEmojiForLevel(lastCheckin.getEmotionLevel()) : null)
             .checkinStreak(streak)
             .checkinRate(checkinRate)
             .weeklyPositive(weeklyPositive)
@@ -425,10 +543,12 @@ public class DashboardService {
     /**
      * 📊 CALCULATE STATISTICS
      * 
+     * ⚠️ package-private: วัดด้วย JMH (src/test/jmh, mvn -P benchmarks)
+     * 
      * @param checkins List of check-ins
      * @return EmotionStats
      */
-    private EmotionStats calculateStats(List<EmotionCheckin> checkins) {
+    EmotionStats calculateStats(List<EmotionCheckin> checkins) {
         long total = checkins.size();
         
         if (total == 0) {
@@ -446,9 +566,10 @@ public class DashboardService {
         }
         
         // Count by level
-        long positive = checkins.stream().filter(c -> c.getEmotionLevel() == 3).count();
-        long neutral = checkins.stream().filter(c -> c.getEmotionLevel() == 2).count();
-        long negative = checkins.stream().filter(c -> c.getEmotionLevel() == 1).count();
+        long[] levels = countByLevel(checkins);
+        long positive = levels[3];
+        long neutral = levels[2];
+        long negative = levels[1];
         
         // Calculate percentages
         double posPercent = (positive * 100.0) / total;
@@ -475,40 +596,66 @@ public class DashboardService {
             .build();
     }
     
+    /**
+     * 🔢 COUNT BY LEVEL - นับ check-in ต่อ level ใน loop เดียว (แทน stream().filter().count() 3 รอบ)
+     * 
+     * @param checkins List of check-ins
+     * @return index = level (1 = negative, 2 = neutral, 3 = positive); level อื่นไม่นับ
+     */
+    static long[] countByLevel(List<EmotionCheckin> checkins) {
+        long[] counts = new long[4];
+        for (EmotionCheckin checkin : checkins) {
+            int level = checkin.getEmotionLevel();
+            if (level >= 1 && level <= 3) {
+                counts[level]++;
+            }
+        }
+        return counts;
+    }
+    
     /**
      * 🔥 CALCULATE CHECK-IN STREAK
      * 
+     * ⚡ 1 query (วันที่ check-in 30 วันล่าสุด) แทน exists ทีละวันย้อนหลัง
+     * 
      * @param employee Employee entity
      * @param today Today's date
      * @return Number of consecutive check-in days
      */
     private int calculateCheckinStreak(User employee, LocalDate today) {
+        return calculateCheckinStreak(
+            checkinRepository.findCheckinDates(employee, today.minusDays(MAX_STREAK_DAYS - 1), today), today
+        );
+    }
+    
+    /**
+     * 🔥 STREAK จากวันที่ check-in ที่โหลดมาแล้ว: นับวันติดกันย้อนจากวันนี้ (สูงสุด 30 วัน)
+     * 
+     * @param checkinDates วันที่ check-in (ลำดับไหนก็ได้)
+     * @param today Today's date
+     * @return Number of consecutive check-in days
+     */
+    static int calculateCheckinStreak(Collection<LocalDate> checkinDates, LocalDate today) {
+        Set<LocalDate> dates = new HashSet<>(checkinDates);
         int streak = 0;
         LocalDate checkDate = today;
         
-        // Check backwards from today
-        while (true) {
-            if (checkinRepository.existsByEmployeeAndCheckinDate(employee, checkDate)) {
-                streak++;
-                checkDate = checkDate.minusDays(1);
-            } else {
-                break;
-            }
-            
-            // Limit to 30 days
-            if (streak >= 30) break;
+        // Check backwards from today (limit to 30 days)
+        while (streak < MAX_STREAK_DAYS && dates.contains(checkDate)) {
+            streak++;
+            checkDate = checkDate.minusDays(1);
         }
         
         return streak;
     }
     
     /**
-     * 😊 CONVERT TO HISTORY DTO
+     * 😊 CONVERT TO HISTORY DTO (package-private: JMH)
      * 
      * @param checkin EmotionCheckin entity
      * @return CheckinHistoryDTO
      */
-    private CheckinHistory convertToHistoryDTO(EmotionCheckin checkin) {
+    CheckinHistory convertToHistoryDTO(EmotionCheckin checkin) {
         return CheckinHistory.builder()
             .id(checkin.getId())
             .date(checkin.getCheckinDate())
@@ -536,9 +683,9 @@ public class DashboardService {
     }
     
     /**
-     * ⏰ CALCULATE TIME AGO
+     * ⏰ CALCULATE TIME AGO (package-private: JMH)
      */
-    private String calculateTimeAgo(java.time.LocalDateTime dateTime) {
+    String calculateTimeAgo(java.time.LocalDateTime dateTime) {
         java.time.Duration duration = java.time.Duration.between(
             dateTime, 
             java.time.LocalDateTime.now(ZoneId.of("Asia/Bangkok"))
@@ -9,12 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.google.cloud.language.v1.Sentiment;
-import com.google.cloud.language.v1.Document;
-
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +25,7 @@ import java.util.Optional;
  * - Google NLP sentiment analysis
  * - Auto-notification if bad mood
  * - Emoji mapping
+ * - Push dashboard delta (SSE) หลัง commit
  * 
  * ⚠️ Business Rules:
  * - 1 check-in per employee per day
@@ -51,8 +50,9 @@ public class EmotionService {
     private final EmotionAIResultRepository aiResultRepository;
     private final UserRepository userRepository;
     private final GoogleNlpService googleNlpService;
-    private final NotificationService notificationService;
+    private final HrAlertDigest hrAlertDigest;
     private final AuditLogService auditLogService;
+    private final LiveEventBus liveEventBus;
     
     
     /**
@@ -101,17 +101,13 @@ public class EmotionService {
         if (!emotionType.getLevel().equals(request.getEmotionLevel())) {
             throw new RuntimeException("Emotion level does not match emotion type");
         }
-        Sentiment sentiment = googleNlpService.analyze(request.getComment());
-        float score = sentiment.getScore();
-        float magnitude = sentiment.getMagnitude();
-        String emotion = mapEmotion(score);
-        
         
         // Step 4: Create check-in record (Thailand timezone)
         LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Bangkok"));
         
         EmotionCheckin checkin = EmotionCheckin.builder()
             .employee(employee)
+            .department(employee.getDepartment())
             .emotionLevel(request.getEmotionLevel())
             .emotionType(emotionType)
             .comment(request.getComment())
@@ -125,6 +121,7 @@ public class EmotionService {
         // Step 5: Analyze sentiment (if has comment)
         Float sentimentScore = null;
         String sentimentLabel = null;
+        boolean highRisk = false;
         
         if (request.getComment() != null && !request.getComment().trim().isEmpty()) {
             try {
@@ -134,6 +131,12 @@ public class EmotionService {
                 );
                 sentimentScore = aiResult.getSentimentScore();
                 sentimentLabel = aiResult.getSentimentLabel().toString();
+                highRisk = aiResult.isHighRiskMood();
+
+                // NLP fields บนแถว check-in (flush เป็น UPDATE ตอน commit)
+                savedCheckin.setNlpScore(sentimentScore);
+                savedCheckin.setNlpMagnitude(aiResult.getMagnitude());
+                savedCheckin.setNlpEmotion(mapEmotion(sentimentScore));
                 
                 log.info("🤖 Sentiment analysis: score={}, label={}", sentimentScore, sentimentLabel);
             } catch (Exception e) {
@@ -142,41 +145,30 @@ public class EmotionService {
             }
         }
         
-        // Step 6: Notify HR (if bad mood - level 1)
+        // Step 6: Notify HR (if bad mood - level 1) → digest, high-risk ส่งทันที
         if (savedCheckin.isBadMood()) {
             log.warn("⚠️ Bad mood detected for employee: {}", employee.getName());
-            notificationService.notifyHRBadMood(employee, savedCheckin);
+            hrAlertDigest.submit(employee, savedCheckin, highRisk);
         }
         
         // Step 7: Log activity
         auditLogService.logCheckin(employee);
         
+        // 📡 Dashboard delta → HR/Admin ที่เปิด dashboard อยู่ (เช่น "IT +1 check-in, level 1")
+        liveEventBus.publishToDashboards(Map.of(
+            "department", String.valueOf(employee.getDepartment()),
+            "emotionLevel", savedCheckin.getEmotionLevel(),
+            "checkinDate", today.toString(),
+            "checkins", 1
+        ));
+        
         // Step 8: Return response
-      // สร้าง record check-in
-
-       EmotionCheckin newCheckin = EmotionCheckin.builder()
-                    .employee(employee)
-                    .emotionLevel(request.getEmotionLevel())
-                    .emotionType(emotionType)
-                    .comment(request.getComment())
-                    .checkinTime(now)
-                    .checkinDate(today)
-                    // NLP
-                    .nlpScore(score)
-                    .nlpMagnitude(magnitude)
-                    .nlpEmotion(emotion)
-
-                    .build();
-
-        EmotionCheckin SavedCheckin = checkinRepository.save(newCheckin);
-
-        // ส่งผลกลับหน้าเว็บ
             return CheckinResponse.builder()
                     .employeeName(employee.getName())
                     .emotionLevel(savedCheckin.getEmotionLevel())
                     .comment(savedCheckin.getComment())
                     .emoji(getEmojiForLevel(savedCheckin.getEmotionLevel()))
-                    .createdAt(savedCheckin.getCreatedAt().toString())
+                    .createdAt(savedCheckin.getCheckinTime().toString())
                     // NLP result
                     .nlpScore(savedCheckin.getNlpScore())
                     .nlpMagnitude(savedCheckin.getNlpMagnitude())
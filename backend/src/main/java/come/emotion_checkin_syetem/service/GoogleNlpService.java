@@ -181,9 +181,4 @@ public class GoogleNlpService {
             return 0.0f;  // Neutral fallback
         }
     }
-
-    public Sentiment analyze(String comment) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'analyze'");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
+import come.emotion_checkin_syetem.entity.PendingHrAlert;
+import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.PendingHrAlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/HrAlertDigest.java
+ *
+ * 📰 HR ALERT DIGEST - รวม bad-mood alert ในช่วงเวลาเดียวกันเป็น 1 notification
+ *
+ * ✅ Features:
+ * - Alert แรกเปิด window → alert ที่ตามมาใน window เดียวกันรอรวมกัน
+ * - Scheduled flusher ส่ง digest (รายชื่อพนักงาน) เมื่อครบ window
+ * - High-risk (EmotionAIResult.isHighRiskMood()) → ส่งทันที ไม่รอ digest
+ * - app.notification.alert-digest.enabled=false → ส่งทันทีทุกครั้ง (แบบเดิม)
+ *
+ * ✅ คิวอยู่ในตาราง hr_alert_pending:
+ * - submit(): insert ใน transaction ของ check-in → check-in rollback = ไม่มี alert
+ * - flush: lock แถวที่ค้าง (SELECT ... FOR UPDATE) → ส่ง digest → ลบ ใน transaction เดียว
+ *   instance อื่นที่ flush พร้อมกันรอ lock แล้วเจอคิวว่าง → ทั้ง cluster ส่งครั้งเดียว
+ * - ส่งไม่สำเร็จ → rollback แถวยังอยู่ → รอบถัดไปส่งใหม่; restart ไม่ทำให้ alert หาย
+ *
+ * ⚠️ NOTE:
+ * - HR ทุกคนได้ alert ชุดเดียวกัน → window เดียว = window ของ HR แต่ละคน
+ *   และ digest เป็น 1 BroadcastNotification (bitmap ผู้รับ)
+ */
+@Component
+@Slf4j
+public class HrAlertDigest {
+
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private final NotificationService notificationService;
+    private final PendingHrAlertRepository pendingAlertRepository;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification.alert-digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.alert-digest.window-ms:900000}")
+    private long windowMillis;
+
+    public HrAlertDigest(
+        PlatformTransactionManager transactionManager,
+        NotificationService notificationService,
+        PendingHrAlertRepository pendingAlertRepository,
+        BulkheadRegistry bulkheadRegistry
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationService = notificationService;
+        this.pendingAlertRepository = pendingAlertRepository;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    /** alert ที่รอ digest */
+    public record PendingAlert(Long employeeId, String employeeName, Long checkinId) {}
+
+    /**
+     * ⚠️ SUBMIT - bad-mood check-in ใหม่
+     *
+     * @param employee Employee with bad mood
+     * @param checkin The check-in record
+     * @param highRisk true = ส่งทันที (ข้าม digest)
+     */
+    public void submit(User employee, EmotionCheckin checkin, boolean highRisk) {
+        if (!enabled || highRisk) {
+            notificationService.notifyHRBadMood(employee, checkin, highRisk);
+            return;
+        }
+
+        pendingAlertRepository.save(PendingHrAlert.builder()
+            .employeeId(employee.getId())
+            .employeeName(employee.getName())
+            .checkinId(checkin.getId())
+            .createdAt(LocalDateTime.now(BANGKOK))
+            .build());
+        log.info("📰 Bad-mood alert for {} queued for HR digest", employee.getName());
+    }
+
+    /**
+     * ⏰ SCHEDULED FLUSH - ตามรอบ ใน bulkhead ของ jobs
+     */
+    @Scheduled(fixedDelayString = "${app.notification.alert-digest.check-interval-ms:30000}")
+    public void scheduledFlush() {
+        bulkheadRegistry.runJob("hr-alert-digest", this::flushDue);
+    }
+
+    /**
+     * ⏰ FLUSH DUE - ส่ง digest เมื่อ window ของ alert แรกครบแล้ว
+     */
+    public void flushDue() {
+        LocalDateTime oldest = pendingAlertRepository.findOldestCreatedAt();
+        if (oldest == null || oldest.isAfter(LocalDateTime.now(BANGKOK).minus(Duration.ofMillis(windowMillis)))) {
+            return;
+        }
+
+        try {
+            Integer sent = transactionTemplate.execute(status -> {
+                List<PendingHrAlert> due = pendingAlertRepository.findAllForUpdate();
+                if (due.isEmpty()) {
+                    return 0;  // instance อื่น flush ไปแล้ว
+                }
+
+                notificationService.notifyHRAlertDigest(
+                    due.stream()
+                        .map(alert -> new PendingAlert(alert.getEmployeeId(), alert.getEmployeeName(), alert.getCheckinId()))
+                        .toList(),
+                    Duration.ofMillis(windowMillis)
+                );
+                pendingAlertRepository.deleteAllInBatch(due);
+                return due.size();
+            });
+            if (sent != null && sent > 0) {
+                log.info("📰 HR alert digest sent ({} alerts)", sent);
+            }
+        } catch (RuntimeException e) {
+            // rollback → แถวยังอยู่ (window ครบแล้ว จึงส่งใหม่รอบถัดไป)
+            log.error("❌ HR alert digest failed, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/HrRecipientCache.java
+ *
+ * 👥 HR RECIPIENT CACHE - cache id ของ HR ที่ active (ผู้รับ bad-mood alert)
+ *
+ * ✅ Features:
+ * - โหลดครั้งเดียวแล้วใช้ซ้ำ (ไม่ query findAllActiveHR ทุก check-in)
+ * - หมดอายุตาม app.notification.hr-cache-ttl-ms
+ * - invalidate() เมื่อ user ถูกสร้าง / deactivate / activate
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HrRecipientCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.notification.hr-cache-ttl-ms:300000}")
+    private long ttlMillis;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<Long> ids, long loadedAt) {}
+
+    /**
+     * 👥 GET - id ของ HR ที่ active ทั้งหมด
+     *
+     * @return List<Long> (immutable)
+     */
+    public List<Long> getActiveHrIds() {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+
+        if (current == null || now - current.loadedAt() > ttlMillis) {
+            current = new Snapshot(List.copyOf(userRepository.findAllActiveHRIds()), now);
+            snapshot = current;
+            log.debug("👥 Loaded {} active HR recipients", current.ids().size());
+        }
+
+        return current.ids();
+    }
+
+    /**
+     * 🗑️ INVALIDATE - โหลดใหม่ครั้งถัดไป
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+}
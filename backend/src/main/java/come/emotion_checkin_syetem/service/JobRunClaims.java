@@ -0,0 +1,71 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.entity.JobRun;
+import come.emotion_checkin_syetem.repository.JobRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/JobRunClaims.java
+ *
+ * 🏁 JOB RUN CLAIMS - claim รอบของ scheduled job ที่ทำหลาย transaction (retention, archive)
+ *
+ * ✅ Flow:
+ * 1. claim(): insert job_run (job, วัน) ใน transaction ของตัวเอง → duplicate = instance อื่นได้ไปแล้ว
+ * 2. งานทำทีละ chunk (commit ทีละส่วน)
+ * 3. complete(): บันทึกจำนวนที่ทำ
+ *
+ * ⚠️ NOTE:
+ * - งานที่จบใน transaction เดียว (CheckinReminderJob) insert job_run ใน transaction ของงานเอง
+ *   → ล้มเหลวแล้ว rollback claim ไปด้วย
+ * - ที่นี่ claim commit ก่อนเริ่มงาน → งานล้มกลางทาง claim ยังอยู่ รอบของวันถัดไปทำต่อ
+ *   (งานแบบ chunk ต้องทำซ้ำได้ / มี checkpoint)
+ */
+@Component
+@Slf4j
+public class JobRunClaims {
+
+    private final TransactionTemplate transactionTemplate;
+    private final JobRunRepository jobRunRepository;
+
+    public JobRunClaims(PlatformTransactionManager transactionManager, JobRunRepository jobRunRepository) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobRunRepository = jobRunRepository;
+    }
+
+    /**
+     * 🏁 CLAIM - รอบ (jobName, runDate) เป็นของ instance นี้หรือไม่
+     *
+     * @return JobRun ถ้า claim ได้, empty ถ้ามีคนทำ/กำลังทำรอบนี้แล้ว
+     */
+    public Optional<JobRun> claim(String jobName, LocalDate runDate) {
+        if (jobRunRepository.existsByJobNameAndRunDate(jobName, runDate)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(transactionTemplate.execute(status -> jobRunRepository.saveAndFlush(
+                JobRun.builder().jobName(jobName).runDate(runDate).affected(0).build()
+            )));
+        } catch (DataIntegrityViolationException e) {
+            log.info("🏁 {} for {} is handled by another instance", jobName, runDate);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * ✅ COMPLETE - บันทึกจำนวนรายการที่รอบนี้ทำ
+     */
+    public void complete(JobRun run, long affected) {
+        run.setAffected((int) Math.min(affected, Integer.MAX_VALUE));
+        transactionTemplate.executeWithoutResult(status -> jobRunRepository.save(run));
+    }
+}
@@ -0,0 +1,46 @@
+package come.emotion_checkin_syetem.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/LiveEvent.java
+ *
+ * 📡 LIVE EVENT - 1 event ใน LiveEventBus (ส่งออกทาง SSE)
+ *
+ * ✅ Types:
+ * - notification: notification ใหม่ (data = NotificationDTO)
+ * - unread-count: ยอด unread เปลี่ยน (data = {"delta": n} หรือ {"count": 0})
+ * - dashboard: delta ของ dashboard (data = {"department": "IT", "emotionLevel": 1, "checkins": 1, ...})
+ * - resync: replay ไม่ครบ → client ต้องโหลดข้อมูลใหม่ทั้งหมด
+ *
+ * ⚠️ NOTE:
+ * - id เรียงเพิ่มขึ้นเสมอ = SSE "id:" (browser ส่งกลับมาเป็น Last-Event-ID ตอน reconnect)
+ * - ผู้รับ = userIds ที่ระบุ และ/หรือทุกคนที่ดู dashboard ได้ (HR + SuperAdmin)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class LiveEvent {
+
+    public static final String NOTIFICATION = "notification";
+    public static final String UNREAD_COUNT = "unread-count";
+    public static final String DASHBOARD = "dashboard";
+    public static final String RESYNC = "resync";
+
+    private final long id;
+    private final String type;
+    private final Set<Long> userIds;
+    private final boolean forDashboards;
+    private final Object data;
+
+    /**
+     * 🎯 subscriber นี้ควรได้ event นี้ไหม
+     */
+    public boolean isFor(Long userId, boolean dashboardViewer) {
+        return userIds.contains(userId) || (forDashboards && dashboardViewer);
+    }
+}
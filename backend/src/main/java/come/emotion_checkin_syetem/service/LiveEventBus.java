@@ -0,0 +1,296 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.security.SessionContext;
+import come.emotion_checkin_syetem.security.SessionPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/LiveEventBus.java
+ *
+ * 📡 LIVE EVENT BUS - event bus ใน process + SSE fan-out (แทนการ poll)
+ *
+ * ✅ Features:
+ * - publish หลัง commit เท่านั้น (client ไม่เห็น event ของ transaction ที่ rollback)
+ * - Ring buffer ขนาดคงที่ → reconnect พร้อม Last-Event-ID แล้ว replay ส่วนที่พลาด
+ *   (เก่าเกิน buffer / server restart → ส่ง "resync" ให้ client โหลดใหม่)
+ * - Subscriber แต่ละตัวมี mailbox แบบ bounded + virtual thread ส่งเฉพาะตอนมีงาน
+ *   (ไม่มี thread ค้างต่อ connection, client ช้าไม่ถ่วงคนอื่น)
+ * - Heartbeat (SSE comment) ตามรอบ กัน proxy ตัด connection ที่เงียบ
+ *
+ * ⚠️ NOTE:
+ * - State อยู่ใน memory ของ instance เดียว (หลาย instance = แต่ละตัวเห็นเฉพาะ event ของตัวเอง)
+ * - Mailbox เต็ม = client ตามไม่ทัน → ปิด stream (client reconnect แล้ว replay ต่อเอง)
+ */
+@Component
+@Slf4j
+public class LiveEventBus {
+
+    private final SessionContext sessionContext;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** userId → streams ที่เปิดอยู่ (1 user เปิดได้หลาย tab) */
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final LiveEvent[] ring;
+    private final long emitterTimeoutMillis;
+    private final int mailboxCapacity;
+
+    /**
+     * id ล่าสุดที่ใช้ไป — เริ่มจากเวลาตอน start เพื่อให้ id หลัง restart ใหม่กว่าเดิมเสมอ
+     * (Last-Event-ID จากรอบก่อนจะเก่ากว่า buffer → resync แทนการ replay ผิดตัว)
+     */
+    private long lastId = System.currentTimeMillis();
+
+    public LiveEventBus(
+        SessionContext sessionContext,
+        @Value("${app.live.replay-buffer-size:1024}") int replayBufferSize,
+        @Value("${app.live.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+        @Value("${app.live.mailbox-capacity:256}") int mailboxCapacity
+    ) {
+        this.sessionContext = sessionContext;
+        this.ring = new LiveEvent[replayBufferSize];
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.mailboxCapacity = mailboxCapacity;
+    }
+
+    // ========== PUBLISH ==========
+
+    /**
+     * 📨 ส่ง event ถึง user ที่ระบุ
+     */
+    public void publishToUsers(String type, Collection<Long> userIds, Object data) {
+        if (userIds.isEmpty()) return;
+        publish(type, Set.copyOf(userIds), false, data);
+    }
+
+    /**
+     * 📊 ส่ง event ถึงทุกคนที่ดู dashboard (HR + SuperAdmin)
+     */
+    public void publishToDashboards(Object data) {
+        publish(LiveEvent.DASHBOARD, Set.of(), true, data);
+    }
+
+    private void publish(String type, Set<Long> userIds, boolean forDashboards, Object data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(type, userIds, forDashboards, data);
+                }
+            });
+        } else {
+            dispatch(type, userIds, forDashboards, data);
+        }
+    }
+
+    /**
+     * ลง ring + ใส่ mailbox ใน lock เดียวกับ subscribe → replay กับ live ไม่ซ้ำ/ไม่ข้าม
+     * (แค่ offer ลง queue ไม่มี I/O ใน lock)
+     */
+    private synchronized void dispatch(String type, Set<Long> userIds, boolean forDashboards, Object data) {
+        LiveEvent event = new LiveEvent(++lastId, type, userIds, forDashboards, data);
+        ring[(int) (event.getId() % ring.length)] = event;
+
+        if (forDashboards) {
+            subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.offer(event)));
+        } else {
+            for (Long userId : userIds) {
+                subscribers.getOrDefault(userId, Set.of()).forEach(subscriber -> subscriber.offer(event));
+            }
+        }
+    }
+
+    // ========== SUBSCRIBE ==========
+
+    /**
+     * 🔌 เปิด stream ของ user (+ replay ต่อจาก Last-Event-ID ถ้ามี)
+     *
+     * @param userId User ID (จาก token / X-User-Id)
+     * @param lastEventId id ล่าสุดที่ client ได้ (null = เชื่อมต่อครั้งแรก)
+     * @return SseEmitter
+     * @throws RuntimeException ถ้าไม่เจอ user
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SessionPrincipal principal = sessionContext.resolve(userId, "User not found");
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(
+            principal.getId(),
+            principal.isHR() || principal.isSuperAdmin(),
+            emitter
+        );
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.computeIfAbsent(principal.getId(), id -> ConcurrentHashMap.newKeySet())
+                .add(subscriber);
+        }
+
+        log.debug("📡 Stream opened: user {} (last event {})", principal.getId(), lastEventId);
+        return emitter;
+    }
+
+    /** เรียกใน lock ของ bus */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        missedSince(lastEventId, subscriber.userId, subscriber.dashboardViewer).forEach(subscriber::offer);
+    }
+
+    /**
+     * event ที่ user พลาดหลัง lastEventId (เรียงตาม id)
+     * replay ไม่ครบ (เก่ากว่า buffer / id ที่ bus นี้ไม่เคยออก) → มีแค่ resync (id = -1)
+     */
+    synchronized List<LiveEvent> missedSince(long lastEventId, Long userId, boolean dashboardViewer) {
+        long oldest = Math.max(1, lastId - ring.length + 1);
+
+        if (lastEventId > lastId || lastEventId + 1 < oldest) {
+            return List.of(new LiveEvent(-1, LiveEvent.RESYNC, Set.of(), false, Map.of()));
+        }
+
+        List<LiveEvent> missed = new ArrayList<>();
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            LiveEvent event = ring[(int) (id % ring.length)];
+            if (event != null && event.getId() == id && event.isFor(userId, dashboardViewer)) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    /** id ของ event ล่าสุดที่ออกไป */
+    synchronized long lastEventId() {
+        return lastId;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // ========== HEARTBEAT ==========
+
+    /**
+     * 💓 HEARTBEAT - SSE comment ไปทุก stream (ตรวจ connection ที่ตายไปด้วย)
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(Subscriber::heartbeat));
+    }
+
+    /**
+     * 🔢 จำนวน stream ที่เปิดอยู่ (monitoring)
+     */
+    public int getOpenStreamCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> open = new ArrayList<>();
+        subscribers.values().forEach(open::addAll);
+        open.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    /**
+     * 📬 SUBSCRIBER - 1 SSE stream + mailbox
+     *
+     * ส่งทีละ event ตามลำดับ: มีงาน → เริ่ม virtual thread ตัวเดียว drain จน queue ว่าง
+     */
+    private final class Subscriber {
+
+        private final Long userId;
+        private final boolean dashboardViewer;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveEvent> mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatPending;
+
+        Subscriber(Long userId, boolean dashboardViewer, SseEmitter emitter) {
+            this.userId = userId;
+            this.dashboardViewer = dashboardViewer;
+            this.emitter = emitter;
+        }
+
+        void offer(LiveEvent event) {
+            // resync (id = -1) ส่งถึง subscriber ตัวนี้โดยตรงจาก replay
+            if (event.getId() > 0 && !event.isFor(userId, dashboardViewer)) return;
+
+            if (!mailbox.offer(event)) {
+                log.warn("📡 Stream of user {} is too slow, closing (client will replay)", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            heartbeatPending = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    LiveEvent event;
+                    while ((event = mailbox.poll()) != null) {
+                        send(event);
+                    }
+                    if (heartbeatPending) {
+                        heartbeatPending = false;
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    draining.set(false);
+                    // มีงานเข้ามาหลังเช็คครั้งสุดท้าย → drain ต่อ (ถ้ายังไม่มี thread อื่นรับไป)
+                } while ((!mailbox.isEmpty() || heartbeatPending) && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("📡 Stream of user {} closed: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void send(LiveEvent event) throws IOException {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name(event.getType())
+                .data(event.getData());
+            if (event.getId() > 0) {
+                builder.id(String.valueOf(event.getId()));
+            }
+            emitter.send(builder);
+        }
+    }
+}
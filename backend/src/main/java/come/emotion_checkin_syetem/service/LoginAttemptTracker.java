@@ -0,0 +1,269 @@
+package come.emotion_checkin_syetem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import come.emotion_checkin_syetem.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/LoginAttemptTracker.java
+ *
+ * 🛡️ LOGIN ATTEMPT TRACKER - นับ failed login แบบ sliding window (ต่อ email และต่อ IP ถ้าเปิด)
+ *
+ * ✅ Features:
+ * - Sliding window = ring ของ bucket ตามเวลา (เช็ค/บันทึก O(จำนวน bucket) คงที่ ไม่แตะ DB)
+ * - Progressive backoff: เกิน backoff-threshold → ต้องรอ 2^n วินาทีจาก failure ล่าสุด
+ * - Lockout: ครบ max-failures ใน window → ล็อกจนกว่า failure เก่าจะหลุด window
+ * - บันทึก LOGIN_FAILED ลง audit_log แบบ async (ไม่ถ่วง response)
+ * - Rebuild window จาก LOGIN_FAILED ล่าสุดตอน startup (email อ่านจาก details ที่เป็น JSON จริง ผ่าน ObjectMapper)
+ *
+ * ⚠️ NOTE:
+ * - State อยู่ใน memory ของ instance เดียว (ถ้ามีหลาย instance แต่ละตัวนับแยกกัน)
+ * - ตัวคุมหลัก = ต่อ email (account) — ต่อ IP ปิดเป็น default (app.auth.lockout.per-ip-enabled)
+ * - IP = request.getRemoteAddr(): หลัง load balancer / proxy ทุก request มี IP เดียวกัน
+ *   → คนที่พิมพ์ผิดไม่กี่คนล็อกทั้งบริษัทได้
+ *   เปิด per-IP เฉพาะเมื่อตั้ง server.forward-headers-strategy + trusted proxies แล้ว (ดู application.properties)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptTracker {
+
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, SlidingWindow> emailWindows = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindow> ipWindows = new ConcurrentHashMap<>();
+
+    @Value("${app.auth.lockout.window-seconds:900}")
+    private long windowSeconds;
+
+    @Value("${app.auth.lockout.buckets:15}")
+    private int buckets;
+
+    @Value("${app.auth.lockout.max-failures-per-email:5}")
+    private int maxFailuresPerEmail;
+
+    @Value("${app.auth.lockout.per-ip-enabled:false}")
+    private boolean perIpEnabled;
+
+    @Value("${app.auth.lockout.max-failures-per-ip:200}")
+    private int maxFailuresPerIp;
+
+    @Value("${app.auth.lockout.backoff-threshold:3}")
+    private int backoffThreshold;
+
+    @Value("${app.auth.lockout.max-backoff-seconds:60}")
+    private long maxBackoffSeconds;
+
+    /**
+     * 🔍 CHECK - เรียกก่อนตรวจ password
+     *
+     * @param email Email ที่พยายาม login
+     * @param ipAddress IP ของ client
+     * @throws RuntimeException ถ้ายังอยู่ในช่วง backoff หรือถูกล็อก
+     */
+    public void check(String email, String ipAddress) {
+        long now = System.currentTimeMillis();
+
+        long waitMillis = retryAfterMillis(emailWindows.get(normalize(email)), maxFailuresPerEmail, now);
+        if (perIpEnabled) {
+            waitMillis = Math.max(waitMillis, retryAfterMillis(ipWindows.get(ipAddress), maxFailuresPerIp, now));
+        }
+
+        if (waitMillis > 0) {
+            long waitSeconds = (waitMillis + 999) / 1000;
+            log.warn("🛡️ Login throttled: {} / {} ({}s)", email, ipAddress, waitSeconds);
+            throw new RuntimeException(
+                "Too many failed login attempts. Please try again in " + waitSeconds + " seconds."
+            );
+        }
+    }
+
+    /**
+     * ❌ RECORD FAILURE - นับใน memory + บันทึก audit log แบบ async
+     *
+     * @param email Email ที่ login ไม่ผ่าน
+     * @param ipAddress IP ของ client
+     */
+    public void recordFailure(String email, String ipAddress) {
+        long now = System.currentTimeMillis();
+        record(emailWindows, normalize(email), now);
+        if (perIpEnabled) {
+            record(ipWindows, ipAddress, now);
+        }
+
+        auditLogService.logLoginFailed(email, ipAddress);
+    }
+
+    /**
+     * ✅ RECORD SUCCESS - ล้าง window ของ email (IP ยังนับต่อ กันการไล่ email)
+     *
+     * @param email Email ที่ login สำเร็จ
+     */
+    public void recordSuccess(String email) {
+        emailWindows.remove(normalize(email));
+    }
+
+    /**
+     * 🔄 REBUILD - สร้าง window ใหม่จาก LOGIN_FAILED ใน audit_log ช่วง window ล่าสุด
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFromAuditLog() {
+        LocalDateTime since = LocalDateTime.now(BANGKOK).minusSeconds(windowSeconds);
+        List<Object[]> rows = auditLogRepository.findFailedLoginsSince(since);
+
+        for (Object[] row : rows) {
+            long at = ((LocalDateTime) row[2]).atZone(BANGKOK).toInstant().toEpochMilli();
+
+            String email = emailFromDetails((String) row[0]);
+            if (email != null) {
+                record(emailWindows, normalize(email), at);
+            }
+            if (perIpEnabled) {
+                record(ipWindows, (String) row[1], at);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            log.info("🛡️ Rebuilt login attempt windows from {} LOGIN_FAILED rows", rows.size());
+        }
+    }
+
+    /**
+     * 🧹 EVICT - ลบ window ที่ว่างแล้ว (กัน map โตไม่สิ้นสุด)
+     */
+    @Scheduled(fixedDelayString = "${app.auth.lockout.cleanup-interval-ms:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        emailWindows.entrySet().removeIf(entry -> entry.getValue().isEmpty(now));
+        ipWindows.entrySet().removeIf(entry -> entry.getValue().isEmpty(now));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void record(Map<String, SlidingWindow> windows, String key, long at) {
+        if (key == null) return;
+        windows.computeIfAbsent(key, k -> new SlidingWindow(buckets, windowSeconds * 1000 / buckets))
+            .add(at);
+    }
+
+    /**
+     * ⏱️ เวลาที่ต้องรอ (ms) — 0 = login ได้
+     */
+    private long retryAfterMillis(SlidingWindow window, int maxFailures, long now) {
+        if (window == null) return 0;
+
+        synchronized (window) {
+            int failures = window.count(now);
+
+            // 🔒 Lockout: รอจน failure เก่าสุดหลุด window
+            if (failures >= maxFailures) {
+                return window.oldestExpiry(now) - now;
+            }
+
+            // ⏳ Progressive backoff: 1s, 2s, 4s, ... (cap ที่ max-backoff-seconds)
+            if (failures >= backoffThreshold) {
+                int exponent = Math.min(failures - backoffThreshold, 30);
+                long backoffMillis = Math.min(1000L << exponent, maxBackoffSeconds * 1000);
+                return Math.max(0, window.lastFailureAt() + backoffMillis - now);
+            }
+
+            return 0;
+        }
+    }
+
+    /**
+     * 📧 email จาก details ของ LOGIN_FAILED ({"email": "..."}) — details ที่ parse ไม่ได้ → null (ข้าม)
+     */
+    String emailFromDetails(String details) {
+        if (details == null) return null;
+        try {
+            return objectMapper.readTree(details).path("email").textValue();
+        } catch (JsonProcessingException e) {
+            log.debug("🛡️ Skipping LOGIN_FAILED row with unreadable details: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 🔁 SLIDING WINDOW - ring ของ bucket (แต่ละ bucket = bucketMillis)
+     *
+     * bucket ถูก reuse เมื่อ epoch ของมันเก่ากว่า window → ไม่ต้องลบทีละ event
+     * (package-private: unit test ป้อนเวลาเองได้)
+     */
+    static final class SlidingWindow {
+
+        private final long bucketMillis;
+        private final long[] epochs;
+        private final int[] counts;
+        private long lastFailureAt;
+
+        SlidingWindow(int buckets, long bucketMillis) {
+            this.bucketMillis = Math.max(1, bucketMillis);
+            this.epochs = new long[buckets];
+            this.counts = new int[buckets];
+        }
+
+        synchronized void add(long at) {
+            long epoch = at / bucketMillis;
+            int index = (int) (epoch % epochs.length);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                counts[index] = 0;
+            }
+            counts[index]++;
+            lastFailureAt = Math.max(lastFailureAt, at);
+        }
+
+        synchronized int count(long now) {
+            long current = now / bucketMillis;
+            int total = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (current - epochs[i] < epochs.length) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+
+        /** เวลาที่ bucket เก่าสุดที่ยังมีค่าจะหลุด window */
+        synchronized long oldestExpiry(long now) {
+            long current = now / bucketMillis;
+            long oldest = current;
+            for (int i = 0; i < epochs.length; i++) {
+                if (counts[i] > 0 && current - epochs[i] < epochs.length) {
+                    oldest = Math.min(oldest, epochs[i]);
+                }
+            }
+            return (oldest + epochs.length) * bucketMillis;
+        }
+
+        synchronized long lastFailureAt() {
+            return lastFailureAt;
+        }
+
+        synchronized boolean isEmpty(long now) {
+            return count(now) == 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package come.emotion_checkin_syetem.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/NotificationCursor.java
+ *
+ * 🧭 NOTIFICATION CURSOR - ตำแหน่งใน inbox สำหรับ keyset pagination
+ *
+ * ✅ ลำดับ inbox: (createdAt DESC, broadcast DESC, id DESC)
+ * - direct (notification) และ broadcast มี id คนละชุด → ใช้ broadcast เป็นตัวตัดสินเมื่อเวลาเท่ากัน
+ * - encode เป็น base64url("createdAt|0/1|id")
+ *
+ * @param createdAt เวลาของรายการสุดท้ายในหน้าก่อน
+ * @param broadcast รายการสุดท้ายเป็น broadcast หรือไม่
+ * @param id id ของรายการสุดท้าย
+ */
+public record NotificationCursor(LocalDateTime createdAt, boolean broadcast, Long id) {
+
+    /** หน้าแรก: ทุกรายการอยู่ "ก่อน" cursor นี้ (MySQL DATETIME สูงสุด) */
+    public static final NotificationCursor FIRST_PAGE =
+        new NotificationCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), true, Long.MAX_VALUE);
+
+    /**
+     * id bound สำหรับแถว direct ที่ createdAt เท่ากับ cursor
+     * (cursor เป็น broadcast → direct ทุกแถวที่เวลาเท่ากันอยู่หลัง cursor)
+     */
+    public long directIdBound() {
+        return broadcast ? Long.MAX_VALUE : id;
+    }
+
+    /**
+     * id bound สำหรับแถว broadcast ที่ createdAt เท่ากับ cursor
+     * (cursor เป็น direct → broadcast ที่เวลาเท่ากันมาก่อนแล้วทั้งหมด)
+     */
+    public long broadcastIdBound() {
+        return broadcast ? id : Long.MIN_VALUE;
+    }
+
+    /**
+     * รายการ (createdAt, broadcast, id) อยู่หลัง cursor ในลำดับ inbox หรือไม่
+     * (= อยู่ในหน้าที่เริ่มจาก cursor นี้)
+     */
+    public boolean precedes(LocalDateTime itemCreatedAt, boolean itemBroadcast, long itemId) {
+        int byTime = itemCreatedAt.compareTo(createdAt);
+        if (byTime != 0) {
+            return byTime < 0;
+        }
+        if (itemBroadcast != broadcast) {
+            return broadcast;  // เวลาเท่ากัน → broadcast มาก่อน direct
+        }
+        return itemId < id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + (broadcast ? 1 : 0) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor ค่า cursor จาก client (null/ว่าง = หน้าแรก)
+     * @throws IllegalArgumentException ถ้า cursor ผิดรูปแบบ
+     */
+    public static NotificationCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new NotificationCursor(
+                LocalDateTime.parse(parts[0]),
+                "1".equals(parts[1]),
+                Long.valueOf(parts[2])
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package come.emotion_checkin_syetem.service;
 
+import come.emotion_checkin_syetem.dto.request.BulkNotificationRequest;
 import come.emotion_checkin_syetem.dto.request.SendNotificationRequest;
 import come.emotion_checkin_syetem.dto.response.NotificationDTO;  // เปลี่ยนชื่อให้ชัดเจน
+import come.emotion_checkin_syetem.dto.response.NotificationPage;
+import come.emotion_checkin_syetem.entity.BroadcastNotification;
+import come.emotion_checkin_syetem.entity.BroadcastReadMarker;
 import come.emotion_checkin_syetem.entity.Notification;
 import come.emotion_checkin_syetem.entity.EmotionCheckin;
 import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.BroadcastNotificationRepository;
+import come.emotion_checkin_syetem.repository.BroadcastReadMarkerRepository;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
 import come.emotion_checkin_syetem.repository.NotificationRepository;
 import come.emotion_checkin_syetem.repository.UserRepository;
+import come.emotion_checkin_syetem.repository.projection.BroadcastNotificationView;
+import come.emotion_checkin_syetem.repository.projection.BroadcastRecipientsView;
+import come.emotion_checkin_syetem.repository.projection.NotificationView;
+import come.emotion_checkin_syetem.security.SessionContext;
+import come.emotion_checkin_syetem.security.SessionPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,10 +43,13 @@ import java.util.stream.Collectors;
  * 🔔 NOTIFICATION SERVICE - ระบบแจ้งเตือน
  * 
  * ✅ Features:
- * - Auto-notify HR when employee has bad mood
+ * - Auto-notify HR when employee has bad mood (digest ผ่าน HrAlertDigest, high-risk ส่งทันที)
  * - HR send notification to employee
+ * - HR bulk send (department / role / id list)
  * - Mark as read (single/bulk)
- * - Get notifications list
+ * - Get notifications list (direct + broadcast merged, cursor-paginated)
+ * - Broadcast: 1 แถวต่อข้อความ + bitmap ผู้รับ, คนอ่าน = BroadcastReadMarker
+ * - Push notification ใหม่ทาง LiveEventBus (SSE) หลัง commit
  * 
  * 📋 Notification Types:
  * 1. System → HR: Employee มี bad mood (auto)
@@ -45,47 +67,139 @@ import java.util.stream.Collectors;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final BroadcastNotificationRepository broadcastNotificationRepository;
+    private final BroadcastReadMarkerRepository readMarkerRepository;
+    private final EmotionCheckinRepository checkinRepository;
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
+    private final SessionContext sessionContext;
+    private final HrRecipientCache hrRecipientCache;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final LiveEventBus liveEventBus;
+    
+    @Value("${app.notification.page-size-max:100}")
+    private int maxPageSize;
+    
+    @Value("${app.notification.broadcast-scan-max-batches:3}")
+    private int maxBroadcastBatches;
+    
+    @Value("${app.system-user-id}")
+    private Long systemUserId;
+    
+    private static final int BAD_MOOD_LEVEL = 1;
+    
+    /** จำนวนชื่อสูงสุดในข้อความ digest (ที่เหลือ = "and N more") */
+    private static final int DIGEST_MAX_NAMES = 20;
+    
+    /** ลำดับ inbox: ใหม่สุดก่อน, เวลาเท่ากัน → broadcast ก่อน, แล้วตาม id */
+    private static final Comparator<NotificationDTO> INBOX_ORDER = Comparator
+        .comparing(NotificationDTO::getCreatedAt)
+        .thenComparing(dto -> Boolean.TRUE.equals(dto.getBroadcast()))
+        .thenComparing(NotificationDTO::getId)
+        .reversed();
     
     /**
-     * ⚠️ NOTIFY HR - BAD MOOD (Auto-triggered)
+     * ⚠️ NOTIFY HR - BAD MOOD (ส่งทันที)
      * 
      * ระบบเรียกอัตโนมัติเมื่อ employee check-in level 1 (Negative)
+     * - ปกติผ่าน HrAlertDigest (รวมเป็น digest) ยกเว้น high-risk / ปิด digest
+     * 
+     * ⚡ Performance:
+     * - HR recipients มาจาก HrRecipientCache (ไม่ query ทุกครั้ง)
+     * - 1 BroadcastNotification + bitmap ผู้รับ (แทน 1 แถวต่อ HR)
      * 
      * @param employee Employee with bad mood
      * @param checkin The check-in record
+     * @param highRisk true = EmotionAIResult.isHighRiskMood()
      */
     @Transactional
-    public void notifyHRBadMood(User employee, EmotionCheckin checkin) {
-        log.warn("⚠️ Notifying HR: Employee {} has bad mood", employee.getName());
+    public void notifyHRBadMood(User employee, EmotionCheckin checkin, boolean highRisk) {
+        log.warn("⚠️ Notifying HR: Employee {} has bad mood (high risk: {})", employee.getName(), highRisk);
         
-        // Get all active HRs
-        List<User> hrs = userRepository.findAllActiveHR();
+        String message = highRisk ?
+            String.format("Employee %s reported a high-risk negative mood. Please follow up immediately.", employee.getName()) :
+            String.format("Employee %s reported a negative mood. Please follow up.", employee.getName());
         
-        if (hrs.isEmpty()) {
-            log.warn("⚠️ No active HR found to notify");
+        // From employee → every HR (1 row)
+        broadcastToHR(employee, message, checkin);
+    }
+    
+    /**
+     * 📰 NOTIFY HR - ALERT DIGEST (Scheduled, จาก HrAlertDigest)
+     * 
+     * รวม bad-mood alert ทั้ง window เป็น 1 notification
+     * - 1 alert → ข้อความปกติจาก employee คนนั้น
+     * - หลาย alert → digest จาก system user พร้อมรายชื่อ (link check-in ล่าสุด)
+     * 
+     * @param alerts alert ที่ครบ window (เรียงตามเวลา)
+     * @param window ความยาว window (ใช้ในข้อความ)
+     */
+    @Transactional
+    public void notifyHRAlertDigest(List<HrAlertDigest.PendingAlert> alerts, Duration window) {
+        HrAlertDigest.PendingAlert latest = alerts.get(alerts.size() - 1);
+        EmotionCheckin latestCheckin = checkinRepository.getReferenceById(latest.checkinId());
+        
+        if (alerts.size() == 1) {
+            notifyHRBadMood(userRepository.getReferenceById(latest.employeeId()), latestCheckin, false);
             return;
         }
         
-        // Create notification for each HR
+        List<String> names = alerts.stream()
+            .map(HrAlertDigest.PendingAlert::employeeName)
+            .distinct()
+            .collect(Collectors.toList());
+        
+        String listed = names.size() > DIGEST_MAX_NAMES ?
+            String.join(", ", names.subList(0, DIGEST_MAX_NAMES)) + " and " + (names.size() - DIGEST_MAX_NAMES) + " more" :
+            String.join(", ", names);
+        
         String message = String.format(
-            "Employee %s reported a negative mood. Please follow up.",
-            employee.getName()
+            "%d negative mood check-ins in the last %d minutes: %s. Please follow up.",
+            alerts.size(), Math.max(1, window.toMinutes()), listed
         );
         
-        for (User hr : hrs) {
-            Notification notification = Notification.builder()
-                .sender(employee)  // From employee
-                .receiver(hr)      // To HR
-                .message(message)
-                .readStatus(false)
-                .relatedCheckin(checkin)
-                .build();
-            
-            notificationRepository.save(notification);
-            log.info("✅ Notification sent to HR: {}", hr.getName());
+        log.warn("📰 Notifying HR with digest of {} bad-mood alerts", alerts.size());
+        broadcastToHR(userRepository.getReferenceById(systemUserId), message, latestCheckin);
+    }
+    
+    /**
+     * 📣 1 BroadcastNotification ถึง HR ที่ active ทุกคน + unread counter + SSE
+     */
+    private void broadcastToHR(User sender, String message, EmotionCheckin relatedCheckin) {
+        // Get all active HRs (cached ids)
+        List<Long> hrIds = hrRecipientCache.getActiveHrIds();
+        
+        if (hrIds.isEmpty()) {
+            log.warn("⚠️ No active HR found to notify");
+            return;
         }
+        
+        BroadcastNotification broadcast = BroadcastNotification.builder()
+            .sender(sender)
+            .message(message)
+            .audience(BroadcastNotification.roleAudience(User.Role.HR))
+            .recipients(BroadcastNotification.toBitmap(hrIds))
+            .relatedCheckin(relatedCheckin)
+            .build();
+        
+        broadcastNotificationRepository.save(broadcast);
+        unreadNotificationCounter.incrementAll(hrIds);
+        
+        // relatedCheckin เป็น bad-mood check-in เสมอ → ALERT / HIGH
+        liveEventBus.publishToUsers(LiveEvent.NOTIFICATION, hrIds, NotificationDTO.builder()
+            .id(broadcast.getId())
+            .message(message)
+            .senderName(sender.getName())
+            .senderRole(String.valueOf(sender.getRole()))
+            .readStatus(false)
+            .createdAt(broadcast.getCreatedAt())
+            .timeAgo(calculateTimeAgo(broadcast.getCreatedAt()))
+            .relatedCheckinId(relatedCheckin.getId())
+            .type(determineType(BAD_MOOD_LEVEL, sender.getRole()))
+            .priority(determinePriority(BAD_MOOD_LEVEL))
+            .broadcast(true)
+            .build());
+        log.info("✅ Bad-mood notification broadcast to {} HR", hrIds.size());
     }
     
     /**
@@ -103,12 +217,12 @@ public class NotificationService {
             senderId, request.getReceiverId());
         
         // Validate sender (must be HR or Admin)
-        User sender = userRepository.findById(senderId)
-            .orElseThrow(() -> new RuntimeException("Sender not found"));
+        SessionPrincipal principal = sessionContext.resolve(senderId, "Sender not found");
         
-        if (!sender.isHR() && !sender.isSuperAdmin()) {
+        if (!principal.isHR() && !principal.isSuperAdmin()) {
             throw new RuntimeException("Only HR/Admin can send notifications");
         }
+        User sender = userRepository.getReferenceById(senderId);
         
         // Validate receiver
         User receiver = userRepository.findById(request.getReceiverId())
@@ -128,6 +242,25 @@ public class NotificationService {
         }
         
         notificationRepository.save(notification);
+        unreadNotificationCounter.increment(receiver.getId());
+        
+        // id มาจาก pooled generator → INSERT (และ @CreationTimestamp) อาจยังไม่เกิดจนกว่าจะ flush
+        LocalDateTime createdAt = notification.getCreatedAt() != null ?
+            notification.getCreatedAt() :
+            LocalDateTime.now(ZoneId.of("Asia/Bangkok"));
+        
+        liveEventBus.publishToUsers(LiveEvent.NOTIFICATION, List.of(receiver.getId()), NotificationDTO.builder()
+            .id(notification.getId())
+            .message(notification.getMessage())
+            .senderName(principal.getName())
+            .senderRole(String.valueOf(principal.getRole()))
+            .readStatus(false)
+            .createdAt(createdAt)
+            .timeAgo(calculateTimeAgo(createdAt))
+            .type(determineType(null, principal.getRole()))
+            .priority(determinePriority(null))
+            .broadcast(false)
+            .build());
         
         // Log activity
         auditLogService.logSendNotification(sender, receiver);
@@ -136,39 +269,262 @@ public class NotificationService {
     }
     
     /**
-     * 📬 GET NOTIFICATIONS
+     * 📣 SEND BULK NOTIFICATION (Manual)
      * 
-     * @param userId User ID (receiver)
-     * @return List<NotificationDTO>
+     * HR ส่งข้อความเดียวถึงทั้งแผนก / ทั้ง role / รายชื่อ id
+     * 
+     * ⚡ Performance:
+     * - ผู้รับ resolve ใน 1 query (id เท่านั้น ไม่โหลด entity)
+     * - department / role → 1 BroadcastNotification + bitmap (DEPT:xxx / ROLE:xxx)
+     * - receiverIds → notification แถวละคน insert เป็น batch (pooled id generator)
+     * - Audit log 1 แถว (target + จำนวนผู้รับ)
+     * 
+     * @param senderId HR user ID
+     * @param request BulkNotificationRequest
+     * @return จำนวนผู้รับ
+     * @throws RuntimeException if validation fails
      */
-    @Transactional(readOnly = true)
-    public List<NotificationDTO> getNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional
+    public int sendBulkNotification(Long senderId, BulkNotificationRequest request) {
+        SessionPrincipal principal = sessionContext.resolve(senderId, "Sender not found");
         
-        List<Notification> notifications = notificationRepository.findByReceiver(user);
+        if (!principal.isHR() && !principal.isSuperAdmin()) {
+            throw new RuntimeException("Only HR/Admin can send notifications");
+        }
+        if (request.countTargets() != 1) {
+            throw new IllegalArgumentException("Specify exactly one of department, role or receiverIds");
+        }
         
-        return notifications.stream()
-            .map(this::convertToDTO)
+        EmotionCheckin relatedCheckin = null;
+        if (request.getRelatedCheckinId() != null) {
+            if (!checkinRepository.existsById(request.getRelatedCheckinId())) {
+                throw new RuntimeException("Related check-in not found");
+            }
+            relatedCheckin = checkinRepository.getReferenceById(request.getRelatedCheckinId());
+        }
+        
+        User sender = userRepository.getReferenceById(senderId);
+        String target;
+        List<Long> recipientIds;
+        
+        if (request.getReceiverIds() != null && !request.getReceiverIds().isEmpty()) {
+            target = "USERS";
+            recipientIds = userRepository.findActiveIdsByIdIn(Set.copyOf(request.getReceiverIds()));
+            if (recipientIds.isEmpty()) {
+                throw new RuntimeException("Receiver not found");
+            }
+            sendDirect(sender, principal, recipientIds, request.getMessage(), relatedCheckin);
+        } else {
+            if (request.getDepartment() != null && !request.getDepartment().isBlank()) {
+                target = BroadcastNotification.departmentAudience(request.getDepartment().trim());
+                recipientIds = userRepository.findActiveIdsByDepartment(request.getDepartment().trim());
+            } else {
+                User.Role role = User.Role.valueOf(request.getRole().trim().toUpperCase());
+                target = BroadcastNotification.roleAudience(role);
+                recipientIds = userRepository.findActiveIdsByRole(role);
+            }
+            if (recipientIds.isEmpty()) {
+                throw new RuntimeException("No active users found for " + target);
+            }
+            sendBroadcast(sender, principal.getName(), principal.getRole(),
+                target, recipientIds, request.getMessage(), relatedCheckin);
+        }
+        
+        auditLogService.logBulkSendNotification(sender, target, recipientIds.size());
+        log.info("✅ Bulk notification from user {} sent to {} ({} recipients)", 
+            senderId, target, recipientIds.size());
+        return recipientIds.size();
+    }
+    
+    /**
+     * 📨 notification แถวละผู้รับ (Hibernate batch insert) + unread counter + SSE
+     * 
+     * ⚡ id มาจาก pooled table generator → saveAll ถูกรวมเป็น batch INSERT ตอน flush
+     *    (hibernate.jdbc.batch_size + rewriteBatchedStatements)
+     */
+    private void sendDirect(
+        User sender,
+        SessionPrincipal principal,
+        List<Long> recipientIds,
+        String message,
+        EmotionCheckin relatedCheckin
+    ) {
+        LocalDateTime createdAt = LocalDateTime.now(ZoneId.of("Asia/Bangkok"));
+        
+        List<Notification> notifications = recipientIds.stream()
+            .map(receiverId -> Notification.builder()
+                .sender(sender)
+                .receiver(userRepository.getReferenceById(receiverId))
+                .message(message)
+                .readStatus(false)
+                .relatedCheckin(relatedCheckin)
+                .build())
             .collect(Collectors.toList());
+        
+        notificationRepository.saveAll(notifications);
+        unreadNotificationCounter.incrementAll(recipientIds);
+        
+        for (Notification notification : notifications) {
+            liveEventBus.publishToUsers(LiveEvent.NOTIFICATION, List.of(notification.getReceiver().getId()), NotificationDTO.builder()
+                .id(notification.getId())
+                .message(message)
+                .senderName(principal.getName())
+                .senderRole(String.valueOf(principal.getRole()))
+                .readStatus(false)
+                .createdAt(createdAt)
+                .timeAgo(calculateTimeAgo(createdAt))
+                .relatedCheckinId(relatedCheckin != null ? relatedCheckin.getId() : null)
+                .type(determineType(null, principal.getRole()))
+                .priority(determinePriority(null))
+                .broadcast(false)
+                .build());
+        }
+    }
+    
+    /**
+     * 🤖 SEND SYSTEM BROADCAST (Scheduled jobs เช่น check-in reminder)
+     * 
+     * 1 BroadcastNotification จาก system user ถึงผู้รับที่ระบุ
+     * 
+     * @param audience เช่น "ROLE:EMPLOYEE"
+     * @param recipientIds ผู้รับ (ต้องอยู่ใน audience)
+     * @param message ข้อความ
+     */
+    @Transactional
+    public void sendSystemBroadcast(String audience, List<Long> recipientIds, String message) {
+        if (recipientIds.isEmpty()) return;
+        
+        User sender = userRepository.getReferenceById(systemUserId);
+        sendBroadcast(sender, sender.getName(), sender.getRole(), audience, recipientIds, message, null);
+        log.info("🤖 System broadcast to {} ({} recipients)", audience, recipientIds.size());
     }
     
     /**
-     * 🔴 GET UNREAD NOTIFICATIONS
+     * 📣 1 BroadcastNotification (DEPT:/ROLE:) + unread counter + SSE
+     */
+    private void sendBroadcast(
+        User sender,
+        String senderName,
+        User.Role senderRole,
+        String audience,
+        List<Long> recipientIds,
+        String message,
+        EmotionCheckin relatedCheckin
+    ) {
+        BroadcastNotification broadcast = BroadcastNotification.builder()
+            .sender(sender)
+            .message(message)
+            .audience(audience)
+            .recipients(BroadcastNotification.toBitmap(recipientIds))
+            .relatedCheckin(relatedCheckin)
+            .build();
+        
+        broadcastNotificationRepository.save(broadcast);
+        unreadNotificationCounter.incrementAll(recipientIds);
+        
+        liveEventBus.publishToUsers(LiveEvent.NOTIFICATION, recipientIds, NotificationDTO.builder()
+            .id(broadcast.getId())
+            .message(message)
+            .senderName(senderName)
+            .senderRole(String.valueOf(senderRole))
+            .readStatus(false)
+            .createdAt(broadcast.getCreatedAt())
+            .timeAgo(calculateTimeAgo(broadcast.getCreatedAt()))
+            .relatedCheckinId(relatedCheckin != null ? relatedCheckin.getId() : null)
+            .type(determineType(null, senderRole))
+            .priority(determinePriority(null))
+            .broadcast(true)
+            .build());
+    }
+    
+    /**
+     * 📬 GET NOTIFICATIONS (Cursor-paginated inbox)
+     * 
+     * ✅ Keyset pagination:
+     * - direct: (createdAt, id) < cursor ผ่าน index (receiver_id, createdAt, id)
+     * - broadcast: ดึงทีละ batch ตาม audience แล้วกรอง bitmap จนครบหน้า
+     *   (ไม่เกิน app.notification.broadcast-scan-max-batches ต่อ request)
+     * - รวม 2 แหล่งตามลำดับ (createdAt, broadcast, id) DESC แล้วตัดที่ limit (mergePage)
+     * 
+     * ⚠️ scan broadcast ถึงเพดานก่อนครบหน้า → หน้านี้อาจมีน้อยกว่า limit (หรือว่าง) แต่ hasMore = true
+     *    nextCursor = จุดที่ scan ถึง → client ขอหน้าถัดไปตามปกติ
      * 
      * @param userId User ID (receiver)
-     * @return List<NotificationDTO>
+     * @param cursor nextCursor จากหน้าก่อน (null = หน้าแรก)
+     * @param limit จำนวนต่อหน้า (จำกัดที่ app.notification.page-size-max)
+     * @param unreadOnly true = เฉพาะที่ยังไม่อ่าน
+     * @return NotificationPage
      */
     @Transactional(readOnly = true)
-    public List<NotificationDTO> getUnreadNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public NotificationPage getNotifications(Long userId, String cursor, int limit, boolean unreadOnly) {
+        SessionPrincipal principal = sessionContext.resolve(userId, "User not found");
         
-        List<Notification> notifications = notificationRepository.findUnreadByReceiver(user);
+        NotificationCursor position = NotificationCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
         
-        return notifications.stream()
+        // ดึงเกิน 1 รายการเพื่อรู้ว่ามีหน้าถัดไปไหม
+        List<NotificationDTO> candidates = notificationRepository.findPageByReceiver(
+                userId,
+                unreadOnly,
+                position.createdAt(),
+                position.directIdBound(),
+                PageRequest.of(0, pageSize + 1)
+            ).stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
+        
+        BroadcastScan broadcasts = findBroadcastPage(principal, position, pageSize + 1, unreadOnly);
+        candidates.addAll(broadcasts.items());
+        
+        return mergePage(candidates, broadcasts.frontier(), pageSize);
+    }
+    
+    /**
+     * 🔀 MERGE - รวม direct + broadcast เป็น 1 หน้า
+     * 
+     * 1. เรียงตาม INBOX_ORDER
+     * 2. frontier != null (scan broadcast ไม่ครบ) → ตัดรายการที่อยู่หลัง frontier ทิ้ง
+     *    (broadcast หลังจากนั้นยังไม่ได้ดู → ถ้าแสดง direct ที่เก่ากว่า จะข้าม broadcast ไป)
+     * 3. เกิน pageSize → nextCursor = รายการสุดท้ายของหน้า
+     *    ไม่เกินแต่มี frontier → nextCursor = frontier (ทำต่อจากจุดที่ scan ถึง)
+     * 
+     * @param candidates direct (≤ pageSize + 1 จาก cursor) + broadcast ที่ scan ได้
+     * @param frontier broadcast สุดท้ายที่ scan ถึง (null = scan ครบแล้ว)
+     * @param pageSize จำนวนต่อหน้า
+     * @return NotificationPage
+     */
+    static NotificationPage mergePage(List<NotificationDTO> candidates, NotificationCursor frontier, int pageSize) {
+        List<NotificationDTO> sorted = new ArrayList<>(candidates);
+        sorted.sort(INBOX_ORDER);
+        if (frontier != null) {
+            sorted.removeIf(item -> frontier.precedes(
+                item.getCreatedAt(), Boolean.TRUE.equals(item.getBroadcast()), item.getId()
+            ));
+        }
+        
+        boolean hasMore = sorted.size() > pageSize;
+        List<NotificationDTO> items = hasMore ? 
+            new ArrayList<>(sorted.subList(0, pageSize)) : 
+            sorted;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDTO last = items.get(items.size() - 1);
+            nextCursor = new NotificationCursor(
+                last.getCreatedAt(),
+                Boolean.TRUE.equals(last.getBroadcast()),
+                last.getId()
+            ).encode();
+        } else if (frontier != null) {
+            hasMore = true;
+            nextCursor = frontier.encode();
+        }
+        
+        return NotificationPage.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
     }
     
     /**
@@ -179,84 +535,209 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public long countUnreadNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        sessionContext.resolve(userId, "User not found");
         
-        return notificationRepository.countUnreadByReceiver(user);
+        // ⚡ O(1): cache → notification_unread_count (ไม่ COUNT(*) ตาราง notification)
+        return unreadNotificationCounter.get(userId);
     }
     
     /**
      * ✅ MARK AS READ (Single)
      * 
      * @param notificationId Notification ID
+     * @param broadcast true = id ของ BroadcastNotification
+     * @param userId User ID (ต้องมีเมื่อ broadcast = true)
      */
     @Transactional
-    public void markAsRead(Long notificationId) {
-        notificationRepository.markAsRead(notificationId);
-        log.info("✅ Notification {} marked as read", notificationId);
+    public void markAsRead(Long notificationId, boolean broadcast, Long userId) {
+        if (!broadcast) {
+            Optional<Long> receiverId = notificationRepository.findUnreadReceiverId(notificationId);
+            if (receiverId.isPresent() && notificationRepository.markAsRead(notificationId) > 0) {
+                unreadNotificationCounter.decrement(receiverId.get());
+            }
+            log.info("✅ Notification {} marked as read", notificationId);
+            return;
+        }
+        
+        if (userId == null) {
+            throw new IllegalArgumentException("X-User-Id is required for broadcast notifications");
+        }
+        
+        BroadcastRecipientsView notification = broadcastNotificationRepository.findRecipientsById(notificationId)
+            .orElseThrow(() -> new RuntimeException("Notification not found"));
+        if (!BroadcastNotification.hasBit(notification.getRecipients(), userId)) {
+            return;
+        }
+        
+        // lock แค่แถวยอด unread ของ user นี้ → request ซ้อนของ user เดียวกันไม่ลดยอดซ้ำ
+        unreadNotificationCounter.lock(userId);
+        if (!readMarkerRepository.existsByBroadcastIdAndUserId(notificationId, userId)) {
+            readMarkerRepository.save(new BroadcastReadMarker(notificationId, userId, LocalDateTime.now(ZoneId.of("Asia/Bangkok"))));
+            unreadNotificationCounter.decrement(userId);
+            log.info("✅ Broadcast {} marked as read by user {}", notificationId, userId);
+        }
     }
     
     /**
      * ✅ MARK ALL AS READ
      * 
+     * ⚡ ไม่ lock แถว broadcast: insert read marker เฉพาะ broadcast ที่ user ยังไม่ได้อ่าน
+     * 
      * @param userId User ID (receiver)
      */
     @Transactional
     public void markAllAsRead(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        SessionPrincipal principal = sessionContext.resolve(userId, "User not found");
+        User user = userRepository.getReferenceById(userId);
         
+        // reset ก่อน → UPDATE lock แถวยอดของ user นี้ไว้จนจบ transaction (serialize กับ markAsRead)
+        unreadNotificationCounter.reset(userId);
         notificationRepository.markAllAsRead(user);
-        log.info("✅ All notifications marked as read for user {}", userId);
+        
+        LocalDateTime readAt = LocalDateTime.now(ZoneId.of("Asia/Bangkok"));
+        List<BroadcastReadMarker> markers = broadcastNotificationRepository
+            .findUnreadByAudienceIn(audiencesOf(principal), userId).stream()
+            .filter(broadcast -> BroadcastNotification.hasBit(broadcast.getRecipients(), userId))
+            .map(broadcast -> new BroadcastReadMarker(broadcast.getId(), userId, readAt))
+            .collect(Collectors.toList());
+        readMarkerRepository.saveAll(markers);
+        
+        log.info("✅ All notifications marked as read for user {} ({} broadcasts)", userId, markers.size());
     }
     
     /**
-     * 🗑️ DELETE OLD NOTIFICATIONS (Cleanup)
+     * 📣 ผล scan broadcast
      * 
-     * ลบ notifications ที่อ่านแล้วและเก่ากว่า 30 วัน
+     * @param items broadcast ที่ user เป็นผู้รับ (≤ wanted)
+     * @param frontier broadcast แถวสุดท้ายที่ scan ถึงเมื่อหยุดเพราะเพดาน batch (null = ได้ครบ / หมดแล้ว)
+     */
+    record BroadcastScan(List<NotificationDTO> items, NotificationCursor frontier) {}
+    
+    /**
+     * 📣 Broadcast ที่ user นี้เป็นผู้รับ ต่อจาก cursor (สูงสุด wanted รายการ)
      * 
-     * @param daysOld จำนวนวันเก่า (default = 30)
+     * ดึงทีละ batch ตาม audience (index) แล้วกรอง bitmap จนได้ครบ, หมด หรือครบ maxBroadcastBatches
+     * (audience ใหญ่ที่ user ไม่ได้อยู่ใน bitmap เช่น ROLE:EMPLOYEE แบบเลือก id → ไม่ scan ยาวใน request เดียว)
+     * สถานะอ่านแล้ว: read marker ของ batch นั้น (1 query ต่อ batch, primary key)
      */
-    @Transactional
-    public void cleanupOldNotifications(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now(ZoneId.of("Asia/Bangkok"))
-            .minusDays(daysOld);
+    private BroadcastScan findBroadcastPage(
+        SessionPrincipal principal,
+        NotificationCursor position,
+        int wanted,
+        boolean unreadOnly
+    ) {
+        Long userId = principal.getId();
+        List<String> audiences = audiencesOf(principal);
+        List<NotificationDTO> matched = new ArrayList<>();
+        LocalDateTime before = position.createdAt();
+        long idBound = position.broadcastIdBound();
+        NotificationCursor frontier = null;
+        int batches = 0;
         
-        notificationRepository.deleteOldReadNotifications(cutoffDate);
-        log.info("🗑️ Deleted notifications older than {} days", daysOld);
+        while (matched.size() < wanted) {
+            List<BroadcastNotificationView> batch = broadcastNotificationRepository.findPageByAudienceIn(
+                audiences, before, idBound, PageRequest.of(0, wanted)
+            );
+            
+            List<BroadcastNotificationView> received = batch.stream()
+                .filter(broadcast -> BroadcastNotification.hasBit(broadcast.getRecipients(), userId))
+                .collect(Collectors.toList());
+            Set<Long> read = received.isEmpty() ? Set.of() : new HashSet<>(
+                readMarkerRepository.findReadBroadcastIds(userId,
+                    received.stream().map(BroadcastNotificationView::getId).toList())
+            );
+            
+            for (BroadcastNotificationView broadcast : received) {
+                boolean isRead = read.contains(broadcast.getId());
+                if (!unreadOnly || !isRead) {
+                    matched.add(convertToDTO(broadcast, isRead));
+                }
+            }
+            
+            if (batch.size() < wanted) {
+                break;  // หมดแล้ว
+            }
+            BroadcastNotificationView last = batch.get(batch.size() - 1);
+            before = last.getCreatedAt();
+            idBound = last.getId();
+            
+            if (++batches >= maxBroadcastBatches && matched.size() < wanted) {
+                frontier = new NotificationCursor(before, true, idBound);
+                break;  // เพดานต่อ request → หน้าถัดไปทำต่อจาก frontier
+            }
+        }
+        
+        return new BroadcastScan(matched.size() > wanted ? matched.subList(0, wanted) : matched, frontier);
+    }
+    
+    /**
+     * 🏷️ Audience keys ที่ user อาจอยู่ (role + department)
+     */
+    private List<String> audiencesOf(SessionPrincipal principal) {
+        List<String> audiences = new ArrayList<>();
+        audiences.add(BroadcastNotification.roleAudience(principal.getRole()));
+        // แผนกอ่านจากแถว user (assignDepartment มีผลทันที ไม่ต้องรอ token ใหม่)
+        userRepository.findDepartmentById(principal.getId())
+            .ifPresent(department -> audiences.add(BroadcastNotification.departmentAudience(department)));
+        return audiences;
     }
     
     /**
      * 🔄 CONVERT TO DTO
      * 
-     * @param notification Notification entity
+     * @param notification NotificationView (projection)
      * @return NotificationDTO
      */
-    private NotificationDTO convertToDTO(Notification notification) {
+    private NotificationDTO convertToDTO(NotificationView notification) {
         return NotificationDTO.builder()
             .id(notification.getId())
             .message(notification.getMessage())
-            .senderName(notification.getSender().getName())
-            .senderRole(notification.getSender().getRole().toString())
+            .senderName(notification.getSenderName())
+            .senderRole(String.valueOf(notification.getSenderRole()))
             .readStatus(notification.getReadStatus())
             .createdAt(notification.getCreatedAt())
             .timeAgo(calculateTimeAgo(notification.getCreatedAt()))
-            .relatedCheckinId(notification.getRelatedCheckin() != null ? 
-                notification.getRelatedCheckin().getId() : null)
-            .type(determineType(notification))
-            .priority(determinePriority(notification))
+            .relatedCheckinId(notification.getRelatedCheckinId())
+            .type(determineType(notification.getCheckinLevel(), notification.getSenderRole()))
+            .priority(determinePriority(notification.getCheckinLevel()))
+            .broadcast(false)
+            .build();
+    }
+    
+    /**
+     * 🔄 CONVERT TO DTO (Broadcast)
+     * 
+     * @param notification BroadcastNotificationView (projection)
+     * @param read ผู้รับที่กำลังดูมี read marker แล้วหรือยัง
+     * @return NotificationDTO
+     */
+    private NotificationDTO convertToDTO(BroadcastNotificationView notification, boolean read) {
+        return NotificationDTO.builder()
+            .id(notification.getId())
+            .message(notification.getMessage())
+            .senderName(notification.getSenderName())
+            .senderRole(String.valueOf(notification.getSenderRole()))
+            .readStatus(read)
+            .createdAt(notification.getCreatedAt())
+            .timeAgo(calculateTimeAgo(notification.getCreatedAt()))
+            .relatedCheckinId(notification.getRelatedCheckinId())
+            .type(determineType(notification.getCheckinLevel(), notification.getSenderRole()))
+            .priority(determinePriority(notification.getCheckinLevel()))
+            .broadcast(true)
             .build();
     }
     
     /**
      * 🏷️ DETERMINE TYPE
+     * 
+     * @param checkinLevel emotionLevel ของ check-in ที่เกี่ยวข้อง (nullable)
+     * @param senderRole role ของผู้ส่ง
      */
-    private String determineType(Notification notification) {
-        if (notification.getRelatedCheckin() != null && 
-            notification.getRelatedCheckin().isBadMood()) {
+    private String determineType(Integer checkinLevel, User.Role senderRole) {
+        if (isBadMoodLevel(checkinLevel)) {
             return "ALERT";  // System alert for bad mood
         }
-        if (notification.getSender().isHR()) {
+        if (senderRole == User.Role.HR) {
             return "MESSAGE";  // HR message
         }
         return "SYSTEM";
@@ -264,15 +745,21 @@ public class NotificationService {
     
     /**
      * 🔴 DETERMINE PRIORITY
+     * 
+     * @param checkinLevel emotionLevel ของ check-in ที่เกี่ยวข้อง (nullable)
      */
-    private String determinePriority(Notification notification) {
-        if (notification.getRelatedCheckin() != null && 
-            notification.getRelatedCheckin().isBadMood()) {
+    private String determinePriority(Integer checkinLevel) {
+        if (isBadMoodLevel(checkinLevel)) {
             return "HIGH";  // Bad mood = high priority
         }
         return "NORMAL";
     }
     
+    /** ตรงกับ EmotionCheckin.isBadMood() */
+    private boolean isBadMoodLevel(Integer checkinLevel) {
+        return checkinLevel != null && checkinLevel == BAD_MOOD_LEVEL;
+    }
+    
     /**
      * ⏰ CALCULATE TIME AGO
      */
@@ -0,0 +1,106 @@
+package come.emotion_checkin_syetem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/PasswordHashingService.java
+ *
+ * 🔒 PASSWORD HASHING SERVICE - BCrypt encode/verify บน executor ที่จำกัดขนาด
+ *
+ * ✅ Features:
+ * - ใช้ BCryptPasswordEncoder bean ตัวเดียวทั้งระบบ
+ * - งาน BCrypt รันบน passwordHashExecutor (ไม่กิน Tomcat threads เกินจำเป็น)
+ * - คิวเต็ม / รอนานเกิน → fail ทันทีด้วยข้อความ "Too many ..." (→ 429)
+ * - needsRehash() สำหรับ rehash เมื่อ strength เปลี่ยน
+ *
+ * ⚠️ NOTE:
+ * - อย่าเรียกใน @Transactional ที่ถือ DB connection อยู่ (จะถือ connection ระหว่างรอคิว)
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private static final String OVERLOADED_MESSAGE =
+        "Too many login requests in progress. Please try again shortly.";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordHashingService(
+        BCryptPasswordEncoder passwordEncoder,
+        @Qualifier("passwordHashExecutor") ThreadPoolExecutor executor,
+        @Value("${app.security.bcrypt.timeout-ms:5000}") long timeoutMillis
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 🔒 ENCODE
+     *
+     * @param rawPassword Plain text password
+     * @return BCrypt hash
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * ✅ MATCHES
+     *
+     * @param rawPassword Plain text password
+     * @param encodedPassword BCrypt hash
+     * @return true if match
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 🔄 NEEDS REHASH - hash นี้ใช้ strength ต่ำกว่าที่ตั้งไว้หรือไม่ (ไม่กิน CPU)
+     *
+     * @param encodedPassword BCrypt hash
+     * @return true ถ้าควร encode ใหม่
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("🔒 Password hash queue full ({} waiting)", executor.getQueue().size());
+            throw new RuntimeException(OVERLOADED_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("🔒 Password hash timed out after {}ms", timeoutMillis);
+            throw new RuntimeException(OVERLOADED_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
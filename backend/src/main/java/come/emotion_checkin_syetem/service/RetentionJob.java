@@ -0,0 +1,265 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.BroadcastNotification;
+import come.emotion_checkin_syetem.entity.JobCheckpoint;
+import come.emotion_checkin_syetem.entity.JobRun;
+import come.emotion_checkin_syetem.repository.AuditLogRepository;
+import come.emotion_checkin_syetem.repository.BroadcastNotificationRepository;
+import come.emotion_checkin_syetem.repository.BroadcastReadMarkerRepository;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
+import come.emotion_checkin_syetem.repository.JobCheckpointRepository;
+import come.emotion_checkin_syetem.repository.NotificationRepository;
+import come.emotion_checkin_syetem.repository.projection.BroadcastRecipientsView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/RetentionJob.java
+ *
+ * 🗑️ RETENTION JOB - ลบข้อมูลเก่าทีละ chunk (ไม่ล็อกตารางยาว)
+ *
+ * ✅ Tasks:
+ * - notification: ที่อ่านแล้ว + เก่ากว่า app.retention.notification-days
+ * - broadcast_notification: ที่ผู้รับทุกคนอ่านแล้ว (+ read marker) + เก่ากว่า notification-days
+ * - audit_log: เก่ากว่า app.retention.audit-log-days (สถิติยังอยู่ใน audit_action_daily)
+ * - emotion_checkin.comment: ลบข้อความส่วนตัวที่เก่ากว่า app.retention.comment-days
+ *
+ * ✅ Lock-friendly:
+ * - ทีละช่วง id (app.retention.chunk-size) → 1 transaction สั้นๆ ต่อ chunk
+ * - พักระหว่าง chunk (app.retention.pause-ms) ให้ traffic ปกติได้ lock / replica ตามทัน
+ * - Time budget ต่อรอบ (app.retention.time-budget-ms) → หมดเวลาแล้วหยุด
+ *
+ * ✅ ทำต่อ + หลาย instance:
+ * - Checkpoint ต่อ task (job_checkpoint "retention:<task>") บันทึกพร้อมแต่ละ chunk
+ *   → รอบหน้า (หรือหลัง restart) เริ่มจาก chunk ที่ค้าง ทำครบช่วงแล้วลบ checkpoint
+ * - Claim รอบด้วย job_run (retention, วันนี้) → วันละครั้ง, instance เดียว
+ *
+ * 📊 Report: log จำนวนแถว + chunk ของแต่ละ task ทุกรอบ
+ *
+ * ⚠️ NOTE:
+ * - ปิดเป็นค่าเริ่มต้น (app.retention.enabled=false) เพราะลบข้อมูลถาวร
+ *   → ตกลงจำนวนวันของแต่ละ task ก่อน แล้วค่อยเปิด (ค่าต่างๆ อธิบายใน application.properties)
+ */
+@Component
+@Slf4j
+public class RetentionJob {
+
+    private static final String JOB_NAME = "retention";
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private final TransactionTemplate transactionTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final JobRunClaims jobRunClaims;
+    private final JobCheckpointRepository checkpointRepository;
+    private final List<RetentionTask> tasks;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.retention.chunk-size:5000}")
+    private long chunkSize;
+
+    @Value("${app.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${app.retention.time-budget-ms:600000}")
+    private long timeBudgetMillis;
+
+    /** ผลของ 1 task ใน 1 รอบ */
+    public record TaskReport(String task, long rows, int chunks, boolean completed) {}
+
+    public RetentionJob(
+        PlatformTransactionManager transactionManager,
+        BulkheadRegistry bulkheadRegistry,
+        JobRunClaims jobRunClaims,
+        JobCheckpointRepository checkpointRepository,
+        NotificationRepository notificationRepository,
+        BroadcastNotificationRepository broadcastNotificationRepository,
+        BroadcastReadMarkerRepository readMarkerRepository,
+        AuditLogRepository auditLogRepository,
+        EmotionCheckinRepository checkinRepository,
+        @Value("${app.retention.notification-days:30}") int notificationDays,
+        @Value("${app.retention.audit-log-days:365}") int auditLogDays,
+        @Value("${app.retention.comment-days:180}") int commentDays
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.jobRunClaims = jobRunClaims;
+        this.checkpointRepository = checkpointRepository;
+
+        this.tasks = List.of(
+            RetentionTask.builder()
+                .name("notification")
+                .retentionDays(notificationDays)
+                .minId(notificationRepository::findMinId)
+                .maxId(notificationRepository::findMaxIdCreatedBefore)
+                .processor(notificationRepository::deleteReadInRange)
+                .build(),
+
+            RetentionTask.builder()
+                .name("broadcast_notification")
+                .retentionDays(notificationDays)
+                .minId(broadcastNotificationRepository::findMinId)
+                .maxId(broadcastNotificationRepository::findMaxIdCreatedBefore)
+                .processor((fromId, toId, cutoff) -> {
+                    List<BroadcastRecipientsView> expired = broadcastNotificationRepository
+                        .findInRangeCreatedBefore(fromId, toId, cutoff);
+                    if (expired.isEmpty()) {
+                        return 0;
+                    }
+
+                    // ผู้รับทุกคนอ่านแล้ว = จำนวน read marker เท่ากับจำนวน bit ผู้รับ
+                    Map<Long, Long> readCounts = new HashMap<>();
+                    for (Object[] row : readMarkerRepository.countByBroadcastIds(
+                            expired.stream().map(BroadcastRecipientsView::getId).toList())) {
+                        readCounts.put((Long) row[0], ((Number) row[1]).longValue());
+                    }
+                    List<Long> fullyRead = expired.stream()
+                        .filter(b -> readCounts.getOrDefault(b.getId(), 0L)
+                            >= BroadcastNotification.recipientCount(b.getRecipients()))
+                        .map(BroadcastRecipientsView::getId)
+                        .collect(Collectors.toList());
+                    if (fullyRead.isEmpty()) {
+                        return 0;
+                    }
+
+                    readMarkerRepository.deleteByBroadcastIds(fullyRead);
+                    broadcastNotificationRepository.deleteAllByIdInBatch(fullyRead);
+                    return fullyRead.size();
+                })
+                .build(),
+
+            RetentionTask.builder()
+                .name("audit_log")
+                .retentionDays(auditLogDays)
+                .minId(auditLogRepository::findMinId)
+                .maxId(auditLogRepository::findMaxIdCreatedBefore)
+                .processor(auditLogRepository::deleteInRange)
+                .build(),
+
+            RetentionTask.builder()
+                .name("emotion_checkin.comment")
+                .retentionDays(commentDays)
+                .minId(checkinRepository::findMinId)
+                .maxId(cutoff -> checkinRepository.findMaxIdCheckedInBefore(cutoff.toLocalDate()))
+                .processor((fromId, toId, cutoff) ->
+                    checkinRepository.clearCommentsInRange(fromId, toId, cutoff.toLocalDate()))
+                .build()
+        );
+    }
+
+    /**
+     * ⏰ RUN - ตามรอบ (default ตี 2:30 เวลาไทย)
+     */
+    @Scheduled(cron = "${app.retention.cron:0 30 2 * * *}", zone = "Asia/Bangkok")
+    public void scheduledRun() {
+        if (enabled) {
+            bulkheadRegistry.runJob("retention", this::run);
+        }
+    }
+
+    /**
+     * 🗑️ RUN - ทำทุก task ตามลำดับภายใน time budget
+     *
+     * @return report ของแต่ละ task (task ที่ไม่ได้เริ่มเพราะหมดเวลา = completed false, 0 แถว)
+     *         ว่าง = รอบของวันนี้ถูก claim ไปแล้ว
+     */
+    public List<TaskReport> run() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("🗑️ Retention job already running, skipped");
+            return List.of();
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now(BANGKOK);
+            Optional<JobRun> claim = jobRunClaims.claim(JOB_NAME, now.toLocalDate());
+            if (claim.isEmpty()) {
+                log.info("🗑️ Retention for {} already claimed, skipped", now.toLocalDate());
+                return List.of();
+            }
+
+            long deadline = System.currentTimeMillis() + timeBudgetMillis;
+            List<TaskReport> reports = new ArrayList<>();
+
+            for (RetentionTask task : tasks) {
+                TaskReport report = runTask(task, now.minusDays(task.getRetentionDays()), deadline);
+                reports.add(report);
+                log.info("🗑️ Retention {}: {} rows in {} chunks{}", report.task(), report.rows(),
+                    report.chunks(), report.completed() ? "" : " (time budget reached, continues next run)");
+            }
+
+            jobRunClaims.complete(claim.get(), reports.stream().mapToLong(TaskReport::rows).sum());
+            return reports;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private TaskReport runTask(RetentionTask task, LocalDateTime cutoff, long deadline) {
+        if (System.currentTimeMillis() >= deadline) {
+            return new TaskReport(task.getName(), 0, 0, false);
+        }
+
+        String checkpoint = JOB_NAME + ":" + task.getName();
+        Long minId = task.getMinId().get();
+        Long maxId = task.getMaxId().apply(cutoff);
+        if (minId == null || maxId == null) {
+            clearCheckpoint(checkpoint);
+            return new TaskReport(task.getName(), 0, 0, true);
+        }
+
+        // ทำต่อจากรอบก่อนที่หมดเวลากลางทาง
+        long startId = Math.max(minId, checkpointRepository.findNextIdByName(checkpoint).orElse(minId));
+        long rows = 0;
+        int chunks = 0;
+
+        for (long fromId = startId; fromId <= maxId; fromId += chunkSize) {
+            if (System.currentTimeMillis() >= deadline) {
+                return new TaskReport(task.getName(), rows, chunks, false);
+            }
+
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize, maxId + 1);
+            Integer affected = transactionTemplate.execute(status -> {
+                int processed = task.getProcessor().process(from, to, cutoff);
+                checkpointRepository.save(JobCheckpoint.builder().name(checkpoint).nextId(to).build());
+                return processed;
+            });
+            rows += affected != null ? affected : 0;
+            chunks++;
+
+            if (pauseMillis > 0 && to <= maxId) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new TaskReport(task.getName(), rows, chunks, false);
+                }
+            }
+        }
+
+        clearCheckpoint(checkpoint);
+        return new TaskReport(task.getName(), rows, chunks, true);
+    }
+
+    /** ครบช่วงแล้ว → รอบหน้าเริ่มจาก id แรก (แถวเก่าที่เพิ่งเข้าเงื่อนไข เช่น เพิ่งถูกอ่าน) */
+    private void clearCheckpoint(String checkpoint) {
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.deleteByNameIfExists(checkpoint));
+    }
+}
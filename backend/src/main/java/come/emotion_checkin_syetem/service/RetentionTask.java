@@ -0,0 +1,39 @@
+package come.emotion_checkin_syetem.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/RetentionTask.java
+ *
+ * 🗑️ RETENTION TASK - นิยาม 1 ตาราง/ข้อมูลที่ RetentionJob ต้องลบ (หรือ scrub)
+ *
+ * ✅ แต่ละ task บอก:
+ * - retentionDays: เก็บไว้กี่วัน
+ * - minId / maxId: ช่วง id ที่อาจหมดอายุ (maxId = id สูงสุดที่เก่ากว่า cutoff)
+ * - processor: จัดการ 1 chunk [fromId, toId) แล้วคืนจำนวนแถวที่ถูกลบ/แก้
+ *
+ * ⚠️ NOTE:
+ * - processor ต้องเช็ค cutoff เองด้วย (ช่วง id อาจมีแถวที่ยังไม่หมดอายุปนอยู่)
+ * - processor ต้องทำซ้ำได้: chunk ที่ commit ไม่ทันก่อน restart จะถูกทำใหม่จาก checkpoint
+ * - name ใช้เป็น key ของ checkpoint (job_checkpoint "retention:<name>") → เปลี่ยนชื่อ = เริ่มใหม่จากต้น
+ */
+@Getter
+@Builder
+public class RetentionTask {
+
+    private final String name;
+    private final int retentionDays;
+    private final Supplier<Long> minId;
+    private final Function<LocalDateTime, Long> maxId;
+    private final ChunkProcessor processor;
+
+    @FunctionalInterface
+    public interface ChunkProcessor {
+        int process(long fromId, long toId, LocalDateTime cutoff);
+    }
+}
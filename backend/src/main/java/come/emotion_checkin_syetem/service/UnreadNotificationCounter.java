@@ -0,0 +1,270 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.config.BulkheadRegistry;
+import come.emotion_checkin_syetem.entity.JobRun;
+import come.emotion_checkin_syetem.entity.UnreadNotificationCount;
+import come.emotion_checkin_syetem.repository.BroadcastNotificationRepository;
+import come.emotion_checkin_syetem.repository.BroadcastReadMarkerRepository;
+import come.emotion_checkin_syetem.repository.NotificationRepository;
+import come.emotion_checkin_syetem.repository.UnreadNotificationCountRepository;
+import come.emotion_checkin_syetem.repository.UserRepository;
+import come.emotion_checkin_syetem.repository.projection.BroadcastRecipientsView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/UnreadNotificationCounter.java
+ *
+ * 🔴 UNREAD NOTIFICATION COUNTER - ยอด unread ต่อ user (badge)
+ *
+ * ✅ Features:
+ * - get(): read-through cache ใน memory → ตาราง notification_unread_count (PK lookup)
+ * - increment/decrement/reset: UPDATE แบบ atomic ใน transaction เดียวกับ notification
+ * - Cache ถูก evict หลัง commit (ไม่เห็นค่าที่ rollback)
+ * - ทุกการเปลี่ยนแปลง push "unread-count" ผ่าน LiveEventBus (client ไม่ต้อง poll)
+ * - reconcile(): คำนวณใหม่จาก notification + broadcast_notification + broadcast_read_marker
+ *   (วันละครั้ง ตาม app.notification.unread-reconcile-cron, claim ผ่าน job_run → ทั้ง cluster ทำครั้งเดียว)
+ *
+ * ⚠️ NOTE:
+ * - reconcile แก้ด้วย UPDATE count = count + delta เฉพาะแถวที่ version ยังเท่าตอนอ่าน
+ *   → แถวที่มี increment/decrement ระหว่าง scan ถูกข้าม (ไม่ทับ) → reconcile รอบถัดไปแก้ให้
+ * - Cleanup ลบเฉพาะ notification ที่อ่านแล้ว จึงไม่กระทบยอด unread
+ * - ไม่ reconcile ตอน startup: ทุก instance ที่ scale ขึ้นจะ scan ทั้งตารางพร้อมกัน
+ *   ยอดถูกดูแลใน transaction เดียวกับ notification อยู่แล้ว → reconcile แค่เก็บส่วนที่คลาด
+ */
+@Component
+@Slf4j
+public class UnreadNotificationCounter {
+
+    private static final String JOB_NAME = "unread-reconcile";
+    private static final ZoneId BANGKOK = ZoneId.of("Asia/Bangkok");
+
+    private final UnreadNotificationCountRepository countRepository;
+    private final NotificationRepository notificationRepository;
+    private final BroadcastNotificationRepository broadcastNotificationRepository;
+    private final BroadcastReadMarkerRepository readMarkerRepository;
+    private final UserRepository userRepository;
+    private final LiveEventBus liveEventBus;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final JobRunClaims jobRunClaims;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Long> cache = new ConcurrentHashMap<>();
+
+    public UnreadNotificationCounter(
+        PlatformTransactionManager transactionManager,
+        UnreadNotificationCountRepository countRepository,
+        NotificationRepository notificationRepository,
+        BroadcastNotificationRepository broadcastNotificationRepository,
+        BroadcastReadMarkerRepository readMarkerRepository,
+        UserRepository userRepository,
+        LiveEventBus liveEventBus,
+        BulkheadRegistry bulkheadRegistry,
+        JobRunClaims jobRunClaims
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countRepository = countRepository;
+        this.notificationRepository = notificationRepository;
+        this.broadcastNotificationRepository = broadcastNotificationRepository;
+        this.readMarkerRepository = readMarkerRepository;
+        this.userRepository = userRepository;
+        this.liveEventBus = liveEventBus;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.jobRunClaims = jobRunClaims;
+    }
+
+    /**
+     * 🔢 GET - ยอด unread ของ user
+     *
+     * @param userId User ID
+     * @return unread count
+     */
+    public long get(Long userId) {
+        Long cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long count = countRepository.findCountByUserId(userId).orElse(0L);
+        cache.put(userId, count);
+        return count;
+    }
+
+    /**
+     * ➕ ผู้รับ 1 คนได้ notification ใหม่
+     */
+    public void increment(Long userId) {
+        countRepository.addToCount(userId, 1);
+        evictAfterCommit(List.of(userId));
+        liveEventBus.publishToUsers(LiveEvent.UNREAD_COUNT, List.of(userId), Map.of("delta", 1));
+    }
+
+    /**
+     * ➕ ผู้รับหลายคนได้ broadcast ใหม่ (1 UPDATE)
+     */
+    public void incrementAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        countRepository.addToCountForUsers(userIds, 1);
+        evictAfterCommit(userIds);
+        liveEventBus.publishToUsers(LiveEvent.UNREAD_COUNT, userIds, Map.of("delta", 1));
+    }
+
+    /**
+     * ➖ อ่านไป 1 รายการ
+     */
+    public void decrement(Long userId) {
+        countRepository.addToCount(userId, -1);
+        evictAfterCommit(List.of(userId));
+        liveEventBus.publishToUsers(LiveEvent.UNREAD_COUNT, List.of(userId), Map.of("delta", -1));
+    }
+
+    /**
+     * 0️⃣ อ่านทั้งหมด
+     */
+    public void reset(Long userId) {
+        countRepository.resetCount(userId);
+        evictAfterCommit(List.of(userId));
+        liveEventBus.publishToUsers(LiveEvent.UNREAD_COUNT, List.of(userId), Map.of("count", 0));
+    }
+
+    /**
+     * 🔒 Lock แถวยอดของ user จนจบ transaction
+     *
+     * ใช้ serialize การ mark as read ของ user คนเดียวกัน (ไม่นับซ้ำ) โดยไม่ต้อง lock แถว broadcast
+     */
+    public void lock(Long userId) {
+        countRepository.findByUserIdForUpdate(userId);
+    }
+
+    /**
+     * 🆕 สร้างแถวยอด 0 ให้ user ใหม่
+     */
+    public void initialize(Long userId) {
+        if (!countRepository.existsById(userId)) {
+            countRepository.save(new UnreadNotificationCount(userId, 0L, 0L));
+        }
+    }
+
+    /**
+     * 🔄 RECONCILE - คำนวณยอดจริงของทุก user แล้วแก้แถวที่คลาด
+     *
+     * 1. อ่านยอด + version ที่เก็บไว้ก่อน (จุดเริ่ม scan)
+     * 2. ยอดจริง: Direct GROUP BY receiver + bit ผู้รับของ broadcast − read marker GROUP BY user
+     * 3. แถวที่คลาด → UPDATE count = count + delta WHERE version = ที่อ่านไว้
+     *    (มี update เข้ามาหลังข้อ 1 → version เปลี่ยน → ข้าม ไม่ทับ increment)
+     * 4. user ที่ยังไม่มีแถว → insert (ชนกับ initialize() → ข้าม)
+     *
+     * ✅ claim (unread-reconcile, วันนี้) ใน job_run ก่อน → instance อื่นที่ cron ตรงกันข้ามไป
+     */
+    @Scheduled(cron = "${app.notification.unread-reconcile-cron:0 0 3 * * *}", zone = "Asia/Bangkok")
+    public void reconcile() {
+        bulkheadRegistry.runJob(JOB_NAME, () -> {
+            LocalDate today = LocalDate.now(BANGKOK);
+            Optional<JobRun> claim = jobRunClaims.claim(JOB_NAME, today);
+            if (claim.isEmpty()) {
+                log.info("🔴 Unread reconcile for {} already claimed, skipped", today);
+                return;
+            }
+            jobRunClaims.complete(claim.get(), reconcileCounts());
+        });
+    }
+
+    private int reconcileCounts() {
+        // userId → [unreadCount, version] ณ ตอนเริ่ม scan
+        Map<Long, long[]> stored = new HashMap<>();
+        for (Object[] row : countRepository.findAllCountsWithVersion()) {
+            stored.put((Long) row[0], new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+
+        for (Object[] row : notificationRepository.countUnreadGroupByReceiver()) {
+            actual.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+
+        for (BroadcastRecipientsView broadcast : broadcastNotificationRepository.findAllRecipients()) {
+            BitSet.valueOf(broadcast.getRecipients()).stream()
+                .forEach(id -> actual.merge((long) id, 1L, Long::sum));
+        }
+
+        for (Object[] row : readMarkerRepository.countGroupByUser()) {
+            actual.merge((Long) row[0], -((Number) row[1]).longValue(), Long::sum);
+        }
+
+        Set<Long> changed = new HashSet<>();
+        int skipped = 0;
+
+        for (Long userId : userRepository.findAllIds()) {
+            long expected = Math.max(0L, actual.getOrDefault(userId, 0L));
+            long[] row = stored.get(userId);
+
+            if (row == null) {
+                if (insertMissing(userId, expected)) {
+                    changed.add(userId);
+                } else {
+                    skipped++;
+                }
+            } else if (row[0] != expected) {
+                Integer updated = transactionTemplate.execute(status ->
+                    countRepository.reconcileCount(userId, expected - row[0], row[1])
+                );
+                if (updated != null && updated > 0) {
+                    changed.add(userId);
+                } else {
+                    skipped++;
+                }
+            }
+        }
+
+        changed.forEach(cache::remove);
+
+        if (!changed.isEmpty() || skipped > 0) {
+            log.info("🔴 Reconciled {} unread notification counters ({} changed during the scan, left for next round)",
+                changed.size(), skipped);
+        }
+        return changed.size();
+    }
+
+    private boolean insertMissing(Long userId, long count) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                countRepository.saveAndFlush(new UnreadNotificationCount(userId, count, 0L))
+            );
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // initialize() สร้างแถวไปพร้อมกัน
+            return false;
+        }
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userIds.forEach(cache::remove);
+                }
+            });
+        } else {
+            userIds.forEach(cache::remove);
+        }
+    }
+}
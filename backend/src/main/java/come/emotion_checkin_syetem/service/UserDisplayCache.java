@@ -0,0 +1,98 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.repository.UserRepository;
+import come.emotion_checkin_syetem.repository.projection.UserDisplayView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📍 LOCATION: src/main/java/come/emotion_checkin_syetem/service/UserDisplayCache.java
+ *
+ * 🏷️ USER DISPLAY CACHE - cache ชื่อ + role ของ user ตาม id
+ *
+ * ✅ Features:
+ * - Resolve ชื่อ/role ของหลาย user ด้วย query เดียว (IN clause) เฉพาะตัวที่ cache miss
+ * - ใช้แทนการแตะ lazy User ทีละแถวใน audit log
+ * - Evict เมื่อมีการแก้ไขชื่อ user
+ *
+ * ⚠️ NOTE:
+ * - ชื่อ/role เปลี่ยนไม่บ่อย → cache ใน memory ได้
+ * - ถ้าเกิน max-entries จะ clear ทั้งหมด (ง่ายและพอสำหรับจำนวน user ระดับองค์กร)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserDisplayCache {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, UserDisplay> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.cache.user-display.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * 🏷️ ข้อมูลแสดงผลของ user
+     */
+    public record UserDisplay(Long id, String name, String role) {}
+
+    /**
+     * 🔍 GET ALL - resolve หลาย id พร้อมกัน
+     *
+     * @param ids User IDs (null ถูกข้าม)
+     * @return Map<id, UserDisplay> (id ที่ไม่เจอจะไม่อยู่ใน map)
+     */
+    public Map<Long, UserDisplay> getAll(Collection<Long> ids) {
+        Map<Long, UserDisplay> result = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+
+        for (Long id : ids) {
+            if (id == null) continue;
+            UserDisplay cached = cache.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            if (cache.size() + misses.size() > maxEntries) {
+                log.debug("🏷️ User display cache full ({}), clearing", cache.size());
+                cache.clear();
+            }
+            for (UserDisplayView view : userRepository.findDisplayInfoByIdIn(misses)) {
+                UserDisplay display = new UserDisplay(
+                    view.getId(),
+                    view.getName(),
+                    Objects.toString(view.getRole(), null)
+                );
+                cache.put(display.id(), display);
+                result.put(display.id(), display);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 🗑️ EVICT - เรียกเมื่อชื่อ/role ของ user เปลี่ยน
+     *
+     * @param userId User ID
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+}
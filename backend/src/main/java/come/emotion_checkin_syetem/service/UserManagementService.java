@@ -3,15 +3,22 @@ package come.emotion_checkin_syetem.service;
 import come.emotion_checkin_syetem.dto.request.AssignDepartmentRequest;
 import come.emotion_checkin_syetem.dto.request.UpdateProfileRequest;
 import come.emotion_checkin_syetem.dto.response.UserDTO;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
 import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
 import come.emotion_checkin_syetem.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import come.emotion_checkin_syetem.security.SessionContext;
+import come.emotion_checkin_syetem.security.SessionPrincipal;
+import come.emotion_checkin_syetem.security.SessionTokenService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -34,19 +41,49 @@ import java.util.stream.Collectors;
  * 
  * 🐛 DEBUG CHECKLIST:
  * ✅ @Service annotation
- * ✅ @Transactional
- * ✅ Role-based access control
+ * ✅ @Transactional (ยกเว้น createUser: BCrypt ก่อน แล้วค่อยเปิด TransactionTemplate)
+ * ✅ Role-based access control (SessionPrincipal - ไม่โหลด User entity)
  * ✅ Soft delete (isActive = false)
  * ✅ Audit logging
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserManagementService {
     
     private final UserRepository userRepository;
+    private final EmotionCheckinRepository checkinRepository;
     private final AuditLogService auditLogService;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final UserDisplayCache userDisplayCache;
+    private final PasswordHashingService passwordHashingService;
+    private final SessionContext sessionContext;
+    private final SessionTokenService sessionTokenService;
+    private final HrRecipientCache hrRecipientCache;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserManagementService(
+        UserRepository userRepository,
+        EmotionCheckinRepository checkinRepository,
+        AuditLogService auditLogService,
+        UserDisplayCache userDisplayCache,
+        PasswordHashingService passwordHashingService,
+        SessionContext sessionContext,
+        SessionTokenService sessionTokenService,
+        HrRecipientCache hrRecipientCache,
+        UnreadNotificationCounter unreadNotificationCounter,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.checkinRepository = checkinRepository;
+        this.auditLogService = auditLogService;
+        this.userDisplayCache = userDisplayCache;
+        this.passwordHashingService = passwordHashingService;
+        this.sessionContext = sessionContext;
+        this.sessionTokenService = sessionTokenService;
+        this.hrRecipientCache = hrRecipientCache;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
     
     /**
      * 📋 LIST ALL USERS (Admin only)
@@ -60,8 +97,7 @@ public class UserManagementService {
         log.info("📋 Listing all users by admin {}", adminId);
         
         // Validate admin
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -71,7 +107,7 @@ public class UserManagementService {
         List<User> users = userRepository.findAll();
         
         // Log activity
-        auditLogService.logViewUsers(admin);
+        auditLogService.logViewUsers(adminId);
         
         return users.stream()
             .map(this::convertToDTO)
@@ -90,8 +126,7 @@ public class UserManagementService {
         log.info("📋 Listing employees in department {} by user {}", department, userId);
         
         // Validate user
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        SessionPrincipal user = sessionContext.resolve(userId, "User not found");
         
         if (!user.isHR() && !user.isSuperAdmin()) {
             throw new RuntimeException("Access denied: HR/Admin role required");
@@ -117,8 +152,7 @@ public class UserManagementService {
         log.info("🔍 Searching users with keyword: {}", keyword);
         
         // Validate admin
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -138,11 +172,13 @@ public class UserManagementService {
      * ✅ Steps:
      * 1. Validate admin
      * 2. Check email not duplicate
-     * 3. Hash password
+     * 3. Hash password — ก่อนเปิด transaction
      * 4. Create user
-     * 5. Save to database
+     * 5. Save + unread counter + audit log (1 transaction สั้นๆ)
      * 6. Log activity
      * 
+     * ⚠️ ไม่ใช้ @Transactional — ไม่ถือ DB connection ระหว่างรอ BCrypt (เหมือน AuthService.login)
+     * 
      * @param adminId Admin user ID
      * @param name User name
      * @param email User email
@@ -152,7 +188,6 @@ public class UserManagementService {
      * @param position Position (optional)
      * @return UserDTO
      */
-    @Transactional
     public UserDTO createUser(
         Long adminId,
         String name,
@@ -165,8 +200,7 @@ public class UserManagementService {
         log.info("➕ Creating user: {} ({})", name, email);
         
         // Step 1: Validate admin
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -179,7 +213,7 @@ public class UserManagementService {
         }
         
         // Step 3: Hash password
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHashingService.encode(password);
         
         // Step 4: Create user
         User newUser = User.builder()
@@ -193,11 +227,23 @@ public class UserManagementService {
             .build();
         
         // Step 5: Save to database
-        User savedUser = userRepository.save(newUser);
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
+                User saved = userRepository.save(newUser);
+                unreadNotificationCounter.initialize(saved.getId());
+                auditLogService.logAddUser(userRepository.getReferenceById(adminId), saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.error("❌ Email already exists: {}", email);
+            throw new RuntimeException("Email already registered");
+        }
+        if (savedUser.isHR()) {
+            hrRecipientCache.invalidate();
+        }
         
         // Step 6: Log activity
-        auditLogService.logAddUser(admin, savedUser);
-        
         log.info("✅ User created: {} (ID: {})", savedUser.getName(), savedUser.getId());
         
         return convertToDTO(savedUser);
@@ -225,8 +271,7 @@ public class UserManagementService {
         log.info("✏️ Updating user {} by user {}", targetUserId, requesterId);
         
         // Get requester
-        User requester = userRepository.findById(requesterId)
-            .orElseThrow(() -> new RuntimeException("Requester not found"));
+        SessionPrincipal requester = sessionContext.resolve(requesterId, "Requester not found");
         
         // Get target user
         User targetUser = userRepository.findById(targetUserId)
@@ -257,9 +302,10 @@ public class UserManagementService {
         
         // Save
         User updatedUser = userRepository.save(targetUser);
+        userDisplayCache.evict(updatedUser.getId());
         
         // Log activity
-        auditLogService.logEditUser(requester, updatedUser);
+        auditLogService.logEditUser(userRepository.getReferenceById(requesterId), updatedUser);
         
         log.info("✅ User updated: {}", updatedUser.getName());
         
@@ -279,8 +325,7 @@ public class UserManagementService {
         log.info("🗑️ Deactivating user {} by admin {}", targetUserId, adminId);
         
         // Validate admin
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -298,9 +343,11 @@ public class UserManagementService {
         // Deactivate (Soft Delete)
         targetUser.deactivate();
         userRepository.save(targetUser);
+        hrRecipientCache.invalidate();
         
         // Log activity
-        auditLogService.logDeactivateUser(admin, targetUser);
+        sessionTokenService.revokeUser(targetUserId);
+        auditLogService.logDeactivateUser(userRepository.getReferenceById(adminId), targetUser);
         
         log.info("✅ User deactivated: {}", targetUser.getName());
     }
@@ -316,8 +363,7 @@ public class UserManagementService {
         log.info("🔄 Activating user {} by admin {}", targetUserId, adminId);
         
         // Validate admin
-        User admin = userRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found"));
+        SessionPrincipal admin = sessionContext.resolve(adminId, "Admin not found");
         
         if (!admin.isSuperAdmin()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -330,9 +376,10 @@ public class UserManagementService {
         // Activate
         targetUser.activate();
         userRepository.save(targetUser);
+        hrRecipientCache.invalidate();
         
         // Log activity
-        auditLogService.logActivateUser(admin, targetUser);
+        auditLogService.logActivateUser(userRepository.getReferenceById(adminId), targetUser);
         
         log.info("✅ User activated: {}", targetUser.getName());
     }
@@ -348,6 +395,9 @@ public class UserManagementService {
      * 5. Log activity
      * 6. Notify employee
      * 
+     * ⚠️ Check-in เก่าเก็บ department ของตัวเอง (snapshot) → ยังนับในแผนกเดิม
+     * ส่วนแถวที่ยังไม่ถูก backfill จะถูกเติมแผนกเดิมก่อนย้าย
+     * 
      * @param requesterId User who assigns (HR/Admin)
      * @param request AssignDepartmentRequest
      */
@@ -357,8 +407,7 @@ public class UserManagementService {
             request.getDepartment(), request.getEmployeeId(), requesterId);
         
         // Step 1: Validate requester
-        User requester = userRepository.findById(requesterId)
-            .orElseThrow(() -> new RuntimeException("Requester not found"));
+        SessionPrincipal requester = sessionContext.resolve(requesterId, "Requester not found");
         
         if (!requester.canAssignDepartment()) {
             throw new RuntimeException("Access denied: SuperAdmin role required");
@@ -374,13 +423,20 @@ public class UserManagementService {
         
         // Step 3: Assign department
         String oldDepartment = employee.getDepartment();
+        if (!Objects.equals(oldDepartment, request.getDepartment())) {
+            checkinRepository.fillMissingDepartmentForEmployee(
+                employee.getId(), oldDepartment != null ? oldDepartment : EmotionCheckin.NO_DEPARTMENT
+            );
+        }
         employee.setDepartment(request.getDepartment());
         
         // Step 4: Save
         userRepository.save(employee);
         
         // Step 5: Log activity
-        auditLogService.logAssignDepartment(requester, employee, request.getDepartment());
+        auditLogService.logAssignDepartment(
+            userRepository.getReferenceById(requesterId), employee, request.getDepartment()
+        );
         
         log.info("✅ Department assigned: {} → {} (was: {})", 
             employee.getName(), request.getDepartment(), oldDepartment);
@@ -411,8 +467,7 @@ public class UserManagementService {
     @Transactional(readOnly = true)
     public List<UserDTO> getEmployeesWithoutDepartment(Long requesterId) {
         // Validate requester
-        User requester = userRepository.findById(requesterId)
-            .orElseThrow(() -> new RuntimeException("Requester not found"));
+        SessionPrincipal requester = sessionContext.resolve(requesterId, "Requester not found");
         
         if (!requester.isHR() && !requester.isSuperAdmin()) {
             throw new RuntimeException("Access denied: HR/Admin role required");
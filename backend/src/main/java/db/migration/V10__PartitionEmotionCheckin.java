@@ -0,0 +1,105 @@
+package db.migration;
+
+import come.emotion_checkin_syetem.service.CheckinPartitions;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📍 LOCATION: src/main/java/db/migration/V10__PartitionEmotionCheckin.java
+ *
+ * 🗂️ MIGRATION V10 - แปลง emotion_checkin เป็น RANGE partition รายเดือน (MySQL เท่านั้น)
+ *
+ * ✅ Steps:
+ * 1. ลบ foreign key ที่เกี่ยวกับ emotion_checkin (InnoDB partition ใช้ FK ไม่ได้ทั้งขาเข้าและขาออก)
+ * 2. PRIMARY KEY (id) → (id, checkin_date): ทุก unique key ต้องมี column ที่ใช้ partition
+ *    (uk_employee_date = employee_id + checkin_date มีอยู่แล้ว ใช้ต่อได้)
+ * 3. PARTITION BY RANGE COLUMNS (checkin_date): เดือนแรกที่มีข้อมูล → เดือนนี้ + 3, และ pmax
+ *
+ * ⚠️ NOTE:
+ * - ข้าม (ไม่ error) ถ้าไม่ใช่ MySQL / ยังไม่มีตาราง / partition แล้ว
+ * - ALTER TABLE ... PARTITION BY ต้อง copy ตาราง → รันตอน deploy ช่วง traffic ต่ำ
+ */
+public class V10__PartitionEmotionCheckin extends BaseJavaMigration {
+
+    private static final int MONTHS_AHEAD = 3;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        if (!CheckinPartitions.isMySql(jdbc) || !tableExists(jdbc) || !CheckinPartitions.existing(jdbc).isEmpty()) {
+            return;
+        }
+
+        dropForeignKeys(jdbc);
+        checkUniqueKeys(jdbc);
+
+        jdbc.execute("ALTER TABLE " + CheckinPartitions.TABLE +
+            " DROP PRIMARY KEY, ADD PRIMARY KEY (id, checkin_date)");
+
+        jdbc.execute("ALTER TABLE " + CheckinPartitions.TABLE +
+            " PARTITION BY RANGE COLUMNS (checkin_date) (" + String.join(", ", partitionDefinitions(jdbc)) + ")");
+    }
+
+    private boolean tableExists(JdbcTemplate jdbc) {
+        Integer count = jdbc.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+            Integer.class, CheckinPartitions.TABLE
+        );
+        return count != null && count > 0;
+    }
+
+    private void dropForeignKeys(JdbcTemplate jdbc) {
+        List<Map<String, Object>> foreignKeys = jdbc.queryForList(
+            "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+            "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = ? OR REFERENCED_TABLE_NAME = ?)",
+            CheckinPartitions.TABLE, CheckinPartitions.TABLE
+        );
+
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbc.execute("ALTER TABLE `" + foreignKey.get("TABLE_NAME") + "` DROP FOREIGN KEY `" +
+                foreignKey.get("CONSTRAINT_NAME") + "`");
+        }
+    }
+
+    /** unique key อื่นที่ไม่มี checkin_date → partition ไม่ได้ ให้ migration fail พร้อมบอกชื่อ */
+    private void checkUniqueKeys(JdbcTemplate jdbc) {
+        List<String> invalid = jdbc.queryForList(
+            "SELECT INDEX_NAME FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY' " +
+            "GROUP BY INDEX_NAME HAVING SUM(COLUMN_NAME = 'checkin_date') = 0",
+            String.class, CheckinPartitions.TABLE
+        );
+        if (!invalid.isEmpty()) {
+            throw new IllegalStateException("Unique keys without checkin_date block partitioning: " + invalid);
+        }
+    }
+
+    private List<String> partitionDefinitions(JdbcTemplate jdbc) {
+        YearMonth current = YearMonth.now(ZoneId.of("Asia/Bangkok"));
+        Date minDate = jdbc.queryForObject(
+            "SELECT MIN(checkin_date) FROM " + CheckinPartitions.TABLE, Date.class
+        );
+        YearMonth first = minDate != null ? YearMonth.from(minDate.toLocalDate()) : current;
+        if (first.isAfter(current)) {
+            first = current;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(current.plusMonths(MONTHS_AHEAD)); month = month.plusMonths(1)) {
+            definitions.add(CheckinPartitions.definition(month));
+        }
+        definitions.add(CheckinPartitions.maxDefinition());
+        return definitions;
+    }
+}
@@ -0,0 +1,75 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 📍 LOCATION: src/main/java/db/migration/V13__CopyBroadcastReadBy.java
+ *
+ * 📣 MIGRATION V13 - ย้าย bitmap readBy ของ broadcast_notification → broadcast_read_marker แล้วลบ column
+ *
+ * ✅ Steps:
+ * 1. อ่าน readBy ทีละแถว → 1 marker ต่อ bit ที่เป็นผู้รับด้วย (batch insert)
+ * 2. ALTER TABLE broadcast_notification DROP COLUMN readBy
+ *
+ * ⚠️ NOTE:
+ * - decode bitmap ใน SQL ไม่ได้ จึงเป็น Java migration
+ * - ข้าม (ไม่ error) ถ้าไม่มี column readBy แล้ว
+ * - read_at ของ marker ที่ย้ายมา = เวลาที่รัน migration (bitmap ไม่มีเวลาอ่าน)
+ */
+public class V13__CopyBroadcastReadBy extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        if (!columnExists(jdbc)) {
+            return;
+        }
+
+        Timestamp readAt = Timestamp.valueOf(LocalDateTime.now(ZoneId.of("Asia/Bangkok")));
+        List<Object[]> batch = new ArrayList<>();
+
+        jdbc.query("SELECT id, recipients, readBy FROM broadcast_notification", rs -> {
+            long broadcastId = rs.getLong("id");
+            BitSet read = BitSet.valueOf(rs.getBytes("readBy"));
+            read.and(BitSet.valueOf(rs.getBytes("recipients")));
+
+            read.stream().forEach(userId -> batch.add(new Object[] {broadcastId, (long) userId, readAt}));
+            if (batch.size() >= BATCH_SIZE) {
+                insert(jdbc, batch);
+            }
+        });
+        insert(jdbc, batch);
+
+        jdbc.execute("ALTER TABLE broadcast_notification DROP COLUMN readBy");
+    }
+
+    private boolean columnExists(JdbcTemplate jdbc) {
+        Integer count = jdbc.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'broadcast_notification' AND COLUMN_NAME = 'readBy'",
+            Integer.class
+        );
+        return count != null && count > 0;
+    }
+
+    private void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO broadcast_read_marker (broadcast_id, user_id, read_at) VALUES (?, ?, ?)", batch);
+        batch.clear();
+    }
+}
@@ -0,0 +1,41 @@
+-- ===================================
+-- V11: Indexes for the repository queries
+-- ===================================
+-- Each index is named after the query it serves; the same names are declared on
+-- the entities (@Table indexes) and checked at startup by SchemaIndexVerifier.
+
+-- notification: unread list / unread count / mark-all-read of one receiver
+--   WHERE receiver_id = ? AND readStatus = false ORDER BY createdAt DESC
+CREATE INDEX idx_receiver_read_created ON notification (receiver_id, readStatus, createdAt);
+
+-- notification: sent history (NotificationRepository.findBySender)
+--   WHERE sender_id = ? ORDER BY createdAt DESC
+CREATE INDEX idx_sender_created ON notification (sender_id, createdAt);
+
+-- audit_log: filter by action (critical actions, LOGIN_FAILED since, audit page filter)
+--   WHERE action IN (...) ORDER BY created_at DESC
+CREATE INDEX idx_action_created ON audit_log (action, created_at);
+
+-- audit_log: history of one user
+--   WHERE user_id = ? ORDER BY created_at DESC
+CREATE INDEX idx_user_created ON audit_log (user_id, created_at);
+
+-- emotion_checkin: bad mood checks (findBadMoodCheckins, findConsecutiveBadMoodEmployees)
+--   WHERE emotionLevel = 1 AND checkin_date >= ? GROUP BY employee_id
+CREATE INDEX idx_level_date_employee ON emotion_checkin (emotionLevel, checkin_date, employee_id);
+
+-- emotion_checkin: latest check-in of one employee
+--   WHERE employee_id = ? ORDER BY checkinTime DESC LIMIT 1
+CREATE INDEX idx_employee_time ON emotion_checkin (employee_id, checkinTime);
+
+-- emotion_ai_result: high risk results in a time window
+--   WHERE analyzedAt BETWEEN ? AND ?
+CREATE INDEX idx_analyzed_at ON emotion_ai_result (analyzedAt);
+
+-- users: active users by role (HR broadcast, employee lists, counts)
+--   WHERE role = ? AND isActive = true
+CREATE INDEX idx_role_active ON users (role, isActive);
+
+-- users: active members of a department (department broadcast / employee lists)
+--   WHERE department = ? AND isActive = true
+CREATE INDEX idx_department_active ON users (department, isActive);
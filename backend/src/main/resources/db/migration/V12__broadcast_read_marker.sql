@@ -0,0 +1,14 @@
+-- ===================================
+-- V12: Broadcast read markers
+-- ===================================
+-- One row per (broadcast, reader) instead of a readBy bitmap on the broadcast
+-- row, so marking as read never locks or rewrites the shared broadcast row.
+-- Existing readBy bitmaps are copied and the column dropped in V13.
+
+CREATE TABLE broadcast_read_marker (
+    broadcast_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    read_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (broadcast_id, user_id),
+    INDEX idx_read_marker_user (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,12 @@
+-- ===================================
+-- V14: Scheduled job checkpoints
+-- ===================================
+-- Where a chunked job (RetentionJob task) stopped when its time budget ran
+-- out, so the next run resumes there instead of rescanning from the start.
+
+CREATE TABLE job_checkpoint (
+    name VARCHAR(100) NOT NULL,
+    next_id BIGINT NOT NULL,
+    updatedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
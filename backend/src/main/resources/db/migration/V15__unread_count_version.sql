@@ -0,0 +1,8 @@
+-- ===================================
+-- V15: Unread counter row version
+-- ===================================
+-- Bumped by every counter UPDATE so the reconciler can skip rows that
+-- changed after it read them instead of overwriting a fresh increment.
+
+ALTER TABLE notification_unread_count
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- ===================================
+-- V16: Backfill daily audit action counters
+-- ===================================
+-- Replaces the startup backfill in AuditActionCounter, which several
+-- instances could run at once (each saw an empty table and inserted the same
+-- totals). Flyway applies this exactly once under its schema-history lock.
+--
+-- Flyway runs before the application starts counting, so the split point
+-- between backfill and live counter is this migration: every audit_log row
+-- that exists now is summed here, including today's rows up to the deploy;
+-- rows written after it are counted by AuditActionCounter. Days that already
+-- have counter rows are skipped so a re-run against a restored table never
+-- adds to live totals. Rows written by old-version instances during a rolling
+-- deploy (between this migration and the cut-over) are not counted.
+
+INSERT INTO audit_action_daily (action_date, action, total)
+SELECT DATE(al.created_at), al.action, COUNT(*)
+FROM audit_log al
+WHERE NOT EXISTS (
+    SELECT 1 FROM audit_action_daily d WHERE d.action_date = DATE(al.created_at)
+)
+GROUP BY DATE(al.created_at), al.action;
@@ -0,0 +1,8 @@
+-- ===================================
+-- V17: Session token revocation
+-- ===================================
+-- users.tokens_valid_after = epoch second; session tokens / stream tickets
+-- issued at or before it are rejected on every instance (set on deactivate).
+-- NULL = never revoked.
+
+ALTER TABLE users ADD COLUMN tokens_valid_after BIGINT;
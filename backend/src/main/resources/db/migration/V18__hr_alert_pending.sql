@@ -0,0 +1,15 @@
+-- ===================================
+-- V18: Pending HR alert digest queue
+-- ===================================
+-- Bad-mood alerts waiting for the HR digest. Inserted with the check-in;
+-- the flusher locks, sends and deletes them in one transaction so only one
+-- instance sends each digest and a restart does not lose the queue.
+
+CREATE TABLE hr_alert_pending (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    employee_name VARCHAR(255) NOT NULL,
+    checkin_id BIGINT NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,138 @@
+-- ===================================
+-- V1: Baseline schema (MySQL)
+-- ===================================
+-- The schema as it was before any of the V2+ migrations: exactly what
+-- ddl-auto=update produced from the original entities
+-- (PhysicalNamingStrategyStandardImpl: unannotated fields keep their camelCase
+-- name, @Column(name=...) is snake_case).
+--
+-- Runs only on an empty database. Databases that were built by ddl-auto=update
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this
+-- file, so every table / column / index added after that point MUST live in its
+-- own V2+ migration — never edit this file to add one.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    department VARCHAR(100),
+    position VARCHAR(100),
+    role ENUM('EMPLOYEE', 'HR', 'SUPERADMIN') NOT NULL,
+    isActive BIT NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    updatedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_users_email (email),
+    INDEX idx_email (email),
+    INDEX idx_role (role),
+    INDEX idx_department (department),
+    INDEX idx_active (isActive)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE emotion_catalog (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    level INT NOT NULL,
+    description TEXT,
+    colorCode VARCHAR(7),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_name_level UNIQUE (name, level)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE emotion_checkin (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    emotionLevel INT NOT NULL,
+    emotion_type_id BIGINT,
+    comment TEXT,
+    checkinTime DATETIME(6) NOT NULL,
+    checkin_date DATE NOT NULL,
+    nlpScore FLOAT NOT NULL,
+    nlpMagnitude FLOAT NOT NULL,
+    nlpEmotion VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employee_date UNIQUE (employee_id, checkin_date),
+    INDEX idx_checkin_date (checkin_date),
+    INDEX idx_employee_date (employee_id, checkin_date),
+    CONSTRAINT fk_checkin_employee FOREIGN KEY (employee_id) REFERENCES users (id),
+    CONSTRAINT fk_checkin_emotion_type FOREIGN KEY (emotion_type_id) REFERENCES emotion_catalog (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE emotion_ai_result (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    checkin_id BIGINT NOT NULL,
+    sentimentScore FLOAT NOT NULL,
+    magnitude FLOAT NOT NULL,
+    sentimentLabel ENUM('POSITIVE', 'NEUTRAL', 'NEGATIVE'),
+    language VARCHAR(10),
+    analyzedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_emotion_ai_result_checkin (checkin_id),
+    INDEX idx_checkin (checkin_id),
+    CONSTRAINT fk_ai_result_checkin FOREIGN KEY (checkin_id) REFERENCES emotion_checkin (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE notification (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id BIGINT NOT NULL,
+    receiver_id BIGINT NOT NULL,
+    message TEXT NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    readStatus BIT NOT NULL,
+    related_checkin_id BIGINT,
+    PRIMARY KEY (id),
+    INDEX idx_receiver (receiver_id),
+    INDEX idx_read_status (readStatus),
+    INDEX idx_created_at (createdAt),
+    CONSTRAINT fk_notification_sender FOREIGN KEY (sender_id) REFERENCES users (id),
+    CONSTRAINT fk_notification_receiver FOREIGN KEY (receiver_id) REFERENCES users (id),
+    CONSTRAINT fk_notification_checkin FOREIGN KEY (related_checkin_id) REFERENCES emotion_checkin (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE audit_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    action ENUM(
+        'LOGIN', 'LOGOUT', 'REGISTER', 'LOGIN_FAILED',
+        'CHECK_IN', 'VIEW_DASHBOARD',
+        'VIEW_EMPLOYEE_INSIGHT', 'ASSIGN_DEPARTMENT', 'SEND_NOTIFICATION',
+        'ADD_USER', 'EDIT_USER', 'DEACTIVATE_USER', 'ACTIVATE_USER', 'VIEW_AUDIT_LOG',
+        'PASSWORD_CHANGE', 'PROFILE_UPDATE'
+    ) NOT NULL,
+    target_user_id BIGINT,
+    details TEXT,
+    ip_address VARCHAR(45),
+    created_at DATETIME(6),
+    is_critical BIT,
+    is_auth_action BIT,
+    PRIMARY KEY (id),
+    INDEX idx_user_action (user_id, action),
+    INDEX idx_created_at (created_at),
+    INDEX idx_target_user (target_user_id),
+    CONSTRAINT fk_audit_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_audit_target FOREIGN KEY (target_user_id) REFERENCES users (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- System user (app.system-user-id=1): sender of automatic notifications / audit entries.
+-- Password is not a BCrypt hash, so this account can never log in.
+INSERT INTO users (id, name, email, password, department, position, role, isActive, createdAt, updatedAt)
+VALUES (1, 'System', 'system@internal', 'N/A', NULL, 'SYSTEM', 'SUPERADMIN', 1, NOW(6), NOW(6));
+
+-- 15 emotion types (level: 1 = Negative, 2 = Neutral, 3 = Positive)
+INSERT INTO emotion_catalog (level, name, colorCode) VALUES
+(3, 'Happy', '#4CAF50'),
+(3, 'Relaxed', '#4CAF50'),
+(3, 'Excited', '#4CAF50'),
+(3, 'Proud', '#4CAF50'),
+(3, 'Motivated', '#4CAF50'),
+(2, 'Calm', '#FFC107'),
+(2, 'Tired', '#FFC107'),
+(2, 'Indifferent', '#FFC107'),
+(2, 'Focused', '#FFC107'),
+(2, 'Uncertain', '#FFC107'),
+(1, 'Sad', '#F44336'),
+(1, 'Angry', '#F44336'),
+(1, 'Stressed', '#F44336'),
+(1, 'Anxious', '#F44336'),
+(1, 'Bored', '#F44336');
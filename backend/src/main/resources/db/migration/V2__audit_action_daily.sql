@@ -0,0 +1,20 @@
+-- ===================================
+-- V2: Daily audit action counters
+-- ===================================
+-- One row per (day, action); AuditActionCounter increments it on every audit
+-- write so the audit summary never has to GROUP BY the whole audit_log.
+
+CREATE TABLE audit_action_daily (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    action_date DATE NOT NULL,
+    action ENUM(
+        'LOGIN', 'LOGOUT', 'REGISTER', 'LOGIN_FAILED',
+        'CHECK_IN', 'VIEW_DASHBOARD',
+        'VIEW_EMPLOYEE_INSIGHT', 'ASSIGN_DEPARTMENT', 'SEND_NOTIFICATION',
+        'ADD_USER', 'EDIT_USER', 'DEACTIVATE_USER', 'ACTIVATE_USER', 'VIEW_AUDIT_LOG',
+        'PASSWORD_CHANGE', 'PROFILE_UPDATE'
+    ) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_action_date UNIQUE (action_date, action)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
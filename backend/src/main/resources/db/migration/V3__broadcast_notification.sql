@@ -0,0 +1,19 @@
+-- ===================================
+-- V3: Broadcast notifications
+-- ===================================
+-- One row per bulk send (department / role / id list) instead of one
+-- notification row per recipient.
+
+CREATE TABLE broadcast_notification (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id BIGINT NOT NULL,
+    message TEXT NOT NULL,
+    audience VARCHAR(120) NOT NULL,
+    recipients MEDIUMBLOB NOT NULL,
+    readBy MEDIUMBLOB NOT NULL,
+    related_checkin_id BIGINT,
+    createdAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_broadcast_audience_created (audience, createdAt, id),
+    CONSTRAINT fk_broadcast_sender FOREIGN KEY (sender_id) REFERENCES users (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
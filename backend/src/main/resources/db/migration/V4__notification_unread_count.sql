@@ -0,0 +1,10 @@
+-- ===================================
+-- V4: Unread notification counters
+-- ===================================
+-- Per-user unread count maintained on send / read (UnreadNotificationCounter).
+
+CREATE TABLE notification_unread_count (
+    user_id BIGINT NOT NULL,
+    unread_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
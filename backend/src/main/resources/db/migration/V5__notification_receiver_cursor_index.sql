@@ -0,0 +1,6 @@
+-- ===================================
+-- V5: Cursor pagination index for notifications
+-- ===================================
+--   WHERE receiver_id = ? AND (createdAt, id) < (?, ?) ORDER BY createdAt DESC, id DESC
+
+CREATE INDEX idx_receiver_created_id ON notification (receiver_id, createdAt, id);
@@ -0,0 +1,15 @@
+-- ===================================
+-- V6: Scheduled job runs
+-- ===================================
+-- One row per (job, day): the unique key is the claim that lets only one
+-- instance run a daily job.
+
+CREATE TABLE job_run (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_name VARCHAR(50) NOT NULL,
+    run_date DATE NOT NULL,
+    affected INT NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_job_run UNIQUE (job_name, run_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,14 @@
+-- ===================================
+-- V7: Pooled id generator table
+-- ===================================
+-- notification / audit_log / emotion_checkin / emotion_ai_result take their ids
+-- from here (blocks of IdGenerators.ALLOCATION_SIZE) so Hibernate can batch the
+-- INSERTs. The existing AUTO_INCREMENT on those ids is left in place: explicit
+-- ids are always inserted, so it is never used. IdGeneratorSeeder moves next_val
+-- past MAX(id) of each table at startup.
+
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,11 @@
+-- ===================================
+-- V8: Replica heartbeat
+-- ===================================
+-- Single row written on the primary; the replica lag check reads it back
+-- through the read-only datasource.
+
+CREATE TABLE replica_heartbeat (
+    id INT NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,17 @@
+-- ===================================
+-- V9: Department snapshot on check-ins
+-- ===================================
+-- emotion_checkin.department = the employee's department at check-in time, so
+-- the HR department dashboard filters without joining users and a department
+-- move does not rewrite history.
+--
+-- Existing rows stay NULL here (no table-wide UPDATE inside the migration);
+-- CheckinDepartmentBackfill fills them in small id-range chunks after startup.
+-- Until it has finished, the department queries fall back to users.department
+-- (COALESCE(ec.department, u.department)).
+
+ALTER TABLE emotion_checkin ADD COLUMN department VARCHAR(100);
+
+-- HR department dashboard: count / trend by level for one department
+--   WHERE department = ? AND checkin_date BETWEEN ? AND ? GROUP BY emotionLevel
+CREATE INDEX idx_checkin_dept_date_level ON emotion_checkin (department, checkin_date, emotionLevel);
@@ -0,0 +1,298 @@
+package come.emotion_checkin_syetem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import come.emotion_checkin_syetem.entity.EmotionCatalog;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
+import come.emotion_checkin_syetem.entity.Notification;
+import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.EmotionCatalogRepository;
+import come.emotion_checkin_syetem.repository.EmotionCheckinRepository;
+import come.emotion_checkin_syetem.repository.NotificationRepository;
+import come.emotion_checkin_syetem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/config/QueryBudgetIntegrationTest.java
+ *
+ * 🧮 QUERY BUDGET (CI) - ทุก endpoint หลักต้องอยู่ในงบ SQL ของตัวเองบนข้อมูลจริงหลายแถว
+ *
+ * ✅ Flow:
+ * - seed H2: พนักงานหลายคน × check-in หลายวัน + notification (N+1 จะโผล่เป็นหลายสิบ statement)
+ * - app.query-budget.strict=true → เกินงบ = request fail (controller ตอบ 4xx/5xx)
+ * - ตรวจทั้ง status 2xx และ QueryBudget.snapshot(): maxStatements <= limit, exceeded = 0
+ * - write path (check-in, login, ส่ง notification, จัดการ user) ยิงจริงทีละ request แล้วตรวจงบเหมือนกัน
+ *
+ * ⚠️ NOTE:
+ * - งบอ่านจาก app.query-budget.limits.* ชุดเดียวกับ production (ไม่มีค่าซ้ำในเทสต์)
+ */
+@SpringBootTest(properties = "app.query-budget.strict=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetIntegrationTest {
+
+    private static final int EMPLOYEES = 12;
+    private static final int DAYS = 10;
+    private static final String DEPARTMENT = "IT";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmotionCatalogRepository catalogRepository;
+
+    @Autowired
+    private EmotionCheckinRepository checkinRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<EmotionCatalog> catalog;
+    private User employee;
+    private User newcomer;
+    private User hr;
+    private User admin;
+
+    @BeforeAll
+    void seed() {
+        hr = userRepository.save(user("hr@test.local", User.Role.HR, null));
+        admin = userRepository.save(user("admin@test.local", User.Role.SUPERADMIN, null));
+
+        catalog = catalogRepository.saveAll(List.of(
+            EmotionCatalog.builder().name("Happy").level(3).colorCode("#4CAF50").build(),
+            EmotionCatalog.builder().name("Calm").level(2).colorCode("#FFC107").build(),
+            EmotionCatalog.builder().name("Sad").level(1).colorCode("#F44336").build()
+        ));
+
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Bangkok"));
+        List<EmotionCheckin> checkins = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User member = userRepository.save(user("employee" + i + "@test.local", User.Role.EMPLOYEE, DEPARTMENT));
+            if (i == 0) {
+                employee = member;
+            }
+
+            for (int day = 0; day < DAYS; day++) {
+                EmotionCatalog type = catalog.get((i + day) % catalog.size());
+                LocalDate date = today.minusDays(day);
+                checkins.add(EmotionCheckin.builder()
+                    .employee(member)
+                    .emotionType(type)
+                    .emotionLevel(type.getLevel())
+                    .comment("day " + day)
+                    .checkinTime(date.atTime(9, 0))
+                    .checkinDate(date)
+                    .department(DEPARTMENT)
+                    .build());
+            }
+
+            for (int n = 0; n < 5; n++) {
+                notifications.add(Notification.builder()
+                    .sender(hr)
+                    .receiver(member)
+                    .message("message " + n)
+                    .readStatus(n % 2 == 0)
+                    .createdAt(LocalDateTime.now().minusHours(n))
+                    .build());
+            }
+        }
+
+        checkinRepository.saveAll(checkins);
+        notificationRepository.saveAll(notifications);
+
+        // ยังไม่ check-in วันนี้ + password จริง (POST /api/checkin, login)
+        User fresh = user("newcomer@test.local", User.Role.EMPLOYEE, DEPARTMENT);
+        fresh.setPassword(passwordEncoder.encode(PASSWORD));
+        newcomer = userRepository.save(fresh);
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+        "/api/dashboard/employee,         EMPLOYEE",
+        "/api/dashboard/hr,               HR",
+        "/api/dashboard/admin,            ADMIN",
+        "/api/dashboard/trends,           HR",
+        "/api/notifications,              EMPLOYEE",
+        "/api/notifications/count-unread, EMPLOYEE",
+        "/api/audit-logs,                 ADMIN",
+        "/api/audit-logs/search,          ADMIN",
+        "/api/checkin/today,              EMPLOYEE"
+    })
+    void endpointStaysWithinQueryBudget(String path, String caller) throws Exception {
+        mockMvc.perform(get(path).header("X-User-Id", callerId(caller)))
+            .andExpect(status().isOk());
+
+        assertWithinBudget("GET", path);
+    }
+
+    @Test
+    void badMoodCheckinStaysWithinQueryBudget() throws Exception {
+        EmotionCatalog sad = catalog.get(2);
+
+        mockMvc.perform(post("/api/checkin")
+                .header("X-User-Id", newcomer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("emotionLevel", sad.getLevel(), "emotionTypeId", sad.getId(), "comment", "tired"))))
+            .andExpect(status().isOk());
+
+        assertWithinBudget("POST", "/api/checkin");
+    }
+
+    @Test
+    void loginStaysWithinQueryBudget() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", newcomer.getEmail(), "password", PASSWORD))))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", newcomer.getEmail(), "password", "wrong-password"))))
+            .andExpect(status().isUnauthorized());
+
+        assertWithinBudget("POST", "/api/auth/login");
+    }
+
+    @Test
+    void sendingNotificationsStaysWithinQueryBudget() throws Exception {
+        mockMvc.perform(post("/api/notifications")
+                .header("X-User-Id", hr.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("receiverId", employee.getId(), "message", "Let's talk this week"))))
+            .andExpect(status().isOk());
+        assertWithinBudget("POST", "/api/notifications");
+
+        mockMvc.perform(post("/api/notifications/bulk")
+                .header("X-User-Id", hr.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("department", DEPARTMENT, "message", "Team check-in at 3 PM"))))
+            .andExpect(status().isOk());
+        assertWithinBudget("POST", "/api/notifications/bulk");
+    }
+
+    @Test
+    void userManagementStaysWithinQueryBudget() throws Exception {
+        String created = mockMvc.perform(post("/api/users")
+                .header("X-User-Id", admin.getId())
+                .param("name", "Managed User")
+                .param("email", "managed@test.local")
+                .param("password", PASSWORD)
+                .param("role", "EMPLOYEE")
+                .param("position", "Developer"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).path("data").path("id").asLong();
+        assertWithinBudget("POST", "/api/users");
+
+        mockMvc.perform(put("/api/users/{id}", id)
+                .header("X-User-Id", admin.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "Managed User 2", "position", "Senior Developer"))))
+            .andExpect(status().isOk());
+        assertWithinBudget("PUT", "/api/users/{id}");
+
+        mockMvc.perform(put("/api/users/assign-department")
+                .header("X-User-Id", admin.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("employeeId", id, "department", DEPARTMENT))))
+            .andExpect(status().isOk());
+        assertWithinBudget("PUT", "/api/users/assign-department");
+
+        mockMvc.perform(delete("/api/users/{id}", id).header("X-User-Id", admin.getId()))
+            .andExpect(status().isOk());
+        assertWithinBudget("DELETE", "/api/users/{id}");
+
+        mockMvc.perform(put("/api/users/{id}/activate", id).header("X-User-Id", admin.getId()))
+            .andExpect(status().isOk());
+        assertWithinBudget("PUT", "/api/users/{id}/activate");
+    }
+
+    /** สถิติของ endpoint (method + mapping pattern) ต้องมี, ใช้งบจาก config และไม่เกินงบ */
+    private void assertWithinBudget(String method, String pattern) {
+        String endpoint = method + " " + pattern;
+        QueryBudget.Stats stats = QueryBudget.snapshot().stream()
+            .filter(s -> s.endpoint().equals(endpoint))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no query budget stats for " + endpoint));
+
+        assertThat(stats.limit()).isEqualTo(configuredLimit(pattern));
+        assertThat(stats.maxStatements())
+            .as("SQL statements for %s", endpoint)
+            .isPositive()
+            .isLessThanOrEqualTo(stats.limit());
+        assertThat(stats.exceeded()).isZero();
+    }
+
+    private String json(Map<String, ?> body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private Long callerId(String caller) {
+        return switch (caller) {
+            case "EMPLOYEE" -> employee.getId();
+            case "HR" -> hr.getId();
+            case "ADMIN" -> admin.getId();
+            default -> throw new IllegalArgumentException(caller);
+        };
+    }
+
+    private int configuredLimit(String path) {
+        Map<String, Integer> limits = Binder.get(environment)
+            .bind("app.query-budget.limits", Bindable.mapOf(String.class, Integer.class))
+            .orElse(Map.of());
+        return limits.getOrDefault(path, environment.getProperty("app.query-budget.default", Integer.class, 20));
+    }
+
+    private static User user(String email, User.Role role, String department) {
+        return User.builder()
+            .name(email)
+            .email(email)
+            .password("x")
+            .role(role)
+            .department(department)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,339 @@
+package come.emotion_checkin_syetem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/loadtest/LoadDriver.java
+ *
+ * 🏋️ LOAD DRIVER - จำลอง 1 วันทำงาน กับ server ที่รันอยู่ แล้วสรุป latency / throughput ต่อ endpoint
+ *
+ * ✅ Phases:
+ * 1. Login storm: ทุก user login พร้อมกัน (จำกัดด้วย --concurrency)
+ * 2. Check-in surge: employee ทุกคน POST /api/checkin (level สุ่มตาม --bad-mood-ratio)
+ * 3. Dashboard polling: --poll-seconds วินาที
+ *    - employee: /api/dashboard/employee + /api/notifications/count-unread
+ *    - HR: /api/dashboard/hr + /api/dashboard/trends
+ *
+ * ✅ Report:
+ * - ต่อ endpoint: requests, errors (non-2xx / IOException / interrupt), req/s, p50 / p95 / p99 / max (ms)
+ * - latency / req/s คิดจาก response 2xx เท่านั้น (error เร็วๆ อย่าง 503 ไม่ดึง p95 ลง)
+ * - --report=run.csv → เขียน CSV; --baseline=base.csv → พิมพ์ % เปลี่ยนของ p95 / p99 / req/s เทียบ baseline
+ *
+ * ✅ วิธีรัน (server ต้องมี user จาก SyntheticDataGenerator ก่อน; อยู่ใน src/test → ไม่ติดไปกับ jar):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=come.emotion_checkin_syetem.loadtest.LoadDriver \
+ *     -Dexec.args="--base-url=http://localhost:8080 --employees=500 --hr=5 --report=run.csv --baseline=base.csv"
+ *
+ * ⚠️ NOTE:
+ * - ไม่ใช่ Spring app (main ธรรมดา ใช้แค่ JDK HttpClient + Jackson) → รันจากเครื่องอื่นได้
+ * - emotion type id ใช้ลำดับของ seed ใน V1 (level 3 = 1-5, level 2 = 6-10, level 1 = 11-15)
+ * - check-in วันเดียวกันซ้ำไม่ได้ → รันรอบ 2 ในวันเดียวกัน phase 2 จะเป็น error ทั้งหมด (reseed / รอวันใหม่)
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final long[][] EMOTION_TYPES = {
+        {},
+        {11, 12, 13, 14, 15},
+        {6, 7, 8, 9, 10},
+        {1, 2, 3, 4, 5}
+    };
+
+    private static final String CSV_HEADER = "endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Semaphore permits;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /** user ที่ login สำเร็จ */
+    private record Session(long id, String token, boolean hr) {}
+
+    /** ผลของ 1 endpoint (แถวใน report / baseline) */
+    private record Summary(String endpoint, long requests, long errors, double throughput,
+                           double p50, double p95, double p99, double max) {}
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080");
+        this.permits = new Semaphore(intOption("concurrency", 200));
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        int employees = intOption("employees", 500);
+        int hr = intOption("hr", 5);
+        String domain = option("email-domain", "seed.local");
+        String password = option("password", "password123");
+
+        List<String> emails = new ArrayList<>();
+        for (int i = 1; i <= employees; i++) emails.add("employee-" + i + "@" + domain);
+        for (int i = 1; i <= hr; i++) emails.add("hr-" + i + "@" + domain);
+
+        // 1) Login storm
+        List<Session> sessions = Collections.synchronizedList(new ArrayList<>());
+        phase("login storm", emails, email -> {
+            String body = MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+            HttpResponse<String> response = send("POST /api/auth/login", json("/api/auth/login", body, null));
+            if (response != null && response.statusCode() / 100 == 2) {
+                JsonNode login = MAPPER.readTree(response.body()).path("data");
+                sessions.add(new Session(login.path("id").asLong(), login.path("token").asText(null),
+                    "HR".equals(login.path("role").asText())));
+            }
+        });
+        System.out.printf("🏋️ %d / %d users logged in%n", sessions.size(), emails.size());
+
+        // 2) Check-in surge
+        double badMoodRatio = Double.parseDouble(option("bad-mood-ratio", "0.15"));
+        List<Session> staff = sessions.stream().filter(s -> !s.hr()).toList();
+        phase("check-in surge", staff, session -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            int level = roll < badMoodRatio ? 1 : roll < badMoodRatio + (1 - badMoodRatio) * 0.4 ? 2 : 3;
+            long[] types = EMOTION_TYPES[level];
+            String body = MAPPER.writeValueAsString(Map.of(
+                "emotionLevel", level,
+                "emotionTypeId", types[random.nextInt(types.length)],
+                "comment", random.nextBoolean() ? "load test check-in" : ""
+            ));
+            send("POST /api/checkin", json("/api/checkin", body, session));
+        });
+
+        // 3) Dashboard polling
+        long deadline = System.nanoTime() + Duration.ofSeconds(intOption("poll-seconds", 60)).toNanos();
+        int thinkMillis = intOption("think-ms", 1000);
+        phase("dashboard polling", new ArrayList<>(sessions), session -> {
+            while (System.nanoTime() < deadline) {
+                if (session.hr()) {
+                    send("GET /api/dashboard/hr", get("/api/dashboard/hr", session));
+                    send("GET /api/dashboard/trends", get("/api/dashboard/trends?months=12", session));
+                } else {
+                    send("GET /api/dashboard/employee", get("/api/dashboard/employee", session));
+                    send("GET /api/notifications/count-unread", get("/api/notifications/count-unread", session));
+                }
+                Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMillis / 2, thinkMillis * 3 / 2 + 1));
+            }
+        }, false);
+
+        report();
+    }
+
+    // ==============================================================
+    // PHASES / REQUESTS
+    // ==============================================================
+
+    private interface Task<T> {
+        void run(T item) throws Exception;
+    }
+
+    private <T> void phase(String name, List<T> items, Task<T> task) {
+        phase(name, items, task, true);
+    }
+
+    /**
+     * รัน task ต่อ item บน virtual thread; limited = ผ่าน semaphore (--concurrency)
+     * (polling ไม่จำกัด: 1 thread ต่อ user เหมือน browser 1 tab)
+     */
+    private <T> void phase(String name, List<T> items, Task<T> task, boolean limited) {
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                executor.submit(() -> {
+                    if (limited) permits.acquireUninterruptibly();
+                    try {
+                        task.run(item);
+                    } catch (Exception e) {
+                        System.err.println("⚠️ " + name + ": " + e);
+                    } finally {
+                        if (limited) permits.release();
+                    }
+                });
+            }
+        }
+        System.out.printf("🏋️ %s: %d tasks in %d ms%n", name, items.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private HttpRequest json(String path, String body, Session session) {
+        return builder(path, session)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return builder(path, session).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30));
+        if (session != null) {
+            builder.header("X-User-Id", String.valueOf(session.id()));
+            if (session.token() != null) {
+                builder.header("Authorization", "Bearer " + session.token());
+            }
+        }
+        return builder;
+    }
+
+    /** ส่ง + จับเวลา; exception = error (คืน null) */
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        Recorder recorder = recorders.computeIfAbsent(endpoint, e -> new Recorder());
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(started, System.nanoTime(), response.statusCode() / 100 != 2);
+            return response;
+        } catch (IOException e) {
+            recorder.record(started, System.nanoTime(), true);
+            return null;
+        } catch (InterruptedException e) {
+            recorder.record(started, System.nanoTime(), true);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // ==============================================================
+    // REPORT
+    // ==============================================================
+
+    private void report() throws IOException {
+        List<Summary> summaries = recorders.entrySet().stream()
+            .map(entry -> entry.getValue().summarize(entry.getKey()))
+            .sorted((a, b) -> a.endpoint().compareTo(b.endpoint()))
+            .toList();
+
+        Map<String, Summary> baseline = options.containsKey("baseline")
+            ? readCsv(Path.of(options.get("baseline")))
+            : Map.of();
+
+        System.out.printf("%n%-38s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Summary s : summaries) {
+            System.out.printf(Locale.ROOT, "%-38s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+            Summary base = baseline.get(s.endpoint());
+            if (base != null) {
+                System.out.printf(Locale.ROOT, "%-38s %8s %7s %9s %9s %9s %9s%n", "  vs baseline", "", "",
+                    delta(s.throughput(), base.throughput()), delta(s.p50(), base.p50()),
+                    delta(s.p95(), base.p95()), delta(s.p99(), base.p99()));
+            }
+        }
+
+        if (options.containsKey("report")) {
+            List<String> lines = new ArrayList<>();
+            lines.add(CSV_HEADER);
+            for (Summary s : summaries) {
+                lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+            }
+            Files.write(Path.of(options.get("report")), lines, StandardCharsets.UTF_8);
+            System.out.println("📄 Report written to " + options.get("report"));
+        }
+    }
+
+    private static String delta(double current, double base) {
+        if (base == 0) return "-";
+        return String.format(Locale.ROOT, "%+.1f%%", (current - base) * 100 / base);
+    }
+
+    private static Map<String, Summary> readCsv(Path file) throws IOException {
+        Map<String, Summary> rows = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.equals(CSV_HEADER)) continue;
+            String[] f = line.split(",");
+            rows.put(f[0], new Summary(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]),
+                Double.parseDouble(f[3]), Double.parseDouble(f[4]), Double.parseDouble(f[5]),
+                Double.parseDouble(f[6]), Double.parseDouble(f[7])));
+        }
+        return rows;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    /** latency ของ request ที่สำเร็จ (ns) + จำนวน error แยก + ช่วงเวลาที่ endpoint ถูกยิง (คิด throughput) */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd;
+
+        synchronized void record(long start, long end, boolean error) {
+            firstStart = Math.min(firstStart, start);
+            lastEnd = Math.max(lastEnd, end);
+            if (error) {
+                errors++;
+                return;
+            }
+
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = end - start;
+        }
+
+        synchronized Summary summarize(String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = Math.max(1, lastEnd - firstStart) / 1e9;
+            return new Summary(endpoint, count + errors, errors, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        /** nearest-rank percentile (ms) */
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package come.emotion_checkin_syetem.loadtest;
+
+import come.emotion_checkin_syetem.config.IdGeneratorSeeder;
+import come.emotion_checkin_syetem.entity.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/loadtest/SyntheticDataGenerator.java
+ *
+ * 🧪 SYNTHETIC DATA GENERATOR - เติมข้อมูลปลอมขนาดใกล้ production ลง H2 / MySQL
+ *
+ * ✅ วิธีใช้ (อยู่ใน src/test → รันด้วย spring-boot:test-run ไม่ติดไปกับ jar):
+ *   mvn spring-boot:test-run -Dspring-boot.run.main-class=come.emotion_checkin_syetem.EmotionCheckinApplication \
+ *     -Dspring-boot.run.profiles=seed         (MySQL)
+ *     -Dspring-boot.run.profiles=dev,seed     (H2)
+ * - ต้องระบุ main-class (test classpath มี LoadDriver ที่มี main ด้วย)
+ * - ปรับขนาดผ่าน app.seed.* (ดู application-seed.properties) เช่น --app.seed.employees=5000
+ *
+ * ✅ สร้างอะไรบ้าง:
+ * - users: employee-{n}@seed.local / hr-{n}@seed.local (password เดียวกันหมด) กระจายตามแผนก
+ * - emotion_checkin: วันทำงานย้อนหลัง app.seed.days วัน (ถึงเมื่อวาน → วันนี้ยัง check-in ได้)
+ *   + emotion_ai_result สำหรับแถวที่มี comment
+ * - notification: HR → employee, ของเก่าส่วนใหญ่อ่านแล้ว
+ * - audit_log + audit_action_daily: LOGIN / CHECK_IN / VIEW_DASHBOARD / ... ต่อวัน
+ *
+ * ✅ Performance:
+ * - JdbcTemplate.batchUpdate ทีละ app.seed.batch-size แถว (ไม่ผ่าน Hibernate / ไม่ถือ entity ใน memory)
+ * - สร้างทีละวัน → ใช้ memory คงที่ไม่ว่าจะกี่วัน
+ * - MySQL: URL มี rewriteBatchedStatements=true → batch กลายเป็น multi-row INSERT
+ * - BCrypt ครั้งเดียว ใช้ hash เดียวกับทุก user
+ *
+ * ⚠️ NOTE:
+ * - มี user @seed.local อยู่แล้ว → ข้าม (รันซ้ำได้ ไม่ซ้ำข้อมูล)
+ * - id ของตาราง pooled (check-in / notification / audit) กำหนดเองจาก MAX(id) + 1
+ *   แล้วเรียก IdGeneratorSeeder.seed() ขยับ id_generator ตาม → ต้องรันก่อนมี insert ผ่าน Hibernate
+ * - unread counter ถูก reconcile ตอน ApplicationReadyEvent (หลัง runner นี้) อยู่แล้ว
+ * - random-seed เดิม → ข้อมูลชุดเดิมทุกครั้ง (เทียบ baseline ได้)
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Bangkok");
+
+    private static final String[] DEPARTMENTS = {
+        "Engineering", "Sales", "Marketing", "Finance", "Operations",
+        "Customer Support", "Product", "Legal", "Logistics", "Design"
+    };
+
+    // ลำดับเดียวกับ seed ใน V1__baseline_schema.sql (H2 dev ไม่มี seed → ใส่ให้)
+    private static final Object[][] DEFAULT_CATALOG = {
+        {3, "Happy", "#4CAF50"}, {3, "Relaxed", "#4CAF50"}, {3, "Excited", "#4CAF50"},
+        {3, "Proud", "#4CAF50"}, {3, "Motivated", "#4CAF50"},
+        {2, "Calm", "#FFC107"}, {2, "Tired", "#FFC107"}, {2, "Indifferent", "#FFC107"},
+        {2, "Focused", "#FFC107"}, {2, "Uncertain", "#FFC107"},
+        {1, "Sad", "#F44336"}, {1, "Angry", "#F44336"}, {1, "Stressed", "#F44336"},
+        {1, "Anxious", "#F44336"}, {1, "Bored", "#F44336"}
+    };
+
+    // คำสำหรับต่อเป็น comment ตาม level (1 = negative, 2 = neutral, 3 = positive)
+    private static final String[][] WORDS = {
+        {},
+        {"deadline", "overtime", "stressed", "tired", "meeting", "blocked", "late", "pressure",
+            "exhausted", "conflict", "workload", "frustrated", "sick", "worried"},
+        {"normal", "day", "meeting", "email", "coffee", "task", "review", "okay", "routine",
+            "planning", "report", "lunch", "queue", "update"},
+        {"great", "team", "shipped", "happy", "progress", "thanks", "launch", "fun", "proud",
+            "learned", "celebrate", "smooth", "win", "helpful"}
+    };
+
+    private static final AuditLog.Action[] EMPLOYEE_DAY = {
+        AuditLog.Action.LOGIN, AuditLog.Action.CHECK_IN, AuditLog.Action.VIEW_DASHBOARD,
+        AuditLog.Action.LOGOUT, AuditLog.Action.VIEW_DASHBOARD, AuditLog.Action.PROFILE_UPDATE
+    };
+
+    private static final AuditLog.Action[] HR_DAY = {
+        AuditLog.Action.LOGIN, AuditLog.Action.VIEW_DASHBOARD, AuditLog.Action.VIEW_EMPLOYEE_INSIGHT,
+        AuditLog.Action.SEND_NOTIFICATION, AuditLog.Action.VIEW_AUDIT_LOG, AuditLog.Action.LOGOUT
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final IdGeneratorSeeder idGeneratorSeeder;
+
+    @Value("${app.seed.departments:5}")
+    private int departments;
+
+    @Value("${app.seed.employees:500}")
+    private int employees;
+
+    @Value("${app.seed.hr:5}")
+    private int hrUsers;
+
+    @Value("${app.seed.days:180}")
+    private int days;
+
+    @Value("${app.seed.participation:0.85}")
+    private double participation;
+
+    @Value("${app.seed.bad-mood-ratio:0.15}")
+    private double badMoodRatio;
+
+    @Value("${app.seed.comment-ratio:0.3}")
+    private double commentRatio;
+
+    @Value("${app.seed.comment-min-words:3}")
+    private int commentMinWords;
+
+    @Value("${app.seed.comment-max-words:40}")
+    private int commentMaxWords;
+
+    @Value("${app.seed.notifications-per-employee:20}")
+    private int notificationsPerEmployee;
+
+    @Value("${app.seed.audit-per-employee-day:3}")
+    private int auditPerEmployeeDay;
+
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.password:password123}")
+    private String password;
+
+    @Value("${app.seed.email-domain:seed.local}")
+    private String emailDomain;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    public SyntheticDataGenerator(
+        JdbcTemplate jdbcTemplate,
+        BCryptPasswordEncoder passwordEncoder,
+        IdGeneratorSeeder idGeneratorSeeder
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.idGeneratorSeeder = idGeneratorSeeder;
+    }
+
+    /** user ที่สร้างแล้ว (id จริงจาก DB) */
+    private record SeedUser(long id, String department, double badMoodBias) {}
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE email LIKE ?", Long.class, "%@" + emailDomain);
+        if (existing != null && existing > 0) {
+            log.info("🧪 {} users @{} already exist — skipping synthetic data", existing, emailDomain);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        LocalDate today = LocalDate.now(ZONE);
+        LocalDate firstDay = today.minusDays(days);
+
+        Map<Integer, List<Long>> catalog = ensureCatalog();
+        List<SeedUser> staff = insertUsers("EMPLOYEE", "employee", employees, firstDay, random);
+        List<SeedUser> hr = insertUsers("HR", "hr", hrUsers, firstDay, random);
+
+        Counters counters = new Counters();
+        for (LocalDate date = firstDay; date.isBefore(today); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            generateDay(date, staff, hr, catalog, random, counters);
+        }
+        counters.flushAll();
+        writeDailyTotals(counters.daily);
+
+        idGeneratorSeeder.seed();
+        log.info("🧪 Synthetic data: {} employees, {} HR, {} check-ins, {} AI results, {} notifications, " +
+                "{} audit rows in {} ms",
+            staff.size(), hr.size(), counters.checkins, counters.aiResults, counters.notifications,
+            counters.audits, System.currentTimeMillis() - started);
+    }
+
+    // ==============================================================
+    // USERS / CATALOG
+    // ==============================================================
+
+    /** emotion_catalog ว่าง → ใส่ 15 แบบ default; คืน level → ids */
+    private Map<Integer, List<Long>> ensureCatalog() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM emotion_catalog", Long.class);
+        if (count == null || count == 0) {
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] type : DEFAULT_CATALOG) {
+                rows.add(type);
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO emotion_catalog (level, name, colorCode) VALUES (?, ?, ?)", rows);
+        }
+
+        Map<Integer, List<Long>> byLevel = new HashMap<>();
+        jdbcTemplate.query("SELECT id, level FROM emotion_catalog ORDER BY id", rs -> {
+            byLevel.computeIfAbsent(rs.getInt("level"), level -> new ArrayList<>()).add(rs.getLong("id"));
+        });
+        for (int level = 1; level <= 3; level++) {
+            if (!byLevel.containsKey(level)) {
+                throw new IllegalStateException("emotion_catalog has no type for level " + level);
+            }
+        }
+        return byLevel;
+    }
+
+    private List<SeedUser> insertUsers(String role, String prefix, int count, LocalDate since, Random random) {
+        String hash = passwordEncoder.encode(password);
+        Timestamp createdAt = Timestamp.valueOf(since.atTime(9, 0));
+        boolean employee = "EMPLOYEE".equals(role);
+
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String department = employee ? departmentName(i % Math.max(1, departments)) : null;
+            rows.add(new Object[] {
+                (employee ? "Employee " : "HR ") + i,
+                prefix + "-" + i + "@" + emailDomain,
+                hash,
+                department,
+                employee ? "Staff" : "HR Officer",
+                role,
+                true,
+                createdAt,
+                createdAt
+            });
+        }
+        batchInsert(
+            "INSERT INTO users (name, email, password, department, position, role, isActive, createdAt, updatedAt)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            rows
+        );
+
+        // ~10% เป็นคนที่ mood แย่บ่อย (ให้ at-risk list ของ HR มีของ)
+        return jdbcTemplate.query(
+            "SELECT id, department FROM users WHERE role = ? AND email LIKE ? ORDER BY id",
+            (rs, rowNum) -> new SeedUser(rs.getLong("id"), rs.getString("department"),
+                random.nextDouble() < 0.1 ? 3.0 : 1.0),
+            role, prefix + "-%@" + emailDomain
+        );
+    }
+
+    private static String departmentName(int index) {
+        String base = DEPARTMENTS[index % DEPARTMENTS.length];
+        int round = index / DEPARTMENTS.length;
+        return round == 0 ? base : base + " " + (round + 1);
+    }
+
+    // ==============================================================
+    // 1 DAY
+    // ==============================================================
+
+    private void generateDay(
+        LocalDate date,
+        List<SeedUser> staff,
+        List<SeedUser> hr,
+        Map<Integer, List<Long>> catalog,
+        Random random,
+        Counters counters
+    ) {
+        double notificationChance = days > 0 ? (double) notificationsPerEmployee / days : 0;
+        boolean recent = date.isAfter(LocalDate.now(ZONE).minusDays(7));
+
+        for (SeedUser user : staff) {
+            if (random.nextDouble() >= participation) {
+                continue;
+            }
+
+            LocalDateTime checkinTime = date.atTime(8, 0).plusSeconds(random.nextInt(4 * 3600));
+            int level = pickLevel(user, random);
+            List<Long> types = catalog.get(level);
+            long typeId = types.get(random.nextInt(types.size()));
+
+            String comment = null;
+            float score = 0;
+            float magnitude = 0;
+            if (random.nextDouble() < commentRatio) {
+                comment = comment(level, random);
+                score = sentimentScore(level, random);
+                magnitude = 0.1f + random.nextFloat() * 1.9f;
+            }
+
+            long checkinId = counters.nextCheckinId++;
+            counters.checkinRows.add(new Object[] {
+                checkinId, user.id(), level, typeId, comment, Timestamp.valueOf(checkinTime),
+                date, user.department(), score, magnitude, nlpEmotion(score)
+            });
+            if (comment != null) {
+                counters.aiRows.add(new Object[] {
+                    counters.nextAiId++, checkinId, score, magnitude, sentimentLabel(score), "en",
+                    Timestamp.valueOf(checkinTime.plusSeconds(2))
+                });
+            }
+
+            for (int i = 0; i < auditPerEmployeeDay; i++) {
+                AuditLog.Action action = EMPLOYEE_DAY[i % EMPLOYEE_DAY.length];
+                counters.audit(user.id(), action, checkinTime.plusMinutes(i * 30L), date);
+            }
+
+            if (!hr.isEmpty() && random.nextDouble() < notificationChance) {
+                SeedUser sender = hr.get(random.nextInt(hr.size()));
+                LocalDateTime sentAt = checkinTime.plusMinutes(30 + random.nextInt(240));
+                boolean read = random.nextDouble() < (recent ? 0.4 : 0.9);
+                counters.notificationRows.add(new Object[] {
+                    counters.nextNotificationId++, sender.id(), user.id(),
+                    level == 1 ? "Hi, we noticed you had a tough day. Let us know if we can help."
+                        : "Reminder: team check-in survey is open this week.",
+                    Timestamp.valueOf(sentAt), read
+                });
+                counters.audit(sender.id(), AuditLog.Action.SEND_NOTIFICATION, sentAt, date);
+            }
+        }
+
+        for (SeedUser user : hr) {
+            LocalDateTime start = date.atTime(9, 0).plusSeconds(random.nextInt(3600));
+            for (int i = 0; i < HR_DAY.length; i++) {
+                counters.audit(user.id(), HR_DAY[i], start.plusMinutes(i * 45L), date);
+            }
+        }
+
+        counters.flushIfFull();
+    }
+
+    private int pickLevel(SeedUser user, Random random) {
+        double bad = Math.min(0.9, badMoodRatio * user.badMoodBias());
+        double roll = random.nextDouble();
+        if (roll < bad) return 1;
+        return roll < bad + (1 - bad) * 0.4 ? 2 : 3;
+    }
+
+    private String comment(int level, Random random) {
+        int words = commentMinWords + random.nextInt(Math.max(1, commentMaxWords - commentMinWords + 1));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[level][random.nextInt(WORDS[level].length)]);
+        }
+        return text.toString();
+    }
+
+    private static float sentimentScore(int level, Random random) {
+        return switch (level) {
+            case 1 -> -0.3f - random.nextFloat() * 0.6f;
+            case 3 -> 0.3f + random.nextFloat() * 0.6f;
+            default -> -0.25f + random.nextFloat() * 0.5f;
+        };
+    }
+
+    /** เหมือน EmotionService.mapEmotion */
+    private static String nlpEmotion(float score) {
+        if (score >= 0.6) return "Very Positive";
+        if (score >= 0.2) return "Positive";
+        if (score > -0.2) return "Neutral";
+        if (score > -0.6) return "Negative";
+        return "Very Negative";
+    }
+
+    /** เหมือน EmotionAIResult (> 0.25 positive, < -0.25 negative) */
+    private static String sentimentLabel(float score) {
+        if (score > 0.25) return "POSITIVE";
+        if (score < -0.25) return "NEGATIVE";
+        return "NEUTRAL";
+    }
+
+    // ==============================================================
+    // BATCH WRITE
+    // ==============================================================
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    /** audit_action_daily: UPDATE ก่อน ไม่มีแถว → INSERT (เหมือน AuditActionCounter) */
+    private void writeDailyTotals(Map<LocalDate, EnumMap<AuditLog.Action, Long>> daily) {
+        daily.forEach((date, totals) -> totals.forEach((action, total) -> {
+            int updated = jdbcTemplate.update(
+                "UPDATE audit_action_daily SET total = total + ? WHERE action_date = ? AND action = ?",
+                total, date, action.name());
+            if (updated == 0) {
+                jdbcTemplate.update(
+                    "INSERT INTO audit_action_daily (action_date, action, total) VALUES (?, ?, ?)",
+                    date, action.name(), total);
+            }
+        }));
+    }
+
+    /** buffer + id ถัดไป + ยอดรวมของแต่ละตาราง */
+    private final class Counters {
+        private final List<Object[]> checkinRows = new ArrayList<>();
+        private final List<Object[]> aiRows = new ArrayList<>();
+        private final List<Object[]> notificationRows = new ArrayList<>();
+        private final List<Object[]> auditRows = new ArrayList<>();
+        private final Map<LocalDate, EnumMap<AuditLog.Action, Long>> daily = new TreeMap<>();
+
+        private long nextCheckinId = nextId("emotion_checkin");
+        private long nextAiId = nextId("emotion_ai_result");
+        private long nextNotificationId = nextId("notification");
+        private long nextAuditId = nextId("audit_log");
+
+        private long checkins;
+        private long aiResults;
+        private long notifications;
+        private long audits;
+
+        private long nextId(String table) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            return (maxId != null ? maxId : 0) + 1;
+        }
+
+        private void audit(long userId, AuditLog.Action action, LocalDateTime at, LocalDate date) {
+            auditRows.add(new Object[] {
+                nextAuditId++, userId, action.name(), null, null, "10.0.0." + (userId % 250 + 1),
+                Timestamp.valueOf(at), action.isCritical(), action.isAuth()
+            });
+            daily.computeIfAbsent(date, d -> new EnumMap<>(AuditLog.Action.class)).merge(action, 1L, Long::sum);
+        }
+
+        private void flushIfFull() {
+            if (checkinRows.size() >= batchSize || aiRows.size() >= batchSize
+                || notificationRows.size() >= batchSize || auditRows.size() >= batchSize) {
+                flushAll();
+            }
+        }
+
+        // check-in ก่อน AI result (ลำดับเดียวกับตอน insert จริง)
+        private void flushAll() {
+            checkins += flush(
+                "INSERT INTO emotion_checkin (id, employee_id, emotionLevel, emotion_type_id, comment, checkinTime," +
+                " checkin_date, department, nlpScore, nlpMagnitude, nlpEmotion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                checkinRows);
+            aiResults += flush(
+                "INSERT INTO emotion_ai_result (id, checkin_id, sentimentScore, magnitude, sentimentLabel, language," +
+                " analyzedAt) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                aiRows);
+            notifications += flush(
+                "INSERT INTO notification (id, sender_id, receiver_id, message, createdAt, readStatus)" +
+                " VALUES (?, ?, ?, ?, ?, ?)",
+                notificationRows);
+            audits += flush(
+                "INSERT INTO audit_log (id, user_id, action, target_user_id, details, ip_address, created_at," +
+                " is_critical, is_auth_action) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                auditRows);
+        }
+
+        private int flush(String sql, List<Object[]> rows) {
+            int size = rows.size();
+            if (size > 0) {
+                batchInsert(sql, rows);
+                rows.clear();
+            }
+            return size;
+        }
+    }
+}
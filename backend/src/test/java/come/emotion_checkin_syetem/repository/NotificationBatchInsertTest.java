@@ -0,0 +1,99 @@
+package come.emotion_checkin_syetem.repository;
+
+import come.emotion_checkin_syetem.entity.IdGenerators;
+import come.emotion_checkin_syetem.entity.Notification;
+import come.emotion_checkin_syetem.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/repository/NotificationBatchInsertTest.java
+ *
+ * 📦 JDBC BATCH INSERT - notification ใช้ pooled TABLE id → Hibernate รวม INSERT เป็น batch ได้
+ *
+ * ✅ ตรวจจาก Hibernate Statistics:
+ * - insert ครบ N แถว
+ * - prepared statement ของ INSERT ≈ N / batch_size (ไม่ใช่ 1 ต่อแถวแบบ IDENTITY)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationBatchInsertTest {
+
+    private static final int ROWS = 3 * IdGenerators.ALLOCATION_SIZE + 7;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User sender;
+    private User receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = userRepository.save(user("hr@test.local", User.Role.HR));
+        receiver = userRepository.save(user("employee@test.local", User.Role.EMPLOYEE));
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllGroupsInsertsIntoJdbcBatches() {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            notifications.add(Notification.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .message("message " + i)
+                .readStatus(false)
+                .createdAt(LocalDateTime.now())
+                .build());
+        }
+
+        notificationRepository.saveAll(notifications);
+        entityManager.flush();
+
+        int batchSize = 50;
+        long insertBatches = (ROWS + batchSize - 1) / batchSize;
+        // id_generator: SELECT + UPDATE ต่อ 1 block (ALLOCATION_SIZE id)
+        long idBlocks = (ROWS + IdGenerators.ALLOCATION_SIZE - 1) / IdGenerators.ALLOCATION_SIZE;
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount())
+            .as("one INSERT statement per batch of %d + id_generator reads", batchSize)
+            .isLessThanOrEqualTo(insertBatches + 2 * idBlocks);
+    }
+
+    private static User user(String email, User.Role role) {
+        return User.builder()
+            .name(email)
+            .email(email)
+            .password("x")
+            .role(role)
+            .isActive(true)
+            .build();
+    }
+}
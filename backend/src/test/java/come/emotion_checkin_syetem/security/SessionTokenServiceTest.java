@@ -0,0 +1,128 @@
+package come.emotion_checkin_syetem.security;
+
+import come.emotion_checkin_syetem.entity.User;
+import come.emotion_checkin_syetem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/security/SessionTokenServiceTest.java
+ *
+ * 🔏 SESSION TOKEN SERVICE - ลายเซ็น, วันหมดอายุ, revoke ผ่าน users.tokens_valid_after, stream ticket
+ */
+class SessionTokenServiceTest {
+
+    private static final String SECRET = "test-secret-0123456789abcdef";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final User user = User.builder()
+        .id(7L)
+        .name("สมชาย ใจดี")
+        .role(User.Role.HR)
+        .build();
+
+    @Test
+    void issuedTokenVerifiesToThePrincipal() {
+        SessionTokenService service = service(720, 30);
+
+        SessionPrincipal principal = service.verify(service.issue(user)).orElseThrow();
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getName()).isEqualTo("สมชาย ใจดี");
+        assertThat(principal.getRole()).isEqualTo(User.Role.HR);
+    }
+
+    @Test
+    void tamperedOrMalformedTokenIsRejected() {
+        SessionTokenService service = service(720, 30);
+        String token = service.issue(user);
+        String otherSignature = service.issue(User.builder().id(8L).name("x").role(User.Role.SUPERADMIN).build())
+            .split("\\.")[1];
+
+        assertThat(service.verify(token.split("\\.")[0] + "." + otherSignature)).isEmpty();
+        assertThat(service.verify("not-a-token")).isEmpty();
+        assertThat(service.verify("%%%.%%%")).isEmpty();
+        assertThat(service.verify(null)).isEmpty();
+    }
+
+    @Test
+    void tokenFromAnotherSecretIsRejected() {
+        String token = service(720, 30).issue(user);
+        SessionTokenService other = new SessionTokenService(
+            new MockEnvironment(), "another-secret", 720, 30, 30, userRepository
+        );
+
+        assertThat(other.verify(token)).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        SessionTokenService service = service(0, 30);
+
+        assertThat(service.verify(service.issue(user))).isEmpty();
+    }
+
+    @Test
+    void revokeRejectsEarlierTokensAndRecordsTheCutoff() {
+        SessionTokenService service = service(720, 30);
+        String token = service.issue(user);
+        assertThat(service.verify(token)).isPresent();
+
+        service.revokeUser(7L);
+
+        assertThat(service.verify(token)).isEmpty();
+        verify(userRepository).updateTokensValidAfter(eq(7L), anyLong());
+    }
+
+    @Test
+    void anotherInstanceSeesTheCutoffFromTheDatabase() {
+        String token = service(720, 30).issue(user);
+        when(userRepository.findTokensValidAfterById(7L)).thenReturn(Optional.of(Instant.now().getEpochSecond()));
+
+        assertThat(service(720, 0).verify(token)).isEmpty();
+    }
+
+    @Test
+    void streamTicketIsReusableUntilExpiryAndNotASessionToken() {
+        SessionTokenService service = service(720, 30);
+        SessionPrincipal principal = new SessionPrincipal(7L, "สมชาย ใจดี", User.Role.HR);
+        String ticket = service.issueStreamTicket(principal);
+
+        assertThat(service.verifyStreamTicket(ticket)).get()
+            .extracting(SessionPrincipal::getId, SessionPrincipal::getName, SessionPrincipal::getRole)
+            .containsExactly(7L, "สมชาย ใจดี", User.Role.HR);
+        assertThat(service.verifyStreamTicket(ticket)).isPresent();   // EventSource reconnect ด้วย URL เดิม
+
+        assertThat(service.verify(ticket)).isEmpty();
+        assertThat(service.verifyStreamTicket(service.issue(user))).isEmpty();
+    }
+
+    @Test
+    void blankSecretOutsideDevFailsStartup() {
+        assertThatThrownBy(() -> new SessionTokenService(new MockEnvironment(), " ", 720, 30, 30, userRepository))
+            .isInstanceOf(IllegalStateException.class);
+
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        SessionTokenService service = new SessionTokenService(dev, "", 720, 30, 30, userRepository);
+        assertThat(service.verify(service.issue(user))).isPresent();
+    }
+
+    private SessionTokenService service(long ttlMinutes, long revocationCheckSeconds) {
+        return new SessionTokenService(
+            new MockEnvironment(), SECRET, ttlMinutes, 30, revocationCheckSeconds, userRepository
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package come.emotion_checkin_syetem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/service/CheckinPartitionMaintainerTest.java
+ *
+ * 🗂️ PARTITION PRUNING CHECK - เทียบ partition จาก EXPLAIN กับเดือนของช่วงวัน
+ *
+ * ⚠️ NOTE:
+ * - test ใช้ H2 (ไม่มี partition) → ใช้ผล EXPLAIN ของ MySQL ที่ป้อนเอง
+ *   EXPLAIN จริงตรวจตอน runtime โดย CheckinPartitionMaintainer บน MySQL
+ */
+class CheckinPartitionMaintainerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 20);
+    private static final LocalDate TO = LocalDate.of(2025, 2, 19);
+
+    @Test
+    void prunedWhenOnlyTheMonthsInRangeAreScanned() {
+        CheckinPartitionMaintainer.PruningCheck check = CheckinPartitionMaintainer.compare(
+            "30 days", FROM, TO, List.of(Map.of("partitions", "p202501,p202502"))
+        );
+
+        assertThat(check.expected()).containsExactly("p202501", "p202502");
+        assertThat(check.pruned()).isTrue();
+    }
+
+    @Test
+    void notPrunedWhenOtherPartitionsAreScanned() {
+        CheckinPartitionMaintainer.PruningCheck check = CheckinPartitionMaintainer.compare(
+            "30 days", FROM, TO, List.of(Map.of("partitions", "p202412,p202501,p202502,p202503,pmax"))
+        );
+
+        assertThat(check.pruned()).isFalse();
+        assertThat(check.actual()).contains("p202412", "pmax");
+    }
+
+    @Test
+    void singleDayExpectsOnePartition() {
+        CheckinPartitionMaintainer.PruningCheck check = CheckinPartitionMaintainer.compare(
+            "today", TO, TO, List.of(Map.of("partitions", "p202502"))
+        );
+
+        assertThat(check.expected()).containsExactly("p202502");
+        assertThat(check.pruned()).isTrue();
+    }
+}
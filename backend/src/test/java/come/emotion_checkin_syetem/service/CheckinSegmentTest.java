@@ -0,0 +1,101 @@
+package come.emotion_checkin_syetem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/service/CheckinSegmentTest.java
+ *
+ * 🗜️ CHECKIN SEGMENT - write → open ได้แถวเดิม (เรียง date/department/level), เขียนทับแบบ atomic
+ */
+class CheckinSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 9);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsRowsInSortedOrder() throws IOException {
+        Path file = directory.resolve("checkins-" + MONTH + ".seg");
+        CheckinSegment.write(file, MONTH, List.of(
+            new CheckinSegment.Row(42, MONTH.atDay(2), 1, 7L, "IT", "negative"),
+            new CheckinSegment.Row(5, MONTH.atDay(1), 3, null, null, null),
+            new CheckinSegment.Row(42, MONTH.atDay(1), 2, 7L, "IT", "neutral"),
+            new CheckinSegment.Row(9, MONTH.atDay(1), 1, 8L, "IT", "negative")
+        ));
+
+        CheckinSegment segment = CheckinSegment.open(file);
+
+        assertThat(segment.month()).isEqualTo(MONTH);
+        assertThat(segment.rowCount()).isEqualTo(4);
+        assertThat(segment.column(CheckinSegment.Column.DAY)).containsExactly(1, 1, 1, 2);
+        assertThat(segment.column(CheckinSegment.Column.LEVEL)).containsExactly(3, 1, 2, 1);
+
+        int[] employees = segment.column(CheckinSegment.Column.EMPLOYEE);
+        assertThat(Stream.of(0, 1, 2, 3).map(row -> segment.employeeId(employees[row])))
+            .containsExactly(5L, 9L, 42L, 42L);
+
+        int[] types = segment.column(CheckinSegment.Column.TYPE);
+        assertThat(segment.emotionTypeId(types[0])).isNull();
+        assertThat(segment.emotionTypeId(types[1])).isEqualTo(8L);
+        assertThat(segment.emotionTypeId(types[3])).isEqualTo(7L);
+
+        int[] sentiments = segment.column(CheckinSegment.Column.SENTIMENT);
+        assertThat(segment.sentiment(sentiments[0])).isNull();
+        assertThat(segment.sentiment(sentiments[2])).isEqualTo("neutral");
+
+        int it = segment.departmentOrdinal("IT");
+        assertThat(segment.column(CheckinSegment.Column.DEPARTMENT))
+            .containsExactly(segment.departmentOrdinal(""), it, it, it);
+        assertThat(segment.departmentOrdinal("HR")).isEqualTo(-1);
+    }
+
+    @Test
+    void emptyMonthRoundTrips() throws IOException {
+        Path file = directory.resolve("empty.seg");
+        CheckinSegment.write(file, MONTH, List.of());
+
+        CheckinSegment segment = CheckinSegment.open(file);
+
+        assertThat(segment.rowCount()).isZero();
+        assertThat(segment.column(CheckinSegment.Column.LEVEL)).isEmpty();
+    }
+
+    @Test
+    void rowOutsideTheMonthLeavesNoFileBehind() {
+        Path file = directory.resolve("bad.seg");
+
+        assertThatThrownBy(() -> CheckinSegment.write(file, MONTH, List.of(
+            new CheckinSegment.Row(1, LocalDate.of(2026, 10, 1), 2, null, "IT", null)
+        ))).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void rewriteReplacesTheFileWithoutLeavingTempFiles() throws IOException {
+        Path file = directory.resolve("checkins-" + MONTH + ".seg");
+        CheckinSegment.write(file, MONTH, List.of(new CheckinSegment.Row(1, MONTH.atDay(1), 1, null, "IT", null)));
+        CheckinSegment.write(file, MONTH, List.of(
+            new CheckinSegment.Row(1, MONTH.atDay(1), 2, null, "IT", null),
+            new CheckinSegment.Row(2, MONTH.atDay(3), 3, null, "HR", null)
+        ));
+
+        assertThat(CheckinSegment.open(file).rowCount()).isEqualTo(2);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+}
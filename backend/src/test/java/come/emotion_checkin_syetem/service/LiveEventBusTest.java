@@ -0,0 +1,74 @@
+package come.emotion_checkin_syetem.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/service/LiveEventBusTest.java
+ *
+ * 📡 LIVE EVENT BUS - replay ต่อจาก Last-Event-ID (เฉพาะ event ของ user), resync เมื่อ replay ไม่ครบ
+ */
+class LiveEventBusTest {
+
+    private static final int BUFFER = 4;
+
+    private final LiveEventBus bus = new LiveEventBus(null, BUFFER, 60_000, 16);
+
+    @AfterEach
+    void shutdown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void replaysOnlyTheUsersEventsAfterLastEventId() {
+        long start = bus.lastEventId();
+        bus.publishToUsers(LiveEvent.NOTIFICATION, List.of(1L), "a");
+        bus.publishToUsers(LiveEvent.NOTIFICATION, List.of(2L), "b");
+        bus.publishToUsers(LiveEvent.UNREAD_COUNT, List.of(1L, 2L), Map.of("delta", 1));
+
+        assertThat(bus.missedSince(start, 1L, false))
+            .extracting(LiveEvent::getId, LiveEvent::getType)
+            .containsExactly(
+                tuple(start + 1, LiveEvent.NOTIFICATION),
+                tuple(start + 3, LiveEvent.UNREAD_COUNT)
+            );
+        assertThat(bus.missedSince(start + 1, 1L, false)).extracting(LiveEvent::getId).containsExactly(start + 3);
+        assertThat(bus.missedSince(start + 3, 1L, false)).isEmpty();
+    }
+
+    @Test
+    void dashboardEventsReplayOnlyToDashboardViewers() {
+        long start = bus.lastEventId();
+        bus.publishToDashboards(Map.of("department", "IT"));
+
+        assertThat(bus.missedSince(start, 1L, true)).extracting(LiveEvent::getType).containsExactly(LiveEvent.DASHBOARD);
+        assertThat(bus.missedSince(start, 1L, false)).isEmpty();
+    }
+
+    @Test
+    void idOlderThanTheBufferGetsResync() {
+        long start = bus.lastEventId();
+        for (int i = 0; i < BUFFER + 1; i++) {
+            bus.publishToUsers(LiveEvent.NOTIFICATION, List.of(1L), i);
+        }
+
+        assertThat(bus.missedSince(start, 1L, false)).extracting(LiveEvent::getId, LiveEvent::getType)
+            .containsExactly(tuple(-1L, LiveEvent.RESYNC));
+        assertThat(bus.missedSince(start + 1, 1L, false)).hasSize(BUFFER);
+    }
+
+    @Test
+    void idFromTheFutureGetsResync() {
+        // เช่น Last-Event-ID จาก instance อื่น / ก่อน clock ถอย
+        long start = bus.lastEventId();
+
+        assertThat(bus.missedSince(start + 100, 1L, false)).extracting(LiveEvent::getType)
+            .containsExactly(LiveEvent.RESYNC);
+    }
+}
@@ -0,0 +1,84 @@
+package come.emotion_checkin_syetem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/service/LoginAttemptTrackerTest.java
+ *
+ * 🛡️ LOGIN ATTEMPT TRACKER - sliding window (เวลาป้อนเอง) + อ่าน email จาก details ของ LOGIN_FAILED
+ */
+class LoginAttemptTrackerTest {
+
+    /** 15 bucket × 60s = window 15 นาที (ค่า default ของ app.auth.lockout.*) */
+    private static final int BUCKETS = 15;
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoginAttemptTracker tracker = new LoginAttemptTracker(null, null, objectMapper);
+
+    @Test
+    void countsFailuresInsideTheWindow() {
+        LoginAttemptTracker.SlidingWindow window = new LoginAttemptTracker.SlidingWindow(BUCKETS, BUCKET_MILLIS);
+        window.add(T0);
+        window.add(T0 + 1_000);
+        window.add(T0 + 5 * BUCKET_MILLIS);
+
+        assertThat(window.count(T0 + 5 * BUCKET_MILLIS)).isEqualTo(3);
+        assertThat(window.lastFailureAt()).isEqualTo(T0 + 5 * BUCKET_MILLIS);
+    }
+
+    @Test
+    void oldBucketsSlideOutOfTheWindow() {
+        LoginAttemptTracker.SlidingWindow window = new LoginAttemptTracker.SlidingWindow(BUCKETS, BUCKET_MILLIS);
+        window.add(T0);
+        window.add(T0 + 10 * BUCKET_MILLIS);
+
+        assertThat(window.count(T0 + 14 * BUCKET_MILLIS)).isEqualTo(2);
+        assertThat(window.count(T0 + 15 * BUCKET_MILLIS)).isEqualTo(1);
+        assertThat(window.count(T0 + 25 * BUCKET_MILLIS)).isZero();
+        assertThat(window.isEmpty(T0 + 25 * BUCKET_MILLIS)).isTrue();
+    }
+
+    @Test
+    void reusedBucketStartsFromZero() {
+        LoginAttemptTracker.SlidingWindow window = new LoginAttemptTracker.SlidingWindow(BUCKETS, BUCKET_MILLIS);
+        window.add(T0);
+        window.add(T0);
+
+        // ครบรอบ ring พอดี → index เดิม epoch ใหม่
+        window.add(T0 + BUCKETS * BUCKET_MILLIS);
+
+        assertThat(window.count(T0 + BUCKETS * BUCKET_MILLIS)).isEqualTo(1);
+    }
+
+    @Test
+    void oldestExpiryIsWhenTheOldestLiveBucketLeaves() {
+        LoginAttemptTracker.SlidingWindow window = new LoginAttemptTracker.SlidingWindow(BUCKETS, BUCKET_MILLIS);
+        long firstBucketStart = (T0 / BUCKET_MILLIS) * BUCKET_MILLIS;
+        window.add(T0);
+        window.add(T0 + 3 * BUCKET_MILLIS);
+
+        long now = T0 + 4 * BUCKET_MILLIS;
+        assertThat(window.oldestExpiry(now)).isEqualTo(firstBucketStart + BUCKETS * BUCKET_MILLIS);
+        assertThat(window.count(window.oldestExpiry(now))).isEqualTo(1);
+    }
+
+    @Test
+    void readsEmailFromEscapedJsonDetails() {
+        String email = "a\"b\\c@example.com";
+        String details = objectMapper.createObjectNode().put("email", email).toString();
+
+        assertThat(tracker.emailFromDetails(details)).isEqualTo(email);
+    }
+
+    @Test
+    void skipsDetailsThatAreNotJsonOrHaveNoEmail() {
+        assertThat(tracker.emailFromDetails("{\"email\":\"a\"b@example.com\"}")).isNull();
+        assertThat(tracker.emailFromDetails("{\"department\":\"IT\"}")).isNull();
+        assertThat(tracker.emailFromDetails(null)).isNull();
+    }
+}
@@ -0,0 +1,108 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.dto.response.NotificationDTO;
+import come.emotion_checkin_syetem.dto.response.NotificationPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 📍 LOCATION: src/test/java/come/emotion_checkin_syetem/service/NotificationInboxMergeTest.java
+ *
+ * 🔀 INBOX MERGE - รวม direct + broadcast, ตัดที่ frontier ของ broadcast scan, cursor หน้าถัดไป
+ */
+class NotificationInboxMergeTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+    @Test
+    void mergesByTimeThenBroadcastThenIdAndCutsAtPageSize() {
+        NotificationPage page = NotificationService.mergePage(List.of(
+            direct(T0, 7),
+            broadcast(T0.plusMinutes(1), 3),
+            broadcast(T0, 2),
+            direct(T0, 9)
+        ), null, 3);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(3L, 2L, 9L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(NotificationCursor.decode(page.getNextCursor()))
+            .isEqualTo(new NotificationCursor(T0, false, 9L));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        NotificationPage page = NotificationService.mergePage(List.of(direct(T0, 1)), null, 3);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void dropsItemsPastTheFrontierAndContinuesFromIt() {
+        NotificationCursor frontier = new NotificationCursor(T0.plusMinutes(5), true, 40L);
+
+        NotificationPage page = NotificationService.mergePage(List.of(
+            direct(T0.plusMinutes(10), 8),
+            broadcast(T0.plusMinutes(5), 40),
+            direct(T0.plusMinutes(5), 6),   // เวลาเท่ากัน → direct อยู่หลัง broadcast ที่ frontier
+            direct(T0, 5)
+        ), frontier, 10);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(8L, 40L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(NotificationCursor.decode(page.getNextCursor())).isEqualTo(frontier);
+    }
+
+    @Test
+    void fullPageBeforeTheFrontierUsesTheLastItem() {
+        NotificationCursor frontier = new NotificationCursor(T0, true, 10L);
+
+        NotificationPage page = NotificationService.mergePage(List.of(
+            direct(T0.plusMinutes(3), 3),
+            direct(T0.plusMinutes(2), 2),
+            direct(T0.plusMinutes(1), 1)
+        ), frontier, 2);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(3L, 2L);
+        assertThat(NotificationCursor.decode(page.getNextCursor()))
+            .isEqualTo(new NotificationCursor(T0.plusMinutes(2), false, 2L));
+    }
+
+    @Test
+    void scanThatFoundNothingStillHasMore() {
+        NotificationCursor frontier = new NotificationCursor(T0, true, 10L);
+
+        NotificationPage page = NotificationService.mergePage(List.of(direct(T0.minusMinutes(1), 4)), frontier, 5);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(NotificationCursor.decode(page.getNextCursor())).isEqualTo(frontier);
+    }
+
+    @Test
+    void precedesFollowsInboxOrder() {
+        NotificationCursor broadcastCursor = new NotificationCursor(T0, true, 10L);
+        NotificationCursor directCursor = new NotificationCursor(T0, false, 10L);
+
+        assertThat(broadcastCursor.precedes(T0.minusSeconds(1), true, 99L)).isTrue();
+        assertThat(broadcastCursor.precedes(T0.plusSeconds(1), false, 1L)).isFalse();
+        assertThat(broadcastCursor.precedes(T0, false, 99L)).isTrue();
+        assertThat(broadcastCursor.precedes(T0, true, 9L)).isTrue();
+        assertThat(broadcastCursor.precedes(T0, true, 10L)).isFalse();
+        assertThat(directCursor.precedes(T0, true, 1L)).isFalse();
+        assertThat(directCursor.precedes(T0, false, 9L)).isTrue();
+    }
+
+    private static NotificationDTO direct(LocalDateTime createdAt, long id) {
+        return NotificationDTO.builder().id(id).createdAt(createdAt).broadcast(false).build();
+    }
+
+    private static NotificationDTO broadcast(LocalDateTime createdAt, long id) {
+        return NotificationDTO.builder().id(id).createdAt(createdAt).broadcast(true).build();
+    }
+}
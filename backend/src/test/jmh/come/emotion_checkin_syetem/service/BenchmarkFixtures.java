@@ -0,0 +1,85 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.entity.EmotionCatalog;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 📍 LOCATION: src/test/jmh/come/emotion_checkin_syetem/service/BenchmarkFixtures.java
+ *
+ * 🧪 BENCHMARK FIXTURES - ข้อมูลในหน่วยความจำสำหรับ JMH (ไม่แตะ DB / Spring context)
+ *
+ * ✅ ใช้ seed คงที่ → ทุก run / ทุก release ได้ข้อมูลชุดเดียวกัน (เทียบผลข้าม release ได้)
+ * ✅ Catalog 15 แบบ ลำดับเดียวกับ V1 (1-5 level 3, 6-10 level 2, 11-15 level 1)
+ */
+final class BenchmarkFixtures {
+
+    static final ZoneId ZONE = ZoneId.of("Asia/Bangkok");
+
+    private static final String[][] CATALOG = {
+        {"Happy", "Relaxed", "Excited", "Proud", "Motivated"},
+        {"Calm", "Tired", "Indifferent", "Focused", "Uncertain"},
+        {"Sad", "Angry", "Stressed", "Anxious", "Bored"}
+    };
+
+    private static final String[] COLORS = {"#4CAF50", "#FFC107", "#F44336"};
+
+    static final String[] DEPARTMENTS = {"Engineering", "Sales", "Marketing", "Finance", "Operations"};
+
+    private BenchmarkFixtures() {}
+
+    /** emotion type แยกตาม level (index = level) */
+    static List<List<EmotionCatalog>> catalog() {
+        List<List<EmotionCatalog>> byLevel = new ArrayList<>();
+        for (int level = 0; level <= 3; level++) {
+            byLevel.add(new ArrayList<>());
+        }
+        long id = 1;
+        for (int group = 0; group < CATALOG.length; group++) {
+            int level = 3 - group;
+            for (String name : CATALOG[group]) {
+                byLevel.get(level).add(EmotionCatalog.builder()
+                    .id(id++)
+                    .name(name)
+                    .level(level)
+                    .colorCode(COLORS[group])
+                    .build());
+            }
+        }
+        return byLevel;
+    }
+
+    /**
+     * check-in count แถว: ~15% level 1, ~34% level 2, ที่เหลือ level 3; ~30% มี comment
+     * เวลา check-in กระจายย้อนหลัง 30 วัน (timeAgo ได้ทั้ง นาที / ชั่วโมง / วัน)
+     */
+    static List<EmotionCheckin> checkins(int count, long seed) {
+        Random random = new Random(seed);
+        List<List<EmotionCatalog>> catalog = catalog();
+        LocalDateTime now = LocalDateTime.now(ZONE);
+
+        List<EmotionCheckin> checkins = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double roll = random.nextDouble();
+            int level = roll < 0.15 ? 1 : roll < 0.49 ? 2 : 3;
+            List<EmotionCatalog> types = catalog.get(level);
+            LocalDateTime time = now.minusMinutes(random.nextInt(30 * 24 * 60));
+
+            checkins.add(EmotionCheckin.builder()
+                .id((long) i + 1)
+                .emotionLevel(level)
+                .emotionType(types.get(random.nextInt(types.size())))
+                .comment(random.nextDouble() < 0.3 ? "synthetic comment " + i : null)
+                .checkinTime(time)
+                .checkinDate(time.toLocalDate())
+                .department(DEPARTMENTS[i % DEPARTMENTS.length])
+                .build());
+        }
+        return checkins;
+    }
+}
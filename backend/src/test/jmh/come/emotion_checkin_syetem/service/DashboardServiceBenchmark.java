@@ -0,0 +1,121 @@
+package come.emotion_checkin_syetem.service;
+
+import come.emotion_checkin_syetem.dto.response.CheckinHistory;
+import come.emotion_checkin_syetem.dto.response.EmotionStats;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📍 LOCATION: src/test/jmh/come/emotion_checkin_syetem/service/DashboardServiceBenchmark.java
+ *
+ * ⏱️ DASHBOARD SERVICE BENCHMARK - ส่วนที่ใช้ CPU ล้วนของ DashboardService
+ *
+ * ✅ Benchmarks:
+ * - calculateStats: นับ level + % + mood distribution (groupingBy ชื่อ emotion)
+ * - countByLevel: นับ level 1 loop (ใช้ใน calculateStats / getEmployeeInsight)
+ * - streamLevelCounting: แบบเดิม 3 × stream().filter().count() → เทียบกับ countByLevel
+ * - calculateTimeAgo / convertToHistoryDTO: ต่อ 1 แถว (ns/op)
+ *
+ * ✅ Run: mvn -P benchmarks test-compile exec:exec -Djmh.include=DashboardServiceBenchmark
+ *
+ * ⚠️ NOTE:
+ * - DashboardService สร้างด้วย dependency เป็น null: method ที่วัดไม่แตะ repository / context
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DashboardServiceBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private static final DashboardService SERVICE =
+        new DashboardService(null, null, null, null, null, null, null);
+
+    /** check-in 1 แถวต่อพนักงาน (เหมือนวันที่ทุกคน check-in) */
+    @State(Scope.Benchmark)
+    public static class Checkins {
+
+        @Param({"1000", "10000", "100000"})
+        public int employees;
+
+        List<EmotionCheckin> checkins;
+
+        @Setup
+        public void setup() {
+            checkins = BenchmarkFixtures.checkins(employees, 42);
+        }
+    }
+
+    /** ชุดเล็กคงที่สำหรับ benchmark ต่อแถว */
+    @State(Scope.Benchmark)
+    public static class Rows {
+
+        EmotionCheckin[] checkins;
+        LocalDateTime[] times;
+
+        @Setup
+        public void setup() {
+            checkins = BenchmarkFixtures.checkins(ROWS, 7).toArray(EmotionCheckin[]::new);
+            times = new LocalDateTime[ROWS];
+            for (int i = 0; i < ROWS; i++) {
+                times[i] = checkins[i].getCheckinTime();
+            }
+        }
+    }
+
+    @Benchmark
+    public EmotionStats calculateStats(Checkins data) {
+        return SERVICE.calculateStats(data.checkins);
+    }
+
+    @Benchmark
+    public long[] countByLevel(Checkins data) {
+        return DashboardService.countByLevel(data.checkins);
+    }
+
+    @Benchmark
+    public long[] streamLevelCounting(Checkins data) {
+        List<EmotionCheckin> checkins = data.checkins;
+        return new long[] {
+            0,
+            checkins.stream().filter(c -> c.getEmotionLevel() == 1).count(),
+            checkins.stream().filter(c -> c.getEmotionLevel() == 2).count(),
+            checkins.stream().filter(c -> c.getEmotionLevel() == 3).count()
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void calculateTimeAgo(Rows data, Blackhole blackhole) {
+        for (LocalDateTime time : data.times) {
+            blackhole.consume(SERVICE.calculateTimeAgo(time));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void convertToHistoryDTO(Rows data, Blackhole blackhole) {
+        for (EmotionCheckin checkin : data.checkins) {
+            CheckinHistory history = SERVICE.convertToHistoryDTO(checkin);
+            blackhole.consume(history);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package come.emotion_checkin_syetem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import come.emotion_checkin_syetem.dto.response.AuditLogDTO;
+import come.emotion_checkin_syetem.dto.response.DashboardResponse;
+import come.emotion_checkin_syetem.dto.response.DepartmentStats;
+import come.emotion_checkin_syetem.dto.response.EmployeeInsight;
+import come.emotion_checkin_syetem.dto.response.NotificationDTO;
+import come.emotion_checkin_syetem.entity.AuditLog;
+import come.emotion_checkin_syetem.entity.EmotionCheckin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📍 LOCATION: src/test/jmh/come/emotion_checkin_syetem/service/DtoMappingBenchmark.java
+ *
+ * ⏱️ DTO MAPPING BENCHMARK - Lombok builder ของ response DTO + Jackson serialize DashboardResponse
+ *
+ * ✅ Benchmarks:
+ * - employeeInsight / notificationDTO / auditLogDTO: field ชุดเดียวกับ converter ใน service (ns/op ต่อ 1 DTO)
+ * - serializeDashboardResponse: HR/Admin dashboard ที่มี EmployeeInsight 1k / 10k / 100k คน
+ *
+ * ✅ Run: mvn -P benchmarks test-compile exec:exec -Djmh.include=DtoMappingBenchmark
+ *
+ * ⚠️ NOTE:
+ * - ObjectMapper ตั้งแบบ Spring Boot default (JavaTimeModule, วันที่เป็น ISO string)
+ * - -prof gc (ใน pom) → gc.alloc.rate.norm = byte ต่อ op ของ response ทั้งก้อน
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DtoMappingBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private static final DashboardService SERVICE =
+        new DashboardService(null, null, null, null, null, null, null);
+
+    private static final AuditLog.Action[] ACTIONS = AuditLog.Action.values();
+
+    @State(Scope.Benchmark)
+    public static class Rows {
+
+        EmotionCheckin[] checkins;
+
+        @Setup
+        public void setup() {
+            checkins = BenchmarkFixtures.checkins(ROWS, 7).toArray(EmotionCheckin[]::new);
+        }
+    }
+
+    /** DashboardResponse แบบ HR dashboard ทั้งบริษัท */
+    @State(Scope.Benchmark)
+    public static class Dashboard {
+
+        @Param({"1000", "10000", "100000"})
+        public int employees;
+
+        ObjectMapper mapper;
+        DashboardResponse response;
+
+        @Setup
+        public void setup() {
+            mapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+            List<EmotionCheckin> checkins = BenchmarkFixtures.checkins(employees, 42);
+            List<EmployeeInsight> insights = new ArrayList<>(employees);
+            for (int i = 0; i < employees; i++) {
+                insights.add(employeeInsight(i, checkins.get(i)));
+            }
+
+            List<DepartmentStats> departmentStats = new ArrayList<>();
+            for (String department : BenchmarkFixtures.DEPARTMENTS) {
+                departmentStats.add(DepartmentStats.builder()
+                    .department(department)
+                    .totalEmployees((long) employees / BenchmarkFixtures.DEPARTMENTS.length)
+                    .activeEmployees((long) employees / BenchmarkFixtures.DEPARTMENTS.length)
+                    .inactiveEmployees(0L)
+                    .checkinRate(85.0)
+                    .todayCheckins(120L)
+                    .weeklyCheckins(600L)
+                    .monthlyCheckins(2400L)
+                    .positiveCount(1200L)
+                    .neutralCount(840L)
+                    .negativeCount(360L)
+                    .averageMoodScore(2.35)
+                    .highRiskCount(4)
+                    .consecutiveBadMoodCount(2)
+                    .moodTrend("STABLE")
+                    .trendPercentage(0.5)
+                    .build());
+            }
+
+            response = DashboardResponse.builder()
+                .userName("HR 1")
+                .userRole("HR")
+                .stats(SERVICE.calculateStats(checkins))
+                .unreadNotifications(3L)
+                .departments(List.of(BenchmarkFixtures.DEPARTMENTS))
+                .departmentStats(departmentStats)
+                .employeeInsights(insights)
+                .highRiskEmployees((int) insights.stream().filter(EmployeeInsight::getIsHighRisk).count())
+                .build();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void employeeInsight(Rows data, Blackhole blackhole) {
+        EmotionCheckin[] checkins = data.checkins;
+        for (int i = 0; i < checkins.length; i++) {
+            blackhole.consume(employeeInsight(i, checkins[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void notificationDTO(Rows data, Blackhole blackhole) {
+        for (EmotionCheckin checkin : data.checkins) {
+            boolean badMood = checkin.getEmotionLevel() == 1;
+            blackhole.consume(NotificationDTO.builder()
+                .id(checkin.getId())
+                .message("Hi, we noticed you had a tough day. Let us know if we can help.")
+                .senderName("HR 1")
+                .senderRole("HR")
+                .readStatus(checkin.getId() % 3 == 0)
+                .createdAt(checkin.getCheckinTime())
+                .timeAgo(SERVICE.calculateTimeAgo(checkin.getCheckinTime()))
+                .relatedCheckinId(checkin.getId())
+                .type(badMood ? "ALERT" : "MESSAGE")
+                .priority(badMood ? "HIGH" : "NORMAL")
+                .broadcast(false)
+                .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void auditLogDTO(Rows data, Blackhole blackhole) {
+        for (EmotionCheckin checkin : data.checkins) {
+            AuditLog.Action action = ACTIONS[(int) (checkin.getId() % ACTIONS.length)];
+            blackhole.consume(AuditLogDTO.builder()
+                .id(checkin.getId())
+                .userName("Employee " + checkin.getId())
+                .userRole("EMPLOYEE")
+                .action(action.toString())
+                .actionDescription(action.getDescription())
+                .targetUserName(null)
+                .targetUserRole(null)
+                .details(null)
+                .ipAddress("10.0.0.1")
+                .timestamp(checkin.getCheckinTime())
+                .timeAgo(SERVICE.calculateTimeAgo(checkin.getCheckinTime()))
+                .isCritical(action.isCritical())
+                .isAuthAction(action.isAuth())
+                .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeDashboardResponse(Dashboard data) throws Exception {
+        return data.mapper.writeValueAsBytes(data.response);
+    }
+
+    /** field ชุดเดียวกับ DashboardService.getEmployeeInsight (ค่าที่มาจาก repository ใช้ค่าคงที่แทน) */
+    private static EmployeeInsight employeeInsight(int index, EmotionCheckin lastCheckin) {
+        int level = lastCheckin.getEmotionLevel();
+        long weeklyNegative = level == 1 ? 3 : 0;
+        return EmployeeInsight.builder()
+            .employeeId((long) index + 1)
+            .name("Employee " + (index + 1))
+            .email("employee-" + (index + 1) + "@seed.local")
+            .department(lastCheckin.getDepartment())
+            .position("Staff")
+            .isActive(true)
+            .lastCheckin(lastCheckin.getCheckinDate())
+            .lastMood(lastCheckin.getEmotionType().getName())
+            .lastMoodLevel(level)
+            .lastMoodEmoji(level == 3 ? "😊" : level == 2 ? "😐" : "😢")
+            .checkinStreak(index % 30)
+            .checkinRate(80.0)
+            .weeklyPositive(level == 3 ? 4L : 1L)
+            .weeklyNeutral(1L)
+            .weeklyNegative(weeklyNegative)
+            .monthlyPositive(level == 3 ? 16L : 6L)
+            .monthlyNeutral(6L)
+            .monthlyNegative(weeklyNegative * 3)
+            .averageSentiment(0.0)
+            .isHighRisk(weeklyNegative >= 3)
+            .consecutiveBadDays(0)
+            .recentComment(null)
+            .hasComment(false)
+            .build();
+    }
+}